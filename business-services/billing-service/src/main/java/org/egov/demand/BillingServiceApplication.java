@@ -39,13 +39,20 @@
  */
 package org.egov.demand;
 
+import java.util.concurrent.TimeUnit;
+
+import org.cache2k.extra.spring.SpringCache2kCacheManager;
 import org.egov.common.utils.MultiStateInstanceUtil;
 import org.egov.tracer.config.TracerConfiguration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -53,9 +60,16 @@ import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootApplication
+@EnableCaching
 @Import({ TracerConfiguration.class, MultiStateInstanceUtil.class })
 public class BillingServiceApplication {
 
+	@Value("${bs.payer.cache.ttl.secs}")
+	private long payerCacheTtl;
+
+	@Value("${bs.payer.cache.max.entries}")
+	private long payerCacheMaxEntries;
+
 	@Bean
 	@Primary
 	public ObjectMapper getObjectMapper(){
@@ -75,6 +89,14 @@ public class BillingServiceApplication {
 		return converter;
 	}
 
+	@Bean
+	@Profile("!test")
+	public CacheManager cacheManager() {
+		return new SpringCache2kCacheManager()
+				.addCaches(b->b.name("payers").expireAfterWrite(payerCacheTtl, TimeUnit.SECONDS)
+						.entryCapacity(payerCacheMaxEntries));
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(BillingServiceApplication.class, args);
 	}
@@ -83,6 +83,24 @@ public class ApplicationProperties {
 	
 	@Value("${istenantlevelbillnumberingenabled}")
 	private Boolean isTenantLevelBillNumberingEnabled;
+
+	@Value("${bs.bill.billnumber.prefetch.size}")
+	private Integer billNumberPrefetchSize;
+
+	@Value("${bs.bill.billnumber.lease.ttl.ms}")
+	private Long billNumberLeaseTtlMillis;
+
+	@Value("${bs.bulk.bill.generation.chunk.size}")
+	private Integer bulkBillGenerationChunkSize;
+
+	@Value("${bs.bulk.bill.generation.worker.pool.size}")
+	private Integer bulkBillGenerationWorkerPoolSize;
+
+	@Value("${bs.bulk.bill.generation.worker.queue.size}")
+	private Integer bulkBillGenerationWorkerQueueSize;
+
+	@Value("${bs.bulk.bill.generation.max.jobs}")
+	private Integer bulkBillGenerationMaxJobs;
 	
 	@Value("${egov.idgen.hostname}")
 	private String idGenHost;
@@ -0,0 +1,32 @@
+package org.egov.demand.model;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.hibernate.validator.constraints.SafeHtml;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BulkBillGenerationCriteria {
+
+	@SafeHtml
+	@NotNull
+	@Size(max = 256)
+	private String tenantId;
+
+	@SafeHtml
+	@NotNull
+	@Size(max = 256)
+	private String businessService;
+}
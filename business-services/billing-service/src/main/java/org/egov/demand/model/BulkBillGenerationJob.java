@@ -0,0 +1,48 @@
+package org.egov.demand.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Progress of a bulk bill generation job at the time it was read
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BulkBillGenerationJob {
+
+	private String jobId;
+
+	private String tenantId;
+
+	private String businessService;
+
+	private JobStatus status;
+
+	private Long consumerCodesProcessed;
+
+	private Long billsGenerated;
+
+	private Long chunksCompleted;
+
+	private Long chunksFailed;
+
+	private Long startTime;
+
+	private Long endTime;
+
+	private Long elapsedTime;
+
+	private Double billsPerSecond;
+
+	public enum JobStatus {
+		RUNNING, COMPLETED, FAILED
+	}
+}
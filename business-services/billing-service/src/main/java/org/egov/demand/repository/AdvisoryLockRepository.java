@@ -0,0 +1,105 @@
+package org.egov.demand.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.egov.tracer.model.CustomException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Postgres session level advisory locks, shared by all the pods of the service.
+ *
+ * A lock is held on a connection of its own until it is released, so the database releases it as well when the pod
+ * holding it dies. Keys are hashed to the 64 bit lock ids of postgres.
+ */
+@Repository
+@Slf4j
+public class AdvisoryLockRepository {
+
+	private static final String TRY_LOCK_QUERY = "SELECT pg_try_advisory_lock(?)";
+
+	private static final String UNLOCK_QUERY = "SELECT pg_advisory_unlock(?)";
+
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * Takes the lock of the key when no other session holds it
+	 *
+	 * @param key name of the lock
+	 * @return the lock, released by closing it, or null when the lock is held by another session
+	 */
+	public AdvisoryLock tryLock(String key) {
+
+		long lockId = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+		Connection connection = null;
+		try {
+			connection = dataSource.getConnection();
+			try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK_QUERY)) {
+				statement.setLong(1, lockId);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					if (resultSet.next() && resultSet.getBoolean(1))
+						return new AdvisoryLock(key, lockId, connection);
+				}
+			}
+			connection.close();
+			return null;
+		} catch (SQLException e) {
+			closeQuietly(connection);
+			log.error("Failed to take the advisory lock of {}", key, e);
+			throw new CustomException("EG_BS_LOCK_ERROR", "Failed to take the lock of " + key);
+		}
+	}
+
+	private static void closeQuietly(Connection connection) {
+		if (connection == null)
+			return;
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			log.error("Failed to close the connection of an advisory lock", e);
+		}
+	}
+
+	/**
+	 * An advisory lock held by this pod
+	 */
+	public static class AdvisoryLock implements AutoCloseable {
+
+		private final String key;
+
+		private final long lockId;
+
+		private final Connection connection;
+
+		AdvisoryLock(String key, long lockId, Connection connection) {
+			this.key = key;
+			this.lockId = lockId;
+			this.connection = connection;
+		}
+
+		/**
+		 * Releases the lock and the connection holding it
+		 */
+		@Override
+		public void close() {
+			try (PreparedStatement statement = connection.prepareStatement(UNLOCK_QUERY)) {
+				statement.setLong(1, lockId);
+				statement.execute();
+			} catch (SQLException e) {
+				log.error("Failed to release the advisory lock of {}, it is held until its pooled connection is retired", key, e);
+			} finally {
+				closeQuietly(connection);
+			}
+		}
+	}
+}
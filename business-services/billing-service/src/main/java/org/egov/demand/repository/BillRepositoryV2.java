@@ -113,6 +113,37 @@ public class BillRepositoryV2 {
 		saveBillDetails(billRequest);
 	}
 	
+	/**
+	 * Expires the active bills of the given consumer codes and saves the bills of the request in their place, in one
+	 * transaction
+	 *
+	 * @param tenantId tenant of the consumer codes
+	 * @param businessService business service of the consumer codes
+	 * @param consumerCodes consumer codes whose active bills are expired
+	 * @param billRequest new bills of the consumer codes
+	 */
+	@Transactional
+	public void replaceActiveBills(String tenantId, String businessService, Set<String> consumerCodes,
+			BillRequestV2 billRequest) {
+
+		if (!CollectionUtils.isEmpty(consumerCodes)) {
+
+			List<Object> preparedStmtList = new ArrayList<>();
+			String queryStr = billQueryBuilder.getExpireActiveBillsQuery(tenantId, businessService, consumerCodes,
+					preparedStmtList);
+			try {
+				queryStr = centralInstanceUtil.replaceSchemaPlaceholder(queryStr, tenantId);
+			} catch (InvalidTenantIdException e) {
+				throw new CustomException("EG_PT_AS_TENANTID_ERROR",
+						"TenantId length is not sufficient to replace query schema in a multi state instance");
+			}
+			jdbcTemplate.update(queryStr, preparedStmtList.toArray());
+		}
+
+		if (!CollectionUtils.isEmpty(billRequest.getBills()))
+			saveBill(billRequest);
+	}
+
 	public void saveBillDetails(BillRequestV2 billRequest) {
 
 		List<BillV2> bills = billRequest.getBills();
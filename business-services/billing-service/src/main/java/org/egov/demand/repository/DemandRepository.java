@@ -125,6 +125,28 @@ public class DemandRepository {
 		return jdbcTemplate.query(sql, presparedStmtList.toArray(), demandRowMapper);
 	}
 
+	/**
+	 * Fetches the next page of consumer codes of the business service having active unpaid demands, keyset paged on
+	 * the consumer code
+	 *
+	 * @param afterConsumerCode last consumer code of the previous page, null for the first page
+	 * @return at most limit consumer codes greater than afterConsumerCode, in ascending order
+	 */
+	public List<String> getConsumerCodesForBillGeneration(String tenantId, String businessService,
+			String afterConsumerCode, int limit) {
+
+		List<Object> preparedStmtList = new ArrayList<>();
+		String sql = demandQueryBuilder.getBillGenerationConsumerCodesQuery(tenantId, businessService,
+				afterConsumerCode, limit, preparedStmtList);
+		try {
+			sql = centralInstanceUtil.replaceSchemaPlaceholder(sql, tenantId);
+		} catch (InvalidTenantIdException e) {
+			throw new CustomException("EG_BS_TENANTID_ERROR",
+					"TenantId length is not sufficient to replace query schema in a multi state instance");
+		}
+		return jdbcTemplate.queryForList(sql, preparedStmtList.toArray(), String.class);
+	}
+
 	@Transactional
 	public void save(DemandRequest demandRequest) {
 
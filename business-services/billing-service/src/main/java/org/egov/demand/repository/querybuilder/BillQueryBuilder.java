@@ -29,6 +29,9 @@ public class BillQueryBuilder {
 	
 	public static final String BILL_STATUS_UPDATE_BASE_QUERY = "UPDATE {schema}.egbs_bill_v1 SET status=? {replace} WHERE status='ACTIVE' AND tenantId = ? ";
 	
+	public static final String EXPIRE_ACTIVE_BILLS_QUERY = "UPDATE {schema}.egbs_bill_v1 SET status='EXPIRED' WHERE status='ACTIVE' AND tenantid = ? "
+			+ "AND id IN (SELECT billid FROM {schema}.egbs_billdetail_v1 WHERE tenantid = ? AND businessservice = ? AND consumercode IN (";
+
 	public static final String INSERT_BILL_QUERY = "INSERT into {schema}.egbs_bill_v1 "
 			+"(id, tenantid, payername, payeraddress, payeremail, isactive, iscancelled, createdby, createddate, lastmodifiedby, lastmodifieddate, mobilenumber, status, additionaldetails,payerid, consumercode)"
 			+"values(?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
@@ -201,6 +204,21 @@ public class BillQueryBuilder {
 		return builder.toString();
 	}
 	
+	/**
+	 * Query to expire the active bills of the given consumer codes of a business service
+	 */
+	public String getExpireActiveBillsQuery(String tenantId, String businessService, Collection<String> consumerCodes,
+			List<Object> preparedStmtList) {
+
+		StringBuilder builder = new StringBuilder(EXPIRE_ACTIVE_BILLS_QUERY);
+		preparedStmtList.add(tenantId);
+		preparedStmtList.add(tenantId);
+		preparedStmtList.add(businessService);
+		appendListToQuery(consumerCodes, preparedStmtList, builder);
+		builder.append(")");
+		return builder.toString();
+	}
+
 	/**
 	 * @param billIds
 	 * @param preparedStmtList
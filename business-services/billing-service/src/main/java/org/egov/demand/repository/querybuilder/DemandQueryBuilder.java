@@ -122,6 +122,9 @@ public class DemandQueryBuilder {
 			+ "createdby,createdtime,tenantid,additionaldetails,id)" 
 			+ " VALUES (?,?,?,?,?,?,?,?,?,?);";
 	
+	public static final String BILL_GENERATION_CONSUMERCODES_QUERY = "SELECT DISTINCT dmd.consumercode FROM {schema}.egbs_demand_v1 dmd "
+			+ "WHERE dmd.tenantid = ? AND dmd.businessservice = ? AND dmd.status = 'ACTIVE' AND dmd.ispaymentcompleted = false ";
+
 	public static final String DEMAND_UPDATE_CONSUMERCODE_QUERY="UPDATE {schema}.egbs_demand_v1 SET consumercode=?, lastmodifiedby=?, lastmodifiedtime=? "
 			+ " WHERE tenantid=? AND id IN (";
 	
@@ -158,6 +161,28 @@ public class DemandQueryBuilder {
 		return query.toString();
 				}
 
+	/**
+	 * Query for the next page of consumer codes having active unpaid demands, in the order of the consumer codes
+	 * 
+	 * @param afterConsumerCode last consumer code of the previous page, null for the first page
+	 */
+	public String getBillGenerationConsumerCodesQuery(String tenantId, String businessService, String afterConsumerCode,
+			int limit, List<Object> preparedStmtList) {
+
+		StringBuilder query = new StringBuilder(BILL_GENERATION_CONSUMERCODES_QUERY);
+		preparedStmtList.add(tenantId);
+		preparedStmtList.add(businessService);
+
+		if (afterConsumerCode != null) {
+			query.append("AND dmd.consumercode > ? ");
+			preparedStmtList.add(afterConsumerCode);
+		}
+
+		query.append("ORDER BY dmd.consumercode LIMIT ?");
+		preparedStmtList.add(limit);
+		return query.toString();
+	}
+
 	public String getDemandQuery(DemandCriteria demandCriteria, List<Object> preparedStatementValues) {
 
 		StringBuilder demandQuery = new StringBuilder(BASE_DEMAND_QUERY);
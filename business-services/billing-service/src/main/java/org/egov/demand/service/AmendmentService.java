@@ -71,7 +71,7 @@ public class AmendmentService {
 					.tenantId(amendmentCriteria.getTenantId())
 					.build();
 			
-			List<Demand> demands = demandService.getDemands(demandCriteria, requestInfo);
+			List<Demand> demands = demandService.getDemands(demandCriteria, requestInfo, false);
 			if (!CollectionUtils.isEmpty(demands)) {
 				if (!CollectionUtils.isEmpty(amendmentCriteria.getConsumerCode()))
 					amendmentCriteria.getConsumerCode()
@@ -162,7 +162,7 @@ public class AmendmentService {
 				.isPaymentCompleted(false)
 				.build();
 		
-		List<Demand> demands = demandService.getDemands(demandCriteria, requestInfo);
+		List<Demand> demands = demandService.getDemands(demandCriteria, requestInfo, false);
 		if(!CollectionUtils.isEmpty(demands)) {
 			
 			AuditDetails auditDetails = util.getAuditDetail(requestInfo);
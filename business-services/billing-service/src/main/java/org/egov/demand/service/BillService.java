@@ -78,8 +78,8 @@ import org.egov.demand.model.TaxHeadMaster;
 import org.egov.demand.model.TaxHeadMasterCriteria;
 import org.egov.demand.model.enums.DemandStatus;
 import org.egov.demand.repository.BillRepository;
-import org.egov.demand.repository.IdGenRepo;
 import org.egov.demand.repository.ServiceRequestRepository;
+import org.egov.demand.util.BillNumberAllocator;
 import org.egov.demand.util.Util;
 import org.egov.demand.web.contract.BillRequest;
 import org.egov.demand.web.contract.BillResponse;
@@ -130,7 +130,7 @@ public class BillService {
 	private ServiceRequestRepository restRepository;
 	
 	@Autowired
-	private IdGenRepo idGenRepo;
+	private BillNumberAllocator billNumberAllocator;
 	
 	@Value("${kafka.topics.billgen.topic.name}")
 	private String notifTopicName;
@@ -329,7 +329,7 @@ public class BillService {
 			Map<String, BusinessServiceDetail> businessMap = getBusinessService(businessCodeSet, tenantId, requestInfo);
 			List<String> billNumbers = null;
 
-			billNumbers = getBillNumbers(requestInfo, tenantId, businessService,
+			billNumbers = billNumberAllocator.allocate(requestInfo, tenantId, businessService,
 					demandsForCurrentBusinessAndConsumer.size());
 			/*
 			 * looping demand to create bill-detail and account-details object
@@ -378,19 +378,6 @@ public class BillService {
 		return bills;
 	}
 
-	private List<String> getBillNumbers(RequestInfo requestInfo, String tenantId, String module, int count) {
-
-		String billNumberFormat = appProps.getBillNumberFormat();
-		billNumberFormat = billNumberFormat.replace(appProps.getModuleReplaceStirng(), module);
-
-		if (appProps.getIsTenantLevelBillNumberingEnabled())
-			billNumberFormat = billNumberFormat.replace(appProps.getTenantIdReplaceString(), "_".concat(tenantId.split("\\.")[tenantId.length()-1]));
-		else
-			billNumberFormat = billNumberFormat.replace(appProps.getTenantIdReplaceString(), "");
-
-		return idGenRepo.getId(requestInfo, tenantId, "billnumberid", billNumberFormat, count);
-	}
-
 	/**
 	 * updates the total amount to be paid for each business service code
 	 * 
@@ -55,6 +55,7 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -76,13 +77,13 @@ import org.egov.demand.model.DemandCriteria;
 import org.egov.demand.model.DemandDetail;
 import org.egov.demand.model.GenerateBillCriteria;
 import org.egov.demand.model.TaxHeadMaster;
-import org.egov.demand.model.TaxHeadMasterCriteria;
 import org.egov.demand.model.UpdateBillCriteria;
 import org.egov.demand.model.UpdateBillRequest;
 import org.egov.demand.producer.Producer;
 import org.egov.demand.repository.BillRepositoryV2;
-import org.egov.demand.repository.IdGenRepo;
 import org.egov.demand.repository.ServiceRequestRepository;
+import org.egov.demand.util.BillNumberAllocator;
+import org.egov.demand.util.MasterDataSnapshotCache;
 import org.egov.demand.util.Util;
 import org.egov.demand.web.contract.BillRequestV2;
 import org.egov.demand.web.contract.BillResponseV2;
@@ -126,7 +127,7 @@ public class BillServicev2 {
 	private BusinessServDetailService businessServDetailService;
 
 	@Autowired
-	private TaxHeadMasterService taxHeadService;
+	private MasterDataSnapshotCache masterDataSnapshotCache;
 	
 	@Autowired
 	private Util util;
@@ -135,7 +136,7 @@ public class BillServicev2 {
 	private ServiceRequestRepository restRepository;
 	
 	@Autowired
-	private IdGenRepo idGenRepo;
+	private BillNumberAllocator billNumberAllocator;
 	
 	@Autowired
 	private BillValidator billValidator;
@@ -298,7 +299,7 @@ public class BillServicev2 {
 	 * @param serviceAndConsumerCodeListMap
 	 * @param tenantId
 	 */
-	private void updateDemandsForexpiredBillDetails(String businessService, Set<String> consumerCodesTobeUpdated, String tenantId, RequestInfoWrapper requestInfoWrapper) {
+	void updateDemandsForexpiredBillDetails(String businessService, Set<String> consumerCodesTobeUpdated, String tenantId, RequestInfoWrapper requestInfoWrapper) {
 
 		Map<String, String> serviceUrlMap = appProps.getBusinessCodeAndDemandUpdateUrlMap();
 
@@ -414,77 +415,86 @@ public class BillServicev2 {
 			Map<String, TaxHeadMaster> taxHeadMap = getTaxHeadMaster(taxHeadCodes, tenantId, requestInfo);
 			Map<String, BusinessServiceDetail> businessMap = getBusinessService(businessCodes, tenantId, requestInfo);
 			
-			
-			/*
-			 * Grouping the demands by their consumer code and generating a bill for each consumer code
-			 */
-			Map<String, List<Demand>> consumerCodeAndDemandsMap = demandForOneTenant.stream().collect(Collectors.groupingBy(Demand::getConsumerCode));
-			
-			for (Entry<String, List<Demand>> consumerCodeAndDemands : consumerCodeAndDemandsMap.entrySet()) {
-				
-				BigDecimal billAmount = BigDecimal.ZERO;
-				List<BillDetailV2> billDetails = new ArrayList<>();
-				
-				String consumerCode = consumerCodeAndDemands.getKey();
-				BigDecimal minimumAmtPayableForBill = BigDecimal.ZERO;
-				List<Demand> demandsForSingleCode = consumerCodeAndDemands.getValue();
-				BusinessServiceDetail business = businessMap.get(demandsForSingleCode.get(0).getBusinessService());
-				
-				String billId = UUID.randomUUID().toString();
-				String billNumber = getBillNumbers(requestInfo, tenantId, demandForOneTenant.get(0).getBusinessService(), 1).get(0);
-				
-				for (Demand demand : demandsForSingleCode) {
-
-					minimumAmtPayableForBill = minimumAmtPayableForBill.add(demand.getMinimumAmountPayable());
-					String billDetailId = UUID.randomUUID().toString();
-					BillDetailV2 billDetail = getBillDetailForDemand(demand, taxHeadMap, billDetailId);
-					billDetail.setBillId(billId);
-					billDetail.setId(billDetailId);
-					billDetails.add(billDetail);
-					billAmount = billAmount.add(billDetail.getAmount());
-				}
-				
-				if (billAmount.compareTo(BigDecimal.ZERO) >= 0) {
-
-					BillV2 bill = BillV2.builder()
-							.auditDetails(util.getAuditDetail(requestInfo))
-							.payerAddress(payer.getPermanentAddress())
-							.mobileNumber(payer.getMobileNumber())
-							.billDate(System.currentTimeMillis())
-							.businessService(business.getCode())
-							.payerName(payer.getName())
-							.consumerCode(consumerCode)
-							.status(BillStatus.ACTIVE)
-							.billDetails(billDetails)
-							.totalAmount(billAmount)
-							.billNumber(billNumber)
-							.tenantId(tenantId)
-							.id(billId)
-							.userId(payer.getUuid())
-							.build();
-				
-					bills.add(bill);
-				}
-			}
-
+			bills.addAll(prepareBillForTenant(tenantId, demandForOneTenant, taxHeadMap, businessMap, payer, requestInfo));
 		}
 		return bills;
 	}
 
-	private List<String> getBillNumbers(RequestInfo requestInfo, String tenantId, String module, int count) {
-
-		String billNumberFormat = appProps.getBillNumberFormat();
-		billNumberFormat = billNumberFormat.replace(appProps.getModuleReplaceStirng(), module);
+	/**
+	 * Prepares the bills of the demands of one tenant, one bill for each consumer code, from the given master data
+	 * 
+	 * @param tenantId    tenant-id of the demands
+	 * @param demands     demands of the tenant for which bill should be generated
+	 * @param taxHeadMap  tax-head masters of the tax-head codes of the demands
+	 * @param businessMap business service details of the business services of the demands
+	 * @param payer       payer of all the bills, when null the payer of the demands of each consumer code
+	 * @param requestInfo
+	 * @return
+	 */
+	List<BillV2> prepareBillForTenant(String tenantId, List<Demand> demands, Map<String, TaxHeadMaster> taxHeadMap,
+			Map<String, BusinessServiceDetail> businessMap, User payer, RequestInfo requestInfo) {
 
-		if (appProps.getIsTenantLevelBillNumberingEnabled())
-			billNumberFormat = billNumberFormat.replace(appProps.getTenantIdReplaceString(), "_".concat(tenantId.split("\\.")[tenantId.length()-1]));
-		else
-			billNumberFormat = billNumberFormat.replace(appProps.getTenantIdReplaceString(), "");
+		List<BillV2> bills = new ArrayList<>();
 
-		return idGenRepo.getId(requestInfo, tenantId, "billnumberid", billNumberFormat, count);
+		/*
+		 * Grouping the demands by their consumer code and generating a bill for each consumer code
+		 */
+		Map<String, List<Demand>> consumerCodeAndDemandsMap = demands.stream().collect(Collectors.groupingBy(Demand::getConsumerCode));
+		Iterator<String> billNumbers = billNumberAllocator.allocate(requestInfo, tenantId,
+				demands.get(0).getBusinessService(), consumerCodeAndDemandsMap.size()).iterator();
+		
+		for (Entry<String, List<Demand>> consumerCodeAndDemands : consumerCodeAndDemandsMap.entrySet()) {
+			
+			BigDecimal billAmount = BigDecimal.ZERO;
+			List<BillDetailV2> billDetails = new ArrayList<>();
+			
+			String consumerCode = consumerCodeAndDemands.getKey();
+			BigDecimal minimumAmtPayableForBill = BigDecimal.ZERO;
+			List<Demand> demandsForSingleCode = consumerCodeAndDemands.getValue();
+			BusinessServiceDetail business = businessMap.get(demandsForSingleCode.get(0).getBusinessService());
+			User billPayer = payer;
+			if (billPayer == null)
+				billPayer = null != demandsForSingleCode.get(0).getPayer() ? demandsForSingleCode.get(0).getPayer() : new User();
+			
+			String billId = UUID.randomUUID().toString();
+			String billNumber = billNumbers.next();
+			
+			for (Demand demand : demandsForSingleCode) {
+
+				minimumAmtPayableForBill = minimumAmtPayableForBill.add(demand.getMinimumAmountPayable());
+				String billDetailId = UUID.randomUUID().toString();
+				BillDetailV2 billDetail = getBillDetailForDemand(demand, taxHeadMap, billDetailId);
+				billDetail.setBillId(billId);
+				billDetail.setId(billDetailId);
+				billDetails.add(billDetail);
+				billAmount = billAmount.add(billDetail.getAmount());
+			}
+			
+			if (billAmount.compareTo(BigDecimal.ZERO) >= 0) {
+
+				BillV2 bill = BillV2.builder()
+						.auditDetails(util.getAuditDetail(requestInfo))
+						.payerAddress(billPayer.getPermanentAddress())
+						.mobileNumber(billPayer.getMobileNumber())
+						.billDate(System.currentTimeMillis())
+						.businessService(business.getCode())
+						.payerName(billPayer.getName())
+						.consumerCode(consumerCode)
+						.status(BillStatus.ACTIVE)
+						.billDetails(billDetails)
+						.totalAmount(billAmount)
+						.billNumber(billNumber)
+						.tenantId(tenantId)
+						.id(billId)
+						.userId(billPayer.getUuid())
+						.build();
+			
+				bills.add(bill);
+			}
+		}
+		return bills;
 	}
 
-
 	/**
 	 * Method to create BillDetail object from demand
 	 *  
@@ -606,23 +616,22 @@ public class BillServicev2 {
 	}
 
 	/**
-	 * Fetches the tax-head master data for the given tax-head codes
+	 * Fetches the tax-head master data for the given tax-head codes from the master data snapshot of the tenant
 	 * 
 	 * @param demands  list of demands for which tax-heads needs to searched
 	 * @param tenantId tenant-id of the request
 	 * @param info     RequestInfo object
 	 * @return returns a map of tax-head code as key and tax-head object as value
 	 */
-	private Map<String, TaxHeadMaster> getTaxHeadMaster(Set<String> taxHeadCodes, String tenantId, RequestInfo info) {
+	Map<String, TaxHeadMaster> getTaxHeadMaster(Set<String> taxHeadCodes, String tenantId, RequestInfo info) {
 
-		TaxHeadMasterCriteria taxHeadCriteria = TaxHeadMasterCriteria.builder().tenantId(tenantId).code(taxHeadCodes)
-				.build();
-		List<TaxHeadMaster> taxHeads = taxHeadService.getTaxHeads(taxHeadCriteria, info).getTaxHeadMasters();
+		Map<String, TaxHeadMaster> taxHeadMap = masterDataSnapshotCache.getSnapshot(info, tenantId)
+				.getTaxHeadsByCode(taxHeadCodes);
 
-		if (taxHeads.isEmpty())
+		if (taxHeadMap.isEmpty())
 			throw new CustomException("EG_BS_TAXHEADCODE_EMPTY", "No taxhead masters found for the given codes");
 
-		return taxHeads.stream().collect(Collectors.toMap(TaxHeadMaster::getCode, Function.identity()));
+		return taxHeadMap;
 	}
 
 	
@@ -634,7 +643,7 @@ public class BillServicev2 {
 	 * @param requestInfo
 	 * @return returns a map with business code and businessDetail object
 	 */
-	private Map<String, BusinessServiceDetail> getBusinessService(Set<String> businessService, String tenantId, RequestInfo requestInfo) {
+	Map<String, BusinessServiceDetail> getBusinessService(Set<String> businessService, String tenantId, RequestInfo requestInfo) {
 		List<BusinessServiceDetail> businessServiceDetails = businessServDetailService.searchBusinessServiceDetails(BusinessServiceDetailCriteria.builder().businessService(businessService).tenantId(tenantId).build(), requestInfo)
 				.getBusinessServiceDetails();
 		return businessServiceDetails.stream().collect(Collectors.toMap(BusinessServiceDetail::getCode, Function.identity()));
@@ -0,0 +1,383 @@
+package org.egov.demand.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.demand.config.ApplicationProperties;
+import org.egov.demand.model.BillSearchCriteria;
+import org.egov.demand.model.BillV2;
+import org.egov.demand.model.BillV2.BillStatus;
+import org.egov.demand.model.BulkBillGenerationCriteria;
+import org.egov.demand.model.BulkBillGenerationJob;
+import org.egov.demand.model.BulkBillGenerationJob.JobStatus;
+import org.egov.demand.model.BusinessServiceDetail;
+import org.egov.demand.model.Demand;
+import org.egov.demand.model.DemandCriteria;
+import org.egov.demand.model.DemandDetail;
+import org.egov.demand.model.TaxHeadMaster;
+import org.egov.demand.model.TaxHeadMasterCriteria;
+import org.egov.demand.repository.AdvisoryLockRepository;
+import org.egov.demand.repository.AdvisoryLockRepository.AdvisoryLock;
+import org.egov.demand.repository.BillRepositoryV2;
+import org.egov.demand.repository.DemandRepository;
+import org.egov.demand.web.contract.BillRequestV2;
+import org.egov.demand.web.contract.RequestInfoWrapper;
+import org.egov.tracer.model.CustomException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the bills of all the consumer codes of a tenant and business service having active unpaid demands.
+ *
+ * A job pages through the consumer codes in the order of the codes and hands each chunk of consumer codes to a pool
+ * of workers. Like the fetch of a bill, a worker keeps the active bills of its chunk whose bill details have not
+ * expired, has the business service update the demands of the other consumer codes, builds one bill per consumer
+ * code of their demands and replaces their active bills with the new ones in one batched transaction. The tax-head
+ * masters and the business service are fetched once per job, tax-heads missing from the business service's masters
+ * are fetched as chunks need them. When all the workers are busy and their queue is full the job builds the chunk
+ * itself, bounding the chunks in memory.
+ *
+ * Only one job runs at a time for a tenant and business service across all the pods, guarded by a postgres advisory
+ * lock held for the duration of the job. A failed chunk is counted and logged, the job goes on with the next chunks.
+ * Progress and throughput are logged after every chunk and can be read by job id on the pod running the job, only
+ * the most recent jobs are kept.
+ */
+@Service
+@Slf4j
+public class BulkBillGenerationService {
+
+	private static final int MAX_JOBS_KEPT = 100;
+
+	private static final String LOCK_KEY_PREFIX = "bulk-bill-generation|";
+
+	@Autowired
+	private ApplicationProperties appProps;
+
+	@Autowired
+	private DemandRepository demandRepository;
+
+	@Autowired
+	private DemandService demandService;
+
+	@Autowired
+	private BillServicev2 billService;
+
+	@Autowired
+	private TaxHeadMasterService taxHeadService;
+
+	@Autowired
+	private BillRepositoryV2 billRepository;
+
+	@Autowired
+	private AdvisoryLockRepository lockRepository;
+
+	private ThreadPoolTaskExecutor jobExecutor;
+
+	private ThreadPoolTaskExecutor workerExecutor;
+
+	private final Map<String, JobProgress> runningJobs = new ConcurrentHashMap<>();
+
+	private final Map<String, JobProgress> jobs = new LinkedHashMap<String, JobProgress>() {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, JobProgress> eldest) {
+			return size() > MAX_JOBS_KEPT;
+		}
+	};
+
+	@PostConstruct
+	public void init() {
+
+		jobExecutor = new ThreadPoolTaskExecutor();
+		jobExecutor.setCorePoolSize(appProps.getBulkBillGenerationMaxJobs());
+		jobExecutor.setMaxPoolSize(appProps.getBulkBillGenerationMaxJobs());
+		jobExecutor.setQueueCapacity(0);
+		jobExecutor.setThreadNamePrefix("bulk-bill-job-");
+		jobExecutor.initialize();
+
+		workerExecutor = new ThreadPoolTaskExecutor();
+		workerExecutor.setCorePoolSize(appProps.getBulkBillGenerationWorkerPoolSize());
+		workerExecutor.setMaxPoolSize(appProps.getBulkBillGenerationWorkerPoolSize());
+		workerExecutor.setQueueCapacity(appProps.getBulkBillGenerationWorkerQueueSize());
+		workerExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		workerExecutor.setThreadNamePrefix("bulk-bill-worker-");
+		workerExecutor.initialize();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		jobExecutor.shutdown();
+		workerExecutor.shutdown();
+	}
+
+	/**
+	 * Starts a bulk bill generation job for the tenant and business service of the criteria
+	 *
+	 * @param criteria    tenant and business service whose bills are generated
+	 * @param requestInfo request info used for the audit details of the bills and the calls made by the job
+	 * @return the progress of the started job
+	 */
+	public BulkBillGenerationJob startJob(BulkBillGenerationCriteria criteria, RequestInfo requestInfo) {
+
+		String key = criteria.getTenantId() + "|" + criteria.getBusinessService();
+		JobProgress job = new JobProgress(UUID.randomUUID().toString(), criteria);
+
+		if (runningJobs.putIfAbsent(key, job) != null)
+			throw new CustomException("EG_BS_BULK_BILL_JOB_RUNNING",
+					"A bulk bill generation job is already running for the given tenant and business service");
+
+		AdvisoryLock lock;
+		try {
+			lock = lockRepository.tryLock(LOCK_KEY_PREFIX + key);
+		} catch (RuntimeException e) {
+			runningJobs.remove(key, job);
+			throw e;
+		}
+		if (lock == null) {
+			runningJobs.remove(key, job);
+			throw new CustomException("EG_BS_BULK_BILL_JOB_RUNNING",
+					"A bulk bill generation job is already running for the given tenant and business service");
+		}
+
+		synchronized (jobs) {
+			jobs.put(job.jobId, job);
+		}
+		try {
+			jobExecutor.execute(() -> run(job, key, lock, requestInfo));
+		} catch (TaskRejectedException e) {
+			synchronized (jobs) {
+				jobs.remove(job.jobId);
+			}
+			lock.close();
+			runningJobs.remove(key, job);
+			throw new CustomException("EG_BS_BULK_BILL_JOB_LIMIT",
+					"The maximum number of bulk bill generation jobs are running, try again later");
+		}
+		return job.toJob();
+	}
+
+	/**
+	 * Returns the progress of the job with the given id
+	 */
+	public BulkBillGenerationJob getJob(String jobId) {
+
+		JobProgress job;
+		synchronized (jobs) {
+			job = jobs.get(jobId);
+		}
+		if (job == null)
+			throw new CustomException("EG_BS_BULK_BILL_JOB_NOT_FOUND", "No bulk bill generation job found for the given id");
+		return job.toJob();
+	}
+
+	private void run(JobProgress job, String key, AdvisoryLock lock, RequestInfo requestInfo) {
+
+		String tenantId = job.criteria.getTenantId();
+		String businessService = job.criteria.getBusinessService();
+		int chunkSize = appProps.getBulkBillGenerationChunkSize();
+		log.info("Bulk bill generation job {} started for tenant {} and business service {}", job.jobId, tenantId,
+				businessService);
+
+		try {
+			Map<String, BusinessServiceDetail> businessMap = billService
+					.getBusinessService(Collections.singleton(businessService), tenantId, requestInfo);
+			if (businessMap.isEmpty())
+				throw new CustomException("EG_BS_BUSINESSSERVICE_NOT_FOUND",
+						"No business service found for the given code");
+
+			Map<String, TaxHeadMaster> taxHeadMap = new ConcurrentHashMap<>();
+			taxHeadService.getTaxHeads(TaxHeadMasterCriteria.builder().tenantId(tenantId).service(businessService).build(),
+					requestInfo).getTaxHeadMasters().forEach(taxHead -> taxHeadMap.put(taxHead.getCode(), taxHead));
+
+			List<Future<?>> chunks = new ArrayList<>();
+			String lastConsumerCode = null;
+			List<String> consumerCodes;
+			do {
+				consumerCodes = demandRepository.getConsumerCodesForBillGeneration(tenantId, businessService,
+						lastConsumerCode, chunkSize);
+				if (consumerCodes.isEmpty())
+					break;
+
+				lastConsumerCode = consumerCodes.get(consumerCodes.size() - 1);
+				Set<String> chunk = new HashSet<>(consumerCodes);
+				chunks.add(workerExecutor.submit(() -> generateChunk(job, chunk, businessMap, taxHeadMap, requestInfo)));
+				chunks.removeIf(Future::isDone);
+			} while (consumerCodes.size() == chunkSize);
+
+			for (Future<?> chunk : chunks)
+				chunk.get();
+			job.finish(JobStatus.COMPLETED);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.finish(JobStatus.FAILED);
+		} catch (ExecutionException | RuntimeException e) {
+			log.error("Bulk bill generation job {} failed", job.jobId, e);
+			job.finish(JobStatus.FAILED);
+		} finally {
+			lock.close();
+			runningJobs.remove(key, job);
+			log.info("Bulk bill generation job {} finished : {}", job.jobId, job.toJob());
+		}
+	}
+
+	/**
+	 * Generates the bills of the consumer codes of one chunk having no active bill or an active bill with expired bill
+	 * details, replacing their active bills
+	 */
+	private void generateChunk(JobProgress job, Set<String> consumerCodes, Map<String, BusinessServiceDetail> businessMap,
+			Map<String, TaxHeadMaster> taxHeadMap, RequestInfo requestInfo) {
+
+		String tenantId = job.criteria.getTenantId();
+		String businessService = job.criteria.getBusinessService();
+
+		try {
+			List<BillV2> activeBills = billRepository.findBill(BillSearchCriteria.builder()
+					.tenantId(tenantId)
+					.service(businessService)
+					.consumerCode(consumerCodes)
+					.status(BillStatus.ACTIVE)
+					.build());
+
+			long now = System.currentTimeMillis();
+			Set<String> consumerCodesToBill = new HashSet<>(consumerCodes);
+			Set<String> consumerCodesToExpire = new HashSet<>();
+			for (BillV2 bill : activeBills) {
+				if (bill.getBillDetails().stream().anyMatch(billDetail -> billDetail.getExpiryDate().compareTo(now) < 0))
+					consumerCodesToExpire.add(bill.getConsumerCode());
+				else
+					consumerCodesToBill.remove(bill.getConsumerCode());
+			}
+
+			List<BillV2> bills = Collections.emptyList();
+			if (!consumerCodesToBill.isEmpty()) {
+
+				billService.updateDemandsForexpiredBillDetails(businessService, consumerCodesToBill, tenantId,
+						new RequestInfoWrapper(requestInfo));
+
+				DemandCriteria demandCriteria = DemandCriteria.builder()
+						.status(Demand.StatusEnum.ACTIVE.toString())
+						.businessService(businessService)
+						.consumerCode(consumerCodesToBill)
+						.isPaymentCompleted(false)
+						.receiptRequired(false)
+						.tenantId(tenantId)
+						.build();
+				List<Demand> demands = demandService.getDemands(demandCriteria, requestInfo);
+
+				if (!demands.isEmpty()) {
+
+					Set<String> missingTaxHeadCodes = demands.stream()
+							.flatMap(demand -> demand.getDemandDetails().stream())
+							.map(DemandDetail::getTaxHeadMasterCode)
+							.filter(code -> !taxHeadMap.containsKey(code))
+							.collect(Collectors.toSet());
+					if (!missingTaxHeadCodes.isEmpty())
+						taxHeadMap.putAll(billService.getTaxHeadMaster(missingTaxHeadCodes, tenantId, requestInfo));
+
+					bills = billService.prepareBillForTenant(tenantId, demands, taxHeadMap, businessMap, null, requestInfo);
+				}
+				bills.forEach(bill -> consumerCodesToExpire.add(bill.getConsumerCode()));
+				billRepository.replaceActiveBills(tenantId, businessService, consumerCodesToExpire,
+						BillRequestV2.builder().bills(bills).requestInfo(requestInfo).build());
+			}
+			job.chunkCompleted(consumerCodes.size(), bills.size());
+
+		} catch (Exception e) {
+			job.chunkFailed(consumerCodes.size());
+			log.error("Bulk bill generation job {} failed for a chunk of {} consumer codes", job.jobId,
+					consumerCodes.size(), e);
+		}
+
+		BulkBillGenerationJob progress = job.toJob();
+		log.info("Bulk bill generation job {} : {} consumer codes processed, {} bills generated, {} chunks failed, {} bills/sec",
+				job.jobId, progress.getConsumerCodesProcessed(), progress.getBillsGenerated(),
+				progress.getChunksFailed(), String.format("%.1f", progress.getBillsPerSecond()));
+	}
+
+	private static class JobProgress {
+
+		private final String jobId;
+
+		private final BulkBillGenerationCriteria criteria;
+
+		private final long startTime = System.currentTimeMillis();
+
+		private final AtomicLong consumerCodesProcessed = new AtomicLong();
+
+		private final AtomicLong billsGenerated = new AtomicLong();
+
+		private final AtomicLong chunksCompleted = new AtomicLong();
+
+		private final AtomicLong chunksFailed = new AtomicLong();
+
+		private volatile JobStatus status = JobStatus.RUNNING;
+
+		private volatile Long endTime;
+
+		private JobProgress(String jobId, BulkBillGenerationCriteria criteria) {
+			this.jobId = jobId;
+			this.criteria = criteria;
+		}
+
+		private void chunkCompleted(int consumerCodes, int bills) {
+			consumerCodesProcessed.addAndGet(consumerCodes);
+			billsGenerated.addAndGet(bills);
+			chunksCompleted.incrementAndGet();
+		}
+
+		private void chunkFailed(int consumerCodes) {
+			consumerCodesProcessed.addAndGet(consumerCodes);
+			chunksFailed.incrementAndGet();
+		}
+
+		private void finish(JobStatus finalStatus) {
+			endTime = System.currentTimeMillis();
+			status = finalStatus;
+		}
+
+		private BulkBillGenerationJob toJob() {
+
+			Long end = endTime;
+			long elapsedTime = (end == null ? System.currentTimeMillis() : end) - startTime;
+			long bills = billsGenerated.get();
+
+			return BulkBillGenerationJob.builder()
+					.jobId(jobId)
+					.tenantId(criteria.getTenantId())
+					.businessService(criteria.getBusinessService())
+					.status(status)
+					.consumerCodesProcessed(consumerCodesProcessed.get())
+					.billsGenerated(bills)
+					.chunksCompleted(chunksCompleted.get())
+					.chunksFailed(chunksFailed.get())
+					.startTime(startTime)
+					.endTime(end)
+					.elapsedTime(elapsedTime)
+					.billsPerSecond(elapsedTime > 0 ? bills * 1000.0 / elapsedTime : 0.0)
+					.build();
+		}
+	}
+}
@@ -73,6 +73,8 @@ import org.egov.demand.repository.BillRepositoryV2;
 import org.egov.demand.repository.DemandRepository;
 import org.egov.demand.repository.ServiceRequestRepository;
 import org.egov.demand.util.DemandEnrichmentUtil;
+import org.egov.demand.util.MasterDataSnapshot;
+import org.egov.demand.util.MasterDataSnapshotCache;
 import org.egov.demand.util.Util;
 import org.egov.demand.web.contract.DemandRequest;
 import org.egov.demand.web.contract.DemandResponse;
@@ -83,6 +85,8 @@ import org.egov.demand.web.contract.factory.ResponseFactory;
 import org.egov.demand.web.validator.DemandValidatorV1;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -98,6 +102,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DemandService {
 
+	private static final String PAYER_CACHE = "payers";
+
 	@Autowired
 	private DemandRepository demandRepository;
 
@@ -112,6 +118,9 @@ public class DemandService {
 	
 	@Autowired
 	private ServiceRequestRepository serviceRequestRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
 	
 	@Autowired
 	private AmendmentRepository amendmentRepository;
@@ -127,6 +136,9 @@ public class DemandService {
 
 	@Autowired
 	private DemandValidatorV1 demandValidatorV1;
+
+	@Autowired
+	private MasterDataSnapshotCache masterDataSnapshotCache;
 	
 	/**
 	 * Method to create new demand 
@@ -138,10 +150,11 @@ public class DemandService {
 	 */
 	public DemandResponse create(DemandRequest demandRequest) {
 
-		DocumentContext mdmsData = util.getMDMSData(demandRequest.getRequestInfo(),
+		MasterDataSnapshot masterData = masterDataSnapshotCache.getSnapshot(demandRequest.getRequestInfo(),
 				demandRequest.getDemands().get(0).getTenantId());
+		DocumentContext mdmsData = masterData.getMdmsData();
 
-		demandValidatorV1.validatedemandForCreate(demandRequest, true, mdmsData);
+		demandValidatorV1.validatedemandForCreate(demandRequest, true, masterData);
 
 		log.info("the demand request in create async : {}", demandRequest);
 
@@ -224,10 +237,10 @@ public class DemandService {
 	public DemandResponse updateAsync(DemandRequest demandRequest, PaymentBackUpdateAudit paymentBackUpdateAudit) {
 
 		log.debug("the demand service : " + demandRequest);
-		DocumentContext mdmsData = util.getMDMSData(demandRequest.getRequestInfo(),
+		MasterDataSnapshot masterData = masterDataSnapshotCache.getSnapshot(demandRequest.getRequestInfo(),
 				demandRequest.getDemands().get(0).getTenantId());
 
-		demandValidatorV1.validateForUpdate(demandRequest, mdmsData);
+		demandValidatorV1.validateForUpdate(demandRequest, masterData);
 
 		RequestInfo requestInfo = demandRequest.getRequestInfo();
 		List<Demand> demands = demandRequest.getDemands();
@@ -298,6 +311,19 @@ public class DemandService {
 	 * @return
 	 */
 	public List<Demand> getDemands(DemandCriteria demandCriteria, RequestInfo requestInfo) {
+		return getDemands(demandCriteria, requestInfo, true);
+	}
+
+	/**
+	 * Search method to fetch demands from DB
+	 * 
+	 * @param demandCriteria
+	 * @param requestInfo
+	 * @param payerRequired when false the payers of the demands are not enriched from the user service, leaving only
+	 *                      their uuid, for callers that don't need the payer details
+	 * @return
+	 */
+	public List<Demand> getDemands(DemandCriteria demandCriteria, RequestInfo requestInfo, boolean payerRequired) {
 
 		demandValidatorV1.validateDemandCriteria(demandCriteria, requestInfo);
 
@@ -327,6 +353,7 @@ public class DemandService {
 			if(CollectionUtils.isEmpty(payers))
 				return new ArrayList<>();
 			
+			cachePayers(payers);
 			Set<String> ownerIds = payers.stream().map(User::getUuid).collect(Collectors.toSet());
 			demandCriteria.setPayer(ownerIds);
 			demands = demandRepository.getDemands(demandCriteria);
@@ -337,17 +364,27 @@ public class DemandService {
 			 * If no payer related data given then search demand first then enrich payer(user) data
 			 */
 			demands = demandRepository.getDemands(demandCriteria);
-			if (!demands.isEmpty()) {
+			if (!demands.isEmpty() && payerRequired) {
 
 				Set<String> payerUuids = demands.stream().filter(demand -> null != demand.getPayer())
 						.map(demand -> demand.getPayer().getUuid()).collect(Collectors.toSet());
 
+				/*
+				 * Only the payers missing from the cache are searched in the user service, all of them in one call
+				 */
+				payers = getCachedPayers(payerUuids);
+				payers.forEach(payer -> payerUuids.remove(payer.getUuid()));
+
 				if (!CollectionUtils.isEmpty(payerUuids)) {
 
 					userSearchRequest = UserSearchRequest.builder().requestInfo(requestInfo).uuid(payerUuids).build();
 
-					payers = mapper.convertValue(serviceRequestRepository.fetchResult(userUri, userSearchRequest),
+					List<User> searchedPayers = mapper.convertValue(serviceRequestRepository.fetchResult(userUri, userSearchRequest),
 							UserResponse.class).getUser();
+					if (searchedPayers != null) {
+						cachePayers(searchedPayers);
+						payers.addAll(searchedPayers);
+					}
 				}
 			}
 		}
@@ -358,6 +395,29 @@ public class DemandService {
 		return demands;
 	}
 
+	/**
+	 * Payers of the given uuids found in the payer cache, the cached users are shared by every search and must not
+	 * be modified
+	 */
+	private List<User> getCachedPayers(Set<String> payerUuids) {
+		Cache cache = cacheManager.getCache(PAYER_CACHE);
+		List<User> payers = new ArrayList<>();
+		for (String payerUuid : payerUuids) {
+			User payer = cache.get(payerUuid, User.class);
+			if (payer != null)
+				payers.add(payer);
+		}
+		return payers;
+	}
+
+	private void cachePayers(List<User> payers) {
+		Cache cache = cacheManager.getCache(PAYER_CACHE);
+		for (User payer : payers) {
+			if (payer != null && payer.getUuid() != null)
+				cache.put(payer.getUuid(), payer);
+		}
+	}
+
 	public void save(DemandRequest demandRequest) {
 		demandRepository.save(demandRequest);
 	}
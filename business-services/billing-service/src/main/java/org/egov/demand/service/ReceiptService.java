@@ -74,7 +74,7 @@ public class ReceiptService {
 		RequestInfo requestInfo = billRequest.getRequestInfo();
 
 		DemandCriteria demandCriteria = DemandCriteria.builder().demandId(demandIds).tenantId(tenantId).build();
-		List<Demand> demandsToBeUpdated = demandService.getDemands(demandCriteria, requestInfo);
+		List<Demand> demandsToBeUpdated = demandService.getDemands(demandCriteria, requestInfo, false);
 		Map<String, Demand> demandIdMap = demandsToBeUpdated.stream()
 				.collect(Collectors.toMap(Demand::getId, Function.identity()));
 		
@@ -88,7 +88,7 @@ public class ReceiptServiceV2 {
 		Map<String, String> mapOfBillIdAndStatus = new HashMap<>();
 
 		DemandCriteria demandCriteria = DemandCriteria.builder().demandId(demandIds).tenantId(tenantId).build();
-		List<Demand> demandsToBeUpdated = demandService.getDemands(demandCriteria, requestInfo);
+		List<Demand> demandsToBeUpdated = demandService.getDemands(demandCriteria, requestInfo, false);
 		Map<String, Demand> demandIdMap = demandsToBeUpdated.stream().collect(Collectors.toMap(Demand::getId, Function.identity()));
 		DocumentContext mdmsData = getTaxHeadMaster(tenantId,billRequest.getRequestInfo());
 
@@ -0,0 +1,116 @@
+package org.egov.demand.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.demand.config.ApplicationProperties;
+import org.egov.demand.repository.IdGenRepo;
+import org.egov.tracer.model.CustomException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out bill numbers from blocks fetched from idgen, one idgen call per tenant and module for all the numbers a
+ * request needs.
+ * 
+ * When prefetching is configured, every idgen call fetches the configured prefetch size of numbers more than needed,
+ * which are handed out to the next requests of the same tenant and module. Prefetched numbers are dropped once older
+ * than the lease TTL, which bounds how long a number generated with a date based format can be handed out after the
+ * date has turned. Dropped numbers and numbers still prefetched at a restart are never used, leaving gaps in the bill
+ * number sequence.
+ * 
+ * Only the prefetched numbers are handed out under the lock of the tenant and module, idgen is called outside of it
+ * so concurrent requests don't wait for each other's idgen calls. Numbers of concurrent requests may therefore be
+ * handed out slightly out of order.
+ */
+@Service
+@Slf4j
+public class BillNumberAllocator {
+
+	private static final String BILL_NUMBER_ID_NAME = "billnumberid";
+
+	@Autowired
+	private ApplicationProperties appProps;
+
+	@Autowired
+	private IdGenRepo idGenRepo;
+
+	private final Map<String, Deque<LeasedNumber>> prefetched = new ConcurrentHashMap<>();
+
+	/**
+	 * Allocates the given count of bill numbers for the tenant and module
+	 */
+	public List<String> allocate(RequestInfo requestInfo, String tenantId, String module, int count) {
+
+		List<String> billNumbers = new ArrayList<>(count);
+		if (count <= 0)
+			return billNumbers;
+
+		Deque<LeasedNumber> block = prefetched.computeIfAbsent(tenantId + "|" + module, key -> new ArrayDeque<>());
+		synchronized (block) {
+			long now = System.currentTimeMillis();
+			while (billNumbers.size() < count && !block.isEmpty()) {
+				LeasedNumber leasedNumber = block.poll();
+				if (now < leasedNumber.expiresAt)
+					billNumbers.add(leasedNumber.billNumber);
+			}
+		}
+
+		int missing = count - billNumbers.size();
+		if (missing == 0)
+			return billNumbers;
+
+		int prefetchSize = Math.max(appProps.getBillNumberPrefetchSize(), 0);
+		List<String> fetched = idGenRepo.getId(requestInfo, tenantId, BILL_NUMBER_ID_NAME,
+				getBillNumberFormat(tenantId, module), missing + prefetchSize);
+		if (fetched == null || fetched.size() < missing) {
+			log.error("Idgen returned {} bill numbers for tenant {} and module {}, {} were needed",
+					fetched == null ? 0 : fetched.size(), tenantId, module, missing);
+			throw new CustomException("EG_BS_BILL_NUMBER_ERROR",
+					"Failed to generate the bill numbers, idgen returned fewer numbers than requested");
+		}
+
+		billNumbers.addAll(fetched.subList(0, missing));
+		if (fetched.size() > missing) {
+			long expiresAt = System.currentTimeMillis() + appProps.getBillNumberLeaseTtlMillis();
+			synchronized (block) {
+				for (String billNumber : fetched.subList(missing, fetched.size()))
+					block.add(new LeasedNumber(billNumber, expiresAt));
+			}
+		}
+		log.debug("Fetched {} bill numbers for tenant {} and module {}", fetched.size(), tenantId, module);
+		return billNumbers;
+	}
+
+	private String getBillNumberFormat(String tenantId, String module) {
+
+		String billNumberFormat = appProps.getBillNumberFormat();
+		billNumberFormat = billNumberFormat.replace(appProps.getModuleReplaceStirng(), module);
+
+		if (appProps.getIsTenantLevelBillNumberingEnabled())
+			billNumberFormat = billNumberFormat.replace(appProps.getTenantIdReplaceString(), "_".concat(tenantId.split("\\.")[tenantId.length()-1]));
+		else
+			billNumberFormat = billNumberFormat.replace(appProps.getTenantIdReplaceString(), "");
+
+		return billNumberFormat;
+	}
+
+	private static class LeasedNumber {
+
+		private final String billNumber;
+
+		private final long expiresAt;
+
+		private LeasedNumber(String billNumber, long expiresAt) {
+			this.billNumber = billNumber;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package org.egov.demand.util;
+
+import static org.egov.demand.util.Constants.BUSINESSSERVICE_PATH_CODE;
+import static org.egov.demand.util.Constants.TAXHEADMASTER_PATH_CODE;
+import static org.egov.demand.util.Constants.TAXPERIOD_PATH_CODE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.egov.demand.model.TaxHeadMaster;
+import org.egov.demand.model.TaxPeriod;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Immutable compiled form of the billing service masters of a tenant, tax heads, tax periods and business services.
+ *
+ * Tax heads are indexed by business service and code and by code alone, tax periods by business service in an
+ * interval index answering whether a period covers a given range in logarithmic time. The raw MDMS response is kept
+ * for the masters read by json path. A snapshot carries the version of the masters of its tenant, incremented every
+ * time the fetched masters change.
+ *
+ * The indexed {@link TaxHeadMaster} instances are shared by every request and must not be modified.
+ */
+public class MasterDataSnapshot {
+
+	private static final String MDMS_RES_PATH = "$.MdmsRes";
+
+	private final String tenantId;
+
+	private final long version;
+
+	private final String content;
+
+	private final DocumentContext mdmsData;
+
+	private final Set<String> businessServiceCodes;
+
+	private final Map<String, Map<String, TaxHeadMaster>> taxHeadsByService;
+
+	private final Map<String, TaxHeadMaster> taxHeadsByCode = new HashMap<>();
+
+	private final Map<String, TaxPeriodIndex> taxPeriodsByService = new HashMap<>();
+
+	public MasterDataSnapshot(String tenantId, long version, DocumentContext mdmsData, ObjectMapper mapper) {
+
+		this.tenantId = tenantId;
+		this.version = version;
+		this.content = JsonPath.parse((Object) mdmsData.read(MDMS_RES_PATH)).jsonString();
+		this.mdmsData = mdmsData;
+
+		List<String> businessServices = mdmsData.read(BUSINESSSERVICE_PATH_CODE);
+		this.businessServiceCodes = Collections.unmodifiableSet(new HashSet<>(businessServices));
+
+		List<TaxHeadMaster> taxHeads = Arrays.asList(mapper.convertValue(mdmsData.read(TAXHEADMASTER_PATH_CODE), TaxHeadMaster[].class));
+		this.taxHeadsByService = taxHeads.stream().collect(Collectors.groupingBy(TaxHeadMaster::getService,
+				Collectors.toMap(TaxHeadMaster::getCode, taxHead -> taxHead, (first, second) -> first)));
+		taxHeads.forEach(taxHead -> taxHeadsByCode.putIfAbsent(taxHead.getCode(), taxHead));
+
+		List<TaxPeriod> taxPeriods = Arrays.asList(mapper.convertValue(mdmsData.read(TAXPERIOD_PATH_CODE), TaxPeriod[].class));
+		taxPeriods.stream().collect(Collectors.groupingBy(TaxPeriod::getService))
+				.forEach((service, periods) -> taxPeriodsByService.put(service, new TaxPeriodIndex(periods)));
+	}
+
+	public String getTenantId() {
+		return tenantId;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * The masters of the MDMS response, without the response info, to tell whether the masters changed
+	 */
+	String getContent() {
+		return content;
+	}
+
+	/**
+	 * The MDMS response the snapshot was compiled from, for masters read by json path
+	 */
+	public DocumentContext getMdmsData() {
+		return mdmsData;
+	}
+
+	public boolean hasBusinessService(String businessService) {
+		return businessServiceCodes.contains(businessService);
+	}
+
+	/**
+	 * @return the tax heads of the business service keyed by code, null when the business service has none
+	 */
+	public Map<String, TaxHeadMaster> getTaxHeads(String businessService) {
+		Map<String, TaxHeadMaster> taxHeads = taxHeadsByService.get(businessService);
+		return taxHeads == null ? null : Collections.unmodifiableMap(taxHeads);
+	}
+
+	/**
+	 * @return the tax heads among the given codes keyed by code, codes without a tax head are left out
+	 */
+	public Map<String, TaxHeadMaster> getTaxHeadsByCode(Collection<String> codes) {
+		Map<String, TaxHeadMaster> taxHeads = new HashMap<>();
+		for (String code : codes) {
+			TaxHeadMaster taxHead = taxHeadsByCode.get(code);
+			if (taxHead != null)
+				taxHeads.put(code, taxHead);
+		}
+		return taxHeads;
+	}
+
+	public boolean hasTaxPeriods(String businessService) {
+		return taxPeriodsByService.containsKey(businessService);
+	}
+
+	/**
+	 * @return true when a tax period of the business service covers the whole range from the given from date to the
+	 *         given to date
+	 */
+	public boolean hasTaxPeriodCovering(String businessService, Long fromDate, Long toDate) {
+		TaxPeriodIndex index = taxPeriodsByService.get(businessService);
+		return index != null && index.covers(fromDate, toDate);
+	}
+
+	/**
+	 * Tax periods sorted by from date along with the latest to date of every prefix of the sorted periods. A range
+	 * is covered when among the periods starting on or before its from date, found by binary search, the latest to
+	 * date is on or after its to date.
+	 */
+	static class TaxPeriodIndex {
+
+		private final long[] fromDates;
+
+		private final long[] maxToDates;
+
+		TaxPeriodIndex(List<TaxPeriod> taxPeriods) {
+
+			List<TaxPeriod> sorted = new ArrayList<>(taxPeriods);
+			sorted.removeIf(taxPeriod -> taxPeriod.getFromDate() == null || taxPeriod.getToDate() == null);
+			sorted.sort(Comparator.comparing(TaxPeriod::getFromDate));
+
+			fromDates = new long[sorted.size()];
+			maxToDates = new long[sorted.size()];
+			long maxToDate = Long.MIN_VALUE;
+			for (int i = 0; i < sorted.size(); i++) {
+				maxToDate = Math.max(maxToDate, sorted.get(i).getToDate());
+				fromDates[i] = sorted.get(i).getFromDate();
+				maxToDates[i] = maxToDate;
+			}
+		}
+
+		boolean covers(long fromDate, long toDate) {
+
+			int low = 0;
+			int high = fromDates.length - 1;
+			int last = -1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (fromDates[mid] <= fromDate) {
+					last = mid;
+					low = mid + 1;
+				} else {
+					high = mid - 1;
+				}
+			}
+			return last >= 0 && maxToDates[last] >= toDate;
+		}
+	}
+}
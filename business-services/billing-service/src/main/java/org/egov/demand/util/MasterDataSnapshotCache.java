@@ -0,0 +1,116 @@
+package org.egov.demand.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the {@link MasterDataSnapshot} of the billing service masters of every tenant.
+ *
+ * The first request of a tenant fetches its masters from MDMS. Once the refresh interval of a snapshot lapses it is
+ * still handed out while a background refresh fetches the masters again, a new snapshot is compiled only when the
+ * masters have changed. At most one refresh runs per tenant, a failed refresh keeps the current snapshot until the
+ * next request after the interval retries it.
+ */
+@Component
+@Slf4j
+public class MasterDataSnapshotCache {
+
+	@Autowired
+	private Util util;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Value("${bs.mdms.snapshot.refresh.interval.ms}")
+	private long refreshIntervalMillis;
+
+	private ThreadPoolTaskExecutor refreshExecutor;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		refreshExecutor = new ThreadPoolTaskExecutor();
+		refreshExecutor.setCorePoolSize(1);
+		refreshExecutor.setMaxPoolSize(1);
+		refreshExecutor.setQueueCapacity(100);
+		refreshExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+		refreshExecutor.setThreadNamePrefix("mdms-snapshot-");
+		refreshExecutor.initialize();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		refreshExecutor.shutdown();
+	}
+
+	/**
+	 * Returns the snapshot of the tenant's masters, fetching them when the tenant has none yet
+	 */
+	public MasterDataSnapshot getSnapshot(RequestInfo requestInfo, String tenantId) {
+
+		Entry entry = entries.get(tenantId);
+		if (entry == null)
+			return refresh(requestInfo, tenantId).snapshot;
+
+		if (System.currentTimeMillis() >= entry.refreshAt && entry.refreshing.compareAndSet(false, true)) {
+			refreshExecutor.execute(() -> {
+				try {
+					refresh(requestInfo, tenantId);
+				} catch (Exception e) {
+					log.error("Failed to refresh the masters of tenant {}", tenantId, e);
+				} finally {
+					entry.refreshing.set(false);
+				}
+			});
+		}
+		return entry.snapshot;
+	}
+
+	private Entry refresh(RequestInfo requestInfo, String tenantId) {
+
+		DocumentContext mdmsData = util.getMDMSData(requestInfo, tenantId);
+		long refreshAt = System.currentTimeMillis() + refreshIntervalMillis;
+
+		return entries.compute(tenantId, (key, current) -> {
+			MasterDataSnapshot snapshot = new MasterDataSnapshot(tenantId, current == null ? 1 : current.snapshot.getVersion() + 1,
+					mdmsData, mapper);
+			if (current != null && current.snapshot.getContent().equals(snapshot.getContent()))
+				return new Entry(current.snapshot, refreshAt, current.refreshing);
+
+			log.info("Compiled version {} of the masters of tenant {}", snapshot.getVersion(), tenantId);
+			return new Entry(snapshot, refreshAt, current == null ? new AtomicBoolean() : current.refreshing);
+		});
+	}
+
+	private static class Entry {
+
+		private final MasterDataSnapshot snapshot;
+
+		private final long refreshAt;
+
+		private final AtomicBoolean refreshing;
+
+		private Entry(MasterDataSnapshot snapshot, long refreshAt, AtomicBoolean refreshing) {
+			this.snapshot = snapshot;
+			this.refreshAt = refreshAt;
+			this.refreshing = refreshing;
+		}
+	}
+}
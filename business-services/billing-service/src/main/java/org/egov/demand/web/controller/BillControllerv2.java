@@ -9,12 +9,16 @@ import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.response.ResponseInfo;
 import org.egov.demand.helper.BillHelperV2;
 import org.egov.demand.model.BillSearchCriteria;
+import org.egov.demand.model.BulkBillGenerationCriteria;
+import org.egov.demand.model.BulkBillGenerationJob;
 import org.egov.demand.model.GenerateBillCriteria;
 import org.egov.demand.model.UpdateBillRequest;
 import org.egov.demand.service.BillServicev2;
+import org.egov.demand.service.BulkBillGenerationService;
 import org.egov.demand.util.Constants;
 import org.egov.demand.web.contract.BillRequestV2;
 import org.egov.demand.web.contract.BillResponseV2;
+import org.egov.demand.web.contract.BulkBillGenerationResponse;
 import org.egov.demand.web.contract.RequestInfoWrapper;
 import org.egov.demand.web.contract.factory.ResponseFactory;
 import org.egov.demand.web.validator.BillValidator;
@@ -27,6 +31,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -46,6 +51,9 @@ public class BillControllerv2 {
 	@Autowired
 	private BillHelperV2 billHelper;
 	
+	@Autowired
+	private BulkBillGenerationService bulkBillGenerationService;
+	
 	@PostMapping("_search")
 	@ResponseBody
 	public ResponseEntity<?> search(@RequestBody @Valid final RequestInfoWrapper requestInfoWrapper,
@@ -75,6 +83,33 @@ public class BillControllerv2 {
 		throw new CustomException("EG_BS_API_ERROR", "The Generate bill API has been deprecated, Access the fetchBill");
 	}
 	
+	@PostMapping("_bulkgenerate")
+	@ResponseBody
+	public ResponseEntity<?> bulkGenerate(@RequestBody @Valid RequestInfoWrapper requestInfoWrapper,
+			@ModelAttribute @Valid BulkBillGenerationCriteria bulkBillGenerationCriteria) {
+
+		RequestInfo requestInfo = requestInfoWrapper.getRequestInfo();
+		BulkBillGenerationJob job = bulkBillGenerationService.startJob(bulkBillGenerationCriteria, requestInfo);
+		BulkBillGenerationResponse response = BulkBillGenerationResponse.builder()
+				.responseInfo(responseFactory.getResponseInfo(requestInfo, HttpStatus.ACCEPTED))
+				.job(job)
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+	}
+	
+	@PostMapping("_bulkgeneratestatus")
+	@ResponseBody
+	public ResponseEntity<?> bulkGenerateStatus(@RequestBody @Valid RequestInfoWrapper requestInfoWrapper,
+			@RequestParam String jobId) {
+
+		RequestInfo requestInfo = requestInfoWrapper.getRequestInfo();
+		BulkBillGenerationResponse response = BulkBillGenerationResponse.builder()
+				.responseInfo(responseFactory.getResponseInfo(requestInfo, HttpStatus.OK))
+				.job(bulkBillGenerationService.getJob(jobId))
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+	
 	@PostMapping("_create")
 	@ResponseBody
 	public ResponseEntity<?> create(@RequestBody @Valid BillRequestV2 billRequest, BindingResult bindingResult){
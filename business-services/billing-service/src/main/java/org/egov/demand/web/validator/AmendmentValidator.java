@@ -129,7 +129,7 @@ public class AmendmentValidator {
 		.consumerCode(new HashSet<>(Arrays.asList(amendment.getConsumerCode())))
 		.build();
 		
-		List<Demand> demands = demandService.getDemands(demandCriteria, amendmentRequest.getRequestInfo());
+		List<Demand> demands = demandService.getDemands(demandCriteria, amendmentRequest.getRequestInfo(), false);
 		
 //		if (CollectionUtils.isEmpty(demands))
 //			throw new CustomException("EG_BS_AMENDMENT_CONSUMERCODE_ERROR",
@@ -3,7 +3,6 @@ package org.egov.demand.web.validator;
 import static org.egov.demand.util.Constants.BUSINESSSERVICE_NOT_FOUND_KEY;
 import static org.egov.demand.util.Constants.BUSINESSSERVICE_NOT_FOUND_MSG;
 import static org.egov.demand.util.Constants.BUSINESSSERVICE_NOT_FOUND_REPLACETEXT;
-import static org.egov.demand.util.Constants.BUSINESSSERVICE_PATH_CODE;
 import static org.egov.demand.util.Constants.CONSUMER_CODE_DUPLICATE_CONSUMERCODE_TEXT;
 import static org.egov.demand.util.Constants.CONSUMER_CODE_DUPLICATE_KEY;
 import static org.egov.demand.util.Constants.CONSUMER_CODE_DUPLICATE_MSG;
@@ -27,7 +26,6 @@ import static org.egov.demand.util.Constants.INVALID_DEMAND_DETAIL_KEY;
 import static org.egov.demand.util.Constants.INVALID_DEMAND_DETAIL_MSG;
 import static org.egov.demand.util.Constants.INVALID_DEMAND_DETAIL_REPLACETEXT;
 import static org.egov.demand.util.Constants.INVALID_DEMAND_DETAIL_TAX_TEXT;
-import static org.egov.demand.util.Constants.TAXHEADMASTER_PATH_CODE;
 import static org.egov.demand.util.Constants.TAXHEADS_NOT_FOUND_KEY;
 import static org.egov.demand.util.Constants.TAXHEADS_NOT_FOUND_MSG;
 import static org.egov.demand.util.Constants.TAXHEADS_NOT_FOUND_REPLACETEXT;
@@ -35,14 +33,12 @@ import static org.egov.demand.util.Constants.TAXPERIOD_NOT_FOUND_FROMDATE;
 import static org.egov.demand.util.Constants.TAXPERIOD_NOT_FOUND_KEY;
 import static org.egov.demand.util.Constants.TAXPERIOD_NOT_FOUND_MSG;
 import static org.egov.demand.util.Constants.TAXPERIOD_NOT_FOUND_TODATE;
-import static org.egov.demand.util.Constants.TAXPERIOD_PATH_CODE;
 import static org.egov.demand.util.Constants.USER_UUID_NOT_FOUND_KEY;
 import static org.egov.demand.util.Constants.USER_UUID_NOT_FOUND_MSG;
 import static org.egov.demand.util.Constants.USER_UUID_NOT_FOUND_REPLACETEXT;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -58,10 +54,10 @@ import org.egov.demand.model.Demand.StatusEnum;
 import org.egov.demand.model.DemandCriteria;
 import org.egov.demand.model.DemandDetail;
 import org.egov.demand.model.TaxHeadMaster;
-import org.egov.demand.model.TaxPeriod;
 import org.egov.demand.repository.DemandRepository;
 import org.egov.demand.repository.ServiceRequestRepository;
 import org.egov.demand.service.UserService;
+import org.egov.demand.util.MasterDataSnapshot;
 import org.egov.demand.util.Util;
 import org.egov.demand.web.contract.DemandRequest;
 import org.egov.demand.web.contract.User;
@@ -73,9 +69,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.jayway.jsonpath.DocumentContext;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -85,9 +78,6 @@ public class DemandValidatorV1 {
 	@Autowired
 	private ServiceRequestRepository serviceRequestRepository;
 	
-	@Autowired
-	private ObjectMapper mapper;
-	
 	@Autowired
 	UserService userService;
 	
@@ -105,33 +95,11 @@ public class DemandValidatorV1 {
 	 * 
 	 * @param demandRequest 
 	 */
-	public void validatedemandForCreate(DemandRequest demandRequest, Boolean isCreate, DocumentContext mdmsData) {
+	public void validatedemandForCreate(DemandRequest demandRequest, Boolean isCreate, MasterDataSnapshot masterData) {
 
 		RequestInfo requestInfo = demandRequest.getRequestInfo();
 		List<Demand> demands = demandRequest.getDemands();
 
-		/*
-		 * Extracting the respective masters from DocumentContext 
-		 */
-		List<String> businessServiceCodes = mdmsData.read(BUSINESSSERVICE_PATH_CODE);
-		List<TaxHeadMaster> taxHeads = Arrays.asList(mapper.convertValue(mdmsData.read(TAXHEADMASTER_PATH_CODE), TaxHeadMaster[].class));
-		
-		/*
-		 * grouping by the list of taxHeads to a map of businessService and List of taxHead codes
-		 */
-		Map<String, Map<String,TaxHeadMaster>> businessTaxCodeMap = taxHeads.stream().collect(Collectors.groupingBy(
-				TaxHeadMaster::getService, Collectors.toMap(TaxHeadMaster::getCode, Function.identity())));
-		
-		/*
-		 * mdms-data read returns a list of hashMap which is converted to array of tax-period and then to list
-		 */
-		List<TaxPeriod> taxPeriods = Arrays.asList(mapper.convertValue(mdmsData.read(TAXPERIOD_PATH_CODE), TaxPeriod[].class));
-
-		/*
-		 * Grouping by the list periods on business services
-		 */
-		Map<String, List<TaxPeriod>> taxPeriodBusinessMap = taxPeriods.stream()
-				.collect(Collectors.groupingBy(TaxPeriod::getService));
 		Set<String> payerIds = new HashSet<>();
 		
 		/* demand details list for validation */
@@ -149,7 +117,7 @@ public class DemandValidatorV1 {
 		for (Demand demand : demands) {
 
 			List<DemandDetail> details = demand.getDemandDetails();
-			Map<String, TaxHeadMaster> taxHeadMap = businessTaxCodeMap.get(demand.getBusinessService());
+			Map<String, TaxHeadMaster> taxHeadMap = masterData.getTaxHeads(demand.getBusinessService());
 			log.info(" the taxhead map : " + taxHeadMap);
 			detailsForValidation.addAll(details);
 
@@ -161,7 +129,7 @@ public class DemandValidatorV1 {
 			if (null != demand.getPayer() && !StringUtils.isEmpty(demand.getPayer().getUuid()))
 				payerIds.add(demand.getPayer().getUuid());
 
-			if (!businessServiceCodes.contains(demand.getBusinessService()))
+			if (!masterData.hasBusinessService(demand.getBusinessService()))
 				businessServicesNotFound.add(demand.getBusinessService());
 
 			if (!CollectionUtils.isEmpty(taxHeadMap))
@@ -171,7 +139,7 @@ public class DemandValidatorV1 {
 						taxHeadsNotFound.add(detail.getTaxHeadMasterCode());
 				});
 
-			validateTaxPeriod(taxPeriodBusinessMap, demand, errorMap, businessServicesWithNoTaxPeriods);
+			validateTaxPeriod(masterData, demand, errorMap, businessServicesWithNoTaxPeriods);
 			
 			// by default demands are being set to active during create but validation should be done for inactive/ cancelled demand in another logic
 			if(demand.getStatus() == null) demand.setStatus(StatusEnum.ACTIVE);
@@ -230,31 +198,21 @@ public class DemandValidatorV1 {
 	/**
 	 * Method to validate the tax period of the demand
 	 * 
-	 * @param taxPeriodBusinessMap
+	 * @param masterData
 	 * @param demand
 	 * @param errorMap
 	 * @param businessServicesWithNoTaxPeriods
 	 */
-	private void validateTaxPeriod(Map<String, List<TaxPeriod>> taxPeriodBusinessMap, Demand demand,
+	private void validateTaxPeriod(MasterDataSnapshot masterData, Demand demand,
 			Map<String, String> errorMap, Set<String> businessServicesWithNoTaxPeriods) {
-		
-		/*
-		 * Getting the list of tax periods belonging to the current business service
-		 */
-		List<TaxPeriod> taxPeriods = taxPeriodBusinessMap.get(demand.getBusinessService());
 
-
-		if (taxPeriods != null) {
+		if (masterData.hasTaxPeriods(demand.getBusinessService())) {
 
 			/*
-			 * looping the list of business services to check if the given demand periods gets match
+			 * checking if any of the tax periods of the business service covers the demand periods
 			 */
-			TaxPeriod taxPeriod = taxPeriods.stream()
-					.filter(t -> demand.getTaxPeriodFrom().compareTo(t.getFromDate()) >= 0
-							&& demand.getTaxPeriodTo().compareTo(t.getToDate()) <= 0)
-					.findAny().orElse(null);
-
-			if (taxPeriod == null) {
+			if (!masterData.hasTaxPeriodCovering(demand.getBusinessService(), demand.getTaxPeriodFrom(),
+					demand.getTaxPeriodTo())) {
 
 				String msg = TAXPERIOD_NOT_FOUND_MSG
 						.replace(TAXPERIOD_NOT_FOUND_FROMDATE, demand.getTaxPeriodFrom().toString())
@@ -451,7 +409,7 @@ public class DemandValidatorV1 {
 	 * internally calls the create method to validate the new demands
 	 * @param demandRequest
 	 */
-	public void validateForUpdate(DemandRequest demandRequest, DocumentContext mdmsData) {
+	public void validateForUpdate(DemandRequest demandRequest, MasterDataSnapshot masterData) {
 
 		Map<String, String> errorMap = new HashMap<>();
 		List<Demand> demands = demandRequest.getDemands();
@@ -492,7 +450,7 @@ public class DemandValidatorV1 {
 		 * 
 		 * error map will be thrown in the create method itself
 		 */
-		validatedemandForCreate(demandRequest, false,mdmsData);
+		validatedemandForCreate(demandRequest, false, masterData);
 	}
 	
 	/**
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_egbs_demand_v1_bill_generation ON egbs_demand_v1 (tenantid, businessservice, consumercode) WHERE status='ACTIVE' AND ispaymentcompleted = false;
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import com.fasterxml.jackson.databind.node.MissingNode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 
 import org.egov.demand.model.BillSearchCriteria;
@@ -343,5 +344,17 @@ class BillQueryBuilderTest {
         assertEquals("UPDATE egbs_bill_v1 SET status=?  WHERE status='ACTIVE' AND tenantId = ?  AND id IN (  ?, ?)",
                 billQueryBuilder.getBillStatusUpdateQuery(updateBillCriteria, new ArrayList<>()));
     }
-}
 
+    @Test
+    void testGetExpireActiveBillsQuery() {
+
+        BillQueryBuilder billQueryBuilder = new BillQueryBuilder();
+        ArrayList<Object> objectList = new ArrayList<>();
+
+        assertEquals("UPDATE {schema}.egbs_bill_v1 SET status='EXPIRED' WHERE status='ACTIVE' AND tenantid = ? AND id IN"
+                + " (SELECT billid FROM {schema}.egbs_billdetail_v1 WHERE tenantid = ? AND businessservice = ? AND"
+                + " consumercode IN ( ?))", billQueryBuilder.getExpireActiveBillsQuery("pb.amritsar", "PT",
+                Collections.singleton("PT-107-001"), objectList));
+        assertEquals(4, objectList.size());
+    }
+}
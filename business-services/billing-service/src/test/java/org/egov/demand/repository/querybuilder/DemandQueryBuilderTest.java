@@ -366,5 +366,31 @@ class DemandQueryBuilderTest {
                 actualDemandQueryBuilder.getDemandQuery(demandCriteria, objectList));
         assertEquals(7, objectList.size());
     }
-}
 
+    @Test
+    void testGetBillGenerationConsumerCodesQuery() {
+        DemandQueryBuilder actualDemandQueryBuilder = new DemandQueryBuilder();
+        ArrayList<Object> objectList = new ArrayList<>();
+        assertEquals(
+                "SELECT DISTINCT dmd.consumercode FROM {schema}.egbs_demand_v1 dmd WHERE dmd.tenantid = ? AND"
+                        + " dmd.businessservice = ? AND dmd.status = 'ACTIVE' AND dmd.ispaymentcompleted = false"
+                        + " ORDER BY dmd.consumercode LIMIT ?",
+                actualDemandQueryBuilder.getBillGenerationConsumerCodesQuery("pb.amritsar", "PT", null, 500, objectList));
+        assertEquals(3, objectList.size());
+    }
+
+    @Test
+    void testGetBillGenerationConsumerCodesQueryAfterConsumerCode() {
+        DemandQueryBuilder actualDemandQueryBuilder = new DemandQueryBuilder();
+        ArrayList<Object> objectList = new ArrayList<>();
+        assertEquals(
+                "SELECT DISTINCT dmd.consumercode FROM {schema}.egbs_demand_v1 dmd WHERE dmd.tenantid = ? AND"
+                        + " dmd.businessservice = ? AND dmd.status = 'ACTIVE' AND dmd.ispaymentcompleted = false"
+                        + " AND dmd.consumercode > ? ORDER BY dmd.consumercode LIMIT ?",
+                actualDemandQueryBuilder.getBillGenerationConsumerCodesQuery("pb.amritsar", "PT", "PT-107-001", 500,
+                        objectList));
+        assertEquals(4, objectList.size());
+        assertEquals("PT-107-001", objectList.get(2));
+        assertEquals(500, objectList.get(3));
+    }
+}
@@ -0,0 +1,182 @@
+package org.egov.demand.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.demand.config.ApplicationProperties;
+import org.egov.demand.model.BillDetailV2;
+import org.egov.demand.model.BillSearchCriteria;
+import org.egov.demand.model.BillV2;
+import org.egov.demand.model.BulkBillGenerationCriteria;
+import org.egov.demand.model.BulkBillGenerationJob.JobStatus;
+import org.egov.demand.model.BusinessServiceDetail;
+import org.egov.demand.model.Demand;
+import org.egov.demand.model.DemandCriteria;
+import org.egov.demand.model.TaxHeadMasterCriteria;
+import org.egov.demand.repository.AdvisoryLockRepository;
+import org.egov.demand.repository.AdvisoryLockRepository.AdvisoryLock;
+import org.egov.demand.repository.BillRepositoryV2;
+import org.egov.demand.repository.DemandRepository;
+import org.egov.demand.web.contract.BillRequestV2;
+import org.egov.demand.web.contract.RequestInfoWrapper;
+import org.egov.demand.web.contract.TaxHeadMasterResponse;
+import org.egov.tracer.model.CustomException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkBillGenerationServiceTest {
+
+    private static final String TENANT_ID = "pb.amritsar";
+
+    @Mock
+    private ApplicationProperties appProps;
+
+    @Mock
+    private DemandRepository demandRepository;
+
+    @Mock
+    private DemandService demandService;
+
+    @Mock
+    private BillServicev2 billService;
+
+    @Mock
+    private TaxHeadMasterService taxHeadService;
+
+    @Mock
+    private BillRepositoryV2 billRepository;
+
+    @Mock
+    private AdvisoryLockRepository lockRepository;
+
+    @InjectMocks
+    private BulkBillGenerationService bulkBillGenerationService;
+
+    private final RequestInfo requestInfo = new RequestInfo();
+
+    @BeforeEach
+    void setUp() {
+        when(appProps.getBulkBillGenerationMaxJobs()).thenReturn(1);
+        when(appProps.getBulkBillGenerationWorkerPoolSize()).thenReturn(1);
+        when(appProps.getBulkBillGenerationWorkerQueueSize()).thenReturn(1);
+        when(appProps.getBulkBillGenerationChunkSize()).thenReturn(10);
+        bulkBillGenerationService.init();
+
+        when(billService.getBusinessService(Collections.singleton("PT"), TENANT_ID, requestInfo))
+                .thenReturn(Collections.singletonMap("PT", new BusinessServiceDetail()));
+        when(taxHeadService.getTaxHeads(any(TaxHeadMasterCriteria.class), eq(requestInfo)))
+                .thenReturn(new TaxHeadMasterResponse(null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkBillGenerationService.shutdown();
+    }
+
+    @Test
+    void testOnlyConsumerCodesWithoutValidBillAreBilled() {
+        AdvisoryLock lock = mock(AdvisoryLock.class);
+        when(lockRepository.tryLock(anyString())).thenReturn(lock);
+        when(demandRepository.getConsumerCodesForBillGeneration(TENANT_ID, "PT", null, 10))
+                .thenReturn(Arrays.asList("PT-1", "PT-2", "PT-3"));
+        long now = System.currentTimeMillis();
+        when(billRepository.findBill(any(BillSearchCriteria.class))).thenReturn(Arrays.asList(
+                bill("PT-1", now + 3600000L), bill("PT-2", now - 3600000L)));
+        when(demandService.getDemands(any(DemandCriteria.class), eq(requestInfo))).thenReturn(Arrays.asList(
+                demand("PT-2"), demand("PT-3")));
+        when(billService.prepareBillForTenant(eq(TENANT_ID), any(), any(), any(), any(), eq(requestInfo)))
+                .thenReturn(Arrays.asList(bill("PT-2", now + 3600000L), bill("PT-3", now + 3600000L)));
+
+        String jobId = bulkBillGenerationService.startJob(criteria(), requestInfo).getJobId();
+
+        verify(lock, timeout(5000)).close();
+        assertEquals(JobStatus.COMPLETED, bulkBillGenerationService.getJob(jobId).getStatus());
+        assertEquals(2L, bulkBillGenerationService.getJob(jobId).getBillsGenerated());
+
+        Set<String> toBill = new HashSet<>(Arrays.asList("PT-2", "PT-3"));
+        verify(billService).updateDemandsForexpiredBillDetails(eq("PT"), eq(toBill), eq(TENANT_ID),
+                any(RequestInfoWrapper.class));
+
+        ArgumentCaptor<DemandCriteria> demandCriteria = ArgumentCaptor.forClass(DemandCriteria.class);
+        verify(demandService).getDemands(demandCriteria.capture(), eq(requestInfo));
+        assertEquals(toBill, demandCriteria.getValue().getConsumerCode());
+
+        verify(billRepository).replaceActiveBills(eq(TENANT_ID), eq("PT"), eq(toBill), any(BillRequestV2.class));
+    }
+
+    @Test
+    void testChunkWithOnlyValidBillsIsLeftAsItIs() {
+        AdvisoryLock lock = mock(AdvisoryLock.class);
+        when(lockRepository.tryLock(anyString())).thenReturn(lock);
+        when(demandRepository.getConsumerCodesForBillGeneration(TENANT_ID, "PT", null, 10))
+                .thenReturn(Collections.singletonList("PT-1"));
+        when(billRepository.findBill(any(BillSearchCriteria.class)))
+                .thenReturn(Collections.singletonList(bill("PT-1", System.currentTimeMillis() + 3600000L)));
+
+        bulkBillGenerationService.startJob(criteria(), requestInfo);
+
+        verify(lock, timeout(5000)).close();
+        verify(billService, never()).updateDemandsForexpiredBillDetails(any(), any(), any(), any());
+        verify(demandService, never()).getDemands(any(DemandCriteria.class), any(RequestInfo.class));
+        verify(billRepository, never()).replaceActiveBills(any(), any(), any(), any());
+    }
+
+    @Test
+    void testJobRunningOnAnotherPodIsRejected() {
+        when(lockRepository.tryLock(anyString())).thenReturn(null);
+
+        CustomException exception = assertThrows(CustomException.class,
+                () -> bulkBillGenerationService.startJob(criteria(), requestInfo));
+
+        assertEquals("EG_BS_BULK_BILL_JOB_RUNNING", exception.getCode());
+        verify(demandRepository, never()).getConsumerCodesForBillGeneration(any(), any(), any(), anyInt());
+    }
+
+    private BulkBillGenerationCriteria criteria() {
+        BulkBillGenerationCriteria criteria = new BulkBillGenerationCriteria();
+        criteria.setTenantId(TENANT_ID);
+        criteria.setBusinessService("PT");
+        return criteria;
+    }
+
+    private BillV2 bill(String consumerCode, long expiryDate) {
+        BillDetailV2 billDetail = new BillDetailV2();
+        billDetail.setExpiryDate(expiryDate);
+        BillV2 bill = new BillV2();
+        bill.setConsumerCode(consumerCode);
+        bill.setBillDetails(Collections.singletonList(billDetail));
+        return bill;
+    }
+
+    private Demand demand(String consumerCode) {
+        Demand demand = new Demand();
+        demand.setConsumerCode(consumerCode);
+        demand.setDemandDetails(Collections.emptyList());
+        return demand;
+    }
+}
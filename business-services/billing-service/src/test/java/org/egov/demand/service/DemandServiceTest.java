@@ -18,14 +18,17 @@ import org.egov.tracer.model.CustomException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -80,7 +83,7 @@ public class DemandServiceTest {
 
         doThrow(new CustomException("INVALID_DEMAND", "Invalid demand"))
                 .when(demandValidatorV1)
-                .validatedemandForCreate(demandRequest, true, mdmsData);
+                .validatedemandForCreate(demandRequest, true, null);
 
 
     }
@@ -103,7 +106,7 @@ public class DemandServiceTest {
 
         PaymentBackUpdateAudit paymentBackUpdateAudit = PaymentBackUpdateAudit.builder().build();
 
-        demandValidatorV1.validateForUpdate(demandRequest,mdmsData);
+        demandValidatorV1.validateForUpdate(demandRequest, null);
         when(demandRepository.getDemands(any(DemandCriteria.class)))
                 .thenReturn(Collections.emptyList());
 
@@ -138,6 +141,36 @@ public class DemandServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should search the user service only for the payers missing from the payer cache")
+    public void testGetDemandsSearchesOnlyUncachedPayers() {
+        DemandCriteria demandCriteria = DemandCriteria.builder().tenantId("pb.amritsar").build();
+        RequestInfo requestInfo = RequestInfo.builder().build();
+
+        when(demandRepository.getDemands(demandCriteria)).thenReturn(
+                Collections.singletonList(demand("payer-1")),
+                Arrays.asList(demand("payer-1"), demand("payer-2")));
+        when(serviceRequestRepository.fetchResult(any(), any(UserSearchRequest.class)))
+                .thenReturn(userResponse("payer-1"), userResponse("payer-2"));
+
+        demandService.getDemands(demandCriteria, requestInfo);
+        demandService.getDemands(demandCriteria, requestInfo);
+
+        ArgumentCaptor<UserSearchRequest> userSearchRequests = ArgumentCaptor.forClass(UserSearchRequest.class);
+        verify(serviceRequestRepository, times(2)).fetchResult(any(), userSearchRequests.capture());
+        assertEquals(Collections.singleton("payer-1"), userSearchRequests.getAllValues().get(0).getUuid());
+        assertEquals(Collections.singleton("payer-2"), userSearchRequests.getAllValues().get(1).getUuid());
+    }
+
+    private Demand demand(String payerUuid) {
+        return Demand.builder().payer(User.builder().uuid(payerUuid).build()).build();
+    }
+
+    private Map<String, Object> userResponse(String uuid) {
+        return Collections.singletonMap("user",
+                Collections.singletonList(Collections.singletonMap("uuid", uuid)));
+    }
+
     @Test
     public void  UserSearchReq(){
         UserSearchRequest userSearchRequest = new UserSearchRequest();
@@ -1,6 +1,7 @@
 package org.egov.demand.service;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -91,7 +92,7 @@ class ReceiptServiceTest {
 
     @Test
     void testUpdateDemandFromReceipt6() {
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -106,7 +107,7 @@ class ReceiptServiceTest {
         when(receiptRequest.getRequestInfo()).thenReturn(new RequestInfo());
         when(receiptRequest.getReceipt()).thenReturn(receiptList);
         this.receiptService.updateDemandFromReceipt(receiptRequest, BillDetail.StatusEnum.CREATED, true);
-        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any());
+        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean());
         verify(this.demandService).updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any());
         verify(receiptRequest, atLeast(1)).getReceipt();
@@ -116,7 +117,7 @@ class ReceiptServiceTest {
 
     @Test
     void testUpdateDemandFromReceipt7() {
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -132,7 +133,7 @@ class ReceiptServiceTest {
         when(receiptRequest.getRequestInfo()).thenReturn(new RequestInfo());
         when(receiptRequest.getReceipt()).thenReturn(receiptList);
         this.receiptService.updateDemandFromReceipt(receiptRequest, BillDetail.StatusEnum.CREATED, true);
-        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any());
+        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean());
         verify(this.demandService).updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any());
         verify(receiptRequest, atLeast(1)).getReceipt();
@@ -143,7 +144,7 @@ class ReceiptServiceTest {
 
     void testUpdateDemandFromReceipt8() {
 
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -166,7 +167,7 @@ class ReceiptServiceTest {
 
     void testUpdateDemandFromReceipt9() {
 
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -192,7 +193,7 @@ class ReceiptServiceTest {
 
     void testUpdateDemandFromReceipt10() {
 
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -228,7 +229,7 @@ class ReceiptServiceTest {
 
     @Test
     void testUpdateDemandFromBill4() {
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -239,7 +240,7 @@ class ReceiptServiceTest {
         when(billRequest.getRequestInfo()).thenReturn(new RequestInfo());
         when(billRequest.getBills()).thenReturn(billList);
         this.receiptService.updateDemandFromBill(billRequest, new HashSet<>(), true);
-        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any());
+        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean());
         verify(this.demandService).updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any());
         verify(billRequest).getBills();
@@ -251,7 +252,7 @@ class ReceiptServiceTest {
 
     void testUpdateDemandFromBill5() {
 
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -271,7 +272,7 @@ class ReceiptServiceTest {
     void testUpdateDemandFromBill6() {
 
 
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -293,7 +294,7 @@ class ReceiptServiceTest {
 
     void testUpdateDemandFromBill7() {
 
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(new ArrayList<>());
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -313,7 +314,7 @@ class ReceiptServiceTest {
     void testUpdateDemandFromBill8() {
         ArrayList<Demand> demandList = new ArrayList<>();
         demandList.add(new Demand());
-        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any()))
+        when(this.demandService.getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean()))
                 .thenReturn(demandList);
         when(this.demandService.updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any())).thenReturn(new DemandResponse());
@@ -327,7 +328,7 @@ class ReceiptServiceTest {
         when(billRequest.getRequestInfo()).thenReturn(new RequestInfo());
         when(billRequest.getBills()).thenReturn(billList);
         this.receiptService.updateDemandFromBill(billRequest, new HashSet<>(), true);
-        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any());
+        verify(this.demandService).getDemands((org.egov.demand.model.DemandCriteria) any(), (RequestInfo) any(), anyBoolean());
         verify(this.demandService).updateAsync((org.egov.demand.web.contract.DemandRequest) any(),
                 (org.egov.demand.model.PaymentBackUpdateAudit) any());
         verify(billRequest).getBills();
@@ -80,7 +80,7 @@ public class ReceiptServiceV2Test {
                                                 .build()))
                         .build();
 
-        when(demandService.getDemands(any(), any())).thenReturn(Collections.singletonList(demand));
+        when(demandService.getDemands(any(), any(), anyBoolean())).thenReturn(Collections.singletonList(demand));
 
         when(util.getValueFromAdditionalDetailsForKey(any(), any())).thenReturn("1");
 
@@ -124,7 +124,7 @@ public class ReceiptServiceV2Test {
                                                 .build()))
                         .build();
 
-        when(demandService.getDemands(any(), any())).thenReturn(Collections.singletonList(demand));
+        when(demandService.getDemands(any(), any(), anyBoolean())).thenReturn(Collections.singletonList(demand));
 
         receiptServiceV2.updateDemandFromReceipt(billRequestV2, false);
 
@@ -136,7 +136,7 @@ public class ReceiptServiceV2Test {
     public void testUpdateDemandFromReceiptWhenBillIsEmpty() {
         BillRequestV2 billRequestV2 = BillRequestV2.builder().build();
         receiptServiceV2.updateDemandFromReceipt(billRequestV2, false);
-        verify(demandService, never()).getDemands(any(), any());
+        verify(demandService, never()).getDemands(any(), any(), anyBoolean());
     }
 
 
@@ -149,7 +149,7 @@ public class ReceiptServiceV2Test {
 
         receiptServiceV2.updateDemandFromBill(billRequest, new HashSet<>(), false);
 
-        verify(demandService, never()).getDemands(any(), any());
+        verify(demandService, never()).getDemands(any(), any(), anyBoolean());
     }
 
     @Test
@@ -0,0 +1,125 @@
+package org.egov.demand.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.demand.config.ApplicationProperties;
+import org.egov.demand.repository.IdGenRepo;
+import org.egov.tracer.model.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ContextConfiguration(classes = {BillNumberAllocator.class})
+@ExtendWith(SpringExtension.class)
+class BillNumberAllocatorTest {
+    @MockBean
+    private ApplicationProperties applicationProperties;
+
+    @MockBean
+    private IdGenRepo idGenRepo;
+
+    @Autowired
+    private BillNumberAllocator billNumberAllocator;
+
+    @BeforeEach
+    void setUp() {
+        when(this.applicationProperties.getBillNumberFormat()).thenReturn("BILLNO-{module}-[SEQ_egbs_billnumber{tenantid}]");
+        when(this.applicationProperties.getModuleReplaceStirng()).thenReturn("{module}");
+        when(this.applicationProperties.getTenantIdReplaceString()).thenReturn("{tenantid}");
+        when(this.applicationProperties.getIsTenantLevelBillNumberingEnabled()).thenReturn(false);
+        when(this.applicationProperties.getBillNumberPrefetchSize()).thenReturn(2);
+        when(this.applicationProperties.getBillNumberLeaseTtlMillis()).thenReturn(60000L);
+    }
+
+    @Test
+    void testAllocateFetchesAllNumbersInOneCallAndPrefetches() {
+        when(this.idGenRepo.getId(any(), eq("pb.amritsar"), eq("billnumberid"), eq("BILLNO-PT-[SEQ_egbs_billnumber]"), eq(5)))
+                .thenReturn(Arrays.asList("B1", "B2", "B3", "B4", "B5"));
+
+        assertEquals(Arrays.asList("B1", "B2", "B3"),
+                this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "PT", 3));
+        assertEquals(Arrays.asList("B4", "B5"),
+                this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "PT", 2));
+        verify(this.idGenRepo).getId(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testAllocateTopsUpPrefetchedNumbers() {
+        when(this.idGenRepo.getId(any(), eq("pb.amritsar"), any(), any(), eq(3)))
+                .thenReturn(Arrays.asList("B1", "B2", "B3"));
+        when(this.idGenRepo.getId(any(), eq("pb.amritsar"), any(), any(), eq(4)))
+                .thenReturn(Arrays.asList("B4", "B5", "B6", "B7"));
+
+        this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "WS", 1);
+
+        assertEquals(Arrays.asList("B2", "B3", "B4", "B5"),
+                this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "WS", 4));
+    }
+
+    @Test
+    void testAllocateDropsExpiredNumbers() {
+        when(this.applicationProperties.getBillNumberLeaseTtlMillis()).thenReturn(0L);
+        when(this.idGenRepo.getId(any(), eq("pb.amritsar"), any(), any(), eq(3)))
+                .thenReturn(Arrays.asList("B1", "B2", "B3"))
+                .thenReturn(Arrays.asList("B4", "B5", "B6"));
+
+        assertEquals(Arrays.asList("B1"), this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "TL", 1));
+        assertEquals(Arrays.asList("B4"), this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "TL", 1));
+    }
+
+    @Test
+    void testAllocateFailsWhenIdGenReturnsFewerNumbers() {
+        when(this.idGenRepo.getId(any(), eq("pb.amritsar"), any(), any(), eq(5)))
+                .thenReturn(Arrays.asList("B1", "B2"));
+
+        CustomException exception = assertThrows(CustomException.class,
+                () -> this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "FSM", 3));
+        assertEquals("EG_BS_BILL_NUMBER_ERROR", exception.getCode());
+    }
+
+    @Test
+    void testConcurrentAllocationsCallIdGenInParallel() {
+        when(this.applicationProperties.getBillNumberPrefetchSize()).thenReturn(0);
+        CountDownLatch bothCalling = new CountDownLatch(2);
+        when(this.idGenRepo.getId(any(), eq("pb.amritsar"), any(), eq("BILLNO-UC-[SEQ_egbs_billnumber]"), eq(1)))
+                .thenAnswer(invocation -> {
+                    bothCalling.countDown();
+                    if (!bothCalling.await(5, TimeUnit.SECONDS))
+                        throw new IllegalStateException("idgen calls were serialized");
+                    return Arrays.asList("B1");
+                });
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(
+                () -> this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "UC", 1));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(
+                () -> this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "UC", 1));
+
+        assertEquals(1, first.join().size());
+        assertEquals(1, second.join().size());
+    }
+
+    @Test
+    void testAllocateNothing() {
+        assertTrue(this.billNumberAllocator.allocate(new RequestInfo(), "pb.amritsar", "PT", 0).isEmpty());
+        verify(this.idGenRepo, never()).getId(any(), any(), any(), any(), anyInt());
+    }
+}
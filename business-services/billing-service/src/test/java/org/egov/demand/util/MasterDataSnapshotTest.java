@@ -0,0 +1,84 @@
+package org.egov.demand.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.egov.demand.model.TaxPeriod;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+class MasterDataSnapshotTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testTaxHeadsIndexedByServiceAndCode() {
+        MasterDataSnapshot snapshot = new MasterDataSnapshot("pb.amritsar", 1, mdmsData(), mapper);
+
+        assertTrue(snapshot.hasBusinessService("PT"));
+        assertFalse(snapshot.hasBusinessService("WS"));
+        assertEquals(2, snapshot.getTaxHeads("PT").size());
+        assertNull(snapshot.getTaxHeads("WS"));
+        assertEquals(Collections.singleton("PT_TAX"),
+                snapshot.getTaxHeadsByCode(Arrays.asList("PT_TAX", "WS_CHARGE")).keySet());
+    }
+
+    @Test
+    void testTaxPeriodCovering() {
+        MasterDataSnapshot snapshot = new MasterDataSnapshot("pb.amritsar", 1, mdmsData(), mapper);
+
+        assertTrue(snapshot.hasTaxPeriods("PT"));
+        assertTrue(snapshot.hasTaxPeriodCovering("PT", 100L, 199L));
+        assertTrue(snapshot.hasTaxPeriodCovering("PT", 250L, 300L));
+        assertFalse(snapshot.hasTaxPeriodCovering("PT", 150L, 250L));
+        assertFalse(snapshot.hasTaxPeriodCovering("PT", 50L, 150L));
+        assertFalse(snapshot.hasTaxPeriodCovering("PT", 350L, 500L));
+        assertFalse(snapshot.hasTaxPeriods("WS"));
+        assertFalse(snapshot.hasTaxPeriodCovering("WS", 100L, 199L));
+    }
+
+    @Test
+    void testTaxPeriodCoveredByLongerEarlierPeriod() {
+        MasterDataSnapshot.TaxPeriodIndex index = new MasterDataSnapshot.TaxPeriodIndex(Arrays.asList(
+                mapper.convertValue(taxPeriod("PT", 0L, 1000L), TaxPeriod.class),
+                mapper.convertValue(taxPeriod("PT", 100L, 200L), TaxPeriod.class)));
+
+        assertTrue(index.covers(150L, 900L));
+        assertFalse(index.covers(150L, 1100L));
+    }
+
+    private DocumentContext mdmsData() {
+        Map<String, Object> billingService = new HashMap<>();
+        billingService.put("BusinessService", Collections.singletonList(Collections.singletonMap("code", "PT")));
+        billingService.put("TaxHeadMaster", Arrays.asList(taxHead("PT", "PT_TAX"), taxHead("PT", "PT_INTEREST")));
+        billingService.put("TaxPeriod", Arrays.asList(taxPeriod("PT", 200L, 399L), taxPeriod("PT", 100L, 199L)));
+
+        return JsonPath.parse(Collections.singletonMap("MdmsRes",
+                Collections.singletonMap("BillingService", billingService)));
+    }
+
+    private Map<String, Object> taxHead(String service, String code) {
+        Map<String, Object> taxHead = new HashMap<>();
+        taxHead.put("service", service);
+        taxHead.put("code", code);
+        return taxHead;
+    }
+
+    private Map<String, Object> taxPeriod(String service, Long fromDate, Long toDate) {
+        Map<String, Object> taxPeriod = new HashMap<>();
+        taxPeriod.put("service", service);
+        taxPeriod.put("fromDate", fromDate);
+        taxPeriod.put("toDate", toDate);
+        return taxPeriod;
+    }
+}
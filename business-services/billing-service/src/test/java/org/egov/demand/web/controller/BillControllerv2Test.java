@@ -17,6 +17,7 @@ import org.egov.demand.model.BillV2;
 import org.egov.demand.model.UpdateBillCriteria;
 import org.egov.demand.model.UpdateBillRequest;
 import org.egov.demand.service.BillServicev2;
+import org.egov.demand.service.BulkBillGenerationService;
 import org.egov.demand.web.contract.BillRequestV2;
 import org.egov.demand.web.contract.BillResponseV2;
 import org.egov.demand.web.contract.RequestInfoWrapper;
@@ -50,6 +51,9 @@ class BillControllerv2Test {
     @MockBean
     private BillValidator billValidator;
 
+    @MockBean
+    private BulkBillGenerationService bulkBillGenerationService;
+
     @Test
     void testCancelBillFail() throws Exception {
         UpdateBillRequest updateBillRequest = new UpdateBillRequest();
@@ -140,6 +140,27 @@ public class ApplicationProperties {
     @Value("${receiptnumber.state.level.format}")
     private String receiptNumberStateLevelFormat;
 
+    @Value("${coll.idgen.prefetch.size}")
+    private int idGenPrefetchSize;
+
+    @Value("${coll.idgen.prefetch.min.rate}")
+    private int idGenPrefetchMinRate;
+
+    @Value("${coll.idgen.lease.ttl.ms}")
+    private long idGenLeaseTtlMillis;
+
+    @Value("${coll.payment.bulk.max.size}")
+    private int bulkPaymentMaxSize;
+
+    @Value("${coll.payment.bulk.bill.fetch.size}")
+    private int bulkPaymentBillFetchSize;
+
+    @Value("${coll.payment.bulk.event.pool.size}")
+    private int bulkPaymentEventPoolSize;
+
+    @Value("${coll.payment.bulk.event.queue.size}")
+    private int bulkPaymentEventQueueSize;
+
     @Value("${collection.receipts.search.paginate}")
     private boolean receiptsSearchPaginationEnabled;
 
@@ -0,0 +1,33 @@
+package org.egov.collection.model;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.egov.common.contract.request.RequestInfo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentRequest {
+
+    @NotNull
+    @Valid
+    @JsonProperty("RequestInfo")
+    private RequestInfo requestInfo;
+
+    /**
+     * Validated one payment at a time by the bulk create, so that an invalid payment fails only itself
+     */
+    @NotNull
+    @JsonProperty("Payments")
+    private List<Payment> payments;
+
+}
@@ -0,0 +1,34 @@
+package org.egov.collection.model;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one payment of a bulk create, identified by its index in the request
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPaymentResult {
+
+    public enum StatusEnum {
+        SUCCESSFUL, FAILED
+    }
+
+    private Integer index;
+
+    private StatusEnum status;
+
+    private Payment payment;
+
+    private Map<String, String> errors;
+
+}
@@ -51,6 +51,17 @@ public class PaymentSearchCriteria {
     private Integer offset;
 
     private Integer limit;
+
+    /**
+     * Keyset cursor, the transaction date and id of the last payment of the previous page. When given the page starts
+     * after that payment instead of at the offset
+     */
+    private Long lastTransactionDate;
+
+    private String lastPaymentId;
+
+    @Default
+    private Boolean excludeBillAccountDetails = false;
     
     @Default
     private Boolean isCountRequest = false;
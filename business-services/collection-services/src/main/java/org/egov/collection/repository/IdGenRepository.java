@@ -3,13 +3,15 @@ package org.egov.collection.repository;
 import static org.egov.collection.config.CollectionServiceConstants.COLL_TRANSACTION_FORMAT;
 import static org.egov.collection.config.CollectionServiceConstants.COLL_TRANSACTION_ID_NAME;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.egov.collection.config.ApplicationProperties;
 import org.egov.collection.model.IdGenerationRequest;
 import org.egov.collection.model.IdGenerationResponse;
 import org.egov.collection.model.IdRequest;
+import org.egov.collection.model.IdResponse;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.tracer.model.ServiceCallException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,9 +44,31 @@ public class IdGenRepository {
      * @return
      */
 	public String generateReceiptNumber(RequestInfo requestInfo, String businessService ,String tenantId) {
+	    log.debug("Attempting to generate Receipt Number from ID Gen");
+
+        return getId(requestInfo, getReceiptNumberIdRequest(businessService, tenantId));
+	}
+
+    public String generateTransactionNumber(RequestInfo requestInfo, String tenantId) {
+        log.debug("Attempting to generate Transaction Number from ID Gen");
+
+        return getId(requestInfo, getTransactionNumberIdRequest(tenantId));
+
+    }
+
+    /**
+     * Builds the id request of a receipt number
+     *  - If isReceiptNumberByService flag is set to true,
+     *      by business service and tenant id
+     *  - Else by tenant id only
+     *
+     * @param businessService
+     * @param tenantId
+     * @return
+     */
+    public IdRequest getReceiptNumberIdRequest(String businessService, String tenantId) {
         String idName = "";
         String format = null;
-	    log.debug("Attempting to generate Receipt Number from ID Gen");
 
         if(applicationProperties.isReceiptNumberByService()){
             idName = idName + businessService.toLowerCase() + "." + applicationProperties.getReceiptNumberIdName();
@@ -53,27 +77,31 @@ public class IdGenRepository {
             format = applicationProperties.getReceiptNumberStateLevelFormat();
         }
 
-        return getId(requestInfo, tenantId, idName, format, 1);
-	}
-
-    public String generateTransactionNumber(RequestInfo requestInfo, String tenantId) {
-        log.debug("Attempting to generate Transaction Number from ID Gen");
+        return new IdRequest(idName, tenantId, format);
+    }
 
+    public IdRequest getTransactionNumberIdRequest(String tenantId) {
         String[] tenantArray = tenantId.split("\\.");
         String splitTenant = tenantId.contains(".") ? tenantArray[tenantArray.length-1] : tenantId;
         String tenantFormat = COLL_TRANSACTION_FORMAT.replace("{tenant}", splitTenant);
 
-        return getId(requestInfo, tenantId, COLL_TRANSACTION_ID_NAME, tenantFormat, 1);
+        return new IdRequest(COLL_TRANSACTION_ID_NAME, tenantId, tenantFormat);
+    }
 
+    private String getId(RequestInfo requestInfo, IdRequest idRequest) {
+        return getIds(requestInfo, Collections.singletonList(idRequest)).get(0);
     }
 
-    private String getId(RequestInfo requestInfo, String tenantId, String name, String format, int count) {
+    /**
+     * Generates the ids of all the given id requests, which may be of different id names, in a single idgen call
+     *
+     * @param requestInfo
+     * @param idRequests
+     * @return the generated ids in the order of the id requests
+     */
+    public List<String> getIds(RequestInfo requestInfo, List<IdRequest> idRequests) {
 
-        List<IdRequest> reqList = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            reqList.add(new IdRequest(name, tenantId, format));
-        }
-        IdGenerationRequest req = new IdGenerationRequest(requestInfo, reqList);
+        IdGenerationRequest req = new IdGenerationRequest(requestInfo, idRequests);
         String uri = UriComponentsBuilder
                 .fromHttpUrl(applicationProperties.getIdGenServiceHost())
                 .path(applicationProperties.getIdGeneration())
@@ -82,7 +110,11 @@ public class IdGenRepository {
         try {
             IdGenerationResponse idGenerationResponse = restTemplate.postForObject(uri, req,
                     IdGenerationResponse.class);
-            return idGenerationResponse.getIdResponses().get(0).getId();
+            List<String> ids = idGenerationResponse.getIdResponses().stream().map(IdResponse::getId)
+                    .collect(Collectors.toList());
+            if (ids.size() != idRequests.size())
+                throw new IllegalStateException("ID Gen returned " + ids.size() + " ids for " + idRequests.size() + " requests");
+            return ids;
         } catch (HttpClientErrorException e) {
             log.error("ID Gen Service failure ", e);
             throw new ServiceCallException(e.getResponseBodyAsString());
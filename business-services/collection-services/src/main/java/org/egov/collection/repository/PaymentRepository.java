@@ -7,6 +7,11 @@ import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.CO
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.COPY_BILL_SQL;
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.COPY_PAYMENTDETAIL_SQL;
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.COPY_PAYMENT_SQL;
+import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.DELETE_BILLACCOUNTDETAIL_SQL;
+import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.DELETE_BILLDETAIL_SQL;
+import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.DELETE_BILL_SQL;
+import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.DELETE_PAYMENTDETAIL_SQL;
+import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.DELETE_PAYMENT_SQL;
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.FILESTOREID_UPDATE_PAYMENT_SQL;
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.INSERT_BILLACCOUNTDETAIL_SQL;
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.INSERT_BILLDETAIL_SQL;
@@ -39,6 +44,7 @@ import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.ge
 import static org.egov.collection.repository.querybuilder.PaymentQueryBuilder.getParamtersForBillUpdate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -100,33 +106,48 @@ public class PaymentRepository {
 
     @Transactional
     public void savePayment(Payment payment){
+        savePayments(Collections.singletonList(payment));
+    }
+
+    /**
+     * Persists payments of one tenant with a single batch insert per table
+     *
+     * @param payments payments to be persisted, all of the same tenant
+     */
+    @Transactional
+    public void savePayments(List<Payment> payments){
         try {
 
+            List<MapSqlParameterSource> paymentSource = new ArrayList<>();
             List<MapSqlParameterSource> paymentDetailSource = new ArrayList<>();
             List<MapSqlParameterSource> billSource = new ArrayList<>();
             List<MapSqlParameterSource> billDetailSource = new ArrayList<>();
             List<MapSqlParameterSource> billAccountDetailSource = new ArrayList<>();
 
-            for (PaymentDetail paymentDetail : payment.getPaymentDetails()) {
-                paymentDetailSource.add(getParametersForPaymentDetailCreate(payment.getId(), paymentDetail));
-                billSource.add(getParamtersForBillCreate(paymentDetail.getBill()));
-                paymentDetail.getBill().getBillDetails().forEach(billDetail -> {
-                    billDetailSource.add(getParamtersForBillDetailCreate(billDetail));
-                    billDetail.getBillAccountDetails().forEach(billAccountDetail -> {
-                        billAccountDetailSource.add(getParametersForBillAccountDetailCreate(billAccountDetail));
+            for (Payment payment : payments) {
+                paymentSource.add(getParametersForPaymentCreate(payment));
+                for (PaymentDetail paymentDetail : payment.getPaymentDetails()) {
+                    paymentDetailSource.add(getParametersForPaymentDetailCreate(payment.getId(), paymentDetail));
+                    billSource.add(getParamtersForBillCreate(paymentDetail.getBill()));
+                    paymentDetail.getBill().getBillDetails().forEach(billDetail -> {
+                        billDetailSource.add(getParamtersForBillDetailCreate(billDetail));
+                        billDetail.getBillAccountDetails().forEach(billAccountDetail -> {
+                            billAccountDetailSource.add(getParametersForBillAccountDetailCreate(billAccountDetail));
+                        });
                     });
-                });
 
+                }
             }
-            String sqlPayment = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_PAYMENT_SQL, payment.getTenantId());
-            namedParameterJdbcTemplate.update(sqlPayment, getParametersForPaymentCreate(payment));
-            String sqlPaymentDetail = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_PAYMENTDETAIL_SQL, payment.getTenantId());
+            String tenantId = payments.get(0).getTenantId();
+            String sqlPayment = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_PAYMENT_SQL, tenantId);
+            namedParameterJdbcTemplate.batchUpdate(sqlPayment, paymentSource.toArray(new MapSqlParameterSource[0]));
+            String sqlPaymentDetail = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_PAYMENTDETAIL_SQL, tenantId);
             namedParameterJdbcTemplate.batchUpdate(sqlPaymentDetail, paymentDetailSource.toArray(new MapSqlParameterSource[0]));
-            String sqlBill = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_BILL_SQL,payment.getTenantId());
+            String sqlBill = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_BILL_SQL,tenantId);
             namedParameterJdbcTemplate.batchUpdate(sqlBill, billSource.toArray(new MapSqlParameterSource[0]));
-            String sqlBillDetail = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_BILLDETAIL_SQL,payment.getTenantId());
+            String sqlBillDetail = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_BILLDETAIL_SQL,tenantId);
             namedParameterJdbcTemplate.batchUpdate(sqlBillDetail, billDetailSource.toArray(new MapSqlParameterSource[0]));
-            String sqlBillAccount = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_BILLACCOUNTDETAIL_SQL,payment.getTenantId());
+            String sqlBillAccount = centralInstanceUtil.replaceSchemaPlaceholder(INSERT_BILLACCOUNTDETAIL_SQL,tenantId);
             namedParameterJdbcTemplate.batchUpdate(sqlBillAccount,  billAccountDetailSource.toArray(new MapSqlParameterSource[0]));
 
         }catch (InvalidTenantIdException e) {
@@ -140,6 +161,52 @@ public class PaymentRepository {
     }
 
 
+    /**
+     * Deletes payments persisted in the current transaction, children first
+     *
+     * @param payments payments to be deleted, all of the same tenant
+     */
+    @Transactional
+    public void deletePayments(List<Payment> payments){
+        List<String> paymentIds = new ArrayList<>();
+        List<String> paymentDetailIds = new ArrayList<>();
+        List<String> billIds = new ArrayList<>();
+        List<String> billDetailIds = new ArrayList<>();
+        List<String> billAccountDetailIds = new ArrayList<>();
+
+        for (Payment payment : payments) {
+            paymentIds.add(payment.getId());
+            for (PaymentDetail paymentDetail : payment.getPaymentDetails()) {
+                paymentDetailIds.add(paymentDetail.getId());
+                billIds.add(paymentDetail.getBill().getId());
+                paymentDetail.getBill().getBillDetails().forEach(billDetail -> {
+                    billDetailIds.add(billDetail.getId());
+                    billDetail.getBillAccountDetails().forEach(billAccountDetail -> billAccountDetailIds.add(billAccountDetail.getId()));
+                });
+            }
+        }
+
+        try {
+            String tenantId = payments.get(0).getTenantId();
+            delete(DELETE_BILLACCOUNTDETAIL_SQL, tenantId, billAccountDetailIds);
+            delete(DELETE_BILLDETAIL_SQL, tenantId, billDetailIds);
+            delete(DELETE_BILL_SQL, tenantId, billIds);
+            delete(DELETE_PAYMENTDETAIL_SQL, tenantId, paymentDetailIds);
+            delete(DELETE_PAYMENT_SQL, tenantId, paymentIds);
+        } catch (InvalidTenantIdException e) {
+            throw new CustomException("EG_CL_TENANTID_ERROR",
+                    "TenantId length is not sufficient to replace query schema in a multi state instance");
+        }
+    }
+
+    private void delete(String query, String tenantId, List<String> ids) throws InvalidTenantIdException {
+        if (ids.isEmpty())
+            return;
+        String sql = centralInstanceUtil.replaceSchemaPlaceholder(query, tenantId);
+        namedParameterJdbcTemplate.update(sql, Collections.singletonMap("ids", ids));
+    }
+
+
     public List<Payment> fetchPayments(PaymentSearchCriteria paymentSearchCriteria) {
         Map<String, Object> preparedStatementValues = new HashMap<>();
 
@@ -164,13 +231,14 @@ public class PaymentRepository {
             for (Payment payment : payments) {
                 billIds.addAll(payment.getPaymentDetails().stream().map(detail -> detail.getBillId()).collect(Collectors.toSet()));
             }
-            Map<String, Bill> billMap = getBills(billIds, paymentSearchCriteria.getTenantId());
+            Map<String, Bill> billMap = getBills(billIds, paymentSearchCriteria.getTenantId(),
+                    !Boolean.TRUE.equals(paymentSearchCriteria.getExcludeBillAccountDetails()));
             for (Payment payment : payments) {
                 payment.getPaymentDetails().forEach(detail -> {
                     detail.setBill(billMap.get(detail.getBillId()));
                 });
             }
-            payments.sort(reverseOrder(Comparator.comparingLong(Payment::getTransactionDate)));
+            payments.sort(reverseOrder(Comparator.comparingLong(Payment::getTransactionDate).thenComparing(Payment::getId)));
         }
 
         return payments;
@@ -201,7 +269,8 @@ public class PaymentRepository {
             for (Payment payment : payments) {
                 billIds.addAll(payment.getPaymentDetails().stream().map(detail -> detail.getBillId()).collect(Collectors.toSet()));
             }
-            Map<String, Bill> billMap = getBills(billIds, paymentSearchCriteria.getTenantId());
+            Map<String, Bill> billMap = getBills(billIds, paymentSearchCriteria.getTenantId(),
+                    !Boolean.TRUE.equals(paymentSearchCriteria.getExcludeBillAccountDetails()));
             for (Payment payment : payments) {
                 payment.getPaymentDetails().forEach(detail -> {
                     detail.setBill(billMap.get(detail.getBillId()));
@@ -215,11 +284,11 @@ public class PaymentRepository {
 
 
     
-    private Map<String, Bill> getBills(Set<String> ids, String tenantId){
+    private Map<String, Bill> getBills(Set<String> ids, String tenantId, boolean withAccountDetails){
     	Map<String, Bill> mapOfIdAndBills = new HashMap<>();
         Map<String, Object> preparedStatementValues = new HashMap<>();
         preparedStatementValues.put("id", ids);
-        String query = PaymentQueryBuilder.getBillQuery();
+        String query = PaymentQueryBuilder.getBillQuery(withAccountDetails);
 		try {
 			query = centralInstanceUtil.replaceSchemaPlaceholder(query, tenantId);
 		} catch (InvalidTenantIdException e) {
@@ -119,6 +119,19 @@ public class PaymentQueryBuilder {
             "            :order, :amount, :adjustedamount, :isactualdemand, :taxheadcode, :additionaldetails);";
 
 
+    // Deletes of payments created in bulk whose creation event could not be pushed, run before the insert commits
+
+    public static final String DELETE_BILLACCOUNTDETAIL_SQL = "DELETE FROM {schema}.egcl_billaccountdetail WHERE id IN (:ids);";
+
+    public static final String DELETE_BILLDETAIL_SQL = "DELETE FROM {schema}.egcl_billdetial WHERE id IN (:ids);";
+
+    public static final String DELETE_BILL_SQL = "DELETE FROM {schema}.egcl_bill WHERE id IN (:ids);";
+
+    public static final String DELETE_PAYMENTDETAIL_SQL = "DELETE FROM {schema}.egcl_paymentdetail WHERE id IN (:ids);";
+
+    public static final String DELETE_PAYMENT_SQL = "DELETE FROM {schema}.egcl_payment WHERE id IN (:ids);";
+
+
     // Payment Status update queries
 
     public static final String STATUS_UPDATE_PAYMENT_SQL = "UPDATE {schema}.egcl_payment SET instrumentstatus=:instrumentstatus,additionaldetails=:additionaldetails," +
@@ -164,27 +177,38 @@ public class PaymentQueryBuilder {
             "createdby=:createdby, createdtime=:createdtime, lastmodifiedby=:lastmodifiedby,lastmodifiedtime=:lastmodifiedtime WHERE id=:id ";
     
     
-	public static final String BILL_BASE_QUERY = "SELECT b.id AS b_id, b.tenantid AS b_tenantid, b.iscancelled AS b_iscancelled, b.businessservice AS b_businessservice, "
+	private static final String BILL_PROJECTION = "SELECT b.id AS b_id, b.tenantid AS b_tenantid, b.iscancelled AS b_iscancelled, b.businessservice AS b_businessservice, "
 			+ "b.billnumber AS b_billnumber, b.billdate AS b_billdate, b.consumercode AS b_consumercode, b.createdby AS b_createdby, b.status as b_status, b.minimumamounttobepaid AS b_minimumamounttobepaid, "
 			+ "b.totalamount AS b_totalamount, b.partpaymentallowed AS b_partpaymentallowed, b.isadvanceallowed as b_isadvanceallowed, "
 			+ "b.collectionmodesnotallowed AS b_collectionmodesnotallowed, b.createdtime AS b_createdtime, b.lastmodifiedby AS b_lastmodifiedby, "
 			+ "b.lastmodifiedtime AS b_lastmodifiedtime, bd.id AS bd_id, bd.billid AS bd_billid, bd.tenantid AS bd_tenantid, bd.demandid, "
 			+ "bd.fromperiod, bd.toperiod, bd.billdescription AS bd_billdescription, bd.displaymessage AS bd_displaymessage, bd.amount AS bd_amount, bd.amountpaid AS bd_amountpaid, "
-			+ "bd.callbackforapportioning AS bd_callbackforapportioning, bd.expirydate AS bd_expirydate, ad.id AS ad_id, ad.tenantid AS ad_tenantid, "
-			+ "ad.billdetailid AS ad_billdetailid, ad.order AS ad_order, ad.amount AS ad_amount, ad.adjustedamount AS ad_adjustedamount, "
-			+ "ad.taxheadcode AS ad_taxheadcode, ad.demanddetailid as ad_demanddetailid, ad.isactualdemand AS ad_isactualdemand, b.additionaldetails as b_additionaldetails,  "
-			+ "bd.additionaldetails as bd_additionaldetails,  ad.additionaldetails as ad_additionaldetails "
+			+ "bd.callbackforapportioning AS bd_callbackforapportioning, bd.expirydate AS bd_expirydate, b.additionaldetails as b_additionaldetails,  "
+			+ "bd.additionaldetails as bd_additionaldetails, {accountDetailColumns} "
 			+ "FROM {schema}.egcl_bill b LEFT OUTER JOIN {schema}.egcl_billdetial bd ON b.id = bd.billid AND b.tenantid = bd.tenantid "
-			+ "LEFT OUTER JOIN {schema}.egcl_billaccountdetail ad ON bd.id = ad.billdetailid AND bd.tenantid = ad.tenantid "
-			+ "WHERE b.id IN (:id);"; 
+			+ "{accountDetailJoin}WHERE b.id IN (:id);";
+
+	public static final String BILL_BASE_QUERY = BILL_PROJECTION
+			.replace("{accountDetailColumns}", "ad.id AS ad_id, ad.tenantid AS ad_tenantid, "
+					+ "ad.billdetailid AS ad_billdetailid, ad.order AS ad_order, ad.amount AS ad_amount, ad.adjustedamount AS ad_adjustedamount, "
+					+ "ad.taxheadcode AS ad_taxheadcode, ad.demanddetailid as ad_demanddetailid, ad.isactualdemand AS ad_isactualdemand, "
+					+ "ad.additionaldetails as ad_additionaldetails")
+			.replace("{accountDetailJoin}", "LEFT OUTER JOIN {schema}.egcl_billaccountdetail ad ON bd.id = ad.billdetailid AND bd.tenantid = ad.tenantid ");
 
 
 	public static final String UPDATE_PAYMENT_BANKDETAIL_SQL = "UPDATE {schema}.egcl_payment SET additionaldetails = jsonb_set(additionaldetails, '{bankDetails}', :additionaldetails, true) WHERE length(additionaldetails :: text) is not null and length(additionaldetails :: text) > 4  and jsonb_typeof( additionaldetails ::jsonb ) ='object' and ifsccode=:ifsccode ";
 	public static final String UPDATE_PAYMENT_BANKDETAIL_EMPTYADDTL_SQL = "UPDATE {schema}.egcl_payment SET additionaldetails = :additionaldetails ::jsonb WHERE (length(additionaldetails :: text) is null or length(additionaldetails :: text) = 4) and ifsccode=:ifsccode ";
 	public static final String UPDATE_PAYMENT_BANKDETAIL_ARRAYADDTL_SQL = "UPDATE {schema}.egcl_payment SET additionaldetails =  additionaldetails || :additionaldetails ::jsonb WHERE length(additionaldetails :: text) is not null and length(additionaldetails :: text) > 4  and jsonb_typeof(additionaldetails ::jsonb) ='array' and ifsccode=:ifsccode ";
 	
-	public static String getBillQuery() {
-		return BILL_BASE_QUERY;
+	public static final String BILL_WITHOUT_ACCOUNT_DETAILS_QUERY = BILL_PROJECTION
+			.replace("{accountDetailColumns}", "NULL AS ad_id, NULL AS ad_tenantid, "
+					+ "NULL AS ad_billdetailid, NULL AS ad_order, NULL AS ad_amount, NULL AS ad_adjustedamount, "
+					+ "NULL AS ad_taxheadcode, NULL as ad_demanddetailid, NULL AS ad_isactualdemand, "
+					+ "NULL as ad_additionaldetails")
+			.replace("{accountDetailJoin}", "");
+
+	public static String getBillQuery(boolean withAccountDetails) {
+		return withAccountDetails ? BILL_BASE_QUERY : BILL_WITHOUT_ACCOUNT_DETAILS_QUERY;
 	}
 	
 	
@@ -356,9 +380,17 @@ public class PaymentQueryBuilder {
 
     public String getIdQuery(PaymentSearchCriteria searchCriteria, Map<String, Object> preparedStatementValues){
         StringBuilder whereClause = new StringBuilder();
+        Integer offset = searchCriteria.getOffset();
         addWhereClause(whereClause, preparedStatementValues, searchCriteria);
-        whereClause.append(" ORDER BY py_inner.transactiondate DESC ").toString();
-        addPagination(whereClause,preparedStatementValues,searchCriteria);
+        if (searchCriteria.getLastTransactionDate() != null && searchCriteria.getLastPaymentId() != null) {
+            addClauseIfRequired(preparedStatementValues, whereClause);
+            whereClause.append(" (py_inner.transactiondate, py_inner.id) < (:lastTransactionDate, :lastPaymentId)");
+            preparedStatementValues.put("lastTransactionDate", searchCriteria.getLastTransactionDate());
+            preparedStatementValues.put("lastPaymentId", searchCriteria.getLastPaymentId());
+            offset = null;
+        }
+        whereClause.append(" ORDER BY py_inner.transactiondate DESC, py_inner.id DESC ").toString();
+        addPagination(whereClause,preparedStatementValues,searchCriteria.getLimit(),offset);
         String query = ID_QUERY.replace("{{WHERE_CLAUSE}}",whereClause.toString());
         if(searchCriteria.getTenantId().split("\\.").length > 1){
             query = query.replace("{{operator}}", "=");
@@ -551,23 +583,24 @@ public class PaymentQueryBuilder {
      * Wraps pagination around the base query
      * @param query The query for which pagination has to be done
      * @param preparedStmtList The object list to send the params
-     * @param criteria The object containg the search params
+     * @param criteriaLimit The limit asked for in the search
+     * @param criteriaOffset The offset asked for in the search
      * @return Query with pagination
      */
-    private void addPagination(StringBuilder query,Map<String, Object> preparedStatementValues,PaymentSearchCriteria criteria){
+    private void addPagination(StringBuilder query,Map<String, Object> preparedStatementValues,Integer criteriaLimit,Integer criteriaOffset){
         int limit = configs.getDefaultLimit();
         int offset = 0;
         query.append(" OFFSET :offset ");
         query.append(" LIMIT :limit ");
 
-        if(criteria.getLimit()!=null && criteria.getLimit()<= configs.getMaxSearchLimit())
-            limit = criteria.getLimit();
+        if(criteriaLimit!=null && criteriaLimit<= configs.getMaxSearchLimit())
+            limit = criteriaLimit;
 
-        if(criteria.getLimit()!=null && criteria.getLimit()> configs.getMaxSearchLimit())
+        if(criteriaLimit!=null && criteriaLimit> configs.getMaxSearchLimit())
             limit = configs.getMaxSearchLimit();
 
-        if(criteria.getOffset()!=null)
-            offset = criteria.getOffset();
+        if(criteriaOffset!=null)
+            offset = criteriaOffset;
 
         preparedStatementValues.put("offset", offset);
         preparedStatementValues.put("limit", limit);
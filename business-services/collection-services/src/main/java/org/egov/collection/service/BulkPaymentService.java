@@ -0,0 +1,357 @@
+package org.egov.collection.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.egov.collection.config.ApplicationProperties;
+import org.egov.collection.model.BulkPaymentRequest;
+import org.egov.collection.model.BulkPaymentResult;
+import org.egov.collection.model.BulkPaymentResult.StatusEnum;
+import org.egov.collection.model.Payment;
+import org.egov.collection.model.PaymentDetail;
+import org.egov.collection.model.PaymentRequest;
+import org.egov.collection.producer.CollectionProducer;
+import org.egov.collection.repository.BillingServiceRepository;
+import org.egov.collection.repository.PaymentRepository;
+import org.egov.collection.util.PaymentEnricher;
+import org.egov.collection.util.PaymentValidator;
+import org.egov.collection.web.contract.Bill;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.tracer.model.CustomException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates payments in bulk, for bank reconciliation and counter sync uploads.
+ *
+ * The payments are processed tenant by tenant. The business service masters and the bills of all the payments of a
+ * tenant are fetched once, the bills in chunks, and all the bills of the valid payments are apportioned in a single
+ * call. Every payment is checked against its bean constraints, enriched and validated on its own, so a failing payment
+ * is reported against its index while the others are still created. The payments of a tenant are persisted with a
+ * single batch insert per table and committed only once their creation events are pushed to kafka, falling back to
+ * one payment at a time to isolate the failing ones when the batch fails.
+ */
+@Service
+@Slf4j
+public class BulkPaymentService {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentEnricher paymentEnricher;
+
+    @Autowired
+    private PaymentValidator paymentValidator;
+
+    @Autowired
+    private ApportionerService apportionerService;
+
+    @Autowired
+    private BillingServiceRepository billingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CollectionProducer producer;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    private ThreadPoolTaskExecutor eventExecutor;
+
+    @PostConstruct
+    public void init() {
+        eventExecutor = new ThreadPoolTaskExecutor();
+        eventExecutor.setCorePoolSize(applicationProperties.getBulkPaymentEventPoolSize());
+        eventExecutor.setMaxPoolSize(applicationProperties.getBulkPaymentEventPoolSize());
+        eventExecutor.setQueueCapacity(applicationProperties.getBulkPaymentEventQueueSize());
+        eventExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        eventExecutor.setThreadNamePrefix("bulk-payment-event-");
+        eventExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        eventExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        eventExecutor.shutdown();
+    }
+
+    /**
+     * Creates the payments of the request
+     *
+     * @param bulkPaymentRequest payments to be created
+     * @return the outcome of every payment in the order of the request
+     */
+    public List<BulkPaymentResult> createPayments(BulkPaymentRequest bulkPaymentRequest) {
+
+        RequestInfo requestInfo = bulkPaymentRequest.getRequestInfo();
+        List<Payment> payments = bulkPaymentRequest.getPayments();
+
+        if (CollectionUtils.isEmpty(payments))
+            throw new CustomException("EGCL_BULK_PAYMENT_EMPTY", "At least one payment is required");
+        if (payments.size() > applicationProperties.getBulkPaymentMaxSize())
+            throw new CustomException("EGCL_BULK_PAYMENT_SIZE",
+                    "At most " + applicationProperties.getBulkPaymentMaxSize() + " payments can be created at once");
+
+        BulkPaymentResult[] results = new BulkPaymentResult[payments.size()];
+
+        Map<String, List<Integer>> indexesByTenant = new LinkedHashMap<>();
+        for (int i = 0; i < payments.size(); i++) {
+            Payment payment = payments.get(i);
+            if (payment == null || StringUtils.isBlank(payment.getTenantId()) || CollectionUtils.isEmpty(payment.getPaymentDetails())) {
+                results[i] = failed(i, Collections.singletonMap("INVALID_PAYMENT", "TenantId and payment details are mandatory"));
+                continue;
+            }
+            Set<ConstraintViolation<Payment>> violations = validator.validate(payment);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new LinkedHashMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                results[i] = failed(i, errors);
+                continue;
+            }
+            indexesByTenant.computeIfAbsent(payment.getTenantId(), tenantId -> new ArrayList<>()).add(i);
+        }
+
+        indexesByTenant.forEach((tenantId, indexes) -> {
+            try {
+                createPaymentsOfTenant(requestInfo, tenantId, payments, indexes, results);
+            } catch (Exception e) {
+                log.error("Failed to create the payments of tenant {}", tenantId, e);
+                for (Integer index : indexes) {
+                    if (results[index] == null)
+                        results[index] = failed(index, getErrors(e));
+                }
+            }
+        });
+
+        List<BulkPaymentResult> resultList = new ArrayList<>(payments.size());
+        Collections.addAll(resultList, results);
+        return resultList;
+    }
+
+    private void createPaymentsOfTenant(RequestInfo requestInfo, String tenantId, List<Payment> payments,
+                                        List<Integer> indexes, BulkPaymentResult[] results) {
+
+        Map<String, Map> codeToBusinessService = paymentEnricher.getBusinessServiceMasters(requestInfo, tenantId);
+        Map<String, Bill> billIdToBill = fetchBills(requestInfo, tenantId, payments, indexes);
+
+        /*
+         * Enriching and validating every payment on its own, a bill can be paid by only one payment of the request
+         */
+        Map<Integer, PaymentRequest> validRequests = new LinkedHashMap<>();
+        Set<String> paidBillIds = new HashSet<>();
+        for (Integer index : indexes) {
+            Payment payment = payments.get(index);
+            try {
+                List<Bill> bills = new ArrayList<>();
+                for (PaymentDetail paymentDetail : payment.getPaymentDetails()) {
+                    Bill bill = billIdToBill.get(paymentDetail.getBillId());
+                    if (bill == null)
+                        throw new CustomException("INVALID_BILL_ID", "Bill ID provided does not exist or is in an invalid state: " + paymentDetail.getBillId());
+                    if (paidBillIds.contains(paymentDetail.getBillId()))
+                        throw new CustomException("DUPLICATE_BILLID", "The Bill id " + paymentDetail.getBillId() + " is paid by another payment of the request");
+                    bills.add(bill);
+                }
+
+                PaymentRequest paymentRequest = new PaymentRequest(requestInfo, payment);
+                paymentEnricher.enrichPaymentPreValidate(paymentRequest, codeToBusinessService, bills);
+                paymentValidator.validatePaymentForCreate(paymentRequest);
+                paymentEnricher.enrichPaymentPostValidate(paymentRequest);
+
+                payment.getPaymentDetails().forEach(paymentDetail -> paidBillIds.add(paymentDetail.getBillId()));
+                validRequests.put(index, paymentRequest);
+            } catch (Exception e) {
+                results[index] = failed(index, getErrors(e));
+            }
+        }
+
+        if (validRequests.isEmpty())
+            return;
+
+        /*
+         * Apportioning the bills of all the valid payments in one call
+         */
+        List<Bill> billsToApportion = new ArrayList<>();
+        validRequests.values().forEach(paymentRequest -> paymentRequest.getPayment().getPaymentDetails()
+                .forEach(paymentDetail -> billsToApportion.add(paymentDetail.getBill())));
+        Map<String, Bill> billIdToApportionedBill = apportionerService.apportionBills(requestInfo, tenantId, billsToApportion);
+
+        Map<Integer, Payment> toSave = new LinkedHashMap<>();
+        validRequests.forEach((index, paymentRequest) -> {
+            Payment payment = paymentRequest.getPayment();
+            try {
+                Map<String, Bill> apportionedBills = new HashMap<>();
+                payment.getPaymentDetails().forEach(paymentDetail -> {
+                    Bill bill = billIdToApportionedBill.get(paymentDetail.getBillId());
+                    if (bill != null)
+                        apportionedBills.put(paymentDetail.getBillId(), bill);
+                });
+                paymentEnricher.enrichAdvanceTaxHead(new LinkedList<>(apportionedBills.values()));
+                paymentService.setApportionedBillsToPayment(apportionedBills, payment);
+
+                String payerId = paymentService.createUser(paymentRequest);
+                if (!StringUtils.isEmpty(payerId))
+                    payment.setPayerId(payerId);
+                toSave.put(index, payment);
+            } catch (Exception e) {
+                results[index] = failed(index, getErrors(e));
+            }
+        });
+
+        saveAndPublish(requestInfo, tenantId, toSave, results);
+
+        toSave.forEach((index, payment) -> {
+            if (results[index] == null)
+                results[index] = BulkPaymentResult.builder().index(index).status(StatusEnum.SUCCESSFUL).payment(payment).build();
+        });
+    }
+
+    /**
+     * Fetches the bills of the payments from billing service, the configured number of bills per call
+     */
+    private Map<String, Bill> fetchBills(RequestInfo requestInfo, String tenantId, List<Payment> payments,
+                                         List<Integer> indexes) {
+
+        Set<String> uniqueBillIds = new HashSet<>();
+        List<String> billIdList = new ArrayList<>();
+        for (Integer index : indexes) {
+            for (PaymentDetail paymentDetail : payments.get(index).getPaymentDetails()) {
+                if (paymentDetail.getBillId() != null && uniqueBillIds.add(paymentDetail.getBillId()))
+                    billIdList.add(paymentDetail.getBillId());
+            }
+        }
+
+        Map<String, Bill> billIdToBill = new HashMap<>();
+        int fetchSize = Math.max(applicationProperties.getBulkPaymentBillFetchSize(), 1);
+        for (int from = 0; from < billIdList.size(); from += fetchSize) {
+            List<String> chunk = billIdList.subList(from, Math.min(from + fetchSize, billIdList.size()));
+            List<Bill> bills = billingRepository.fetchBill(requestInfo, tenantId, chunk);
+            if (bills != null)
+                bills.forEach(bill -> billIdToBill.put(bill.getId(), bill));
+        }
+        return billIdToBill;
+    }
+
+    /**
+     * Persists the payments and pushes their creation events in one transaction, so that like a single payment a
+     * created payment is committed only once its event is on kafka. The events are pushed in parallel and awaited,
+     * the payments whose event could not be pushed are deleted again before the commit and reported as failed. When
+     * the batch insert fails, every payment is persisted and pushed in its own transaction instead.
+     */
+    private void saveAndPublish(RequestInfo requestInfo, String tenantId, Map<Integer, Payment> toSave,
+                                BulkPaymentResult[] results) {
+
+        if (toSave.isEmpty())
+            return;
+
+        AtomicBoolean persisted = new AtomicBoolean();
+        Map<Integer, Exception> unpublished = new LinkedHashMap<>();
+        try {
+            transactionTemplate.execute(status -> {
+                paymentRepository.savePayments(new ArrayList<>(toSave.values()));
+                persisted.set(true);
+                unpublished.putAll(publish(requestInfo, tenantId, toSave));
+                if (!unpublished.isEmpty()) {
+                    List<Payment> toDelete = new ArrayList<>();
+                    unpublished.keySet().forEach(index -> toDelete.add(toSave.get(index)));
+                    paymentRepository.deletePayments(toDelete);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            if (persisted.get()) {
+                log.error("Failed to commit {} payments of tenant {} after pushing their events, payments {} are not persisted",
+                        toSave.size(), tenantId, toSave.values().stream().map(Payment::getId).collect(Collectors.toList()), e);
+                toSave.keySet().forEach(index -> results[index] = failed(index, getErrors(e)));
+                return;
+            }
+            log.error("Failed to persist {} payments of tenant {} in one batch, persisting one at a time", toSave.size(), tenantId, e);
+            toSave.forEach((index, payment) -> {
+                try {
+                    transactionTemplate.execute(status -> {
+                        paymentRepository.savePayment(payment);
+                        producer.push(tenantId, applicationProperties.getCreatePaymentTopicName(),
+                                new PaymentRequest(requestInfo, payment));
+                        return null;
+                    });
+                } catch (Exception ex) {
+                    results[index] = failed(index, getErrors(ex));
+                }
+            });
+            return;
+        }
+
+        unpublished.forEach((index, e) -> results[index] = failed(index, getErrors(e)));
+    }
+
+    /**
+     * Pushes the creation event of every payment and waits for all of them
+     *
+     * @return the failure of every payment whose event could not be pushed, by its index
+     */
+    private Map<Integer, Exception> publish(RequestInfo requestInfo, String tenantId, Map<Integer, Payment> payments) {
+
+        Map<Integer, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        payments.forEach((index, payment) -> {
+            PaymentRequest event = new PaymentRequest(requestInfo, payment);
+            sends.put(index, CompletableFuture.runAsync(
+                    () -> producer.push(tenantId, applicationProperties.getCreatePaymentTopicName(), event), eventExecutor));
+        });
+
+        Map<Integer, Exception> failures = new LinkedHashMap<>();
+        sends.forEach((index, send) -> {
+            try {
+                send.join();
+            } catch (CompletionException e) {
+                log.error("Failed to push the created payment {} to kafka", payments.get(index).getId(), e.getCause());
+                failures.put(index, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            }
+        });
+        return failures;
+    }
+
+    private BulkPaymentResult failed(int index, Map<String, String> errors) {
+        return BulkPaymentResult.builder().index(index).status(StatusEnum.FAILED).errors(errors).build();
+    }
+
+    private Map<String, String> getErrors(Exception e) {
+        if (e instanceof CustomException) {
+            CustomException customException = (CustomException) e;
+            if (!CollectionUtils.isEmpty(customException.getErrors()))
+                return customException.getErrors();
+            return Collections.singletonMap(String.valueOf(customException.getCode()), customException.getMessage());
+        }
+        return Collections.singletonMap("PAYMENT_CREATION_FAILED", String.valueOf(e.getMessage()));
+    }
+}
@@ -156,7 +156,7 @@ public class PaymentService {
     }
 
 
-    private void setApportionedBillsToPayment(Map<String, Bill> billIdToApportionedBill,Payment payment){
+    void setApportionedBillsToPayment(Map<String, Bill> billIdToApportionedBill,Payment payment){
         Map<String,String> errorMap = new HashMap<>();
         payment.getPaymentDetails().forEach(paymentDetail -> {
             if(billIdToApportionedBill.get(paymentDetail.getBillId())!=null)
@@ -30,9 +30,9 @@ import org.egov.collection.model.enums.PaymentStatusEnum;
 import org.egov.collection.model.enums.Purpose;
 import org.egov.collection.model.enums.ReceiptType;
 import org.egov.collection.repository.BillingServiceRepository;
-import org.egov.collection.repository.IdGenRepository;
 import org.egov.collection.service.MDMSService;
 import org.egov.collection.web.contract.Bill;
+import org.egov.common.contract.request.RequestInfo;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -51,7 +51,7 @@ public class PaymentEnricher {
 	private BillingServiceRepository billingRepository;
 
 	@Autowired
-	private IdGenRepository idGenRepository;
+	private ReceiptNumberAllocator receiptNumberAllocator;
 
 	@Autowired
 	private MDMSService mdmsService;
@@ -59,19 +59,22 @@ public class PaymentEnricher {
 	public void enrichPaymentPreValidate(PaymentRequest paymentRequest) {
 
 		Payment payment = paymentRequest.getPayment();
-		String tenantId = payment.getTenantId();
+		Map<String, Map> codeToBusinessService = getBusinessServiceMasters(paymentRequest.getRequestInfo(),
+				payment.getTenantId());
+
 		List<String> billIds = payment.getPaymentDetails().stream().map(PaymentDetail::getBillId).collect(Collectors.toList());
-		Set<String> billIdSet = payment.getPaymentDetails().stream().map(PaymentDetail::getBillId)
-				.collect(Collectors.toSet());
-		
-		if (isNull(paymentRequest.getRequestInfo().getUserInfo()) || isNull(paymentRequest.getRequestInfo().getUserInfo().getUuid())) {
-			throw new CustomException("USER_INFO_INVALID", "Invalid user info in request info, user id is mandatory");
-		}
-		
-		if (billIdSet.size() < payment.getPaymentDetails().size())
-			throw new CustomException("DUPLICATE_BILLID", "The Bill ids have been repeated for multiple payment details");
+		List<Bill> validatedBills = billingRepository.fetchBill(paymentRequest.getRequestInfo(), payment.getTenantId(),
+				billIds);
+
+		enrichPaymentPreValidate(paymentRequest, codeToBusinessService, validatedBills);
+	}
+
+	/**
+	 * Fetches the business service masters of the tenant keyed by business service code
+	 */
+	public Map<String, Map> getBusinessServiceMasters(RequestInfo requestInfo, String tenantId) {
 
-		Object mdmsData = mdmsService.mDMSCall(paymentRequest.getRequestInfo(),tenantId);
+		Object mdmsData = mdmsService.mDMSCall(requestInfo,tenantId);
 
 		List<Map> businessServices = JsonPath.read(mdmsData,MDMS_BUSINESSSERVICE_PATH);
 
@@ -80,9 +83,22 @@ public class PaymentEnricher {
 		businessServices.forEach(businessService -> {
 			codeToBusinessService.put(businessService.get(MASTER_BUSINESSSERVICE_KEY).toString(),businessService);
 		});
+		return codeToBusinessService;
+	}
+
+	/**
+	 * Enriches the payment from already fetched business service masters and bills, for payments created in bulk
+	 *
+	 * @param paymentRequest        payment to be enriched
+	 * @param codeToBusinessService business service masters of the tenant of the payment
+	 * @param validatedBills        bills of the payment fetched from billing service
+	 */
+	public void enrichPaymentPreValidate(PaymentRequest paymentRequest, Map<String, Map> codeToBusinessService,
+			List<Bill> validatedBills) {
+
+		Payment payment = paymentRequest.getPayment();
+		validateRequest(paymentRequest);
 
-		List<Bill> validatedBills = billingRepository.fetchBill(paymentRequest.getRequestInfo(), payment.getTenantId(),
-				billIds);
 		Map<String, Bill> billIdToBillMap = new HashMap<>();
 		Map<String, String> errorMap = new HashMap<>();
 
@@ -146,10 +162,25 @@ public class PaymentEnricher {
 
 	}
 
+	private void validateRequest(PaymentRequest paymentRequest) {
+
+		Payment payment = paymentRequest.getPayment();
+		Set<String> billIdSet = payment.getPaymentDetails().stream().map(PaymentDetail::getBillId)
+				.collect(Collectors.toSet());
+		
+		if (isNull(paymentRequest.getRequestInfo().getUserInfo()) || isNull(paymentRequest.getRequestInfo().getUserInfo().getUuid())) {
+			throw new CustomException("USER_INFO_INVALID", "Invalid user info in request info, user id is mandatory");
+		}
+		
+		if (billIdSet.size() < payment.getPaymentDetails().size())
+			throw new CustomException("DUPLICATE_BILLID", "The Bill ids have been repeated for multiple payment details");
+	}
+
 	/**
 	 * Enrich instrument for financials For each bill detail, - Set status to
 	 * approved by default for now, no workflow - Set collection type to online or
-	 * counter - Set receipt date - Generate and set receipt number
+	 * counter - Set receipt date - Generate and set receipt number, the receipt
+	 * numbers and the transaction number of a cash payment in one idgen call
 	 *
 	 * @param paymentRequest
 	 *            paymentRequest to be enriched
@@ -165,11 +196,10 @@ public class PaymentEnricher {
 		else
 			payment.setPaymentStatus(PaymentStatusEnum.NEW);
 
+		receiptNumberAllocator.allocate(paymentRequest.getRequestInfo(), payment, paymentMode.equalsIgnoreCase(CASH.name()));
+
 		for (PaymentDetail paymentDetail : paymentDetails) {
 			paymentDetail.setId(UUID.randomUUID().toString());
-			String receiptNumber = idGenRepository.generateReceiptNumber(paymentRequest.getRequestInfo(),
-					paymentDetail.getBusinessService(), paymentDetail.getTenantId());
-			paymentDetail.setReceiptNumber(receiptNumber);
 			paymentDetail.getBill().setAmountPaid(paymentDetail.getTotalAmountPaid());
 
 		}
@@ -180,11 +210,6 @@ public class PaymentEnricher {
 		Payment payment = paymentRequest.getPayment();
 		String paymentMode = payment.getPaymentMode().toString();
 
-		if (paymentMode.equalsIgnoreCase(CASH.name())) {
-			String transactionId = idGenRepository.generateTransactionNumber(paymentRequest.getRequestInfo(),
-					payment.getTenantId());
-			payment.setTransactionNumber(transactionId);
-		}
 		if (paymentMode.equalsIgnoreCase(ONLINE.name()) || paymentMode.equalsIgnoreCase(CARD.name()) ||
 				paymentMode.equalsIgnoreCase(ONLINE_NEFT.name()) || paymentMode.equalsIgnoreCase(ONLINE_RTGS.name()))
 			payment.setInstrumentStatus(InstrumentStatusEnum.REMITTED);
@@ -0,0 +1,192 @@
+package org.egov.collection.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.egov.collection.config.ApplicationProperties;
+import org.egov.collection.model.IdRequest;
+import org.egov.collection.model.Payment;
+import org.egov.collection.model.PaymentDetail;
+import org.egov.collection.repository.IdGenRepository;
+import org.egov.common.contract.request.RequestInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out the receipt numbers and transaction number of a payment, fetching all the numbers missing from the
+ * leased blocks in a single idgen call grouping the id names of every tenant and business service of the payment.
+ *
+ * When prefetching is configured, every fetch of a hot id name leases the configured prefetch size of numbers more than
+ * needed, handed out to the next payments of the same tenant and business service so hot business services mostly
+ * don't call idgen at all. An id name is hot when it has been requested at least the configured min rate of numbers in
+ * the current or the previous minute, so the numbers of quiet business services are not leased only to be dropped.
+ * Leased numbers are dropped once older than the lease TTL, which bounds how long a number generated with a date based
+ * format (the month or financial year of the receipt number) can be handed out after the date has turned. Dropped
+ * numbers and numbers still leased at a restart leave gaps in the sequences, and numbers leased by concurrent
+ * payments may be handed out slightly out of order.
+ */
+@Component
+@Slf4j
+public class ReceiptNumberAllocator {
+
+	@Autowired
+	private IdGenRepository idGenRepository;
+
+	@Autowired
+	private ApplicationProperties applicationProperties;
+
+	private static final long RATE_WINDOW_MILLIS = 60000L;
+
+	private final Map<String, Deque<LeasedId>> leases = new ConcurrentHashMap<>();
+
+	private final Map<String, Rate> rates = new ConcurrentHashMap<>();
+
+	/**
+	 * Sets the receipt number of every payment detail of the payment and, when asked for, the transaction number of
+	 * the payment
+	 */
+	public void allocate(RequestInfo requestInfo, Payment payment, boolean withTransactionNumber) {
+
+		Map<String, IdRequest> idRequests = new LinkedHashMap<>();
+		Map<String, Integer> counts = new HashMap<>();
+		List<String> receiptKeys = new ArrayList<>();
+
+		for (PaymentDetail paymentDetail : payment.getPaymentDetails()) {
+			IdRequest idRequest = idGenRepository.getReceiptNumberIdRequest(paymentDetail.getBusinessService(),
+					paymentDetail.getTenantId());
+			String key = getKey(idRequest);
+			idRequests.putIfAbsent(key, idRequest);
+			counts.merge(key, 1, Integer::sum);
+			receiptKeys.add(key);
+		}
+
+		String transactionKey = null;
+		if (withTransactionNumber) {
+			IdRequest idRequest = idGenRepository.getTransactionNumberIdRequest(payment.getTenantId());
+			transactionKey = getKey(idRequest);
+			idRequests.putIfAbsent(transactionKey, idRequest);
+			counts.merge(transactionKey, 1, Integer::sum);
+		}
+
+		Map<String, Deque<String>> ids = allocate(requestInfo, idRequests, counts);
+
+		for (int i = 0; i < receiptKeys.size(); i++)
+			payment.getPaymentDetails().get(i).setReceiptNumber(ids.get(receiptKeys.get(i)).poll());
+
+		if (withTransactionNumber)
+			payment.setTransactionNumber(ids.get(transactionKey).poll());
+	}
+
+	private Map<String, Deque<String>> allocate(RequestInfo requestInfo, Map<String, IdRequest> idRequests,
+			Map<String, Integer> counts) {
+
+		int prefetchSize = Math.max(applicationProperties.getIdGenPrefetchSize(), 0);
+		long now = System.currentTimeMillis();
+
+		Map<String, Deque<String>> allocated = new HashMap<>();
+		Map<String, Integer> missingCounts = new LinkedHashMap<>();
+		Map<String, Integer> prefetchCounts = new HashMap<>();
+		List<IdRequest> toFetch = new ArrayList<>();
+
+		for (Map.Entry<String, IdRequest> entry : idRequests.entrySet()) {
+			String key = entry.getKey();
+			int count = counts.get(key);
+			int rate = rates.computeIfAbsent(key, k -> new Rate()).record(now, count);
+			Deque<String> ids = new ArrayDeque<>(count);
+			Deque<LeasedId> lease = leases.computeIfAbsent(key, k -> new ArrayDeque<>());
+			synchronized (lease) {
+				while (ids.size() < count && !lease.isEmpty()) {
+					LeasedId leasedId = lease.poll();
+					if (now < leasedId.expiresAt)
+						ids.add(leasedId.id);
+				}
+			}
+			allocated.put(key, ids);
+
+			int missing = count - ids.size();
+			if (missing > 0) {
+				int prefetchCount = rate >= applicationProperties.getIdGenPrefetchMinRate() ? prefetchSize : 0;
+				missingCounts.put(key, missing);
+				prefetchCounts.put(key, prefetchCount);
+				for (int i = 0; i < missing + prefetchCount; i++)
+					toFetch.add(entry.getValue());
+			}
+		}
+
+		if (toFetch.isEmpty())
+			return allocated;
+
+		List<String> fetched = idGenRepository.getIds(requestInfo, toFetch);
+		long expiresAt = System.currentTimeMillis() + applicationProperties.getIdGenLeaseTtlMillis();
+
+		int offset = 0;
+		for (Map.Entry<String, Integer> entry : missingCounts.entrySet()) {
+			int missing = entry.getValue();
+			allocated.get(entry.getKey()).addAll(fetched.subList(offset, offset + missing));
+			offset += missing;
+
+			int prefetchCount = prefetchCounts.get(entry.getKey());
+			if (prefetchCount > 0) {
+				Deque<LeasedId> lease = leases.get(entry.getKey());
+				synchronized (lease) {
+					for (String id : fetched.subList(offset, offset + prefetchCount))
+						lease.add(new LeasedId(id, expiresAt));
+				}
+				offset += prefetchCount;
+			}
+		}
+		log.debug("Fetched {} ids from idgen for {} id names", fetched.size(), missingCounts.size());
+		return allocated;
+	}
+
+	private String getKey(IdRequest idRequest) {
+		return idRequest.getTenantId() + "|" + idRequest.getIdName() + "|" + idRequest.getFormat();
+	}
+
+	/**
+	 * Numbers requested for an id name in the current and the previous minute
+	 */
+	private static class Rate {
+
+		private long windowStart;
+
+		private int current;
+
+		private int previous;
+
+		/**
+		 * Records the numbers requested now
+		 *
+		 * @return the numbers requested in the current or the previous minute, whichever is more
+		 */
+		private synchronized int record(long now, int count) {
+			if (now - windowStart >= RATE_WINDOW_MILLIS) {
+				previous = now - windowStart < 2 * RATE_WINDOW_MILLIS ? current : 0;
+				current = 0;
+				windowStart = now;
+			}
+			current += count;
+			return Math.max(previous, current);
+		}
+	}
+
+	private static class LeasedId {
+
+		private final String id;
+
+		private final long expiresAt;
+
+		private LeasedId(String id, long expiresAt) {
+			this.id = id;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -47,10 +47,14 @@ import java.util.Map;
 
 import javax.validation.Valid;
 
+import org.egov.collection.model.BulkPaymentRequest;
+import org.egov.collection.model.BulkPaymentResponse;
+import org.egov.collection.model.BulkPaymentResult;
 import org.egov.collection.model.Payment;
 import org.egov.collection.model.PaymentRequest;
 import org.egov.collection.model.PaymentResponse;
 import org.egov.collection.model.PaymentSearchCriteria;
+import org.egov.collection.service.BulkPaymentService;
 import org.egov.collection.service.PaymentService;
 import org.egov.collection.service.PaymentWorkflowService;
 import org.egov.collection.web.contract.PaymentWorkflowRequest;
@@ -83,6 +87,9 @@ public class PaymentController {
     @Autowired
     private PaymentWorkflowService workflowService;
 
+    @Autowired
+    private BulkPaymentService bulkPaymentService;
+
     @RequestMapping(path = {"/_search","/{moduleName}/_search"}, method = RequestMethod.POST)
     @ResponseBody
     public ResponseEntity<?> search(@ModelAttribute PaymentSearchCriteria paymentSearchCriteria,
@@ -124,6 +131,18 @@ public class PaymentController {
     }
 
 
+    @RequestMapping(value = "/_bulkcreate", method = RequestMethod.POST)
+    @ResponseBody
+    public ResponseEntity<BulkPaymentResponse> bulkCreate(@RequestBody @Valid BulkPaymentRequest bulkPaymentRequest) {
+
+        List<BulkPaymentResult> results = bulkPaymentService.createPayments(bulkPaymentRequest);
+        final ResponseInfo responseInfo = ResponseInfoFactory.createResponseInfoFromRequestInfo(bulkPaymentRequest.getRequestInfo(), true);
+        responseInfo.setStatus(HttpStatus.OK.toString());
+
+        return new ResponseEntity<>(new BulkPaymentResponse(responseInfo, results), HttpStatus.OK);
+    }
+
+
    @RequestMapping(value = "/{moduleName}/_workflow", method = RequestMethod.POST)
    @ResponseBody
    public ResponseEntity<?> workflow(@RequestBody @Valid PaymentWorkflowRequest receiptWorkflowRequest, @PathVariable String moduleName) {
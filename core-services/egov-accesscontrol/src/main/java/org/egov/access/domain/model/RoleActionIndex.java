@@ -0,0 +1,232 @@
+package org.egov.access.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.egov.access.util.Utils;
+
+/**
+ * Compiled, immutable authorization index of a tenant, built once when the role actions of the tenant are loaded
+ *  - Exact URIs map to the bitset of roles authorized for them
+ *  - Regex URIs whose path params span whole segments, Ex, /foo/{id}/bar, are merged into a single segment trie,
+ *    each terminal node holding the bitset of roles authorized for it
+ *  - Any other regex URI is kept as a precompiled pattern
+ *
+ * Role codes are numbered per index, in the order the roles of the tenant are loaded, so the role bitset of a
+ * request is computed once per tenant level and a check is a lookup plus a bitset intersection. Request roles the
+ * tenant does not map to any action are left out of the bitset.
+ */
+public class RoleActionIndex {
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final Pattern PARAMETER_PLACEHOLDER = Pattern.compile("\\{\\w+\\}");
+    private static final Pattern LITERAL_SEGMENT = Pattern.compile("[^.\\[\\](){}*+?^$|\\\\]*");
+
+    private final Map<String, ActionContainer> roleActions;
+
+    private final Map<String, Integer> roleBits;
+
+    private final Map<String, long[]> exactUris;
+
+    private final TrieNode regexUriTrie;
+
+    private final List<PatternUri> patternUris;
+
+    private RoleActionIndex(Map<String, ActionContainer> roleActions, Map<String, Integer> roleBits,
+                            Map<String, long[]> exactUris, TrieNode regexUriTrie, List<PatternUri> patternUris) {
+        this.roleActions = roleActions;
+        this.roleBits = roleBits;
+        this.exactUris = exactUris;
+        this.regexUriTrie = regexUriTrie;
+        this.patternUris = patternUris;
+    }
+
+    /**
+     * Builds the index from the map of role to URIs authorized
+     *
+     * @param roleActions Map of roles to URIs authorized
+     * @return compiled index
+     */
+    public static RoleActionIndex build(Map<String, ActionContainer> roleActions) {
+        Map<String, long[]> exactUris = new HashMap<>();
+        TrieNode regexUriTrie = new TrieNode();
+        Map<String, long[]> patternUriRoles = new HashMap<>();
+        Map<String, Integer> roleBits = new HashMap<>();
+
+        for (Map.Entry<String, ActionContainer> entry : roleActions.entrySet()) {
+            int roleBit = roleBits.size();
+            roleBits.put(entry.getKey(), roleBit);
+
+            for (String uri : entry.getValue().getUris())
+                exactUris.put(uri, setBit(exactUris.get(uri), roleBit));
+
+            for (String regexUri : entry.getValue().getRegexUris()) {
+                if (!regexUriTrie.add(regexUri.split(PATH_SEPARATOR, -1), 0, roleBit))
+                    patternUriRoles.put(regexUri, setBit(patternUriRoles.get(regexUri), roleBit));
+            }
+        }
+
+        List<PatternUri> patternUris = new ArrayList<>(patternUriRoles.size());
+        patternUriRoles.forEach((uri, roles) -> patternUris.add(new PatternUri(Utils.getRegexUriPattern(uri), roles)));
+
+        return new RoleActionIndex(Collections.unmodifiableMap(roleActions), roleBits, exactUris, regexUriTrie,
+                patternUris);
+    }
+
+    /**
+     * Bitset of the given role codes in this index, to be computed once per authorization request
+     *
+     * @param roleCodes role codes of the request
+     * @return bitset of the role codes known to this index
+     */
+    public long[] getRoleMask(Collection<String> roleCodes) {
+        long[] mask = new long[(roleBits.size() >> 6) + 1];
+        for (String roleCode : roleCodes) {
+            Integer roleBit = roleBits.get(roleCode);
+            if (roleBit != null)
+                mask[roleBit >> 6] |= 1L << roleBit;
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether any role of the mask is authorized for the URI
+     *
+     * @param roleMask bitset of the request roles, see {@link #getRoleMask(Collection)}
+     * @param uri URI to be authorized
+     * @return true when authorized
+     */
+    public boolean isAuthorized(long[] roleMask, String uri) {
+        if (intersects(exactUris.get(uri), roleMask))
+            return true;
+
+        if (regexUriTrie.matches(uri, 0, roleMask))
+            return true;
+
+        for (PatternUri patternUri : patternUris) {
+            if (intersects(patternUri.roles, roleMask) && patternUri.pattern.matcher(uri).matches())
+                return true;
+        }
+        return false;
+    }
+
+    public Map<String, ActionContainer> getRoleActions() {
+        return roleActions;
+    }
+
+    private static long[] setBit(long[] bits, int bit) {
+        int word = bit >> 6;
+        if (bits == null)
+            bits = new long[word + 1];
+        else if (bits.length <= word) {
+            long[] grown = new long[word + 1];
+            System.arraycopy(bits, 0, grown, 0, bits.length);
+            bits = grown;
+        }
+        bits[word] |= 1L << bit;
+        return bits;
+    }
+
+    private static boolean intersects(long[] bits, long[] roleMask) {
+        if (bits == null)
+            return false;
+        int words = Math.min(bits.length, roleMask.length);
+        for (int i = 0; i < words; i++) {
+            if ((bits[i] & roleMask[i]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Matches the request URI segment by segment without splitting it, a placeholder child matches any
+     * non empty segment of word characters, same as the \w+ the placeholder is replaced with in regex matching
+     */
+    private static class TrieNode {
+
+        private final Map<String, TrieNode> literalChildren = new HashMap<>();
+
+        private TrieNode placeholderChild;
+
+        private long[] roles;
+
+        private boolean add(String[] segments, int index, int roleBit) {
+            if (index == 0 && !isTrieCompatible(segments))
+                return false;
+
+            if (index == segments.length) {
+                roles = setBit(roles, roleBit);
+                return true;
+            }
+
+            String segment = segments[index];
+            TrieNode child;
+            if (PARAMETER_PLACEHOLDER.matcher(segment).matches()) {
+                if (placeholderChild == null)
+                    placeholderChild = new TrieNode();
+                child = placeholderChild;
+            } else
+                child = literalChildren.computeIfAbsent(segment, s -> new TrieNode());
+
+            return child.add(segments, index + 1, roleBit);
+        }
+
+        private static boolean isTrieCompatible(String[] segments) {
+            for (String segment : segments) {
+                if (!PARAMETER_PLACEHOLDER.matcher(segment).matches() && !LITERAL_SEGMENT.matcher(segment).matches())
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * @param uri request URI
+         * @param start start of the current segment, uri.length() + 1 once every segment is consumed
+         */
+        private boolean matches(String uri, int start, long[] roleMask) {
+            if (start > uri.length())
+                return intersects(roles, roleMask);
+
+            int end = uri.indexOf('/', start);
+            if (end < 0)
+                end = uri.length();
+
+            if (!literalChildren.isEmpty()) {
+                TrieNode literalChild = literalChildren.get(uri.substring(start, end));
+                if (literalChild != null && literalChild.matches(uri, end + 1, roleMask))
+                    return true;
+            }
+
+            return placeholderChild != null && isWordSegment(uri, start, end)
+                && placeholderChild.matches(uri, end + 1, roleMask);
+        }
+
+        private static boolean isWordSegment(String uri, int start, int end) {
+            if (start == end)
+                return false;
+            for (int i = start; i < end; i++) {
+                char c = uri.charAt(i);
+                if (!(Character.isLetterOrDigit(c) && c < 128) && c != '_')
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    private static class PatternUri {
+
+        private final Pattern pattern;
+
+        private final long[] roles;
+
+        private PatternUri(Pattern pattern, long[] roles) {
+            this.pattern = pattern;
+            this.roles = roles;
+        }
+    }
+}
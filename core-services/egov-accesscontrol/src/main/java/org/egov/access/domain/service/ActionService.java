@@ -16,6 +16,7 @@ import org.egov.access.domain.criteria.ValidateActionCriteria;
 import org.egov.access.domain.model.Action;
 import org.egov.access.domain.model.ActionContainer;
 import org.egov.access.domain.model.ActionValidation;
+import org.egov.access.domain.model.RoleActionIndex;
 import org.egov.access.domain.model.authorize.AuthorizationRequest;
 import org.egov.access.domain.model.authorize.Role;
 import org.egov.access.persistence.repository.ActionRepository;
@@ -26,7 +27,6 @@ import org.egov.access.persistence.repository.querybuilder.ValidateActionQueryBu
 import org.egov.access.persistence.repository.rowmapper.ActionRowMapper;
 import org.egov.access.persistence.repository.rowmapper.ActionValidationRowMapper;
 import org.egov.access.util.AccessControlConstants;
-import org.egov.access.util.Utils;
 import org.egov.access.web.contract.action.ActionRequest;
 import org.egov.access.web.contract.action.Module;
 import org.egov.common.utils.MultiStateInstanceUtil;
@@ -116,10 +116,12 @@ public class ActionService {
 		List<String> listOfMdmsTenantIdsToCheck = new ArrayList<>(fetchListOfTenantIdsForAuthorizationCheck(inputTenantId, roles));
 		Collections.sort(listOfMdmsTenantIdsToCheck, Collections.reverseOrder(Comparator.comparing(String::length)));
 
+		Set<String> applicableRoles = getApplicableRoles(authorizeRequest);
+
 		boolean isAuthorized = false;
 
 		for(String tenantId : listOfMdmsTenantIdsToCheck) {
-			if(isAuthorizedOnGivenTenantLevel(authorizeRequest, tenantId)){
+			if(isAuthorizedOnGivenTenantLevel(authorizeRequest.getUri(), applicableRoles, tenantId)){
 				isAuthorized = true;
 				break;
 			}
@@ -128,6 +130,16 @@ public class ActionService {
 		return isAuthorized;
 	}
 
+	/**
+	 * Role to URI mapping of the given tenant level, as used by {@link #isAuthorized(AuthorizationRequest)}
+	 *
+	 * @param tenantId tenant for which role actions need to be retrieved
+	 * @return Map of roles to URIs authorized
+	 */
+	public Map<String, ActionContainer> getRoleActions(String tenantId) {
+		return mdmsRepository.fetchRoleActionData(tenantId).getRoleActions();
+	}
+
 	private Set<String> fetchListOfTenantIdsForAuthorizationCheck(String tenantId, List<String> roles){
 		
 		Set<String> listOfMdmsTenantIdsToCheck = new LinkedHashSet<>();
@@ -150,24 +162,13 @@ public class ActionService {
 		return listOfMdmsTenantIdsToCheck;
 	}
 
-	private boolean isAuthorizedOnGivenTenantLevel(AuthorizationRequest authorizeRequest, String tenantId){
+	private boolean isAuthorizedOnGivenTenantLevel(String uriToBeAuthorized, Set<String> applicableRoles,
+			String tenantId){
 
-		Map<String, ActionContainer>  roleActions = mdmsRepository.fetchRoleActionData(tenantId);
+		RoleActionIndex roleActionIndex = mdmsRepository.fetchRoleActionData(tenantId);
 
-		String uriToBeAuthorized = authorizeRequest.getUri();
-		Set<String> applicableRoles = getApplicableRoles(authorizeRequest);
-		Set<String> uris = new HashSet<>();
-		List<String> regexUris = new ArrayList<>();
-
-		for(String roleCode : applicableRoles){
-			if(roleActions.containsKey(roleCode))
-				uris.addAll(roleActions.get(roleCode).getUris());
-
-			if(roleActions.containsKey(roleCode))
-				regexUris.addAll(roleActions.get(roleCode).getRegexUris());
-		}
-
-		boolean isAuthorized = uris.contains(uriToBeAuthorized) || containsRegexUri(regexUris, uriToBeAuthorized);
+		boolean isAuthorized = roleActionIndex.isAuthorized(roleActionIndex.getRoleMask(applicableRoles),
+				uriToBeAuthorized);
 
 		//log.info("Request tenant ids:  " + authorizeRequest.getTenantIds());
 		log.info("Role {} has access to requested URI {} : {}", applicableRoles, uriToBeAuthorized,
@@ -198,14 +199,6 @@ public class ActionService {
 		return applicableRoles.stream().map(Role::getCode).collect(Collectors.toSet());
 	}
 
-	private boolean containsRegexUri(List<String> actionUris, String requestUri){
-		for(String actionUri : actionUris){
-			if(Utils.isRegexUriMatch(actionUri, requestUri))
-				return true;
-		}
-		return false;
-	}
-
 	private String getCentralInstanceLevelTenant(String tenantId){
 		return tenantId.split("\\.")[0];
 	}
@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 import org.egov.access.domain.model.Action;
 import org.egov.access.domain.model.ActionContainer;
 import org.egov.access.domain.model.RoleAction;
+import org.egov.access.domain.model.RoleActionIndex;
 import org.egov.access.util.Utils;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.mdms.model.MasterDetail;
@@ -68,14 +69,14 @@ public class MdmsRepository {
      *  - Regex patterns such as path params are handled and will be part of regex uris]
      *
      *  This method is cacheable and will only run the method when the cache expiration has reached
-     *   part of config
+     *   part of config, the authorization index is compiled once per load
      *
      *
      * @param tenantId tenant for which role actions need to be retrieved
-     * @return Map of roles to URIs authorized
+     * @return Compiled index of roles to URIs authorized
      */
     @Cacheable(value = "roleActions", sync = true)
-    public  Map<String, ActionContainer> fetchRoleActionData(String tenantId){
+    public RoleActionIndex fetchRoleActionData(String tenantId){
         List<ModuleDetail> moduleDetail = new ArrayList<ModuleDetail>();
         RequestInfo requestInfo = new RequestInfo();
 
@@ -111,7 +112,7 @@ public class MdmsRepository {
             throw new CustomException("DATA_NOT_AVAILABLE", "Data not available for this tenant");
 
 
-        return transformMdmsResponse(response);
+        return RoleActionIndex.build(transformMdmsResponse(response));
 
 //        Map<String, List<String>> map = Arrays.stream(roleActions)
 //                .filter( roleAction -> actionMap.containsKey(roleAction.getActionId()) )
@@ -1,5 +1,7 @@
 package org.egov.access.util;
 
+import java.util.regex.Pattern;
+
 public class Utils {
 
     private Utils(){}
@@ -19,6 +21,10 @@ public class Utils {
         return requestUri.matches(getRegexUri(actionUri));
     }
 
+    public static Pattern getRegexUriPattern(String actionUri) {
+        return Pattern.compile(getRegexUri(actionUri));
+    }
+
     private static String getRegexUri(String url) {
         return url.replaceAll(PARAMETER_PLACEHOLDER_REGEX, ANY_WORD_REGEX);
     }
@@ -0,0 +1,23 @@
+package org.egov.access.web.contract.action;
+
+import java.util.Map;
+
+import org.egov.access.domain.model.ActionContainer;
+import org.egov.common.contract.response.ResponseInfo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleActionSnapshotResponse {
+
+	private ResponseInfo responseInfo;
+	private String tenantId;
+	private Map<String, ActionContainer> roleActions;
+
+}
@@ -117,6 +117,16 @@ public class ActionController {
 			return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
 	}
 
+	/**
+	 * Returns the role to URI data used by _authorize for the given tenant, so that the
+	 * gateway can replicate it and evaluate RBAC locally.
+	 */
+	@PostMapping(value = "_roleactions")
+	public RoleActionSnapshotResponse getRoleActions(@RequestParam("tenantId") String tenantId) {
+		final ResponseInfo responseInfo = ResponseInfo.builder().status(HttpStatus.OK.toString()).build();
+		return new RoleActionSnapshotResponse(responseInfo, tenantId, actionService.getRoleActions(tenantId));
+	}
+
 	private ResponseEntity<?> getListSuccessResponse(final RequestInfo requestInfo, final List<Module> moduleList) {
 
 		ResponseInfo responseInfo = responseInfoFactory.createResponseInfoFromRequestInfo(requestInfo, true);
@@ -0,0 +1,128 @@
+package org.egov.access.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.access.domain.model.ActionContainer;
+import org.egov.access.domain.model.RoleActionIndex;
+import org.egov.access.util.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares a single tenant level authorization check of the compiled {@link RoleActionIndex} with the
+ * previous approach of collecting the URIs of every applicable role and matching the regex URIs one by one.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=org.egov.access.benchmark.RoleActionIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleActionIndexBenchmark {
+
+	@Param({ "20" })
+	private int roleCount;
+
+	@Param({ "200" })
+	private int urisPerRole;
+
+	private Map<String, ActionContainer> roleActions;
+
+	private RoleActionIndex roleActionIndex;
+
+	private Set<String> applicableRoles;
+
+	private long[] roleMask;
+
+	private String exactUri;
+
+	private String regexUri;
+
+	@Setup
+	public void setup() {
+		roleActions = new HashMap<>();
+		for (int role = 0; role < roleCount; role++) {
+			ActionContainer container = new ActionContainer();
+			for (int uri = 0; uri < urisPerRole; uri++) {
+				container.getUris().add("/module" + role + "/v1/resource" + uri + "/_search");
+				if (uri % 10 == 0)
+					container.getRegexUris().add("/module" + role + "/v1/resource" + uri + "/{id}/_update");
+			}
+			roleActions.put("ROLE_" + role, container);
+		}
+		roleActionIndex = RoleActionIndex.build(roleActions);
+
+		applicableRoles = new HashSet<>(Arrays.asList("ROLE_1", "ROLE_5", "ROLE_" + (roleCount - 1)));
+		roleMask = roleActionIndex.getRoleMask(applicableRoles);
+
+		int lastRole = roleCount - 1;
+		exactUri = "/module" + lastRole + "/v1/resource" + (urisPerRole - 1) + "/_search";
+		regexUri = "/module" + lastRole + "/v1/resource" + ((urisPerRole - 1) / 10 * 10) + "/PB1234/_update";
+	}
+
+	@Benchmark
+	public boolean indexExactUri() {
+		return roleActionIndex.isAuthorized(roleMask, exactUri);
+	}
+
+	@Benchmark
+	public boolean indexRegexUri() {
+		return roleActionIndex.isAuthorized(roleMask, regexUri);
+	}
+
+	@Benchmark
+	public boolean unionExactUri() {
+		return isAuthorizedByUnion(exactUri);
+	}
+
+	@Benchmark
+	public boolean unionRegexUri() {
+		return isAuthorizedByUnion(regexUri);
+	}
+
+	private boolean isAuthorizedByUnion(String uriToBeAuthorized) {
+		Set<String> uris = new HashSet<>();
+		List<String> regexUris = new ArrayList<>();
+
+		for (String roleCode : applicableRoles) {
+			if (roleActions.containsKey(roleCode)) {
+				uris.addAll(roleActions.get(roleCode).getUris());
+				regexUris.addAll(roleActions.get(roleCode).getRegexUris());
+			}
+		}
+
+		if (uris.contains(uriToBeAuthorized))
+			return true;
+		for (String actionUri : regexUris) {
+			if (Utils.isRegexUriMatch(actionUri, uriToBeAuthorized))
+				return true;
+		}
+		return false;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RoleActionIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+}
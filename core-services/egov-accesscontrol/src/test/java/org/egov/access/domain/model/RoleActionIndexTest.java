@@ -0,0 +1,87 @@
+package org.egov.access.domain.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RoleActionIndexTest {
+
+	private RoleActionIndex roleActionIndex;
+
+	@Before
+	public void before() {
+		Map<String, ActionContainer> roleActions = new HashMap<>();
+
+		ActionContainer citizen = new ActionContainer();
+		citizen.getUris().add("/pgr/seva/v1/_create");
+		citizen.getRegexUris().add("/pgr/seva/{id}/_update");
+		citizen.getRegexUris().add("/filestore/v1/files/{id}.pdf");
+		roleActions.put("CITIZEN", citizen);
+
+		ActionContainer employee = new ActionContainer();
+		employee.getUris().add("/hr-masters/do/something");
+		employee.getRegexUris().add("/pgr/seva/{id}/_assign");
+		roleActions.put("EMPLOYEE", employee);
+
+		roleActionIndex = RoleActionIndex.build(roleActions);
+	}
+
+	@Test
+	public void testShouldAuthorizeExactUriOfRole() {
+		assertTrue(roleActionIndex.isAuthorized(mask("CITIZEN"), "/pgr/seva/v1/_create"));
+		assertFalse(roleActionIndex.isAuthorized(mask("EMPLOYEE"), "/pgr/seva/v1/_create"));
+	}
+
+	@Test
+	public void testShouldAuthorizeRegexUriOfRole() {
+		assertTrue(roleActionIndex.isAuthorized(mask("CITIZEN"), "/pgr/seva/123/_update"));
+		assertTrue(roleActionIndex.isAuthorized(mask("EMPLOYEE", "CITIZEN"), "/pgr/seva/123/_assign"));
+		assertFalse(roleActionIndex.isAuthorized(mask("CITIZEN"), "/pgr/seva/123/_assign"));
+	}
+
+	@Test
+	public void testShouldMatchPlaceholderOnlyWithinSegment() {
+		assertFalse(roleActionIndex.isAuthorized(mask("CITIZEN"), "/pgr/seva/1/2/_update"));
+		assertFalse(roleActionIndex.isAuthorized(mask("CITIZEN"), "/pgr/seva//_update"));
+		assertFalse(roleActionIndex.isAuthorized(mask("CITIZEN"), "/pgr/seva/1-2/_update"));
+	}
+
+	@Test
+	public void testShouldAuthorizeRegexUriNotSpanningWholeSegments() {
+		assertTrue(roleActionIndex.isAuthorized(mask("CITIZEN"), "/filestore/v1/files/abc.pdf"));
+		assertFalse(roleActionIndex.isAuthorized(mask("EMPLOYEE"), "/filestore/v1/files/abc.pdf"));
+	}
+
+	@Test
+	public void testShouldNotAuthorizeUnknownRole() {
+		assertFalse(roleActionIndex.isAuthorized(mask("UNKNOWN_ROLE"), "/pgr/seva/v1/_create"));
+		assertFalse(roleActionIndex.isAuthorized(roleActionIndex.getRoleMask(Collections.emptySet()),
+				"/pgr/seva/123/_update"));
+	}
+
+	@Test
+	public void testShouldNotAuthorizeRoleOfAnotherIndex() {
+		Map<String, ActionContainer> roleActions = new HashMap<>();
+		ActionContainer admin = new ActionContainer();
+		admin.getUris().add("/tenant/admin/_create");
+		roleActions.put("TENANT_ADMIN", admin);
+		RoleActionIndex otherIndex = RoleActionIndex.build(roleActions);
+
+		assertTrue(otherIndex.isAuthorized(otherIndex.getRoleMask(Arrays.asList("TENANT_ADMIN")),
+				"/tenant/admin/_create"));
+		assertFalse(otherIndex.isAuthorized(otherIndex.getRoleMask(Arrays.asList("CITIZEN", "EMPLOYEE")),
+				"/tenant/admin/_create"));
+		assertFalse(roleActionIndex.isAuthorized(mask("TENANT_ADMIN"), "/pgr/seva/v1/_create"));
+	}
+
+	private long[] mask(String... roleCodes) {
+		return roleActionIndex.getRoleMask(Arrays.asList(roleCodes));
+	}
+}
@@ -1,12 +1,18 @@
 package org.egov.filestore;
 
+import org.cache2k.extra.spring.SpringCache2kCacheManager;
 import org.egov.tracer.config.TracerConfiguration;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -14,11 +20,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.text.SimpleDateFormat;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 
 @SpringBootApplication
+@EnableCaching
 @Import({ TracerConfiguration.class })
 public class FileStoreApplication {
 	private static final String DATE_FORMAT = "dd-MM-yyyy HH:mm:ss";
@@ -51,6 +61,88 @@ public class FileStoreApplication {
 		return objectMapper;
 	}
 
+	/**
+	 * Pool the files of an upload request are sent to the storage on, the MDC of the request thread is carried over
+	 * to the tasks of the pools so that their logs carry its correlation id
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor fileUploadExecutor(@Value("${filestore.upload.pool.size:8}") int poolSize) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setThreadNamePrefix("file-upload-");
+		executor.setTaskDecorator(FileStoreApplication::withMdc);
+		return executor;
+	}
+
+	/**
+	 * Pool the thumbnails of uploaded images are generated and saved on. Once the queue is full thumbnails are
+	 * generated on the upload request thread, slowing uploads down rather than piling up images.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor thumbnailExecutor(@Value("${filestore.thumbnail.pool.size:2}") int poolSize,
+			@Value("${filestore.thumbnail.queue.capacity:500}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setThreadNamePrefix("thumbnail-");
+		executor.setTaskDecorator(FileStoreApplication::withMdc);
+		return executor;
+	}
+
+	/**
+	 * Pool the urls of large url requests are signed on in batches. Once the queue is full batches are signed on the
+	 * request thread.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor urlSigningExecutor(@Value("${filestore.url.signing.pool.size:4}") int poolSize,
+			@Value("${filestore.url.signing.queue.capacity:100}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setThreadNamePrefix("url-signing-");
+		executor.setTaskDecorator(FileStoreApplication::withMdc);
+		return executor;
+	}
+
+	/**
+	 * Signed urls are cached for at most half of the shortest expiry they are signed with, so that a cached url is
+	 * always valid for at least half of its expiry time
+	 */
+	@Bean
+	@Profile("!test")
+	public CacheManager cacheManager(@Value("${filestore.signed.url.cache.ttl.secs}") long signedUrlCacheTtl,
+			@Value("${filestore.signed.url.cache.max.entries}") long signedUrlCacheMaxEntries,
+			@Value("${presigned.url.expiry.time.in.secs}") long presignedUrlExpiry,
+			@Value("${azure.sas.expiry.time.in.secs}") long azureSASExpiry) {
+		long signedUrlTtl = Math.min(signedUrlCacheTtl, Math.min(presignedUrlExpiry, azureSASExpiry) / 2);
+		return new SpringCache2kCacheManager()
+				.addCaches(b->b.name("signedUrls").expireAfterWrite(signedUrlTtl, TimeUnit.SECONDS)
+						.entryCapacity(signedUrlCacheMaxEntries));
+	}
+
+	private static Runnable withMdc(Runnable runnable) {
+		Map<String, String> contextMap = MDC.getCopyOfContextMap();
+		return () -> {
+			// the task may run on the submitting thread, whose own MDC is restored afterwards
+			Map<String, String> previousContextMap = MDC.getCopyOfContextMap();
+			if (contextMap != null)
+				MDC.setContextMap(contextMap);
+			try {
+				runnable.run();
+			} finally {
+				if (previousContextMap != null)
+					MDC.setContextMap(previousContextMap);
+				else
+					MDC.clear();
+			}
+		};
+	}
+
 	public static void main(String[] args) {
 
 		SpringApplication.run(FileStoreApplication.class, args);
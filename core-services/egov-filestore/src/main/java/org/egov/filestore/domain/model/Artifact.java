@@ -15,8 +15,6 @@ import org.springframework.web.multipart.MultipartFile;
 @Setter
 public class Artifact {
 	
-	private String fileContentInString;
-	
     private MultipartFile multipartFile;
     
     private FileLocation fileLocation;
@@ -30,5 +28,7 @@ public class Artifact {
     private Long createdTime;
 
     private Long lastModifiedTime; 
+
+    private ThumbnailStatus thumbnailStatus;
 }
 
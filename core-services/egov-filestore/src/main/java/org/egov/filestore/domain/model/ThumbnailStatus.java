@@ -0,0 +1,12 @@
+package org.egov.filestore.domain.model;
+
+/**
+ * State of the small, medium and large versions of an uploaded image, generated in the background after the upload.
+ * Artifacts saved before thumbnails were generated in the background have no status, their thumbnails were saved
+ * along with the image.
+ */
+public enum ThumbnailStatus {
+
+	PENDING, READY, FAILED
+
+}
@@ -1,16 +1,18 @@
 package org.egov.filestore.domain.service;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.filestore.config.FileStoreConfig;
@@ -18,13 +20,13 @@ import org.egov.filestore.domain.model.Artifact;
 import org.egov.filestore.domain.model.FileInfo;
 import org.egov.filestore.domain.model.FileLocation;
 import org.egov.filestore.domain.model.Resource;
+import org.egov.filestore.domain.model.ThumbnailStatus;
 import org.egov.filestore.persistence.repository.ArtifactRepository;
 import org.egov.filestore.repository.CloudFilesManager;
-import org.egov.filestore.repository.impl.CloudFileMgrUtils;
 import org.egov.filestore.repository.impl.minio.MinioConfig;
 import org.egov.filestore.validator.StorageValidator;
-import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -36,13 +38,20 @@ import lombok.extern.slf4j.Slf4j;
 public class StorageService {
 
 	@Autowired
-	private CloudFileMgrUtils util;
+	private ThumbnailService thumbnailService;
 	
 	private FileStoreConfig configs;
 
 	@Autowired
 	private CloudFilesManager cloudFilesManager;
 
+	@Autowired
+	@Qualifier("urlSigningExecutor")
+	private Executor urlSigningExecutor;
+
+	@Value("${filestore.url.signing.batch.size:50}")
+	private Integer urlSigningBatchSize;
+
 	private static final String UPLOAD_MESSAGE = "Received upload request for "
 			+ "jurisdiction: %s, module: %s, tag: %s with file count: %s";
 
@@ -83,15 +92,20 @@ public class StorageService {
 
 		log.info(UPLOAD_MESSAGE, module, tag, filesToStore.size());
 		List<Artifact> artifacts = mapFilesToArtifact(filesToStore, module, tag, tenantId);
-		return this.artifactRepository.save(artifacts, requestInfo);
+		List<String> fileStoreIds = this.artifactRepository.save(artifacts, requestInfo);
+
+		List<Artifact> images = artifacts.stream()
+				.filter(artifact -> artifact.getThumbnailStatus() == ThumbnailStatus.PENDING)
+				.collect(Collectors.toList());
+		if (!images.isEmpty())
+			thumbnailService.generateThumbnails(images);
+		return fileStoreIds;
 	}
 
 	private List<Artifact> mapFilesToArtifact(List<MultipartFile> files, String module, String tag, String tenantId) {
 
 		final String folderName = getFolderName(module, tenantId);
-		String inputStreamAsString = null;
 		List<Artifact> artifacts = new ArrayList<>();
-		Artifact artifact = null;
 		for (MultipartFile file : files) {
 			String randomString = RandomStringUtils.random(filenameLength, useLetters, useNumbers);
 			String orignalFileName = file.getOriginalFilename();
@@ -99,51 +113,19 @@ public class StorageService {
 			String fileName = folderName + System.currentTimeMillis() + randomString + "." +imagetype;
 			String id = this.idGeneratorService.getId();
 			FileLocation fileLocation = new FileLocation(id, module, tag, tenantId, fileName, null);
-			try {
-				inputStreamAsString = IOUtils.toString(file.getInputStream(), fileStoreConfig.getImageCharsetType());
-				artifact = Artifact.builder().fileContentInString(inputStreamAsString).multipartFile(file)
-						.fileLocation(fileLocation).build();
-				artifacts.add(artifact);
-
-			} catch (IOException e) {
-				// TODO Auto-generated catch block
-				log.error("IO Exception while mapping files to artifact: " + e.getMessage());
-			}
+			// the content is not read here, every reader opens its own stream on the uploaded part
+			Artifact artifact = Artifact.builder().multipartFile(file).fileLocation(fileLocation).build();
+			artifacts.add(artifact);
 			storageValidator.validate(artifact);
 			
+			// thumbnails are generated once the image is saved
 			if (fileStoreConfig.getImageFormats().contains(FilenameUtils.getExtension(artifact.getMultipartFile().getOriginalFilename())))
-				setThumbnailImages(artifact);
+				artifact.setThumbnailStatus(ThumbnailStatus.PENDING);
 		}
 
 		return artifacts;
 	}
 
-	private void setThumbnailImages(Artifact artifact) {
-		
-		String completeName = artifact.getFileLocation().getFileName();
-		int index = completeName.indexOf('/');
-		String fileNameWithPath = completeName.substring(index + 1, completeName.length());
-
-		try {
-
-			String imagetype = FilenameUtils.getExtension(artifact.getMultipartFile().getOriginalFilename());
-			String inputStreamAsString = artifact.getFileContentInString();
-			if (fileStoreConfig.getImageFormats().contains(imagetype)) {
-
-				InputStream ipStreamForImg = IOUtils.toInputStream(inputStreamAsString, configs.getImageCharsetType());
-				Map<String, BufferedImage> mapOfImagesAndPaths = util.createVersionsOfImage(ipStreamForImg,
-						fileNameWithPath);
-				artifact.setThumbnailImages(mapOfImagesAndPaths);
-			}
-
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			log.error("EG_FILESTORE_INPUT_ERROR", e);
-			throw new CustomException("EG_FILESTORE_INPUT_ERROR", "Failed to read input stream from multipart file");
-		}
-
-	}
-
 	private String getFolderName(String module, String tenantId) {
 
 		Calendar calendar = Calendar.getInstance();
@@ -164,8 +146,31 @@ public class StorageService {
 		return urlMap;
 	}
 
+	/**
+	 * Signs the urls of the files, a large list of files is split in batches which are signed in parallel
+	 * 
+	 * @param artifactList
+	 * @return
+	 */
 	private Map<String, String> getUrlMap(List<org.egov.filestore.persistence.entity.Artifact> artifactList) {
-		return cloudFilesManager.getFiles(artifactList);
+		if (artifactList.size() <= urlSigningBatchSize)
+			return cloudFilesManager.getFiles(artifactList);
+
+		List<CompletableFuture<Map<String, String>>> batches = new ArrayList<>();
+		for (int from = 0; from < artifactList.size(); from += urlSigningBatchSize) {
+			List<org.egov.filestore.persistence.entity.Artifact> batch = artifactList.subList(from,
+					Math.min(from + urlSigningBatchSize, artifactList.size()));
+			batches.add(CompletableFuture.supplyAsync(() -> cloudFilesManager.getFiles(batch), urlSigningExecutor));
+		}
+		Map<String, String> urlMap = new HashMap<>();
+		try {
+			batches.forEach(batch -> urlMap.putAll(batch.join()));
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+		return urlMap;
 	}
 
 	private String getFolderName(String module, String tenantId, Calendar calendar) {
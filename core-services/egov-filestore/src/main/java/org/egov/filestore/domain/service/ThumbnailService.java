@@ -0,0 +1,113 @@
+package org.egov.filestore.domain.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.io.FilenameUtils;
+import org.egov.filestore.domain.model.Artifact;
+import org.egov.filestore.domain.model.ThumbnailStatus;
+import org.egov.filestore.persistence.repository.ArtifactRepository;
+import org.egov.filestore.repository.CloudFilesManager;
+import org.egov.filestore.repository.impl.CloudFileMgrUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates and saves the thumbnails of uploaded images in the background, once the images themselves are saved.
+ * 
+ * The uploaded part is deleted at the end of the request, so each image is copied to a temporary file the background
+ * task reads. The thumbnail status of the artifact is set to READY once its thumbnails are saved, or to FAILED, the
+ * urls of the original image are returned for the thumbnails until then.
+ */
+@Service
+@Slf4j
+public class ThumbnailService {
+
+	private CloudFileMgrUtils util;
+
+	private CloudFilesManager cloudFilesManager;
+
+	private ArtifactRepository artifactRepository;
+
+	private Executor thumbnailExecutor;
+
+	@Autowired
+	public ThumbnailService(CloudFileMgrUtils util, CloudFilesManager cloudFilesManager,
+			ArtifactRepository artifactRepository, @Qualifier("thumbnailExecutor") Executor thumbnailExecutor) {
+		this.util = util;
+		this.cloudFilesManager = cloudFilesManager;
+		this.artifactRepository = artifactRepository;
+		this.thumbnailExecutor = thumbnailExecutor;
+	}
+
+	/**
+	 * @param artifacts saved artifacts with a PENDING thumbnail status
+	 */
+	public void generateThumbnails(List<Artifact> artifacts) {
+		for (Artifact artifact : artifacts) {
+			Path image;
+			try {
+				image = copyToTempFile(artifact);
+			} catch (IOException e) {
+				log.error("Failed to copy image for thumbnail generation: ", e);
+				updateThumbnailStatus(artifact, ThumbnailStatus.FAILED);
+				continue;
+			}
+			thumbnailExecutor.execute(() -> generateThumbnails(artifact, image));
+		}
+	}
+
+	private Path copyToTempFile(Artifact artifact) throws IOException {
+		String extension = FilenameUtils.getExtension(artifact.getMultipartFile().getOriginalFilename());
+		Path image = Files.createTempFile("thumbnail-", "." + extension);
+		try (InputStream inputStream = artifact.getMultipartFile().getInputStream()) {
+			Files.copy(inputStream, image, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Files.deleteIfExists(image);
+			throw e;
+		}
+		return image;
+	}
+
+	private void generateThumbnails(Artifact artifact, Path image) {
+		String completeName = artifact.getFileLocation().getFileName();
+		String fileNameWithPath = completeName.substring(completeName.indexOf('/') + 1, completeName.length());
+		try {
+			artifact.setThumbnailImages(util.createVersionsOfImage(image.toFile(), fileNameWithPath));
+			cloudFilesManager.saveThumbnails(artifact);
+			updateThumbnailStatus(artifact, ThumbnailStatus.READY);
+		} catch (Exception e) {
+			log.error("EG_FILESTORE_THUMBNAIL_ERROR", e);
+			updateThumbnailStatus(artifact, ThumbnailStatus.FAILED);
+		} finally {
+			if (artifact.getThumbnailImages() != null) {
+				for (Map.Entry<String, BufferedImage> entry : artifact.getThumbnailImages().entrySet())
+					entry.getValue().flush();
+				artifact.setThumbnailImages(null);
+			}
+			try {
+				Files.deleteIfExists(image);
+			} catch (IOException e) {
+				log.error("Failed to delete temporary image " + image, e);
+			}
+		}
+	}
+
+	private void updateThumbnailStatus(Artifact artifact, ThumbnailStatus thumbnailStatus) {
+		try {
+			artifactRepository.updateThumbnailStatus(artifact.getFileLocation(), thumbnailStatus);
+		} catch (Exception e) {
+			log.error("Failed to update thumbnail status of " + artifact.getFileLocation().getFileStoreId(), e);
+		}
+	}
+}
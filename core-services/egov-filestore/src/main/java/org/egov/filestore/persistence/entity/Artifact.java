@@ -47,6 +47,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.egov.filestore.domain.model.FileLocation;
+import org.egov.filestore.domain.model.ThumbnailStatus;
 import org.hibernate.validator.constraints.NotBlank;
 
 import javax.persistence.*;
@@ -94,6 +95,10 @@ public class Artifact extends AbstractPersistable<Long> {
 
     private Long lastModifiedTime; 
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnailstatus")
+    private ThumbnailStatus thumbnailStatus;
+
     public FileLocation getFileLocation() {
         return new FileLocation(fileStoreId, module, tag,tenantId,fileName,fileSource);
     }
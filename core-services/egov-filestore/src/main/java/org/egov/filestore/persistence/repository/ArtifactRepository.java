@@ -2,19 +2,25 @@ package org.egov.filestore.persistence.repository;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.filestore.domain.model.FileInfo;
 import org.egov.filestore.domain.model.FileLocation;
 import org.egov.filestore.domain.model.Resource;
+import org.egov.filestore.domain.model.ThumbnailStatus;
 import org.egov.filestore.persistence.entity.Artifact;
 import org.egov.filestore.repository.CloudFilesManager;
 import org.egov.filestore.repository.impl.AzureBlobStorageImpl;
 import org.egov.filestore.repository.impl.minio.MinioRepository;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +32,10 @@ public class ArtifactRepository {
 	@Autowired
 	private CloudFilesManager cloudFilesManager;
 
+	@Autowired
+	@Qualifier("fileUploadExecutor")
+	private Executor fileUploadExecutor;
+
 	@Value("${isAzureStorageEnabled}")
 	private Boolean isAzureStorageEnabled;
 
@@ -40,7 +50,7 @@ public class ArtifactRepository {
 	}
 
 	public List<String> save(List<org.egov.filestore.domain.model.Artifact> artifacts, RequestInfo requestInfo) {
-		cloudFilesManager.saveFiles(artifacts);
+		saveFiles(artifacts);
 		List<Artifact> artifactEntities = new ArrayList<>();
 		artifacts.forEach(artifact -> {
 			artifactEntities.add(mapToEntity(artifact, requestInfo));
@@ -49,6 +59,31 @@ public class ArtifactRepository {
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * Uploads the files of a request to the storage in parallel, each file being streamed by its own task. Fails with
+	 * the error of the first failed upload once all uploads are done.
+	 * 
+	 * @param artifacts
+	 */
+	private void saveFiles(List<org.egov.filestore.domain.model.Artifact> artifacts) {
+		if (artifacts.size() <= 1) {
+			cloudFilesManager.saveFiles(artifacts);
+			return;
+		}
+
+		List<CompletableFuture<Void>> uploads = artifacts.stream()
+				.map(artifact -> CompletableFuture.runAsync(
+						() -> cloudFilesManager.saveFiles(Collections.singletonList(artifact)), fileUploadExecutor))
+				.collect(Collectors.toList());
+		try {
+			CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+
 	/**
 	 * Converts POJO artifact to JPA Entity artifact
 	 * 
@@ -62,6 +97,7 @@ public class ArtifactRepository {
 				.fileName(fileLocation.getFileName()).contentType(artifact.getMultipartFile().getContentType())
 				.module(fileLocation.getModule()).tag(fileLocation.getTag()).tenantId(fileLocation.getTenantId())
 				.fileSource(fileLocation.getFileSource())
+				.thumbnailStatus(artifact.getThumbnailStatus())
 				//.createdBy(requestInfo.getUserInfo().getUuid())
 				//.lastModifiedBy(requestInfo.getUserInfo().getUuid())
 				//.createdTime(System.currentTimeMillis())
@@ -118,7 +154,7 @@ public class ArtifactRepository {
 		 
       if(null!=resource)
 		return new Resource(artifact.getContentType(), artifact.getFileName(), resource, artifact.getTenantId(),
-				"" + resource.getFile().length() + " bytes");
+				"" + resource.contentLength() + " bytes");
       else
     	  return null;
 	}
@@ -135,6 +171,11 @@ public class ArtifactRepository {
 		return new FileInfo(artifact.getContentType(), fileLocation, artifact.getTenantId());
 	}
 
+	public void updateThumbnailStatus(FileLocation fileLocation, ThumbnailStatus thumbnailStatus) {
+		fileStoreJpaRepository.updateThumbnailStatus(fileLocation.getFileStoreId(), fileLocation.getTenantId(),
+				thumbnailStatus);
+	}
+
 	public List<Artifact> getByTenantIdAndFileStoreIdList(String tenantId, List<String> fileStoreIds) {
 		return fileStoreJpaRepository.findByTenantIdAndFileStoreIdList(tenantId, fileStoreIds);
 	}
@@ -1,9 +1,12 @@
 package org.egov.filestore.persistence.repository;
 
+import org.egov.filestore.domain.model.ThumbnailStatus;
 import org.egov.filestore.persistence.entity.Artifact;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,6 +18,11 @@ public interface FileStoreJpaRepository extends JpaRepository<Artifact, Long> {
 	
 	@Query(value = "SELECT * FROM eg_filestoremap T WHERE T.tenantId = (?1) AND T.fileStoreId IN (?2)",nativeQuery = true)
 	List<Artifact> findByTenantIdAndFileStoreIdList(String tenantId, List<String> fileStoreIds);
+
+	@Modifying
+	@Transactional
+	@Query(value = "UPDATE Artifact T SET T.thumbnailStatus = (?3) WHERE T.fileStoreId = (?1) AND T.tenantId = (?2)")
+	int updateThumbnailStatus(String fileStoreId, String tenantId, ThumbnailStatus thumbnailStatus);
 	
 	
 	//value = "SELECT * FROM table WHERE property=(?1)", nativeQuery = true
@@ -16,6 +16,13 @@ public interface CloudFilesManager {
 	 */
 	public void saveFiles(List<Artifact> artifacts);
 	
+	/**
+	 * Interface to save the thumbnail images of an artifact, generated after the artifact itself was saved.
+	 * 
+	 * @param artifact
+	 */
+	public void saveThumbnails(Artifact artifact);
+	
 	/**
 	 * Interface to fetch files from the cloud storage. 
 	 * Takes a map of filestoreid and file path as input and returns a map of filestoreid and urls with access permissions. 
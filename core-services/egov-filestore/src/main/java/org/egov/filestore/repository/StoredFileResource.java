@@ -0,0 +1,79 @@
+package org.egov.filestore.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * A file in the cloud storage, read straight from the storage whenever its content is read.
+ * 
+ * The length, ETag and modification time are fetched along with the resource, the content is fetched only when a
+ * stream is opened, in full or from an offset.
+ */
+public abstract class StoredFileResource extends AbstractResource {
+
+	private final String fileName;
+
+	private final long contentLength;
+
+	private final String eTag;
+
+	private final long lastModified;
+
+	protected StoredFileResource(String fileName, long contentLength, String eTag, long lastModified) {
+		this.fileName = fileName;
+		this.contentLength = contentLength;
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Opens a stream on a range of the file
+	 * 
+	 * @param offset first byte of the range
+	 * @param length number of bytes of the range
+	 */
+	public abstract InputStream getInputStream(long offset, long length) throws IOException;
+
+	/**
+	 * @return the quoted ETag of the file
+	 */
+	public String getETag() {
+		return eTag;
+	}
+
+	@Override
+	public String getFilename() {
+		return fileName;
+	}
+
+	@Override
+	public long contentLength() {
+		return contentLength;
+	}
+
+	@Override
+	public long lastModified() {
+		return lastModified;
+	}
+
+	@Override
+	public boolean exists() {
+		return true;
+	}
+
+	@Override
+	public String getDescription() {
+		return "Stored file [" + fileName + "]";
+	}
+
+	/**
+	 * Quotes an ETag returned by the storage, some storages return it unquoted
+	 */
+	protected static String quote(String eTag) {
+		if (eTag == null || eTag.isEmpty() || eTag.startsWith("\"") || eTag.startsWith("W/"))
+			return eTag;
+		return "\"" + eTag + "\"";
+	}
+}
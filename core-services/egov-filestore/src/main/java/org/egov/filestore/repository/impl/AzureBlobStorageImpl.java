@@ -2,34 +2,38 @@ package org.egov.filestore.repository.impl;
 
 import java.awt.image.BufferedImage;
 import java.io.*;
-import java.nio.file.Paths;
+import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.egov.filestore.domain.model.Artifact;
 import org.egov.filestore.domain.model.FileLocation;
 import org.egov.filestore.repository.AzureClientFacade;
 import org.egov.filestore.repository.CloudFilesManager;
+import org.egov.filestore.repository.StoredFileResource;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import com.microsoft.azure.storage.AccessCondition;
 import com.microsoft.azure.storage.OperationContext;
+import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.BlobContainerPublicAccessType;
 import com.microsoft.azure.storage.blob.BlobRequestOptions;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
 import com.microsoft.azure.storage.blob.CloudBlockBlob;
-import com.microsoft.azure.storage.blob.ListBlobItem;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,6 +43,9 @@ import lombok.extern.slf4j.Slf4j;
 public class AzureBlobStorageImpl implements CloudFilesManager {
 
 	private CloudBlobClient azureBlobClient;
+
+	// containers already created by this instance, files are uploaded to them without checking their existence again
+	private final Set<String> createdContainers = ConcurrentHashMap.newKeySet();
 	
 	@Autowired
 	private AzureClientFacade azureFacade;
@@ -81,34 +88,22 @@ public class AzureBlobStorageImpl implements CloudFilesManager {
 			azureBlobClient = azureFacade.getAzureClient();
 		
 		artifacts.forEach(artifact -> {
-			CloudBlobContainer container= null;
 			String completeName = artifact.getFileLocation().getFileName();
 			int index = completeName.indexOf('/');
-			String containerName = completeName.substring(0, index);
 			String fileNameWithPath = completeName.substring(index + 1, completeName.length());
 			try {
-				if(isContainerFixed)
-					container = azureBlobClient.getContainerReference(fixedContainerName);
-				else
-					container = azureBlobClient.getContainerReference(containerName);
-				container.createIfNotExists(BlobContainerPublicAccessType.CONTAINER, new BlobRequestOptions(), new OperationContext());
+				CloudBlobContainer container = getContainer(completeName);
 				
 				Long contentLength = artifact.getMultipartFile().getSize();
-				BufferedInputStream inputStream = new BufferedInputStream(artifact.getMultipartFile().getInputStream());
 				
-				if(artifact.getMultipartFile().getContentType().startsWith("image/")) {
-					String extension = FilenameUtils.getExtension(artifact.getMultipartFile().getOriginalFilename());
+				if(artifact.getMultipartFile().getContentType().startsWith("image/") && null != artifact.getThumbnailImages()) {
 					// Removed generating versions of image because it's already available in thumbnailImages, and it's causing the issue because using same input stream
-					Map<String, BufferedImage> mapOfImagesAndPaths = artifact.getThumbnailImages();
-					for(String key: mapOfImagesAndPaths.keySet()) {
-						upload(container, key, null, null, mapOfImagesAndPaths.get(key), extension);
-						mapOfImagesAndPaths.get(key).flush();
-					}
+					uploadThumbnails(container, artifact);
 				}
-				upload(container, fileNameWithPath, inputStream, contentLength, null, null);
-				
-				for (ListBlobItem blobItem : container.listBlobs())
-					log.info("URI of blob is: " + blobItem.getStorageUri().getPrimaryUri());
+				try (InputStream inputStream = artifact.getMultipartFile().getInputStream()) {
+					upload(container, fileNameWithPath, inputStream, contentLength, null, null);
+				}
+				log.info("URI of blob is: " + container.getBlockBlobReference(fileNameWithPath).getStorageUri().getPrimaryUri());
 			} catch (Exception e) {
 				log.error("Exceptione while creating the container: ", e);
 			}
@@ -116,6 +111,48 @@ public class AzureBlobStorageImpl implements CloudFilesManager {
 		});			
 	}
 	
+	/**
+	 * Uploads the thumbnails generated in the background after the image was saved
+	 */
+	@Override
+	public void saveThumbnails(Artifact artifact) {
+		if(null == azureBlobClient)
+			azureBlobClient = azureFacade.getAzureClient();
+		
+		try {
+			uploadThumbnails(getContainer(artifact.getFileLocation().getFileName()), artifact);
+		} catch (URISyntaxException | StorageException e) {
+			throw new CustomException("WG_WF_UPLOAD_ERROR", e.getMessage());
+		}
+	}
+	
+	private void uploadThumbnails(CloudBlobContainer container, Artifact artifact) {
+		String extension = FilenameUtils.getExtension(artifact.getMultipartFile().getOriginalFilename());
+		Map<String, BufferedImage> mapOfImagesAndPaths = artifact.getThumbnailImages();
+		for(String key: mapOfImagesAndPaths.keySet()) {
+			upload(container, key, null, null, mapOfImagesAndPaths.get(key), extension);
+			mapOfImagesAndPaths.get(key).flush();
+		}
+	}
+	
+	/**
+	 * Container of a file, created when used for the first time by this instance
+	 * 
+	 * @param completeName container name followed by the path of the file
+	 */
+	private CloudBlobContainer getContainer(String completeName) throws URISyntaxException, StorageException {
+		CloudBlobContainer container;
+		if(isContainerFixed)
+			container = azureBlobClient.getContainerReference(fixedContainerName);
+		else
+			container = azureBlobClient.getContainerReference(completeName.substring(0, completeName.indexOf('/')));
+		if (!createdContainers.contains(container.getName())) {
+			container.createIfNotExists(BlobContainerPublicAccessType.CONTAINER, new BlobRequestOptions(), new OperationContext());
+			createdContainers.add(container.getName());
+		}
+		return container;
+	}
+	
 	/**
 	 * There's a problem with this implementation: In case of images, we are trying to retrieve 4 different versions of the same file namely - 
 	 * small, medium, large and the original. The path stored in the db is the path of the original file only, we are making suitable changes
@@ -137,24 +174,39 @@ public class AzureBlobStorageImpl implements CloudFilesManager {
 				StringBuilder url = new StringBuilder();
 				/* Don't change the order of images within this if, it is index-based and UI will break.*/
 				String[] imageFormats = {_large, _medium, _small};
-				url.append(getSASURL(mapOfIdAndFilePath.get(id), util.generateSASToken(azureBlobClient, mapOfIdAndFilePath.get(id))));
+				url.append(getSignedUrl(mapOfIdAndFilePath.get(id)));
 				String replaceString = mapOfIdAndFilePath.get(id).substring(mapOfIdAndFilePath.get(id).lastIndexOf('.'),
 						mapOfIdAndFilePath.get(id).length());
 				for(String format: Arrays.asList(imageFormats)) {
 					url.append(",");
 					String path = mapOfIdAndFilePath.get(id);
 					path = path.replaceAll(replaceString, format + replaceString);
-					url.append(getSASURL(path, util.generateSASToken(azureBlobClient, path)));
+					url.append(getSignedUrl(path));
 				}
 				mapOfIdAndSASUrls.put(id, url.toString());
 			}else {
-				mapOfIdAndSASUrls.put(id, getSASURL(mapOfIdAndFilePath.get(id), util.generateSASToken(azureBlobClient, mapOfIdAndFilePath.get(id))));
+				mapOfIdAndSASUrls.put(id, getSignedUrl(mapOfIdAndFilePath.get(id)));
 			}
 		});
 		return mapOfIdAndSASUrls;
 	}
 	
 	
+	/**
+	 * Returns the SAS url of the blob from the cache, signing it when it's not cached. Blobs whose SAS token could
+	 * not be generated are not cached.
+	 * 
+	 * @param path
+	 * @return
+	 */
+	private String getSignedUrl(String path) {
+		String url = util.getSignedUrl(path, blobPath -> {
+			String sasToken = util.generateSASToken(azureBlobClient, blobPath);
+			return sasToken == null ? null : getSASURL(blobPath, sasToken);
+		});
+		return url == null ? getSASURL(path, null) : url;
+	}
+
 	/**
 	 * Prepares the SASUrls for the resource on azure
 	 * 
@@ -202,32 +254,36 @@ public class AzureBlobStorageImpl implements CloudFilesManager {
 			azureBlobClient = azureFacade.getAzureClient();
 		Map<String, String> mapOfIdAndSASUrls = new HashMap<>();
 		for(org.egov.filestore.persistence.entity.Artifact artifact : artifacts) {
-			if (util.isFileAnImage(artifact.getFileName())) {
+			if (util.isFileAnImage(artifact.getFileName()) && !util.hasThumbnails(artifact)) {
+				/* The original stands in for each of the thumbnails until they are ready */
+				String url = getSignedUrl(artifact.getFileName());
+				mapOfIdAndSASUrls.put(artifact.getFileStoreId(), String.join(",", url, url, url, url));
+			} else if (util.isFileAnImage(artifact.getFileName())) {
 
 				StringBuilder url = new StringBuilder();
 				/* Don't change the order of images within this if, it is index-based and UI will break.*/
 				String[] imageFormats = {_large, _medium, _small};
-				url.append(getSASURL(artifact.getFileName(), util.generateSASToken(azureBlobClient, artifact.getFileName())));
+				url.append(getSignedUrl(artifact.getFileName()));
 				String replaceString = artifact.getFileName().substring(artifact.getFileName().lastIndexOf('.'),
 						artifact.getFileName().length());
 				for (String format : Arrays.asList(imageFormats)) {
 					url.append(",");
 					String path = artifact.getFileName();
 					path = path.replaceAll(replaceString, format + replaceString);
-					url.append(getSASURL(path, util.generateSASToken(azureBlobClient, path)));
+					url.append(getSignedUrl(path));
 				}
 				mapOfIdAndSASUrls.put(artifact.getFileStoreId(), url.toString());
 			} else {
-				mapOfIdAndSASUrls.put(artifact.getFileStoreId(), getSASURL(artifact.getFileName(), util.generateSASToken(azureBlobClient, artifact.getFileName())));
+				mapOfIdAndSASUrls.put(artifact.getFileStoreId(), getSignedUrl(artifact.getFileName()));
 			}
 		}
 		return mapOfIdAndSASUrls;
 	}
 
+	/**
+	 * The blob is streamed from the container when the resource is read, nothing is downloaded to the local disk
+	 */
 	public Resource read(FileLocation fileLocation) {
-		Resource resource = null;
-		CloudBlobContainer container= null;
-		File f = new File(fileLocation.getFileStoreId());
 		if(null == azureBlobClient)
 			azureBlobClient = azureFacade.getAzureClient();
 		if (fileLocation.getFileSource().equals("AzureBlobStorage")) {
@@ -236,23 +292,54 @@ public class AzureBlobStorageImpl implements CloudFilesManager {
 						fileLocation.getFileName().length());
 				int index = fileLocation.getFileName().indexOf('/');
 				String containerName = fileLocation.getFileName().substring(0, index);
+				CloudBlobContainer container;
 				if(isContainerFixed)
 					container = azureBlobClient.getContainerReference(fixedContainerName);
 				else
 					container = azureBlobClient.getContainerReference(containerName);
 
 				CloudBlockBlob blob = container.getBlockBlobReference(fileName);
-
-				blob.download(new FileOutputStream(f.getName()));
+				blob.downloadAttributes();
+				return new BlobResource(blob);
 			}catch(Exception e) {
 				throw new CustomException("WG_WF_READ_ERROR",e.getMessage());
 			}
-			resource = new FileSystemResource(Paths.get(f.getPath()).toFile());
-			return resource;
 		} else {
 			return null;
 		}
 	}
 	
+	private static class BlobResource extends StoredFileResource {
+		
+		private final CloudBlockBlob blob;
+		
+		private BlobResource(CloudBlockBlob blob) {
+			super(blob.getName().substring(blob.getName().lastIndexOf('/') + 1), blob.getProperties().getLength(),
+					quote(blob.getProperties().getEtag()),
+					blob.getProperties().getLastModified() == null ? 0 : blob.getProperties().getLastModified().getTime());
+			this.blob = blob;
+		}
+		
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return getInputStream(0, contentLength());
+		}
+		
+		/**
+		 * The blob stream fetches the blob in chunks from its current position, skipping to the offset does not read
+		 * the skipped bytes. Reads fail if the blob changes after its attributes were fetched.
+		 */
+		@Override
+		public InputStream getInputStream(long offset, long length) throws IOException {
+			try {
+				InputStream inputStream = blob.openInputStream(
+						AccessCondition.generateIfMatchCondition(blob.getProperties().getEtag()), null, null);
+				inputStream.skip(offset);
+				return new BoundedInputStream(inputStream, length);
+			} catch (StorageException e) {
+				throw new CustomException("WG_WF_READ_ERROR", e.getMessage());
+			}
+		}
+	}
 	
 }
@@ -1,25 +1,33 @@
 package org.egov.filestore.repository.impl;
 
 import java.awt.image.BufferedImage;
-import java.io.InputStream;
-import java.util.Arrays;
+import java.io.File;
+import java.io.IOException;
 import java.util.Base64;
 import java.util.Base64.Encoder;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Function;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import org.egov.filestore.config.FileStoreConfig;
+import org.egov.filestore.domain.model.ThumbnailStatus;
 import org.egov.tracer.model.CustomException;
 import org.imgscalr.Scalr;
 import org.imgscalr.Scalr.Method;
 import org.imgscalr.Scalr.Mode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import com.microsoft.azure.storage.blob.CloudBlobClient;
@@ -39,56 +47,113 @@ public class CloudFileMgrUtils {
 	@Value("${azure.sas.expiry.time.in.secs}")
 	private Integer azureSASExpiryinSecs;
 
+	@Autowired
+	private CacheManager cacheManager;
+
+	/**
+	 * Returns the signed url of the path from the signed url cache, signing it when it's not cached. Urls the signer
+	 * fails to sign (null) are not cached.
+	 *
+	 * @param path path of the file in the storage
+	 * @param signer signs the url of the path
+	 * @return
+	 */
+	public String getSignedUrl(String path, Function<String, String> signer) {
+		Cache cache = cacheManager.getCache("signedUrls");
+		String url = cache.get(path, String.class);
+		if (url == null) {
+			url = signer.apply(path);
+			if (url != null)
+				cache.put(path, url);
+		}
+		return url;
+	}
+
 	/**
 	 * This method creates different versions of an image. A single image will be
 	 * stored in small, medium and large formats along with the original image. This
 	 * is to facililate fasters searches on the app
 	 * 
-	 * @param file
+	 * The image is decoded with subsampling down to about twice the size of the large
+	 * version, which is then scaled down from the decoded image, the medium version
+	 * from the large one and the small version from the medium one.
+	 * 
+	 * @param image
 	 * @param fileName
 	 * @return
+	 * @throws IOException
 	 */
-	public Map<String, BufferedImage> createVersionsOfImage(InputStream inputStream, String fileName) {
-		
+	public Map<String, BufferedImage> createVersionsOfImage(File image, String fileName) throws IOException {
+
+		BufferedImage originalImage = readSubsampled(image, fileStoreConfig.getLargeWidth());
+
+		if (null == originalImage) {
+			Map<String, String> map = new HashMap<>();
+			map.put("Image Source Unavailable", "Image File present in upload request is Invalid/Not Readable");
+			throw new CustomException(map);
+		}
+
+		BufferedImage largeImage = Scalr.resize(originalImage, Method.QUALITY, Mode.AUTOMATIC,
+				fileStoreConfig.getLargeWidth(), Scalr.OP_ANTIALIAS);
+		originalImage.flush();
+		BufferedImage mediumImg = Scalr.resize(largeImage, Method.QUALITY, Mode.AUTOMATIC,
+				fileStoreConfig.getMediumWidth(), Scalr.OP_ANTIALIAS);
+		BufferedImage smallImg = Scalr.resize(mediumImg, Method.QUALITY, Mode.AUTOMATIC,
+				fileStoreConfig.getSmallWidth(), Scalr.OP_ANTIALIAS);
+
 		Map<String, BufferedImage> mapOfImagesAndPaths = new HashMap<>();
-		BufferedImage largeImage = null;
-		BufferedImage mediumImg = null;
-		BufferedImage smallImg = null;
-		try {
-			
-			BufferedImage originalImage = ImageIO.read(inputStream);
-			
-			if (null == originalImage) {
-				
-				Map<String, String> map = new HashMap<>();
-				map.put("Image Source Unavailable", "Image File present in upload request is Invalid/Not Readable");
-				throw new CustomException(map);
+		int lastIndex = fileName.length();
+		String replaceString = fileName.substring(fileName.lastIndexOf('.'), lastIndex);
+
+		mapOfImagesAndPaths.put(fileName.replace(replaceString, fileStoreConfig.get_large() + replaceString), largeImage);
+		mapOfImagesAndPaths.put(fileName.replace(replaceString, fileStoreConfig.get_medium() + replaceString), mediumImg);
+		mapOfImagesAndPaths.put(fileName.replace(replaceString, fileStoreConfig.get_small() + replaceString), smallImg);
+
+		log.info("Different versions of the image created!");
+		return mapOfImagesAndPaths;
+	}
+
+	/**
+	 * Decodes only every n-th pixel of every n-th row of the image, n being chosen so that the longer side (the
+	 * side the versions are fitted on) stays at least twice the target size. Decoding at twice the target size leaves
+	 * the scaling enough pixels to smooth out the aliasing of the subsampling.
+	 * 
+	 * @param image
+	 * @param targetSize
+	 * @return the decoded image, null when no reader supports the image
+	 * @throws IOException
+	 */
+	private BufferedImage readSubsampled(File image, int targetSize) throws IOException {
+		try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+			if (null == input)
+				return null;
+
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext())
+				return null;
+
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				int longerSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+				int subsampling = Math.max(1, longerSide / (2 * targetSize));
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
 			}
-			
-			 largeImage = Scalr.resize(originalImage, Method.QUALITY, Mode.AUTOMATIC, fileStoreConfig.getLargeWidth(), null,
-					Scalr.OP_ANTIALIAS);
-			 mediumImg = Scalr.resize(originalImage, Method.QUALITY, Mode.AUTOMATIC, fileStoreConfig.getMediumWidth(), null,
-					Scalr.OP_ANTIALIAS);
-			 smallImg = Scalr.resize(originalImage, Method.QUALITY, Mode.AUTOMATIC, fileStoreConfig.getSmallWidth(), null,
-					Scalr.OP_ANTIALIAS);
-
-			int lastIndex = fileName.length();
-			String replaceString = fileName.substring(fileName.lastIndexOf('.'), lastIndex);
-
-			mapOfImagesAndPaths.put(fileName.replace(replaceString, fileStoreConfig.get_large() + replaceString), largeImage);
-			mapOfImagesAndPaths.put(fileName.replace(replaceString, fileStoreConfig.get_medium() + replaceString), mediumImg);
-			mapOfImagesAndPaths.put(fileName.replace(replaceString, fileStoreConfig.get_small() + replaceString), smallImg);
-
-			log.info("Different versions of the image created!");
-		} catch (Exception e) {
-			log.error("Error while creating different versions of the image: ", e);
-		} finally {
-			largeImage.flush();
-			mediumImg.flush();
-			smallImg.flush();
 		}
+	}
 
-		return mapOfImagesAndPaths;
+	/**
+	 * Thumbnails of images saved with a thumbnail status are available only once they are ready
+	 * 
+	 * @param artifact
+	 * @return
+	 */
+	public Boolean hasThumbnails(org.egov.filestore.persistence.entity.Artifact artifact) {
+		return artifact.getThumbnailStatus() == null || artifact.getThumbnailStatus() == ThumbnailStatus.READY;
 	}
 
 	/**
@@ -114,7 +179,8 @@ public class CloudFileMgrUtils {
 			String containerName = absolutePath.substring(0, index);
 			String fileNameWithPath = absolutePath.substring(index + 1, absolutePath.length());
 			CloudBlobContainer container = azureBlobClient.getContainerReference(containerName);
-			CloudBlockBlob blob = (CloudBlockBlob) container.getBlobReferenceFromServer(fileNameWithPath);
+			// the token is signed locally with the account key, the blob is not looked up on the server
+			CloudBlockBlob blob = container.getBlockBlobReference(fileNameWithPath);
 			SharedAccessBlobPolicy sasConstraints = new SharedAccessBlobPolicy();
 			sasConstraints.setSharedAccessStartTime(new Date(System.currentTimeMillis()));
 			sasConstraints
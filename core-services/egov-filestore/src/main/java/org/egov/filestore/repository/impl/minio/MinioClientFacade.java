@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import io.minio.MinioClient;
 import io.minio.errors.InvalidEndpointException;
@@ -26,8 +27,12 @@ public class MinioClientFacade {
 		MinioClient	minioClient = null;
 		try {
 			
-			minioClient = new MinioClient(minioConfig.getEndPoint(), minioConfig.getAccessKey(), 
-					minioConfig.getSecretKey());
+			if (StringUtils.isEmpty(minioConfig.getRegion()))
+				minioClient = new MinioClient(minioConfig.getEndPoint(), minioConfig.getAccessKey(), 
+						minioConfig.getSecretKey());
+			else
+				minioClient = new MinioClient(minioConfig.getEndPoint(), minioConfig.getAccessKey(),
+						minioConfig.getSecretKey(), minioConfig.getRegion());
 			
 		} catch (InvalidEndpointException | InvalidPortException e) {
 			log.error(e.getMessage(), e);
@@ -24,4 +24,12 @@ public class MinioConfig {
 	@Value("${minio.source}")
 	private String source;
 
+	// Region of the bucket, when empty it is looked up from the server once and cached by the client
+	@Value("${minio.region:}")
+	private String region;
+
+	// Size of the parts files are uploaded in, a part is held in memory while it is sent
+	@Value("${minio.upload.part.size:5242880}")
+	private Long uploadPartSize;
+
 }
@@ -3,10 +3,8 @@ package org.egov.filestore.repository.impl.minio;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Paths;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -22,16 +20,17 @@ import org.egov.filestore.config.FileStoreConfig;
 import org.egov.filestore.domain.model.FileLocation;
 import org.egov.filestore.persistence.entity.Artifact;
 import org.egov.filestore.repository.CloudFilesManager;
+import org.egov.filestore.repository.StoredFileResource;
 import org.egov.filestore.repository.impl.CloudFileMgrUtils;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import io.minio.MinioClient;
+import io.minio.ObjectStat;
 import io.minio.PutObjectOptions;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
@@ -82,13 +81,19 @@ public class MinioRepository implements CloudFilesManager {
 		});
 	}
 
-	
+	@Override
+	public void saveThumbnails(org.egov.filestore.domain.model.Artifact artifact) {
+		pushThumbnailImages(artifact);
+	}
 
+	/**
+	 * Streams the file from the uploaded part to the bucket. The client buffers one part at a time to sign it, so the
+	 * part size bounds the memory used by an upload whatever the size of the file.
+	 */
 	private void push(MultipartFile multipartFile, String fileNameWithPath) {
-		try {
-			InputStream is = multipartFile.getInputStream();
+		try (InputStream is = multipartFile.getInputStream()) {
 			long contentLength = multipartFile.getSize();
-			PutObjectOptions putObjectOptions = new PutObjectOptions(contentLength, PutObjectOptions.MAX_PART_SIZE);
+			PutObjectOptions putObjectOptions = new PutObjectOptions(contentLength, minioConfig.getUploadPartSize());
 			putObjectOptions.setContentType(multipartFile.getContentType());
 			minioClient.putObject(minioConfig.getBucketName(), fileNameWithPath, is, putObjectOptions);
 			log.debug("Upload Successful");
@@ -149,7 +154,9 @@ public class MinioRepository implements CloudFilesManager {
 			String fileName = fileLocation.
 					substring(fileLocation.indexOf('/') + 1, fileLocation.length());
 			String signedUrl = getSignedUrl(fileName);
-			if (util.isFileAnImage(artifact.getFileName())) {
+			if (util.isFileAnImage(artifact.getFileName()) && !util.hasThumbnails(artifact)) {
+				signedUrl = setOriginalAsThumbnailURL(signedUrl);
+			} else if (util.isFileAnImage(artifact.getFileName())) {
 				try {
 					signedUrl = setThumnailSignedURL(fileName, new StringBuilder(signedUrl));
 				} catch (InvalidKeyException | ErrorResponseException | IllegalArgumentException
@@ -167,6 +174,17 @@ public class MinioRepository implements CloudFilesManager {
 		return mapOfIdAndSASUrls;
 	}
 		
+	/**
+	 * The url of the original image stands in for each of the thumbnails until they are ready, the client picks the
+	 * urls by position
+	 */
+	private String setOriginalAsThumbnailURL(String signedUrl) {
+		StringBuilder url = new StringBuilder(signedUrl);
+		for (int i = 0; i < 3; i++)
+			url.append(",").append(signedUrl);
+		return url.toString();
+	}
+
 	private String setThumnailSignedURL(String fileName, StringBuilder url) throws InvalidKeyException, ErrorResponseException, IllegalArgumentException, InsufficientDataException, InternalException, InvalidBucketNameException, InvalidExpiresRangeException, InvalidResponseException, NoSuchAlgorithmException, XmlParserException, IOException {
 		String[] imageFormats = { fileStoreConfig.get_large(), fileStoreConfig.get_medium(), fileStoreConfig.get_small() };
 		for (String  format : Arrays.asList(imageFormats)) {
@@ -179,6 +197,13 @@ public class MinioRepository implements CloudFilesManager {
 	}
 	
 	private String getSignedUrl(String fileName) {
+		return util.getSignedUrl(fileName, this::presign);
+	}
+
+	/**
+	 * Signs the url of the object, the url is signed locally once the region of the bucket is known
+	 */
+	private String presign(String fileName) {
 
 		String signedUrl = null;
 		try {
@@ -193,34 +218,67 @@ public class MinioRepository implements CloudFilesManager {
 		return signedUrl;
 	}
 
+	/**
+	 * The object is streamed from the bucket when the resource is read, nothing is downloaded to the local disk
+	 */
 	public Resource read(FileLocation fileLocation) {
 
 		Resource resource = null;
-		File f = new File(fileLocation.getFileStoreId());
 
 		if (fileLocation.getFileSource() == null || fileLocation.getFileSource().equals(minioConfig.getSource())) {
 			String fileName = fileLocation.getFileName().substring(fileLocation.getFileName().indexOf('/') + 1,
 					fileLocation.getFileName().length());
 
 			try {
-				minioClient.getObject(minioConfig.getBucketName(), fileName, f.getName());
+				ObjectStat objectStat = minioClient.statObject(minioConfig.getBucketName(), fileName);
+				resource = new MinioObjectResource(fileName, objectStat);
 			} catch (InvalidKeyException | ErrorResponseException | IllegalArgumentException | InsufficientDataException
 					| InternalException | InvalidBucketNameException | InvalidResponseException
 					| NoSuchAlgorithmException | XmlParserException | IOException e) {
 				log.error("Error while downloading the file ", e);
-				Map<String, String> map = new HashMap<>();
-				map.put("ERROR_MINIO_DOWNLOAD",
-						"An error has occured while trying to download image from filestore system .");
-				throw new CustomException(map);
-
+				throw downloadError();
 			}
 
-			resource = new FileSystemResource(Paths.get(f.getPath()).toFile());
-
 		}
 		return resource;
 	}
 
+	private CustomException downloadError() {
+		Map<String, String> map = new HashMap<>();
+		map.put("ERROR_MINIO_DOWNLOAD", "An error has occured while trying to download image from filestore system .");
+		return new CustomException(map);
+	}
+
+	private class MinioObjectResource extends StoredFileResource {
+
+		private final String objectName;
+
+		private MinioObjectResource(String objectName, ObjectStat objectStat) {
+			super(objectName.substring(objectName.lastIndexOf('/') + 1), objectStat.length(), quote(objectStat.etag()),
+					objectStat.createdTime() == null ? 0 : objectStat.createdTime().toInstant().toEpochMilli());
+			this.objectName = objectName;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return getInputStream(0, contentLength());
+		}
+
+		@Override
+		public InputStream getInputStream(long offset, long length) throws IOException {
+			if (length == 0)
+				return new ByteArrayInputStream(new byte[0]);
+			try {
+				return minioClient.getObject(minioConfig.getBucketName(), objectName, offset, length);
+			} catch (InvalidKeyException | ErrorResponseException | IllegalArgumentException | InsufficientDataException
+					| InternalException | InvalidBucketNameException | InvalidResponseException
+					| NoSuchAlgorithmException | XmlParserException e) {
+				log.error("Error while downloading the file ", e);
+				throw downloadError();
+			}
+		}
+	}
+
 	private Artifact mapToEntity(org.egov.filestore.domain.model.Artifact artifact) {
 
 		FileLocation fileLocation = artifact.getFileLocation();
@@ -3,6 +3,7 @@ package org.egov.filestore.web.controller;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8_VALUE;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,26 +13,32 @@ import java.util.Map.Entry;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.filestore.domain.model.FileInfo;
 import org.egov.filestore.domain.service.StorageService;
+import org.egov.filestore.repository.StoredFileResource;
 import org.egov.filestore.utils.StorageUtil;
 import org.egov.filestore.web.contract.File;
 import org.egov.filestore.web.contract.FileStoreResponse;
 import org.egov.filestore.web.contract.GetFilesByTagResponse;
 import org.egov.filestore.web.contract.ResponseFactory;
 import org.egov.filestore.web.contract.StorageResponse;
+import org.egov.tracer.model.CustomException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @Controller
@@ -52,10 +59,16 @@ public class StorageController {
 		//this.fileStoreConfig = fileStoreConfig;
 	}
 
+	/**
+	 * Files in the cloud storage are streamed from it. Their ETag is returned, a request with a matching
+	 * If-None-Match gets a 304, and a single byte range requested with Range is served as a 206 fetching only that
+	 * range from the storage. Requests for several ranges are left to the default handling of resources.
+	 */
 	@GetMapping("/id")
 	@ResponseBody
 	public ResponseEntity<Resource> getFile(@RequestParam(value = "tenantId") String tenantId,
-			@RequestParam("fileStoreId") String fileStoreId) {
+			@RequestParam("fileStoreId") String fileStoreId,
+			@RequestHeader(value = HttpHeaders.RANGE, required = false) String range, WebRequest webRequest) {
 		org.egov.filestore.domain.model.Resource resource =null;
 		try {
 			resource = storageService.retrieve(fileStoreId, tenantId);
@@ -64,11 +77,70 @@ public class StorageController {
 			logger.error("Error while retrieving file: " + e.getMessage());
 		}
 		String fileName=resource.getFileName().substring(resource.getFileName().lastIndexOf('/')+1,resource.getFileName().length());
+		if (resource.getResource() instanceof StoredFileResource)
+			return getStoredFile(resource, fileName, (StoredFileResource) resource.getResource(), range, webRequest);
+
 		return ResponseEntity.ok()
 				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" +fileName  + "\"")
 				.header(HttpHeaders.CONTENT_TYPE, resource.getContentType()).body(resource.getResource());
 	}
 
+	private ResponseEntity<Resource> getStoredFile(org.egov.filestore.domain.model.Resource resource, String fileName,
+			StoredFileResource storedFile, String range, WebRequest webRequest) {
+		String eTag = storedFile.getETag();
+		if (eTag != null && webRequest.checkNotModified(eTag))
+			return null;
+
+		long length = storedFile.contentLength();
+		HttpRange httpRange = getSingleRange(range);
+		if (httpRange == null) {
+			return ResponseEntity.ok()
+					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+					.header(HttpHeaders.CONTENT_TYPE, resource.getContentType()).eTag(eTag).contentLength(length)
+					.body(storedFile);
+		}
+
+		long start;
+		long end;
+		try {
+			start = httpRange.getRangeStart(length);
+			end = httpRange.getRangeEnd(length);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+					.header(HttpHeaders.CONTENT_RANGE, "bytes */" + length).build();
+		}
+		return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+				.header(HttpHeaders.CONTENT_TYPE, resource.getContentType())
+				.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+				.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length).eTag(eTag)
+				.contentLength(end - start + 1)
+				.body(new InputStreamResource(openStream(storedFile, start, end - start + 1)));
+	}
+
+	/**
+	 * The requested range, null when no range or several ranges are requested
+	 */
+	private HttpRange getSingleRange(String range) {
+		if (range == null)
+			return null;
+		try {
+			List<HttpRange> ranges = HttpRange.parseRanges(range);
+			return ranges.size() == 1 ? ranges.get(0) : null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private InputStream openStream(StoredFileResource storedFile, long offset, long length) {
+		try {
+			return storedFile.getInputStream(offset, length);
+		} catch (IOException e) {
+			logger.error("Error while retrieving file: " + e.getMessage());
+			throw new CustomException("EG_FILESTORE_READ_ERROR", "Failed to read the file from the storage");
+		}
+	}
+
 	@GetMapping("/metadata")
 	@ResponseBody
 	public ResponseEntity<org.egov.filestore.domain.model.Resource> getMetaData(
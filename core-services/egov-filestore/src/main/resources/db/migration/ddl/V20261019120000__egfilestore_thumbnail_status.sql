@@ -0,0 +1 @@
+ALTER TABLE eg_filestoremap ADD COLUMN thumbnailstatus character varying(16);
@@ -22,7 +22,6 @@ class ArtifactTest {
         Artifact actualArtifact = new Artifact();
         actualArtifact.setCreatedBy("Jan 1, 2020 8:00am GMT+0100");
         actualArtifact.setCreatedTime(1L);
-        actualArtifact.setFileContentInString("Not all who wander are lost");
         FileLocation fileLocation = new FileLocation("42", "Module", "Tag", "42", "foo.txt", "File Source");
 
         actualArtifact.setFileLocation(fileLocation);
@@ -35,7 +34,6 @@ class ArtifactTest {
         actualArtifact.setThumbnailImages(stringBufferedImageMap);
         assertEquals("Jan 1, 2020 8:00am GMT+0100", actualArtifact.getCreatedBy());
         assertEquals(1L, actualArtifact.getCreatedTime().longValue());
-        assertEquals("Not all who wander are lost", actualArtifact.getFileContentInString());
         assertSame(fileLocation, actualArtifact.getFileLocation());
         assertEquals("Jan 1, 2020 9:00am GMT+0100", actualArtifact.getLastModifiedBy());
         assertEquals(1L, actualArtifact.getLastModifiedTime().longValue());
@@ -49,11 +47,10 @@ class ArtifactTest {
 
         FileLocation fileLocation = new FileLocation("42", "Module", "Tag", "42", "foo.txt", "File Source");
 
-        Artifact actualArtifact = new Artifact("Not all who wander are lost", multipartFile, fileLocation, new HashMap<>(),
-                "Jan 1, 2020 8:00am GMT+0100", "Jan 1, 2020 9:00am GMT+0100", 1L, 1L);
+        Artifact actualArtifact = new Artifact(multipartFile, fileLocation, new HashMap<>(), "Jan 1, 2020 8:00am GMT+0100",
+                "Jan 1, 2020 9:00am GMT+0100", 1L, 1L, ThumbnailStatus.READY);
         actualArtifact.setCreatedBy("Jan 1, 2020 8:00am GMT+0100");
         actualArtifact.setCreatedTime(1L);
-        actualArtifact.setFileContentInString("Not all who wander are lost");
         FileLocation fileLocation1 = new FileLocation("42", "Module", "Tag", "42", "foo.txt", "File Source");
 
         actualArtifact.setFileLocation(fileLocation1);
@@ -66,7 +63,6 @@ class ArtifactTest {
         actualArtifact.setThumbnailImages(stringBufferedImageMap);
         assertEquals("Jan 1, 2020 8:00am GMT+0100", actualArtifact.getCreatedBy());
         assertEquals(1L, actualArtifact.getCreatedTime().longValue());
-        assertEquals("Not all who wander are lost", actualArtifact.getFileContentInString());
         assertSame(fileLocation1, actualArtifact.getFileLocation());
         assertEquals("Jan 1, 2020 9:00am GMT+0100", actualArtifact.getLastModifiedBy());
         assertEquals(1L, actualArtifact.getLastModifiedTime().longValue());
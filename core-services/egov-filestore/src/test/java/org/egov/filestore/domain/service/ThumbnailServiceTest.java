@@ -0,0 +1,67 @@
+package org.egov.filestore.domain.service;
+
+import org.egov.filestore.domain.model.Artifact;
+import org.egov.filestore.domain.model.FileLocation;
+import org.egov.filestore.domain.model.ThumbnailStatus;
+import org.egov.filestore.persistence.repository.ArtifactRepository;
+import org.egov.filestore.repository.CloudFilesManager;
+import org.egov.filestore.repository.impl.CloudFileMgrUtils;
+import org.egov.tracer.model.CustomException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+class ThumbnailServiceTest {
+
+    @Test
+    void testGenerateThumbnails() throws Exception {
+        CloudFileMgrUtils util = mock(CloudFileMgrUtils.class);
+        Map<String, BufferedImage> thumbnails = Collections.singletonMap("foo_small.png", new BufferedImage(1, 1, 1));
+        File[] image = new File[1];
+        when(util.createVersionsOfImage(any(), eq("foo.png"))).thenAnswer(invocation -> {
+            image[0] = invocation.getArgument(0);
+            return thumbnails;
+        });
+        CloudFilesManager cloudFilesManager = mock(CloudFilesManager.class);
+        ArtifactRepository artifactRepository = mock(ArtifactRepository.class);
+        Artifact artifact = artifact();
+
+        new ThumbnailService(util, cloudFilesManager, artifactRepository, Runnable::run)
+                .generateThumbnails(Collections.singletonList(artifact));
+
+        verify(cloudFilesManager).saveThumbnails(artifact);
+        verify(artifactRepository).updateThumbnailStatus(artifact.getFileLocation(), ThumbnailStatus.READY);
+        assertNull(artifact.getThumbnailImages());
+        assertFalse(image[0].exists());
+    }
+
+    @Test
+    void testGenerateThumbnailsFailure() throws Exception {
+        CloudFileMgrUtils util = mock(CloudFileMgrUtils.class);
+        when(util.createVersionsOfImage(any(), any())).thenThrow(new CustomException("Code", "An error occurred"));
+        CloudFilesManager cloudFilesManager = mock(CloudFilesManager.class);
+        ArtifactRepository artifactRepository = mock(ArtifactRepository.class);
+        Artifact artifact = artifact();
+
+        new ThumbnailService(util, cloudFilesManager, artifactRepository, Runnable::run)
+                .generateThumbnails(Collections.singletonList(artifact));
+
+        verify(cloudFilesManager, never()).saveThumbnails(any());
+        verify(artifactRepository).updateThumbnailStatus(artifact.getFileLocation(), ThumbnailStatus.FAILED);
+    }
+
+    private Artifact artifact() {
+        return Artifact.builder()
+                .multipartFile(new MockMultipartFile("file", "foo.png", "image/png", "AAAAAAAA".getBytes()))
+                .fileLocation(new FileLocation("42", "Module", "Tag", "42", "bucket/foo.png", null))
+                .thumbnailStatus(ThumbnailStatus.PENDING).build();
+    }
+}
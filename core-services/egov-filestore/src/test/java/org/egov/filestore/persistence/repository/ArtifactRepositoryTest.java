@@ -1,14 +1,21 @@
 package org.egov.filestore.persistence.repository;
 
+import org.egov.common.contract.request.RequestInfo;
 import org.egov.filestore.domain.model.FileInfo;
 import org.egov.filestore.domain.model.FileLocation;
 import org.egov.filestore.persistence.entity.Artifact;
+import org.egov.filestore.repository.CloudFilesManager;
 import org.egov.tracer.model.CustomException;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -246,5 +253,38 @@ class ArtifactRepositoryTest {
                 () -> artifactRepository.getByTenantIdAndFileStoreIdList("foo", new ArrayList<>()));
         verify(fileStoreJpaRepository).findByTenantIdAndFileStoreIdList((String) any(), (List<String>) any());
     }
-}
 
+    @Test
+    void testSaveUploadsEachFileSeparately() {
+        FileStoreJpaRepository fileStoreJpaRepository = mock(FileStoreJpaRepository.class);
+        when(fileStoreJpaRepository.saveAll((List<Artifact>) any())).thenAnswer(invocation -> invocation.getArgument(0));
+        CloudFilesManager cloudFilesManager = mock(CloudFilesManager.class);
+        ArtifactRepository artifactRepository = new ArtifactRepository(fileStoreJpaRepository);
+        ReflectionTestUtils.setField(artifactRepository, "cloudFilesManager", cloudFilesManager);
+        ReflectionTestUtils.setField(artifactRepository, "fileUploadExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(artifactRepository, "isAzureStorageEnabled", false);
+
+        List<org.egov.filestore.domain.model.Artifact> artifacts = Arrays.asList(domainArtifact("1"), domainArtifact("2"));
+        assertEquals(Arrays.asList("1", "2"), artifactRepository.save(artifacts, new RequestInfo()));
+        verify(cloudFilesManager).saveFiles(Collections.singletonList(artifacts.get(0)));
+        verify(cloudFilesManager).saveFiles(Collections.singletonList(artifacts.get(1)));
+    }
+
+    @Test
+    void testSaveFailsWithUploadError() {
+        CloudFilesManager cloudFilesManager = mock(CloudFilesManager.class);
+        doThrow(new CustomException("Code", "An error occurred")).when(cloudFilesManager).saveFiles(any());
+        ArtifactRepository artifactRepository = new ArtifactRepository(mock(FileStoreJpaRepository.class));
+        ReflectionTestUtils.setField(artifactRepository, "cloudFilesManager", cloudFilesManager);
+        ReflectionTestUtils.setField(artifactRepository, "fileUploadExecutor", (Executor) Runnable::run);
+
+        List<org.egov.filestore.domain.model.Artifact> artifacts = Arrays.asList(domainArtifact("1"), domainArtifact("2"));
+        assertThrows(CustomException.class, () -> artifactRepository.save(artifacts, new RequestInfo()));
+    }
+
+    private org.egov.filestore.domain.model.Artifact domainArtifact(String fileStoreId) {
+        return org.egov.filestore.domain.model.Artifact.builder()
+                .multipartFile(new MockMultipartFile("file", "foo.txt", "text/plain", "AAAAAAAA".getBytes()))
+                .fileLocation(new FileLocation(fileStoreId, "Module", "Tag", "42", "bucket/foo.txt", null)).build();
+    }
+}
@@ -1,14 +1,25 @@
 package org.egov.filestore.repository.impl.minio;
 
+import io.minio.MinioClient;
+import org.egov.filestore.config.FileStoreConfig;
 import org.egov.filestore.domain.model.FileLocation;
+import org.egov.filestore.persistence.entity.Artifact;
+import org.egov.filestore.repository.impl.CloudFileMgrUtils;
 import org.egov.tracer.model.CustomException;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -31,8 +42,8 @@ class MinioRepositoryTest {
         FileLocation fileLocation1 = new FileLocation("42", "Module", "Tag", "42", "foo.txt", "File Source");
 
         org.egov.filestore.domain.model.Artifact artifact = new org.egov.filestore.domain.model.Artifact(
-                "Not all who wander are lost", multipartFile, fileLocation1, new HashMap<>(), "Jan 1, 2020 8:00am GMT+0100",
-                "Jan 1, 2020 9:00am GMT+0100", 4L, 4L);
+                multipartFile, fileLocation1, new HashMap<>(), "Jan 1, 2020 8:00am GMT+0100",
+                "Jan 1, 2020 9:00am GMT+0100", 4L, 4L, null);
         artifact.setFileLocation(fileLocation);
 
         ArrayList<org.egov.filestore.domain.model.Artifact> artifactList = new ArrayList<>();
@@ -47,6 +58,54 @@ class MinioRepositoryTest {
         assertTrue(minioRepository.getFiles(new ArrayList<>()).isEmpty());
     }
 
+    @Test
+    void testGetFilesSignsEachFileOnce() throws Exception {
+        MinioClient minioClient = mock(MinioClient.class);
+        MinioRepository minioRepository = minioRepository(minioClient);
+        when(minioClient.getPresignedObjectUrl(any(), any(), eq("a.pdf"), any(), any()))
+                .thenReturn("https://minio/a.pdf?sig=1", "https://minio/a.pdf?sig=2");
+
+        Artifact artifact = artifact("pb/a.pdf");
+        assertEquals("https://minio/a.pdf?sig=1",
+                minioRepository.getFiles(Collections.singletonList(artifact)).get("id"));
+        assertEquals("https://minio/a.pdf?sig=1",
+                minioRepository.getFiles(Collections.singletonList(artifact)).get("id"));
+        verify(minioClient, times(1)).getPresignedObjectUrl(any(), any(), eq("a.pdf"), any(), any());
+    }
+
+    @Test
+    void testGetFilesDoesNotCacheFailedSignatures() throws Exception {
+        MinioClient minioClient = mock(MinioClient.class);
+        MinioRepository minioRepository = minioRepository(minioClient);
+        when(minioClient.getPresignedObjectUrl(any(), any(), eq("b.pdf"), any(), any()))
+                .thenThrow(new IOException("unreachable"))
+                .thenReturn("https://minio/b.pdf?sig=1");
+
+        Artifact artifact = artifact("pb/b.pdf");
+        Map<String, String> urls = minioRepository.getFiles(Collections.singletonList(artifact));
+        assertNull(urls.get("id"));
+        assertEquals("https://minio/b.pdf?sig=1",
+                minioRepository.getFiles(Collections.singletonList(artifact)).get("id"));
+    }
+
+    private MinioRepository minioRepository(MinioClient minioClient) {
+        FileStoreConfig fileStoreConfig = mock(FileStoreConfig.class);
+        when(fileStoreConfig.getImageFormats()).thenReturn(Collections.singletonList("jpg"));
+        CloudFileMgrUtils util = new CloudFileMgrUtils();
+        ReflectionTestUtils.setField(util, "fileStoreConfig", fileStoreConfig);
+        ReflectionTestUtils.setField(util, "cacheManager", new ConcurrentMapCacheManager("signedUrls"));
+
+        MinioRepository minioRepository = new MinioRepository();
+        ReflectionTestUtils.setField(minioRepository, "minioClient", minioClient);
+        ReflectionTestUtils.setField(minioRepository, "minioConfig", mock(MinioConfig.class));
+        ReflectionTestUtils.setField(minioRepository, "fileStoreConfig", fileStoreConfig);
+        ReflectionTestUtils.setField(minioRepository, "util", util);
+        return minioRepository;
+    }
+
+    private Artifact artifact(String fileName) {
+        return Artifact.builder().fileStoreId("id").fileName(fileName).build();
+    }
 
     @Test
     void testRead() {
@@ -54,10 +113,8 @@ class MinioRepositoryTest {
         FileLocation fileLocation = mock(FileLocation.class);
         when(fileLocation.getFileName()).thenThrow(new CustomException("Code", "An error occurred"));
         when(fileLocation.getFileSource()).thenThrow(new CustomException("Code", "An error occurred"));
-        when(fileLocation.getFileStoreId()).thenReturn("42");
         assertThrows(CustomException.class, () -> minioRepository.read(fileLocation));
         verify(fileLocation).getFileSource();
-        verify(fileLocation).getFileStoreId();
     }
 }
 
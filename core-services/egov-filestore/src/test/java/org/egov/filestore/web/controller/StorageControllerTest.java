@@ -3,12 +3,16 @@ package org.egov.filestore.web.controller;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.egov.filestore.domain.model.FileInfo;
 import org.egov.filestore.domain.model.Resource;
 import org.egov.filestore.domain.service.StorageService;
+import org.egov.filestore.repository.StoredFileResource;
 import org.egov.filestore.utils.StorageUtil;
 import org.egov.filestore.web.contract.GetFilesByTagResponse;
 import org.egov.filestore.web.contract.ResponseFactory;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.ResultActions;
@@ -70,6 +75,53 @@ class StorageControllerTest {
                 .andExpect(MockMvcResultMatchers.content().string("AAAAAAAA"));
     }
 
+    @Test
+    void testGetStoredFileRange() throws Exception {
+        when(storageService.retrieve((String) any(), (String) any())).thenReturn(
+                new Resource("text/plain", "foo.txt", new BytesResource("ABCDEFGH".getBytes("UTF-8")), "42", "8 bytes"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/files/id")
+                .param("fileStoreId", "foo")
+                .param("tenantId", "foo")
+                .header(HttpHeaders.RANGE, "bytes=2-4");
+        MockMvcBuilders.standaloneSetup(storageController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/8"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(MockMvcResultMatchers.content().string("CDE"));
+    }
+
+    @Test
+    void testGetStoredFileRangeNotSatisfiable() throws Exception {
+        when(storageService.retrieve((String) any(), (String) any())).thenReturn(
+                new Resource("text/plain", "foo.txt", new BytesResource("ABCDEFGH".getBytes("UTF-8")), "42", "8 bytes"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/files/id")
+                .param("fileStoreId", "foo")
+                .param("tenantId", "foo")
+                .header(HttpHeaders.RANGE, "bytes=10-20");
+        MockMvcBuilders.standaloneSetup(storageController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes */8"));
+    }
+
+    @Test
+    void testGetStoredFileNotModified() throws Exception {
+        when(storageService.retrieve((String) any(), (String) any())).thenReturn(
+                new Resource("text/plain", "foo.txt", new BytesResource("ABCDEFGH".getBytes("UTF-8")), "42", "8 bytes"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/files/id")
+                .param("fileStoreId", "foo")
+                .param("tenantId", "foo")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"etag\"");
+        MockMvcBuilders.standaloneSetup(storageController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     void testGetMetaData() throws Exception {
         when(storageService.retrieve((String) any(), (String) any())).thenReturn(
@@ -123,5 +175,24 @@ class StorageControllerTest {
                 .perform(requestBuilder);
         actualPerformResult.andExpect(MockMvcResultMatchers.status().is(405));
     }
-}
 
+    private static class BytesResource extends StoredFileResource {
+
+        private final byte[] content;
+
+        BytesResource(byte[] content) {
+            super("foo.txt", content.length, "\"etag\"", 0);
+            this.content = content;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return getInputStream(0, content.length);
+        }
+
+        @Override
+        public InputStream getInputStream(long offset, long length) {
+            return new ByteArrayInputStream(Arrays.copyOfRange(content, (int) offset, (int) (offset + length)));
+        }
+    }
+}
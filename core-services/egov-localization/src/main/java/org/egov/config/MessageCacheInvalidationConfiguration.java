@@ -0,0 +1,29 @@
+package org.egov.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.egov.domain.service.MessageResponseCache;
+import org.egov.persistence.repository.MessageCacheRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes the in process response cache to the cache busts published by any instance
+ */
+@Configuration
+public class MessageCacheInvalidationConfiguration {
+
+	@Bean
+	public RedisMessageListenerContainer messageCacheInvalidationListenerContainer(
+			RedisConnectionFactory redisConnectionFactory, MessageResponseCache messageResponseCache) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(redisConnectionFactory);
+		container.addMessageListener(
+				(message, pattern) -> messageResponseCache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+				new ChannelTopic(MessageCacheRepository.CACHE_INVALIDATION_CHANNEL));
+		return container;
+	}
+}
@@ -0,0 +1,138 @@
+package org.egov.domain.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.egov.domain.model.MessageSearchCriteria;
+import org.egov.domain.model.Tenant;
+import org.egov.persistence.repository.MessageCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In process near cache of serialized search responses, in front of the computed messages cached in Redis.
+ *
+ * Entries are bounded by their total size in bytes and expire after a TTL. They are invalidated on every instance
+ * through the Redis channel {@link MessageCacheRepository#CACHE_INVALIDATION_CHANNEL} whenever a cache entry is
+ * busted, with the same rules as the computed messages in Redis - a bust for the default tenant or of the whole
+ * cache drops every response, a bust for locale: mr_IN and tenant: mh drops the mr_IN responses of mh and its sub
+ * tenants.
+ *
+ * Every invalidation bumps a generation, a response computed before an invalidation is not cached.
+ */
+@Component
+public class MessageResponseCache {
+
+	private static final String KEY_SEPARATOR = ":";
+
+	private final long maxBytes;
+
+	private final long ttlMillis;
+
+	private final LinkedHashMap<MessageSearchCriteria, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long totalBytes;
+
+	private long generation;
+
+	public MessageResponseCache(@Value("${localization.response.cache.max.bytes:268435456}") long maxBytes,
+			@Value("${localization.response.cache.ttl.ms:600000}") long ttlMillis) {
+		this.maxBytes = maxBytes;
+		this.ttlMillis = ttlMillis;
+	}
+
+	public synchronized byte[] get(MessageSearchCriteria searchCriteria) {
+		final Entry entry = entries.get(searchCriteria);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt < System.currentTimeMillis()) {
+			remove(searchCriteria);
+			return null;
+		}
+		return entry.response;
+	}
+
+	/**
+	 * Generation to be read before computing a response and passed on to {@link #put(MessageSearchCriteria, byte[], long)}
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	public synchronized void put(MessageSearchCriteria searchCriteria, byte[] response, long computeGeneration) {
+		if (computeGeneration != generation || ttlMillis <= 0 || response.length > maxBytes) {
+			return;
+		}
+		remove(searchCriteria);
+		entries.put(searchCriteria, new Entry(response, System.currentTimeMillis() + ttlMillis));
+		totalBytes += response.length;
+
+		final Iterator<Entry> eldest = entries.values().iterator();
+		while (totalBytes > maxBytes && eldest.hasNext()) {
+			totalBytes -= eldest.next().response.length;
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Invalidates the responses affected by a cache bust
+	 *
+	 * @param invalidation {@link MessageCacheRepository#INVALIDATE_ALL} or the busted locale and tenant as locale:tenant
+	 */
+	public synchronized void invalidate(String invalidation) {
+		generation++;
+		final int separatorIndex = invalidation.indexOf(KEY_SEPARATOR);
+		if (separatorIndex < 0) {
+			clear();
+			return;
+		}
+
+		final String locale = invalidation.substring(0, separatorIndex);
+		final Tenant tenant = new Tenant(invalidation.substring(separatorIndex + 1));
+		if (tenant.isDefaultTenant()) {
+			clear();
+			return;
+		}
+
+		final Iterator<Map.Entry<MessageSearchCriteria, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Map.Entry<MessageSearchCriteria, Entry> entry = iterator.next();
+			final MessageSearchCriteria searchCriteria = entry.getKey();
+			if (locale.equals(searchCriteria.getLocale())
+					&& isSameOrSubTenant(searchCriteria.getTenantId().getTenantId(), tenant.getTenantId())) {
+				totalBytes -= entry.getValue().response.length;
+				iterator.remove();
+			}
+		}
+	}
+
+	private boolean isSameOrSubTenant(String tenantId, String parentTenantId) {
+		return tenantId.equals(parentTenantId) || tenantId.startsWith(parentTenantId + ".");
+	}
+
+	private void remove(MessageSearchCriteria searchCriteria) {
+		final Entry entry = entries.remove(searchCriteria);
+		if (entry != null) {
+			totalBytes -= entry.response.length;
+		}
+	}
+
+	private void clear() {
+		entries.clear();
+		totalBytes = 0;
+	}
+
+	private static class Entry {
+
+		private final byte[] response;
+
+		private final long expiresAt;
+
+		private Entry(byte[] response, long expiresAt) {
+			this.response = response;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -25,8 +25,10 @@ import org.springframework.util.CollectionUtils;
  * from locale: mr_IN and tenant mh.panvel 5) Override messages from step 3 with
  * messages from step 4.
  *
- * The items cached in Redis are - 1) The final computed message list. 2) The
- * raw messages ready from PostGres for every locale and tenant combination.
+ * The items cached in Redis are - 1) The final computed message list,
+ * partitioned by module so that a search for a module reads only its
+ * messages. 2) The raw messages ready from PostGres for every locale and
+ * tenant combination.
  *
  * Cache bust logic - a) For a create/update request to locale: mr_IN and
  * tenant: mh.panvel - 1) In validate cache entry for raw messages with key
@@ -163,8 +165,10 @@ public class MessageService {
 	}
 
 	private List<Message> getMessages(MessageSearchCriteria searchCriteria) {
+		final List<String> modules = searchCriteria.isModuleAbsent() ? null
+				: Arrays.asList(searchCriteria.getModule().split("[,]"));
 		final List<Message> cachedMessages = messageCacheRepository.getComputedMessages(searchCriteria.getLocale(),
-				searchCriteria.getTenantId());
+				searchCriteria.getTenantId(), modules);
 		if (cachedMessages != null) {
 			return cachedMessages;
 		}
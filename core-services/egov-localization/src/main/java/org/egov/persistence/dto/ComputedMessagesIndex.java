@@ -0,0 +1,26 @@
+package org.egov.persistence.dto;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Index of the computed messages cached for a locale and tenant, the messages themselves are cached partitioned
+ * by module, each partition stamped with the version of the index it was written with
+ */
+@SuppressWarnings("serial")
+@JsonIgnoreProperties(ignoreUnknown = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class ComputedMessagesIndex implements Serializable {
+	private String version;
+	private Set<String> modules;
+}
@@ -18,8 +18,18 @@ import lombok.Setter;
 public class MessageCacheEntry implements Serializable {
 	private List<MessageDTO> messages;
 
+	/**
+	 * Version of the computed message list the entry is a module partition of, null for raw messages
+	 */
+	private String version;
+
 	public MessageCacheEntry(List<Message> domainMessages) {
+		this(domainMessages, null);
+	}
+
+	public MessageCacheEntry(List<Message> domainMessages, String version) {
 		this.messages = domainMessages.stream().map(MessageDTO::new).collect(Collectors.toList());
+		this.version = version;
 	}
 
 	@JsonIgnore
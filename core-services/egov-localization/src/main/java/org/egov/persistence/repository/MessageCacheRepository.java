@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.egov.domain.model.Message;
 import org.egov.domain.model.Tenant;
+import org.egov.persistence.dto.ComputedMessagesIndex;
 import org.egov.persistence.dto.MessageCacheEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,14 +12,26 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 public class MessageCacheRepository {
 
+	public static final String CACHE_INVALIDATION_CHANNEL = "localization-cache-invalidation";
+	public static final String INVALIDATE_ALL = "*";
 	private static final String MESSAGES_HASH_KEY = "messages";
 	private static final String COMPUTED_MESSAGES_HASH_KEY = "computedMessages";
+	private static final String MODULE_KEY_SEPARATOR = "|";
 	private StringRedisTemplate stringRedisTemplate;
 	private ObjectMapper objectMapper;
     public static final Logger logger = LoggerFactory.getLogger(MessageCacheRepository.class);
@@ -28,12 +41,69 @@ public class MessageCacheRepository {
 		this.objectMapper = objectMapper;
 	}
 
-	public List<Message> getComputedMessages(String locale, Tenant tenant) {
-		return getMessages(locale, tenant, COMPUTED_MESSAGES_HASH_KEY);
+	/**
+	 * Fetches the computed messages of the given modules, only the module partitions asked for are read and
+	 * deserialized
+	 *
+	 * @param locale locale of the messages
+	 * @param tenant tenant the messages are computed for
+	 * @param modules modules to fetch, null for all the modules
+	 * @return computed messages sorted by code, null when not cached
+	 */
+	public List<Message> getComputedMessages(String locale, Tenant tenant, Collection<String> modules) {
+		String indexKey = getKey(locale, tenant.getTenantId());
+		final String indexEntry = (String) stringRedisTemplate.opsForHash().get(COMPUTED_MESSAGES_HASH_KEY, indexKey);
+		if (indexEntry == null) {
+			return null;
+		}
+		final ComputedMessagesIndex index = readValue(indexEntry, ComputedMessagesIndex.class);
+		if (index.getVersion() == null || index.getModules() == null) {
+			return null;
+		}
+
+		final List<Object> moduleKeys = (modules == null ? index.getModules().stream()
+				: modules.stream().filter(index.getModules()::contains).distinct())
+				.map(module -> getModuleKey(indexKey, module)).collect(Collectors.toList());
+		final List<Message> messages = new ArrayList<>();
+		if (moduleKeys.isEmpty()) {
+			return messages;
+		}
+
+		for (Object entry : stringRedisTemplate.opsForHash().multiGet(COMPUTED_MESSAGES_HASH_KEY, moduleKeys)) {
+			if (entry == null) {
+				return null;
+			}
+			final MessageCacheEntry messageCacheEntry = readValue((String) entry, MessageCacheEntry.class);
+			if (!index.getVersion().equals(messageCacheEntry.getVersion())) {
+				return null;
+			}
+			messages.addAll(messageCacheEntry.getDomainMessages());
+		}
+		messages.sort(Comparator.comparing(Message::getCode));
+		return messages;
 	}
 
+	/**
+	 * Caches the computed messages partitioned by module, the partitions and their index are written in a single
+	 * command under a new version
+	 */
 	public void cacheComputedMessages(String locale, Tenant tenant, List<Message> messages) {
-		putMessages(locale, tenant, COMPUTED_MESSAGES_HASH_KEY, messages);
+		String indexKey = getKey(locale, tenant.getTenantId());
+		String version = UUID.randomUUID().toString();
+		final Map<String, List<Message>> moduleToMessages = messages.stream()
+				.collect(Collectors.groupingBy(Message::getModule, LinkedHashMap::new, Collectors.toList()));
+		try {
+			final Map<String, String> entries = new HashMap<>();
+			for (Map.Entry<String, List<Message>> moduleMessages : moduleToMessages.entrySet()) {
+				entries.put(getModuleKey(indexKey, moduleMessages.getKey()),
+						objectMapper.writeValueAsString(new MessageCacheEntry(moduleMessages.getValue(), version)));
+			}
+			entries.put(indexKey, objectMapper.writeValueAsString(
+					new ComputedMessagesIndex(version, new HashSet<>(moduleToMessages.keySet()))));
+			stringRedisTemplate.opsForHash().putAll(COMPUTED_MESSAGES_HASH_KEY, entries);
+		} catch (JsonProcessingException e) {
+			logger.error("Exception occurred while processing JSON: " + e.getMessage());
+		}
 	}
 
 	public List<Message> getMessages(String locale, Tenant tenant) {
@@ -47,11 +117,13 @@ public class MessageCacheRepository {
 	public void bustCache() {
 		stringRedisTemplate.delete(MESSAGES_HASH_KEY);
 		bustAllComputedMessagesCache();
+		stringRedisTemplate.convertAndSend(CACHE_INVALIDATION_CHANNEL, INVALIDATE_ALL);
 	}
 
 	public void bustCacheEntry(String locale, Tenant tenant) {
 		bustRawMessagesCacheEntry(locale, tenant);
 		bustComputedMessagesCache(locale, tenant);
+		stringRedisTemplate.convertAndSend(CACHE_INVALIDATION_CHANNEL, getKey(locale, tenant.getTenantId()));
 	}
 
 	private void bustRawMessagesCacheEntry(String locale, Tenant tenant) {
@@ -114,8 +186,20 @@ public class MessageCacheRepository {
 		}
 	}
 
+	private <T> T readValue(String entry, Class<T> valueType) {
+		try {
+			return objectMapper.readValue(entry, valueType);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	private String getKey(String locale, String tenant) {
 		return String.format("%s:%s", locale, tenant);
 	}
 
+	private String getModuleKey(String key, String module) {
+		return key + MODULE_KEY_SEPARATOR + module;
+	}
+
 }
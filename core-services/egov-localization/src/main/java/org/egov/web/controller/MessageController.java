@@ -1,11 +1,17 @@
 package org.egov.web.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.egov.domain.model.MessageRequest;
 import org.egov.domain.model.MessageSearchCriteria;
 import org.egov.domain.model.Tenant;
+import org.egov.domain.service.MessageResponseCache;
 import org.egov.domain.service.MessageService;
+import org.egov.tracer.model.CustomException;
 import org.egov.web.contract.*;
 import org.egov.web.exception.InvalidMessageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -22,33 +28,54 @@ import java.util.stream.Collectors;
 public class MessageController {
 
 	private MessageService messageService;
+	private MessageResponseCache messageResponseCache;
+	private ObjectMapper objectMapper;
 
-	public MessageController(MessageService messageService) {
+	public MessageController(MessageService messageService, MessageResponseCache messageResponseCache,
+			ObjectMapper objectMapper) {
 		this.messageService = messageService;
+		this.messageResponseCache = messageResponseCache;
+		this.objectMapper = objectMapper;
 	}
 
 	@GetMapping()
-	public MessagesResponse getMessagesForLocale(@RequestParam("locale") String locale,
+	public ResponseEntity<byte[]> getMessagesForLocale(@RequestParam("locale") String locale,
 			@RequestParam(value = "module", required = false) String module,
 			@RequestParam("tenantId") String tenantId,@RequestParam(value = "codes",required = false) Set<String> codes) {
 		return getMessages(locale, module, tenantId, codes);
 	}
 
 	@PostMapping("/v1/_search")
-	public MessagesResponse getMessages(@RequestParam("locale") String locale,
+	public ResponseEntity<byte[]> getMessages(@RequestParam("locale") String locale,
 			@RequestParam(value = "module", required = false)  String module,
 			@RequestParam("tenantId") @Size(max = 256) String tenantId,@RequestParam(value = "codes",required = false) Set<String> codes) {
 		final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder().locale(locale)
 				.tenantId(new Tenant(tenantId)).codes(codes).module(module).build();
-		List<org.egov.domain.model.Message> domainMessages = messageService.getFilteredMessages(searchCriteria);
-		return createResponse(domainMessages);
+		return getSerializedResponse(searchCriteria);
 	}
 	
 	@PostMapping("/v2/_search")
-	public MessagesResponse getMessages(@RequestBody MessageRequest messageRequest) {
+	public ResponseEntity<byte[]> getMessages(@RequestBody MessageRequest messageRequest) {
 		
-		List<org.egov.domain.model.Message> domainMessages = messageService.getFilteredMessages(messageRequest.getMessageSearchCriteria());
-		return createResponse(domainMessages);
+		return getSerializedResponse(messageRequest.getMessageSearchCriteria());
+	}
+
+	/**
+	 * Search response served from the in process response cache, computed and serialized only on a miss
+	 */
+	private ResponseEntity<byte[]> getSerializedResponse(MessageSearchCriteria searchCriteria) {
+		byte[] response = messageResponseCache.get(searchCriteria);
+		if (response == null) {
+			final long cacheGeneration = messageResponseCache.getGeneration();
+			List<org.egov.domain.model.Message> domainMessages = messageService.getFilteredMessages(searchCriteria);
+			try {
+				response = objectMapper.writeValueAsBytes(createResponse(domainMessages));
+			} catch (JsonProcessingException e) {
+				throw new CustomException("MESSAGES_SERIALIZATION_ERROR", e.getMessage());
+			}
+			messageResponseCache.put(searchCriteria, response, cacheGeneration);
+		}
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(response);
 	}
 
 	@PostMapping("/v1/_upsert")
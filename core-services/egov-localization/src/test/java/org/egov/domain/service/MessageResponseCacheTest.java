@@ -0,0 +1,69 @@
+package org.egov.domain.service;
+
+import org.egov.domain.model.MessageSearchCriteria;
+import org.egov.domain.model.Tenant;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MessageResponseCacheTest {
+
+    private static final byte[] RESPONSE = "{\"messages\":[]}".getBytes();
+
+    @Test
+    public void test_should_invalidate_responses_of_busted_tenant_and_its_sub_tenants_for_the_locale() {
+        final MessageResponseCache cache = new MessageResponseCache(1024, 60000);
+        cache.put(criteria("mr_IN", "mh"), RESPONSE, cache.getGeneration());
+        cache.put(criteria("mr_IN", "mh.panvel"), RESPONSE, cache.getGeneration());
+        cache.put(criteria("mr_IN", "mhx"), RESPONSE, cache.getGeneration());
+        cache.put(criteria("en_IN", "mh"), RESPONSE, cache.getGeneration());
+
+        cache.invalidate("mr_IN:mh");
+
+        assertNull(cache.get(criteria("mr_IN", "mh")));
+        assertNull(cache.get(criteria("mr_IN", "mh.panvel")));
+        assertNotNull(cache.get(criteria("mr_IN", "mhx")));
+        assertNotNull(cache.get(criteria("en_IN", "mh")));
+    }
+
+    @Test
+    public void test_should_invalidate_all_responses_when_default_tenant_is_busted() {
+        final MessageResponseCache cache = new MessageResponseCache(1024, 60000);
+        cache.put(criteria("mr_IN", "mh"), RESPONSE, cache.getGeneration());
+        cache.put(criteria("en_IN", "pb"), RESPONSE, cache.getGeneration());
+
+        cache.invalidate("en_IN:default");
+
+        assertNull(cache.get(criteria("mr_IN", "mh")));
+        assertNull(cache.get(criteria("en_IN", "pb")));
+    }
+
+    @Test
+    public void test_should_not_cache_response_computed_before_an_invalidation() {
+        final MessageResponseCache cache = new MessageResponseCache(1024, 60000);
+        final long generation = cache.getGeneration();
+        cache.invalidate("*");
+
+        cache.put(criteria("mr_IN", "mh"), RESPONSE, generation);
+
+        assertNull(cache.get(criteria("mr_IN", "mh")));
+    }
+
+    @Test
+    public void test_should_evict_least_recently_used_responses_beyond_max_bytes() {
+        final MessageResponseCache cache = new MessageResponseCache(RESPONSE.length * 2, 60000);
+        cache.put(criteria("mr_IN", "a"), RESPONSE, cache.getGeneration());
+        cache.put(criteria("mr_IN", "b"), RESPONSE, cache.getGeneration());
+        cache.get(criteria("mr_IN", "a"));
+        cache.put(criteria("mr_IN", "c"), RESPONSE, cache.getGeneration());
+
+        assertNotNull(cache.get(criteria("mr_IN", "a")));
+        assertNull(cache.get(criteria("mr_IN", "b")));
+        assertNotNull(cache.get(criteria("mr_IN", "c")));
+    }
+
+    private MessageSearchCriteria criteria(String locale, String tenantId) {
+        return MessageSearchCriteria.builder().locale(locale).tenantId(new Tenant(tenantId)).build();
+    }
+}
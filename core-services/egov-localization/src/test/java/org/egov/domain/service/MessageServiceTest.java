@@ -67,7 +67,7 @@ public class MessageServiceTest {
         when(messageRepository.findByTenantIdAndLocale(new Tenant("a"), MR_IN))
             .thenReturn(marathiMessagesForGivenTenant);
         when(messageCacheRepository.getMessages(anyString(), any())).thenReturn(null);
-        when(messageCacheRepository.getComputedMessages(anyString(), any())).thenReturn(null);
+        when(messageCacheRepository.getComputedMessages(anyString(), any(), any())).thenReturn(null);
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
             .tenantId(new Tenant(tenantId))
@@ -101,7 +101,7 @@ public class MessageServiceTest {
         when(messageRepository.findByTenantIdAndLocale(new Tenant("a"), MR_IN))
             .thenReturn(Collections.emptyList());
         when(messageCacheRepository.getMessages(anyString(), any())).thenReturn(null);
-        when(messageCacheRepository.getComputedMessages(anyString(), any())).thenReturn(null);
+        when(messageCacheRepository.getComputedMessages(anyString(), any(), any())).thenReturn(null);
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
             .tenantId(new Tenant(tenantId))
@@ -135,7 +135,7 @@ public class MessageServiceTest {
         when(messageRepository.findByTenantIdAndLocale(new Tenant("a"), MR_IN))
             .thenReturn(tenantSpecificMessages);
         when(messageCacheRepository.getMessages(anyString(), any())).thenReturn(null);
-        when(messageCacheRepository.getComputedMessages(anyString(), any())).thenReturn(null);
+        when(messageCacheRepository.getComputedMessages(anyString(), any(), any())).thenReturn(null);
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
             .tenantId(new Tenant(tenantId))
@@ -236,7 +236,7 @@ public class MessageServiceTest {
         when(messageRepository.findByTenantIdAndLocale(new Tenant("a"), MR_IN))
             .thenReturn(Collections.emptyList());
         when(messageCacheRepository.getMessages(anyString(), any())).thenReturn(null);
-        when(messageCacheRepository.getComputedMessages(anyString(), any())).thenReturn(null);
+        when(messageCacheRepository.getComputedMessages(anyString(), any(), any())).thenReturn(null);
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
             .tenantId(new Tenant(tenantId))
@@ -283,7 +283,7 @@ public class MessageServiceTest {
             .message("default message2")
             .build();
         List<Message> expectedMessages = Arrays.asList(defaultMessage1, defaultMessage2);
-        when(messageCacheRepository.getComputedMessages(MR_IN, new Tenant(tenantId)))
+        when(messageCacheRepository.getComputedMessages(MR_IN, new Tenant(tenantId), Collections.singletonList("module")))
             .thenReturn(expectedMessages);
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
@@ -320,9 +320,8 @@ public class MessageServiceTest {
             .messageIdentity(messageIdentity2)
             .message("default message2")
             .build();
-        List<Message> expectedMessages = Arrays.asList(defaultMessage1, defaultMessage2);
-        when(messageCacheRepository.getComputedMessages(MR_IN, new Tenant(tenantId)))
-            .thenReturn(expectedMessages);
+        when(messageCacheRepository.getComputedMessages(MR_IN, new Tenant(tenantId), Collections.singletonList("module1")))
+            .thenReturn(Collections.singletonList(defaultMessage1));
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
             .tenantId(new Tenant(tenantId))
@@ -401,7 +400,7 @@ public class MessageServiceTest {
             .thenReturn(marathiMessagesForGivenTenant);
         when(messageCacheRepository.getMessages(ENGLISH_INDIA, new Tenant("default")))
             .thenReturn(defaultEnglishMessages);
-        when(messageCacheRepository.getComputedMessages(anyString(), any())).thenReturn(null);
+        when(messageCacheRepository.getComputedMessages(anyString(), any(), any())).thenReturn(null);
         final MessageSearchCriteria searchCriteria = MessageSearchCriteria.builder()
             .locale(MR_IN)
             .tenantId(new Tenant(tenantId))
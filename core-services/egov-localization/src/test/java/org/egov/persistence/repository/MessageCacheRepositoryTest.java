@@ -1,7 +1,11 @@
 package org.egov.persistence.repository;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.egov.domain.model.Message;
+import org.egov.domain.model.MessageIdentity;
 import org.egov.domain.model.Tenant;
+import org.egov.persistence.dto.ComputedMessagesIndex;
+import org.egov.persistence.dto.MessageCacheEntry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -12,9 +16,12 @@ import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -73,4 +80,44 @@ public class MessageCacheRepositoryTest {
         verify(stringRedisTemplate).delete(COMPUTED_MESSAGE_HASH_KEY);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_should_read_only_the_requested_module_partitions_of_computed_messages() throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final Message message = Message.builder()
+            .messageIdentity(MessageIdentity.builder().code("code1").locale("en_IN").module("module1")
+                .tenant(new Tenant("a")).build())
+            .message("message1")
+            .build();
+        when(hashOperations.get(COMPUTED_MESSAGE_HASH_KEY, "en_IN:a")).thenReturn(objectMapper.writeValueAsString(
+            new ComputedMessagesIndex("v1", new HashSet<>(Arrays.asList("module1", "module2")))));
+        when(hashOperations.multiGet(COMPUTED_MESSAGE_HASH_KEY, Collections.singletonList("en_IN:a|module1")))
+            .thenReturn(Collections.singletonList(objectMapper.writeValueAsString(
+                new MessageCacheEntry(Collections.singletonList(message), "v1"))));
+
+        final List<Message> messages = cacheRepository.getComputedMessages("en_IN", new Tenant("a"),
+            Arrays.asList("module1", "module3"));
+
+        assertEquals(1, messages.size());
+        assertEquals("code1", messages.get(0).getCode());
+    }
+
+    @Test
+    public void test_should_treat_computed_messages_with_a_stale_partition_as_not_cached() throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        when(hashOperations.get(COMPUTED_MESSAGE_HASH_KEY, "en_IN:a")).thenReturn(objectMapper.writeValueAsString(
+            new ComputedMessagesIndex("v2", Collections.singleton("module1"))));
+        when(hashOperations.multiGet(COMPUTED_MESSAGE_HASH_KEY, Collections.singletonList("en_IN:a|module1")))
+            .thenReturn(Collections.singletonList(objectMapper.writeValueAsString(
+                new MessageCacheEntry(Collections.emptyList(), "v1"))));
+
+        assertNull(cacheRepository.getComputedMessages("en_IN", new Tenant("a"), null));
+    }
+
+    @Test
+    public void test_should_publish_invalidation_on_cache_entry_bust() {
+        cacheRepository.bustCacheEntry("en_IN", new Tenant("a.b"));
+
+        verify(stringRedisTemplate).convertAndSend("localization-cache-invalidation", "en_IN:a.b");
+    }
+
+}
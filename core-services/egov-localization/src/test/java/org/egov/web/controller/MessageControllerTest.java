@@ -3,6 +3,7 @@ package org.egov.web.controller;
 import org.apache.commons.io.IOUtils;
 import org.egov.TestConfiguration;
 import org.egov.domain.model.*;
+import org.egov.domain.service.MessageResponseCache;
 import org.egov.domain.service.MessageService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +44,9 @@ public class MessageControllerTest {
     @MockBean
     private MessageService messageService;
 
+    @MockBean
+    private MessageResponseCache messageResponseCache;
+
     @Test
     public void test_should_fetch_messages_for_given_locale_via_get_endpoint() throws Exception {
         final List<Message> modelMessages = getModelMessages();
@@ -41,31 +41,25 @@
 package org.egov.boundary.domain.service;
 
 import java.io.IOException;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.egov.boundary.domain.model.Boundary;
 import org.egov.boundary.domain.model.BoundarySearchRequest;
+import org.egov.boundary.domain.service.ShapefileBoundaryIndex.ShapefileBoundary;
 import org.egov.boundary.exception.CustomException;
 import org.egov.boundary.persistence.repository.BoundaryRepository;
 import org.egov.boundary.util.BoundaryConstants;
+import org.egov.boundary.web.contract.BoundaryLocation;
 import org.egov.boundary.web.contract.BoundaryRequest;
 import org.egov.boundary.web.contract.BoundaryType;
 import org.egov.boundary.web.contract.MdmsTenantBoundary;
 import org.egov.common.contract.request.RequestInfo;
-import org.geotools.data.DataStore;
-import org.geotools.data.DataStoreFinder;
-import org.geotools.feature.FeatureCollection;
-import org.geotools.geometry.jts.JTSFactoryFinder;
-import org.opengis.feature.simple.SimpleFeature;
-import org.opengis.feature.simple.SimpleFeatureType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,10 +69,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import com.vividsolutions.jts.geom.Coordinate;
-import com.vividsolutions.jts.geom.Geometry;
-import com.vividsolutions.jts.geom.Point;
-
 @Service
 public class BoundaryService {
 
@@ -87,13 +77,15 @@ public class BoundaryService {
 	private CrossHierarchyService crossHierarchyService;
 	private BoundaryTypeService boundaryTypeService;
 	private BoundaryRepository boundaryRepository;
+	private ShapefileBoundaryIndex shapefileBoundaryIndex;
 
 	@Autowired
 	public BoundaryService(BoundaryTypeService boundaryTypeService, CrossHierarchyService crossHierarchyService,
-			BoundaryRepository boundaryRepository) {
+			BoundaryRepository boundaryRepository, ShapefileBoundaryIndex shapefileBoundaryIndex) {
 		this.boundaryTypeService = boundaryTypeService;
 		this.crossHierarchyService = crossHierarchyService;
 		this.boundaryRepository = boundaryRepository;
+		this.shapefileBoundaryIndex = shapefileBoundaryIndex;
 	}
 
 	public Boundary findByTenantIdAndId(Long id, String tenantId) {
@@ -221,35 +213,38 @@ public class BoundaryService {
 	}
 
 	public Optional<Boundary> getBoundary(final Double latitude, final Double longitude, String tenantId) {
-		try {
-			if (latitude != null && longitude != null) {
-				final Map<String, URL> map = new HashMap<>();
-				map.put("url", new ClassPathResource("/gis/" + tenantId.replace(".", "/") + "/wards.shp").getURL());
-				final DataStore dataStore = DataStoreFinder.getDataStore(map);
-				final FeatureCollection<SimpleFeatureType, SimpleFeature> collection = dataStore
-						.getFeatureSource(dataStore.getTypeNames()[0]).getFeatures();
-				final Iterator<SimpleFeature> iterator = collection.iterator();
-				final Point point = JTSFactoryFinder.getGeometryFactory(null)
-						.createPoint(new Coordinate(longitude, latitude));
-				LOG.debug("Fetching boundary data for coordinates lng {}, lat {}", longitude, latitude);
-				try {
-					while (iterator.hasNext()) {
-						final SimpleFeature feature = iterator.next();
-						final Geometry geom = (Geometry) feature.getDefaultGeometry();
-						if (geom.contains(point)) {
-							LOG.debug("Found coordinates in shape file");
-							return getBoundaryByNumberAndType((Long) feature.getAttribute("bndrynum"),
-									(String) feature.getAttribute("bndrytype"), tenantId);
-						}
-					}
-				} finally {
-					collection.close(iterator);
-				}
+		if (latitude != null && longitude != null) {
+			LOG.debug("Fetching boundary data for coordinates lng {}, lat {}", longitude, latitude);
+			final Optional<ShapefileBoundary> feature = shapefileBoundaryIndex.find(tenantId, latitude, longitude);
+			if (feature.isPresent()) {
+				LOG.debug("Found coordinates in shape file");
+				return getBoundaryByNumberAndType(feature.get().getBoundaryNum(), feature.get().getBoundaryType(),
+						tenantId);
 			}
-			return Optional.empty();
-		} catch (final Exception e) {
-			throw new RuntimeException("Error occurred while fetching boundary from GIS data", e);
 		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Resolves the boundary of every location from the tenant's shape file. Locations falling in the same shape
+	 * file feature are resolved from the database once.
+	 *
+	 * @return boundaries in the order of the locations, null for a location not within any boundary
+	 */
+	public List<Boundary> getBoundaries(List<BoundaryLocation> locations, String tenantId) {
+		final Map<String, Optional<Boundary>> boundariesByFeature = new HashMap<>();
+		final List<Boundary> boundaries = new ArrayList<>(locations.size());
+		for (final BoundaryLocation location : locations) {
+			final Optional<ShapefileBoundary> feature = shapefileBoundaryIndex.find(tenantId, location.getLatitude(),
+					location.getLongitude());
+			final Optional<Boundary> boundary = feature.isPresent()
+					? boundariesByFeature.computeIfAbsent(feature.get().getKey(),
+							key -> getBoundaryByNumberAndType(feature.get().getBoundaryNum(),
+									feature.get().getBoundaryType(), tenantId))
+					: Optional.empty();
+			boundaries.add(boundary.orElse(null));
+		}
+		return boundaries;
 	}
 
 	public Optional<Boundary> getBoundaryByNumberAndType(Long boundaryNum, String boundaryTypeName, String tenantId) {
@@ -0,0 +1,197 @@
+package org.egov.boundary.domain.service;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.geotools.data.DataStore;
+import org.geotools.data.DataStoreFinder;
+import org.geotools.feature.FeatureCollection;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.index.strtree.STRtree;
+
+/**
+ * Spatial index of the ward polygons of a tenant's shape file, /gis/<tenant path>/wards.shp.
+ *
+ * The shape file of a tenant is read once into an STRtree over the envelopes of its features, a lookup only tests
+ * the few polygons whose envelope covers the point. The index is rebuilt when the last modified time of the shape
+ * file changes, checked at most once every refresh interval per tenant.
+ */
+@Component
+public class ShapefileBoundaryIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ShapefileBoundaryIndex.class);
+
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+	private final long refreshIntervalMillis;
+
+	private final Map<String, TenantIndex> indexes = new ConcurrentHashMap<>();
+
+	public ShapefileBoundaryIndex(
+			@Value("${egov.location.shapefile.index.refresh.interval.ms:60000}") long refreshIntervalMillis) {
+		this.refreshIntervalMillis = refreshIntervalMillis;
+	}
+
+	/**
+	 * Finds the shape file feature containing the point, when more than one feature contains it the first one in
+	 * the shape file is returned.
+	 */
+	public Optional<ShapefileBoundary> find(String tenantId, double latitude, double longitude) {
+		return getIndex(tenantId).find(latitude, longitude);
+	}
+
+	private TenantIndex getIndex(String tenantId) {
+		final long now = System.currentTimeMillis();
+		final TenantIndex index = indexes.get(tenantId);
+		if (index != null && now < index.nextCheckAt) {
+			return index;
+		}
+		return indexes.compute(tenantId, (key, current) -> {
+			if (current != null && now < current.nextCheckAt) {
+				return current;
+			}
+			final ClassPathResource shapefile = new ClassPathResource("/gis/" + key.replace(".", "/") + "/wards.shp");
+			try {
+				final long lastModified = shapefile.lastModified();
+				if (current != null && current.lastModified == lastModified) {
+					current.nextCheckAt = now + refreshIntervalMillis;
+					return current;
+				}
+				final TenantIndex loaded = new TenantIndex(readFeatures(shapefile.getURL()), lastModified);
+				loaded.nextCheckAt = now + refreshIntervalMillis;
+				LOG.info("Indexed {} shape file features for tenant {}", loaded.size, key);
+				return loaded;
+			} catch (final IOException e) {
+				throw new RuntimeException("Error occurred while fetching boundary from GIS data", e);
+			}
+		});
+	}
+
+	private List<ShapefileBoundary> readFeatures(URL url) throws IOException {
+		final Map<String, URL> map = new HashMap<>();
+		map.put("url", url);
+		final DataStore dataStore = DataStoreFinder.getDataStore(map);
+		try {
+			final FeatureCollection<SimpleFeatureType, SimpleFeature> collection = dataStore
+					.getFeatureSource(dataStore.getTypeNames()[0]).getFeatures();
+			final List<ShapefileBoundary> features = new ArrayList<>();
+			final Iterator<SimpleFeature> iterator = collection.iterator();
+			try {
+				while (iterator.hasNext()) {
+					final SimpleFeature feature = iterator.next();
+					features.add(new ShapefileBoundary((Long) feature.getAttribute("bndrynum"),
+							(String) feature.getAttribute("bndrytype"), (Geometry) feature.getDefaultGeometry()));
+				}
+			} finally {
+				collection.close(iterator);
+			}
+			return features;
+		} finally {
+			dataStore.dispose();
+		}
+	}
+
+	static class TenantIndex {
+
+		private final STRtree tree = new STRtree();
+
+		private final long lastModified;
+
+		private final int size;
+
+		private volatile long nextCheckAt;
+
+		TenantIndex(List<ShapefileBoundary> features, long lastModified) {
+			this.lastModified = lastModified;
+			int position = 0;
+			for (final ShapefileBoundary feature : features) {
+				if (feature.getGeometry() != null) {
+					tree.insert(feature.getGeometry().getEnvelopeInternal(), new IndexedBoundary(position, feature));
+				}
+				position++;
+			}
+			this.size = position;
+			// the tree is built lazily by the first query, query it once here so that concurrent lookups only read it
+			tree.query(new Envelope(0, 0, 0, 0));
+		}
+
+		Optional<ShapefileBoundary> find(double latitude, double longitude) {
+			final Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+			@SuppressWarnings("unchecked")
+			final List<IndexedBoundary> candidates = tree.query(point.getEnvelopeInternal());
+			IndexedBoundary found = null;
+			for (final IndexedBoundary candidate : candidates) {
+				if ((found == null || candidate.position < found.position)
+						&& candidate.boundary.getGeometry().contains(point)) {
+					found = candidate;
+				}
+			}
+			return found == null ? Optional.empty() : Optional.of(found.boundary);
+		}
+	}
+
+	private static class IndexedBoundary {
+
+		private final int position;
+
+		private final ShapefileBoundary boundary;
+
+		private IndexedBoundary(int position, ShapefileBoundary boundary) {
+			this.position = position;
+			this.boundary = boundary;
+		}
+	}
+
+	/**
+	 * A feature of a tenant's shape file, identifying a boundary by its number and boundary type name.
+	 */
+	public static class ShapefileBoundary {
+
+		private final Long boundaryNum;
+
+		private final String boundaryType;
+
+		private final Geometry geometry;
+
+		public ShapefileBoundary(Long boundaryNum, String boundaryType, Geometry geometry) {
+			this.boundaryNum = boundaryNum;
+			this.boundaryType = boundaryType;
+			this.geometry = geometry;
+		}
+
+		public Long getBoundaryNum() {
+			return boundaryNum;
+		}
+
+		public String getBoundaryType() {
+			return boundaryType;
+		}
+
+		public Geometry getGeometry() {
+			return geometry;
+		}
+
+		public String getKey() {
+			return boundaryType + ":" + boundaryNum;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package org.egov.boundary.persistence.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.egov.boundary.web.contract.HierarchyType;
+import org.egov.boundary.web.contract.MdmsBoundary;
+import org.egov.boundary.web.contract.TenantBoundary;
+
+/**
+ * Immutable index over the boundary tree of a tenant and hierarchy type as defined in MDMS.
+ *
+ * The boundaries are numbered in pre-order, so the descendants of a boundary are the boundaries numbered from its
+ * own number up to the end of its subtree. Boundaries are indexed by code and by label, a label lists its boundaries
+ * level by level, in the order of the tree within a level.
+ *
+ * The indexed {@link MdmsBoundary} instances are shared by every search and must not be modified.
+ */
+public class BoundaryHierarchyIndex {
+
+	private final HierarchyType hierarchyType;
+
+	private final MdmsBoundary root;
+
+	private final List<MdmsBoundary> boundaries = new ArrayList<>();
+
+	private final List<Integer> parents = new ArrayList<>();
+
+	private final List<Integer> subtreeEnds = new ArrayList<>();
+
+	private final Map<MdmsBoundary, Integer> positions = new IdentityHashMap<>();
+
+	private final Map<String, Integer> positionsByCode = new HashMap<>();
+
+	private final Map<String, List<MdmsBoundary>> boundariesByLabel = new HashMap<>();
+
+	public BoundaryHierarchyIndex(TenantBoundary tenantBoundary) {
+		this.hierarchyType = tenantBoundary.getHierarchyType();
+		this.root = tenantBoundary.getBoundary();
+		final List<List<MdmsBoundary>> levels = new ArrayList<>();
+		if (root != null) {
+			index(root, -1, 0, levels);
+		}
+		// the root is not a descendant of itself, label lookups start from the first level below it
+		for (int depth = 1; depth < levels.size(); depth++) {
+			for (final MdmsBoundary boundary : levels.get(depth)) {
+				if (boundary.getLabel() != null) {
+					boundariesByLabel.computeIfAbsent(normalize(boundary.getLabel()), label -> new ArrayList<>())
+							.add(boundary);
+				}
+			}
+		}
+	}
+
+	private void index(MdmsBoundary boundary, int parent, int depth, List<List<MdmsBoundary>> levels) {
+		final int position = boundaries.size();
+		boundaries.add(boundary);
+		parents.add(parent);
+		subtreeEnds.add(position + 1);
+		positions.put(boundary, position);
+		if (boundary.getCode() != null) {
+			positionsByCode.putIfAbsent(boundary.getCode(), position);
+		}
+		if (levels.size() == depth) {
+			levels.add(new ArrayList<>());
+		}
+		levels.get(depth).add(boundary);
+
+		if (boundary.getChildren() != null) {
+			for (final MdmsBoundary child : boundary.getChildren()) {
+				index(child, position, depth + 1, levels);
+			}
+		}
+		subtreeEnds.set(position, boundaries.size());
+	}
+
+	public HierarchyType getHierarchyType() {
+		return hierarchyType;
+	}
+
+	public MdmsBoundary getRoot() {
+		return root;
+	}
+
+	public List<MdmsBoundary> getRootChildren() {
+		return root == null || root.getChildren() == null ? Collections.emptyList() : root.getChildren();
+	}
+
+	public MdmsBoundary findByCode(String code) {
+		final Integer position = positionsByCode.get(code);
+		return position == null ? null : boundaries.get(position);
+	}
+
+	public MdmsBoundary getParent(MdmsBoundary boundary) {
+		final Integer position = positions.get(boundary);
+		return position == null || parents.get(position) < 0 ? null : boundaries.get(parents.get(position));
+	}
+
+	/**
+	 * Boundaries below the root with the given label, compared ignoring case
+	 */
+	public List<MdmsBoundary> findDescendantsByLabel(String label) {
+		final List<MdmsBoundary> labelled = boundariesByLabel.get(normalize(label));
+		return labelled == null ? Collections.emptyList() : Collections.unmodifiableList(labelled);
+	}
+
+	public boolean isSameOrDescendant(MdmsBoundary boundary, MdmsBoundary ancestor) {
+		final Integer position = positions.get(boundary);
+		final Integer ancestorPosition = positions.get(ancestor);
+		return position != null && ancestorPosition != null && ancestorPosition <= position
+				&& position < subtreeEnds.get(ancestorPosition);
+	}
+
+	/**
+	 * For every code, in order, the boundaries among the given ones that have the code or have a descendant with
+	 * the code.
+	 */
+	public List<MdmsBoundary> filterByCodes(List<MdmsBoundary> boundaries, List<String> codes) {
+		final List<MdmsBoundary> filtered = new ArrayList<>();
+		for (final String code : codes) {
+			final MdmsBoundary coded = findByCode(code);
+			if (coded == null) {
+				continue;
+			}
+			for (final MdmsBoundary boundary : boundaries) {
+				if (isSameOrDescendant(coded, boundary)) {
+					filtered.add(boundary);
+				}
+			}
+		}
+		return filtered;
+	}
+
+	private String normalize(String label) {
+		return label.toLowerCase(Locale.ROOT);
+	}
+}
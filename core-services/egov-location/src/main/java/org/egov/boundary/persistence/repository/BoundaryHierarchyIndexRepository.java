@@ -0,0 +1,105 @@
+package org.egov.boundary.persistence.repository;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.egov.boundary.web.contract.TenantBoundary;
+import org.egov.common.contract.request.RequestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.minidev.json.JSONArray;
+
+/**
+ * Caches the {@link BoundaryHierarchyIndex} of the MDMS boundary trees per tenant and hierarchy type.
+ *
+ * Once the refresh interval of an entry lapses the boundaries are fetched from MDMS again on the next search, the
+ * trees are indexed again only when the MDMS data has changed. Empty MDMS responses are not cached, MDMS is not
+ * called while holding any lock so concurrent searches of an expired entry may each fetch it.
+ */
+@Repository
+public class BoundaryHierarchyIndexRepository {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BoundaryHierarchyIndexRepository.class);
+
+	private static final String KEY_SEPARATOR = "|";
+
+	private final MdmsRepository mdmsRepository;
+
+	private final ObjectMapper mapper;
+
+	private final long refreshIntervalMillis;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	@Autowired
+	public BoundaryHierarchyIndexRepository(MdmsRepository mdmsRepository,
+			@Value("${egov.location.boundary.index.refresh.interval.ms:300000}") long refreshIntervalMillis) {
+		this.mdmsRepository = mdmsRepository;
+		this.refreshIntervalMillis = refreshIntervalMillis;
+		this.mapper = new ObjectMapper();
+		this.mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+	}
+
+	/**
+	 * @param hierarchyTypeCode hierarchy type to fetch, the trees of all hierarchy types when null or empty
+	 */
+	public List<BoundaryHierarchyIndex> getIndexes(String tenantId, String hierarchyTypeCode,
+			RequestInfo requestInfo) {
+		final String key = tenantId + KEY_SEPARATOR
+				+ (hierarchyTypeCode == null ? "" : hierarchyTypeCode.toUpperCase());
+		final Entry entry = entries.get(key);
+		if (entry != null && System.currentTimeMillis() < entry.refreshAt) {
+			return entry.indexes;
+		}
+
+		final long startTime = new Date().getTime();
+		final JSONArray responseJSONArray = mdmsRepository.getByCriteria(tenantId, hierarchyTypeCode, requestInfo);
+		LOG.info("TIME TAKEN for MDMS Search result = " + (new Date().getTime() - startTime) + "ms");
+		if (responseJSONArray == null || responseJSONArray.isEmpty()) {
+			entries.remove(key);
+			return Collections.emptyList();
+		}
+
+		final long refreshAt = System.currentTimeMillis() + refreshIntervalMillis;
+		final String content = responseJSONArray.toJSONString();
+		if (entry != null && entry.content.equals(content)) {
+			entries.put(key, new Entry(content, entry.indexes, refreshAt));
+			return entry.indexes;
+		}
+		final List<TenantBoundary> tenantBoundaries = mapper.convertValue(responseJSONArray,
+				new TypeReference<List<TenantBoundary>>() {
+				});
+		final List<BoundaryHierarchyIndex> indexes = Collections.unmodifiableList(
+				tenantBoundaries.stream().map(BoundaryHierarchyIndex::new).collect(Collectors.toList()));
+		entries.put(key, new Entry(content, indexes, refreshAt));
+		LOG.info("Indexed boundaries of tenant {} for hierarchy type {}", tenantId, hierarchyTypeCode);
+		return indexes;
+	}
+
+	private static class Entry {
+
+		private final String content;
+
+		private final List<BoundaryHierarchyIndex> indexes;
+
+		private final long refreshAt;
+
+		private Entry(String content, List<BoundaryHierarchyIndex> indexes, long refreshAt) {
+			this.content = content;
+			this.indexes = indexes;
+			this.refreshAt = refreshAt;
+		}
+	}
+}
@@ -55,7 +55,6 @@ import org.egov.boundary.persistence.repository.rowmapper.BoundaryIdRowMapper;
 import org.egov.boundary.persistence.repository.rowmapper.BoundaryRowMapper;
 import org.egov.boundary.web.contract.MdmsBoundary;
 import org.egov.boundary.web.contract.MdmsTenantBoundary;
-import org.egov.boundary.web.contract.TenantBoundary;
 import org.egov.common.contract.request.RequestInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,11 +63,6 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import net.minidev.json.JSONArray;
 import org.springframework.util.ObjectUtils;
 
 @Repository
@@ -78,13 +72,14 @@ public class BoundaryRepository {
 
 	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 	private JdbcTemplate jdbcTemplate;
-	private MdmsRepository mdmsRepository;
+	private BoundaryHierarchyIndexRepository boundaryHierarchyIndexRepository;
 
 	@Autowired
-	public BoundaryRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate, JdbcTemplate jdbcTemplate, MdmsRepository mdmsRepository) {
+	public BoundaryRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate, JdbcTemplate jdbcTemplate,
+			BoundaryHierarchyIndexRepository boundaryHierarchyIndexRepository) {
 		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
 		this.jdbcTemplate = jdbcTemplate;
-		this.mdmsRepository = mdmsRepository;
+		this.boundaryHierarchyIndexRepository = boundaryHierarchyIndexRepository;
 	}
 
 	private static final String SELECT_NEXT_BOUNDARY_SEQUENCE = "select nextval('seq_eg_boundary')";
@@ -341,190 +336,34 @@ public class BoundaryRepository {
 	}
 
 	public List<MdmsTenantBoundary> getBoundariesByTenantAndHierarchyType(BoundarySearchRequest boundarySearchRequest, RequestInfo requestInfo) {
-		Long startTime = null;
-		Long endTime = null;
-		JSONArray responseJSONArray;
-		ObjectMapper mapper = new ObjectMapper();
-		mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
-		startTime = new Date().getTime();
-		responseJSONArray = mdmsRepository.getByCriteria(boundarySearchRequest.getTenantId(),
-				boundarySearchRequest.getHierarchyTypeName(), requestInfo);
-		endTime = new Date().getTime();
-		logger.info("TIME TAKEN for MDMS Search result = " + (endTime - startTime) + "ms");
-		List<TenantBoundary> tenantBoundary = null;
-		if (responseJSONArray != null && responseJSONArray.size() > 0) {
-			tenantBoundary = mapper.convertValue(responseJSONArray, new TypeReference<List<TenantBoundary>>() {
-			});
-		}
-		List<MdmsTenantBoundary> boundaryList = new ArrayList<MdmsTenantBoundary>();
-		startTime = new Date().getTime();
-		if (tenantBoundary != null) {
-			Long start = null;
-			Long end = null;
-			for (TenantBoundary tenantBndry : tenantBoundary) {
-				Boolean isRootLevelBoundaryType = Boolean.FALSE;
-				if(!ObjectUtils.isEmpty(boundarySearchRequest.getBoundaryTypeName())){
-					isRootLevelBoundaryType = boundarySearchRequest.getBoundaryTypeName().equals(tenantBndry.getBoundary().getLabel());
-				}
-
-				MdmsTenantBoundary mdmsBoundary = MdmsTenantBoundary.builder()
-						.tenantId(boundarySearchRequest.getTenantId()).hierarchyType(tenantBndry.getHierarchyType())
-						.build();
-				List<MdmsBoundary> list = new ArrayList<MdmsBoundary>();// prepareChildBoundaryList(tenantBndry);
-				list.add(tenantBndry.getBoundary());
-				if (boundarySearchRequest.getCodes() != null && !boundarySearchRequest.getCodes().isEmpty()) {
-					list.clear();
-					start = new Date().getTime();
-					if(isRootLevelBoundaryType){
-						list = filterBoundaryCodes(Collections.singletonList(tenantBndry.getBoundary()), boundarySearchRequest.getCodes());
-					}else {
-						list = filterBoundaryCodes(tenantBndry.getBoundary().getChildren(),
-								boundarySearchRequest.getCodes());
-					}
-					end = new Date().getTime();
-					logger.info("TIME TAKEN for filterBoundaryCodes() = " + (end - start) + "ms");
-				}
+		final List<BoundaryHierarchyIndex> indexes = boundaryHierarchyIndexRepository.getIndexes(
+				boundarySearchRequest.getTenantId(), boundarySearchRequest.getHierarchyTypeName(), requestInfo);
+		final String boundaryTypeName = boundarySearchRequest.getBoundaryTypeName();
+		final List<String> codes = boundarySearchRequest.getCodes();
+		final boolean filterByCodes = codes != null && !codes.isEmpty();
+		final boolean filterByBoundaryType = !ObjectUtils.isEmpty(boundaryTypeName);
 
+		List<MdmsTenantBoundary> boundaryList = new ArrayList<MdmsTenantBoundary>();
+		for (BoundaryHierarchyIndex index : indexes) {
+			final boolean isRootLevelBoundaryType = filterByBoundaryType && index.getRoot() != null
+					&& boundaryTypeName.equals(index.getRoot().getLabel());
+
+			List<MdmsBoundary> list;
+			if (isRootLevelBoundaryType) {
+				list = Collections.singletonList(index.getRoot());
+			} else if (filterByBoundaryType) {
 				// Filter through children boundaries only if boundaryType parameter is not root level
-				if (!isRootLevelBoundaryType && boundarySearchRequest.getBoundaryTypeName() != null
-						&& !boundarySearchRequest.getBoundaryTypeName().isEmpty()) {
-					list.clear();
-					start = new Date().getTime();
-					list = prepareChildBoundaryList(tenantBndry);
-					end = new Date().getTime();
-					logger.info("TIME TAKEN for prepareChildBoundaryList() = " + (end - start) + "ms");
-					list = list.stream()
-							.filter(p -> boundarySearchRequest.getBoundaryTypeName().equalsIgnoreCase(p.getLabel()))
-							.collect(Collectors.toList());
-				}
-
-				if (boundarySearchRequest.getCodes() != null && !boundarySearchRequest.getCodes().isEmpty()
-						&& boundarySearchRequest.getBoundaryTypeName() != null
-						&& !boundarySearchRequest.getBoundaryTypeName().isEmpty()) {
-					list.clear();
-					start = new Date().getTime();
-					list = prepareChildBoundaryList(tenantBndry);
-					end = new Date().getTime();
-					logger.info("TIME TAKEN for prepareChildBoundaryList() = " + (end - start) + "ms");
-					list = list.stream()
-							.filter(p -> boundarySearchRequest.getBoundaryTypeName().equalsIgnoreCase(p.getLabel()))
-							.collect(Collectors.toList());
-					if(isRootLevelBoundaryType){
-						list = filterBoundaryCodes(Collections.singletonList(tenantBndry.getBoundary()), boundarySearchRequest.getCodes());
-					}else {
-						list = filterBoundaryCodes(list, boundarySearchRequest.getCodes());
-					}
-				}
-				mdmsBoundary.setBoundary(list);
-				boundaryList.add(mdmsBoundary);
+				list = index.findDescendantsByLabel(boundaryTypeName);
+			} else {
+				list = filterByCodes ? index.getRootChildren() : Collections.singletonList(index.getRoot());
 			}
-		}
-		endTime = new Date().getTime();
-		logger.info("TIME TAKEN to process the MDMS search result = " + (endTime - startTime) + "ms");
-
-		return boundaryList;
-	}
-
-	private List<MdmsBoundary> filterBoundaryCodes(List<MdmsBoundary> boundaryList, List<String> codes) {
-		List<MdmsBoundary> list = new ArrayList<MdmsBoundary>();
-		for (String code : codes) {
-			for (MdmsBoundary boundary : boundaryList) {
-				if (boundary.getCode().equals(code)) {
-					list.add(boundary);
-				} else if (boundary.getChildren() != null) {
-					for (MdmsBoundary boundary1 : boundary.getChildren()) {
-						if (boundary1.getCode().equals(code)) {
-							list.add(boundary);
-						} else if (boundary1.getChildren() != null) {
-							for (MdmsBoundary boundary2 : boundary1.getChildren()) {
-								if (boundary2.getCode().equals(code)) {
-									list.add(boundary);
-								} else if (boundary2.getChildren() != null) {
-									for (MdmsBoundary boundary3 : boundary2.getChildren()) {
-										if (boundary3.getCode().equals(code)) {
-											list.add(boundary);
-										}
-									}
-								}
-							}
-						}
-					}
-				}
+			if (filterByCodes) {
+				list = index.filterByCodes(list, codes);
 			}
-		}
-		return list;
-	}
-
-	private List<MdmsBoundary> prepareChildBoundaryList(TenantBoundary tenantBndry) {
 
-		List<MdmsBoundary> boundaryList = new ArrayList<>();
-		if (tenantBndry.getBoundary().getChildren() != null) {
-			for (MdmsBoundary bndry : tenantBndry.getBoundary().getChildren()) {
-				boundaryList.add(bndry);
-			}
+			boundaryList.add(MdmsTenantBoundary.builder().tenantId(boundarySearchRequest.getTenantId())
+					.hierarchyType(index.getHierarchyType()).boundary(new ArrayList<>(list)).build());
 		}
-		List<MdmsBoundary> boundaryList1 = new ArrayList<>();
-		if (boundaryList != null && !boundaryList.isEmpty()) {
-			for (MdmsBoundary bndry : boundaryList) {
-				if (bndry.getChildren() != null) {
-					for (MdmsBoundary bndry1 : bndry.getChildren()) {
-						boundaryList1.add(bndry1);
-					}
-				}
-			}
-		}
-		if (boundaryList1 != null && !boundaryList1.isEmpty()) {
-			for (MdmsBoundary boundary12 : boundaryList1) {
-				boundaryList.add(boundary12);
-			}
-		}
-		List<MdmsBoundary> boundaryList2 = new ArrayList<>();
-		if (boundaryList1 != null && !boundaryList1.isEmpty()) {
-			for (MdmsBoundary bndry : boundaryList1) {
-				if (bndry.getChildren() != null) {
-					for (MdmsBoundary bndry1 : bndry.getChildren()) {
-						boundaryList2.add(bndry1);
-					}
-				}
-			}
-		}
-		if (boundaryList2 != null && !boundaryList2.isEmpty()) {
-			for (MdmsBoundary boundary12 : boundaryList2) {
-				boundaryList.add(boundary12);
-			}
-		}
-		List<MdmsBoundary> boundaryList3 = new ArrayList<>();
-		if (boundaryList2 != null && !boundaryList2.isEmpty()) {
-			for (MdmsBoundary bndry : boundaryList2) {
-				if (bndry.getChildren() != null) {
-					for (MdmsBoundary bndry1 : bndry.getChildren()) {
-						boundaryList3.add(bndry1);
-					}
-				}
-			}
-		}
-		if (boundaryList3 != null && !boundaryList3.isEmpty()) {
-			for (MdmsBoundary boundary12 : boundaryList3) {
-				boundaryList.add(boundary12);
-			}
-		}
-
-		List<MdmsBoundary> boundaryList4 = new ArrayList<>();
-		if (boundaryList3 != null && !boundaryList3.isEmpty()) {
-			for (MdmsBoundary bndry : boundaryList3) {
-				if (bndry.getChildren() != null) {
-					for (MdmsBoundary bndry1 : bndry.getChildren()) {
-						boundaryList4.add(bndry1);
-					}
-				}
-			}
-		}
-		if (boundaryList4 != null && !boundaryList4.isEmpty()) {
-			for (MdmsBoundary boundary12 : boundaryList4) {
-				boundaryList.add(boundary12);
-			}
-		}
-
 		return boundaryList;
 	}
 }
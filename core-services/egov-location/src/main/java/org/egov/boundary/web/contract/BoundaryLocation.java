@@ -0,0 +1,28 @@
+package org.egov.boundary.web.contract;
+
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class BoundaryLocation {
+
+	@NotNull
+	@JsonProperty("latitude")
+	private Double latitude;
+
+	@NotNull
+	@JsonProperty("longitude")
+	private Double longitude;
+
+}
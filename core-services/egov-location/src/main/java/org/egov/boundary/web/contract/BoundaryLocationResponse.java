@@ -0,0 +1,44 @@
+package org.egov.boundary.web.contract;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.egov.common.contract.response.ResponseInfo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoundaryLocationResponse {
+
+	@JsonProperty("ResponseInfo")
+	private ResponseInfo responseInfo = null;
+
+	@JsonProperty("Locations")
+	private List<LocationBoundary> locations = new ArrayList<LocationBoundary>();
+
+	@Getter
+	@Setter
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class LocationBoundary {
+
+		@JsonProperty("latitude")
+		private Double latitude;
+
+		@JsonProperty("longitude")
+		private Double longitude;
+
+		@JsonProperty("Boundary")
+		private Boundary boundary;
+
+	}
+
+}
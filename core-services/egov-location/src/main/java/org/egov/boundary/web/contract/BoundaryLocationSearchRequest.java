@@ -0,0 +1,35 @@
+package org.egov.boundary.web.contract;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.egov.common.contract.request.RequestInfo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class BoundaryLocationSearchRequest {
+
+	@JsonProperty("RequestInfo")
+	private RequestInfo requestInfo;
+
+	@NotNull
+	@Size(min = 1, max = 1000)
+	@Valid
+	@JsonProperty("Locations")
+	private List<BoundaryLocation> locations;
+
+}
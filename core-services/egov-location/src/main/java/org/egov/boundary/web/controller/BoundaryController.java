@@ -57,6 +57,10 @@ import org.egov.boundary.domain.service.HierarchyTypeService;
 import org.egov.boundary.exception.CustomException;
 import org.egov.boundary.util.BoundaryConstants;
 import org.egov.boundary.web.contract.Boundary;
+import org.egov.boundary.web.contract.BoundaryLocation;
+import org.egov.boundary.web.contract.BoundaryLocationResponse;
+import org.egov.boundary.web.contract.BoundaryLocationResponse.LocationBoundary;
+import org.egov.boundary.web.contract.BoundaryLocationSearchRequest;
 import org.egov.boundary.web.contract.BoundaryRequest;
 import org.egov.boundary.web.contract.BoundaryResponse;
 import org.egov.boundary.web.contract.BoundaryType;
@@ -372,6 +376,26 @@ public class BoundaryController {
 				.header(HttpHeaders.CONTENT_TYPE, "text/plain").body(resource);
 	}
 
+	@PostMapping("/_searchByLocations")
+	@ResponseBody
+	public ResponseEntity<BoundaryLocationResponse> searchByLocations(
+			@RequestParam(value = "tenantId", required = true) @Size(max = 256) String tenantId,
+			@RequestBody @Valid final BoundaryLocationSearchRequest searchRequest) {
+		final List<BoundaryLocation> locations = searchRequest.getLocations();
+		final List<org.egov.boundary.domain.model.Boundary> boundaries = boundaryService.getBoundaries(locations,
+				tenantId);
+		final List<LocationBoundary> locationBoundaries = new ArrayList<>(locations.size());
+		for (int i = 0; i < locations.size(); i++) {
+			final BoundaryLocation location = locations.get(i);
+			locationBoundaries.add(new LocationBoundary(location.getLatitude(), location.getLongitude(),
+					boundaries.get(i) == null ? null : new Boundary(boundaries.get(i))));
+		}
+		final ResponseInfo responseInfo = responseInfoFactory
+				.createResponseInfoFromRequestInfo(searchRequest.getRequestInfo(), true);
+		responseInfo.setStatus(HttpStatus.OK.toString());
+		return new ResponseEntity<>(new BoundaryLocationResponse(responseInfo, locationBoundaries), HttpStatus.OK);
+	}
+
 	@PostMapping(value = "/_search")
 	@ResponseBody
 	public ResponseEntity<?> boundarySearch(@RequestParam(value = "tenantId", required = true) @Size(max = 256)String tenantId,
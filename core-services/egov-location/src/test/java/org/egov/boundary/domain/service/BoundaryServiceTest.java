@@ -1,14 +1,21 @@
 package org.egov.boundary.domain.service;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.egov.boundary.domain.model.Boundary;
+import org.egov.boundary.domain.service.ShapefileBoundaryIndex.ShapefileBoundary;
 import org.egov.boundary.persistence.repository.BoundaryRepository;
+import org.egov.boundary.web.contract.BoundaryLocation;
 import org.egov.boundary.web.contract.BoundaryType;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,12 +36,15 @@ public class BoundaryServiceTest {
 	@Mock
 	private BoundaryTypeService boundaryTypeService;
 
+	@Mock
+	private ShapefileBoundaryIndex shapefileBoundaryIndex;
+
 	private BoundaryService boundaryService;
 
 	@Before
 	public void before() {
 		boundaryService = new BoundaryService(boundaryTypeService,
-				crossHierarchyService, boundaryRepository);
+				crossHierarchyService, boundaryRepository, shapefileBoundaryIndex);
 	}
 
 	@Test
@@ -57,6 +67,26 @@ public class BoundaryServiceTest {
 		verify(boundaryRepository).getAllBoundariesByBoundaryTypeIdAndTenantId(1l, "tenantId");
 	}
 
+	@Test
+	public void test_should_resolve_boundary_of_locations_in_same_ward_once() {
+		ShapefileBoundary ward = new ShapefileBoundary(1l, "Ward", null);
+		when(shapefileBoundaryIndex.find("tenantId", 1.0, 1.0)).thenReturn(Optional.of(ward));
+		when(shapefileBoundaryIndex.find("tenantId", 1.5, 1.5)).thenReturn(Optional.of(ward));
+		when(shapefileBoundaryIndex.find("tenantId", 9.0, 9.0)).thenReturn(Optional.empty());
+		BoundaryType wardType = new BoundaryType();
+		wardType.setId("2");
+		when(boundaryTypeService.getBoundaryTypeByNameAndHierarchyTypeName("Ward", "ADMINISTRATION", "tenantId"))
+				.thenReturn(wardType);
+		Boundary boundary = getBoundaries().get(0);
+		when(boundaryRepository.findBoundarieByBoundaryTypeAndBoundaryNum(2l, 1l, "tenantId")).thenReturn(boundary);
+
+		List<Boundary> boundaries = boundaryService.getBoundaries(Arrays.asList(new BoundaryLocation(1.0, 1.0),
+				new BoundaryLocation(9.0, 9.0), new BoundaryLocation(1.5, 1.5)), "tenantId");
+
+		assertEquals(Arrays.asList(boundary, null, boundary), boundaries);
+		verify(boundaryRepository, times(1)).findBoundarieByBoundaryTypeAndBoundaryNum(2l, 1l, "tenantId");
+	}
+
 	private List<Boundary> getBoundaries() {
 
 		List<Boundary> boundaries = new ArrayList<Boundary>();
@@ -0,0 +1,51 @@
+package org.egov.boundary.domain.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.egov.boundary.domain.service.ShapefileBoundaryIndex.ShapefileBoundary;
+import org.egov.boundary.domain.service.ShapefileBoundaryIndex.TenantIndex;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.Polygon;
+
+public class ShapefileBoundaryIndexTest {
+
+	private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+	@Test
+	public void test_should_find_feature_containing_the_point() {
+		TenantIndex index = new TenantIndex(Arrays.asList(ward(1l, 0, 0, 10, 10), ward(2l, 10, 0, 20, 10)), 0);
+
+		Optional<ShapefileBoundary> boundary = index.find(5, 15);
+
+		assertEquals(Long.valueOf(2l), boundary.get().getBoundaryNum());
+	}
+
+	@Test
+	public void test_should_find_first_feature_of_the_shapefile_when_features_overlap() {
+		TenantIndex index = new TenantIndex(Arrays.asList(ward(1l, 0, 0, 10, 10), ward(2l, 0, 0, 20, 20)), 0);
+
+		assertEquals(Long.valueOf(1l), index.find(5, 5).get().getBoundaryNum());
+		assertEquals(Long.valueOf(2l), index.find(15, 15).get().getBoundaryNum());
+	}
+
+	@Test
+	public void test_should_not_find_feature_when_point_is_outside_all_features() {
+		TenantIndex index = new TenantIndex(Arrays.asList(ward(1l, 0, 0, 10, 10)), 0);
+
+		assertFalse(index.find(50, 50).isPresent());
+	}
+
+	private ShapefileBoundary ward(Long boundaryNum, double minX, double minY, double maxX, double maxY) {
+		Polygon polygon = GEOMETRY_FACTORY.createPolygon(GEOMETRY_FACTORY.createLinearRing(new Coordinate[] {
+				new Coordinate(minX, minY), new Coordinate(maxX, minY), new Coordinate(maxX, maxY),
+				new Coordinate(minX, maxY), new Coordinate(minX, minY) }), null);
+		return new ShapefileBoundary(boundaryNum, "Ward", polygon);
+	}
+}
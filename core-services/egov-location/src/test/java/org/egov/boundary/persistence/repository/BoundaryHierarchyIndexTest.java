@@ -0,0 +1,78 @@
+package org.egov.boundary.persistence.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.egov.boundary.web.contract.MdmsBoundary;
+import org.egov.boundary.web.contract.TenantBoundary;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BoundaryHierarchyIndexTest {
+
+	private MdmsBoundary city;
+	private MdmsBoundary zone1;
+	private MdmsBoundary zone2;
+	private MdmsBoundary ward1;
+	private MdmsBoundary ward2;
+	private MdmsBoundary ward3;
+	private MdmsBoundary locality;
+	private BoundaryHierarchyIndex index;
+
+	@Before
+	public void before() {
+		locality = boundary("L1", "Locality");
+		ward1 = boundary("W1", "Ward", locality);
+		ward2 = boundary("W2", "Ward");
+		ward3 = boundary("W3", "Ward");
+		zone1 = boundary("Z1", "Zone", ward1, ward2);
+		zone2 = boundary("Z2", "Zone", ward3);
+		city = boundary("C1", "City", zone1, zone2);
+		index = new BoundaryHierarchyIndex(TenantBoundary.builder().boundary(city).build());
+	}
+
+	@Test
+	public void test_should_find_boundary_and_parent_by_code() {
+		assertSame(ward3, index.findByCode("W3"));
+		assertSame(zone2, index.getParent(ward3));
+		assertNull(index.getParent(city));
+		assertNull(index.findByCode("W4"));
+	}
+
+	@Test
+	public void test_should_find_descendants_by_label_ignoring_case() {
+		assertEquals(Arrays.asList(ward1, ward2, ward3), index.findDescendantsByLabel("ward"));
+		assertTrue(index.findDescendantsByLabel("City").isEmpty());
+	}
+
+	@Test
+	public void test_should_check_descendants_from_pre_order_ranges() {
+		assertTrue(index.isSameOrDescendant(locality, city));
+		assertTrue(index.isSameOrDescendant(locality, zone1));
+		assertTrue(index.isSameOrDescendant(zone1, zone1));
+		assertFalse(index.isSameOrDescendant(ward3, zone1));
+		assertFalse(index.isSameOrDescendant(zone1, ward1));
+	}
+
+	@Test
+	public void test_should_filter_boundaries_having_the_codes_in_their_subtree() {
+		List<MdmsBoundary> filtered = index.filterByCodes(Arrays.asList(zone1, zone2), Arrays.asList("W3", "L1", "X"));
+
+		assertEquals(Arrays.asList(zone2, zone1), filtered);
+		assertEquals(Collections.singletonList(city), index.filterByCodes(Collections.singletonList(city),
+				Collections.singletonList("L1")));
+	}
+
+	private MdmsBoundary boundary(String code, String label, MdmsBoundary... children) {
+		return MdmsBoundary.builder().code(code).label(label).children(new ArrayList<>(Arrays.asList(children)))
+				.build();
+	}
+}
@@ -31,12 +31,12 @@ public class BoundaryRepositoryTest {
 	private JdbcTemplate jdbcTemplate;
 	
 	@Autowired
-	private MdmsRepository mdmsRepository;
+	private BoundaryHierarchyIndexRepository boundaryHierarchyIndexRepository;
 	
 	
 	@Before
 	public void before() {
-		boundaryRepository = new BoundaryRepository(namedParameterJdbcTemplate,jdbcTemplate,mdmsRepository);
+		boundaryRepository = new BoundaryRepository(namedParameterJdbcTemplate,jdbcTemplate,boundaryHierarchyIndexRepository);
 	}
 
 	@Test
@@ -63,6 +63,24 @@ public class SMSProperties {
     @Value("${sms.verify.ssl:true}")
     private boolean verifySSL;
 
+    @Value("${sms.provider.rate.limit:0}")
+    private double rateLimit;
+
+    @Value("${sms.provider.rate.limit.otp.reserve:1}")
+    private int rateLimitOtpReserve;
+
+    @Value("${sms.provider.bulk.enabled:false}")
+    private boolean bulkEnabled;
+
+    @Value("${sms.provider.bulk.size:100}")
+    private int bulkSize;
+
+    @Value("${sms.provider.bulk.mobileno.key:}")
+    private String bulkMobileNumberKey;
+
+    @Value("#{${sms.provider.bulk.config.map:{:}}}")
+    Map<String, String> bulkConfigMap;
+
     @Value("${sms.blacklist.numbers}")
     private List<String> blacklistNumbers;
 
@@ -0,0 +1,58 @@
+package org.egov.web.notification.sms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.egov.web.notification.sms.consumer.contract.SMSRequest;
+import org.egov.web.notification.sms.service.SmsDispatcher;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.BatchErrorHandler;
+
+@Slf4j
+@Configuration
+public class SmsListenerConfig {
+
+    /**
+     * Container factory of the listeners consuming a whole poll of records at once, the router of the notification
+     * topic and the promotional lane, so that the messages of a campaign can be submitted to the provider in bulk
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            SmsDispatcher smsDispatcher, ObjectMapper objectMapper) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        // the configurer sets the record error handler of the tracer, a batch container needs a batch error handler
+        factory.setBatchErrorHandler(failedBatchRouter(smsDispatcher, objectMapper));
+        return factory;
+    }
+
+    /**
+     * Routes the messages of a batch the listener failed on to the backup or error topics, like the messages the
+     * provider failed to send
+     */
+    private BatchErrorHandler failedBatchRouter(SmsDispatcher smsDispatcher, ObjectMapper objectMapper) {
+        return (thrownException, records) -> {
+            log.error("Failed to process a batch of {} sms", records.count(), thrownException);
+            for (ConsumerRecord<?, ?> record : records) {
+                // records failing deserialization are passed on as null by the error handling deserializer
+                if (record.value() == null) {
+                    log.error("Dropping the undeserializable sms at offset {} of {}", record.offset(), record.topic());
+                    continue;
+                }
+                try {
+                    smsDispatcher.routeFailed(objectMapper.convertValue(record.value(), SMSRequest.class),
+                            thrownException);
+                } catch (Exception e) {
+                    log.error("Failed to route the sms at offset {} of {}", record.offset(), record.topic(), e);
+                }
+            }
+        };
+    }
+}
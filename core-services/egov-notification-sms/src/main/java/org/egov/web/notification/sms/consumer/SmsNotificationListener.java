@@ -2,105 +2,148 @@ package org.egov.web.notification.sms.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.consumer.*;
-import org.egov.tracer.kafka.*;
 import org.egov.web.notification.sms.consumer.contract.SMSRequest;
-import org.egov.web.notification.sms.models.Category;
+import org.egov.web.notification.sms.models.Lane;
 import org.egov.web.notification.sms.models.RequestContext;
-import org.egov.web.notification.sms.service.SMSService;
+import org.egov.web.notification.sms.service.SmsDispatcher;
 import org.springframework.beans.factory.annotation.*;
-import org.springframework.boot.autoconfigure.kafka.*;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.annotation.*;
 import org.springframework.kafka.annotation.*;
-import org.springframework.kafka.config.*;
-import org.springframework.kafka.core.*;
-import org.springframework.kafka.listener.*;
-import org.springframework.kafka.listener.ErrorHandler;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
-import org.springframework.util.*;
-import org.springframework.web.client.RestClientException;
+import org.springframework.util.concurrent.ListenableFuture;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Routes the messages of the notification topic to the topics of their lanes, OTPs, transactional and promotional
+ * messages are then consumed and dispatched independently of each other.
+ * <p>
+ * The router consumes whole polls of the notification topic and forwards all the messages of a poll at once, OTPs
+ * first, waiting for the sends before the offsets are committed. Forwarding a campaign then takes a few round trips
+ * to kafka rather than one per message, so OTPs posted behind it are not held up.
+ */
 @Slf4j
 @Service
 public class SmsNotificationListener {
 
     private final ApplicationContext context;
-    private SMSService smsService;
-    private CustomKafkaTemplate<String, SMSRequest> kafkaTemplate;
+    private SmsDispatcher smsDispatcher;
+    private KafkaTemplate<String, SMSRequest> kafkaTemplate;
 
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Value("${kafka.topics.expiry.sms}")
-    String expiredSmsTopic;
-
-    @Value("${kafka.topics.backup.sms}")
-    String backupSmsTopic;
-
-    @Value("${kafka.topics.error.sms}")
-    String errorSmsTopic;
-
     @Value("${sms.enabled}")
     Boolean smsEnable;
 
+    private final Map<Lane, String> laneTopics = new EnumMap<>(Lane.class);
+
 
     @Autowired
     public SmsNotificationListener(
             ApplicationContext context,
-            SMSService smsService,
-                                   CustomKafkaTemplate<String, SMSRequest> kafkaTemplate) {
-        this.smsService = smsService;
+            SmsDispatcher smsDispatcher,
+            KafkaTemplate<String, SMSRequest> kafkaTemplate,
+            @Value("${kafka.topics.notification.sms.otp.name}") String otpTopic,
+            @Value("${kafka.topics.notification.sms.transactional.name}") String transactionalTopic,
+            @Value("${kafka.topics.notification.sms.promotional.name}") String promotionalTopic) {
+        this.smsDispatcher = smsDispatcher;
         this.context = context;
         this.kafkaTemplate = kafkaTemplate;
+        laneTopics.put(Lane.OTP, otpTopic);
+        laneTopics.put(Lane.TRANSACTIONAL, transactionalTopic);
+        laneTopics.put(Lane.PROMOTIONAL, promotionalTopic);
     }
 
     @KafkaListener(
-            topics = "${kafka.topics.notification.sms.name}"
+            id = "sms-router",
+            topics = "${kafka.topics.notification.sms.name}",
+            concurrency = "${sms.router.consumer.concurrency}",
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void process(HashMap<String, Object> consumerRecord) {
-        RequestContext.setId(UUID.randomUUID().toString());
-        SMSRequest request = null;
-        try {
-            if(!smsEnable){
-                log.info("Sms service is disable to enable the notification service set the value of sms.enable flag as true");
-            }
-            else{
-                request = objectMapper.convertValue(consumerRecord, SMSRequest.class);
-                if (request.getExpiryTime() != null && request.getCategory() == Category.OTP) {
-                    Long expiryTime = request.getExpiryTime();
-                    Long currentTime = System.currentTimeMillis();
-                    if (expiryTime < currentTime) {
-                        log.info("OTP Expired");
-                        if (!StringUtils.isEmpty(expiredSmsTopic))
-                            kafkaTemplate.send(expiredSmsTopic, request);
-                    } else {
-                        smsService.sendSMS(request.toDomain());
-                    }
-                } else {
-                    smsService.sendSMS(request.toDomain());
-                }
-            }
+    public void process(List<HashMap<String, Object>> consumerRecords) {
+        List<SMSRequest> requests = new ArrayList<>(consumerRecords.size());
+        for (HashMap<String, Object> consumerRecord : consumerRecords) {
+            // records failing deserialization are passed on as null by the error handling deserializer
+            if (consumerRecord != null)
+                requests.add(objectMapper.convertValue(consumerRecord, SMSRequest.class));
+        }
+        requests.sort(Comparator.comparing(request -> Lane.fromCategory(request.getCategory())));
 
-        } catch (RestClientException rx) {
-            log.info("Going to backup SMS Service", rx);
-            if (!StringUtils.isEmpty(backupSmsTopic))
-                kafkaTemplate.send(backupSmsTopic, request);
-            else if (!StringUtils.isEmpty(errorSmsTopic)) {
-                kafkaTemplate.send(errorSmsTopic, request);
-            } else {
-                throw rx;
+        List<ListenableFuture<SendResult<String, SMSRequest>>> sends = new ArrayList<>(requests.size());
+        for (SMSRequest request : requests)
+            sends.add(kafkaTemplate.send(laneTopics.get(Lane.fromCategory(request.getCategory())), request));
+
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while routing sms to their lanes", e);
+            } catch (ExecutionException e) {
+                log.error("Failed to route sms to its lane", e.getCause());
+                smsDispatcher.routeFailed(requests.get(i), e);
             }
-        } catch (Exception ex) {
-            log.error("Sms service failed", ex);
-            if (!StringUtils.isEmpty(errorSmsTopic)) {
-                kafkaTemplate.send(errorSmsTopic, request);
-            } else {
-                throw ex;
+        }
+    }
+
+    @KafkaListener(
+            id = "sms-lane-otp",
+            topics = "${kafka.topics.notification.sms.otp.name}",
+            concurrency = "${sms.lane.otp.consumer.concurrency}"
+    )
+    public void processOtp(HashMap<String, Object> consumerRecord) {
+        RequestContext.setId(UUID.randomUUID().toString());
+        if (isEnabled()) {
+            smsDispatcher.dispatch(Lane.OTP, objectMapper.convertValue(consumerRecord, SMSRequest.class));
+        }
+    }
+
+    @KafkaListener(
+            id = "sms-lane-transactional",
+            topics = "${kafka.topics.notification.sms.transactional.name}",
+            concurrency = "${sms.lane.transactional.consumer.concurrency}"
+    )
+    public void processTransactional(HashMap<String, Object> consumerRecord) {
+        RequestContext.setId(UUID.randomUUID().toString());
+        if (isEnabled()) {
+            smsDispatcher.dispatch(Lane.TRANSACTIONAL, objectMapper.convertValue(consumerRecord, SMSRequest.class));
+        }
+    }
+
+    @KafkaListener(
+            id = "sms-lane-promotional",
+            topics = "${kafka.topics.notification.sms.promotional.name}",
+            concurrency = "${sms.lane.promotional.consumer.concurrency}",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void processPromotional(List<HashMap<String, Object>> consumerRecords) {
+        RequestContext.setId(UUID.randomUUID().toString());
+        if (isEnabled()) {
+            List<SMSRequest> requests = new ArrayList<>(consumerRecords.size());
+            for (HashMap<String, Object> consumerRecord : consumerRecords) {
+                // records failing deserialization are passed on as null by the error handling deserializer
+                if (consumerRecord != null)
+                    requests.add(objectMapper.convertValue(consumerRecord, SMSRequest.class));
             }
+            if (!requests.isEmpty())
+                smsDispatcher.dispatch(Lane.PROMOTIONAL, requests);
+        }
+    }
+
+    private boolean isEnabled() {
+        if (!smsEnable) {
+            log.info("Sms service is disable to enable the notification service set the value of sms.enable flag as true");
         }
+        return smsEnable;
     }
 }
@@ -0,0 +1,43 @@
+package org.egov.web.notification.sms.models;
+
+/**
+ * Consumption lane of an SMS, each lane has its own topic and consumers so that the messages of one lane are never
+ * queued behind the messages of another.
+ */
+public enum Lane {
+    OTP("otp", false), TRANSACTIONAL("transactional", false), PROMOTIONAL("promotional", true);
+
+    private String key;
+
+    private boolean batched;
+
+    Lane(String key, boolean batched) {
+        this.key = key;
+        this.batched = batched;
+    }
+
+    /**
+     * Key of the lane in the lane properties, sms.lane.&lt;key&gt;.*
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether the lane consumes whole polls, the messages of a poll are then submitted on the dispatch pool of the
+     * lane. The other lanes consume one record at a time and submit it on the consumer thread.
+     */
+    public boolean isBatched() {
+        return batched;
+    }
+
+    public static Lane fromCategory(Category category) {
+        if (category == Category.OTP) {
+            return OTP;
+        } else if (category == Category.PROMOTION) {
+            return PROMOTIONAL;
+        } else {
+            return TRANSACTIONAL;
+        }
+    }
+}
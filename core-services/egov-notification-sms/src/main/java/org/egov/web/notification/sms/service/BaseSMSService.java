@@ -58,26 +58,52 @@ abstract public class BaseSMSService implements SMSService, SMSBodyBuilder {
 
     @Override
     public void sendSMS(Sms sms) {
+        if (isSendable(sms)) {
+            submitToExternalSmsService(sms);
+        }
+    }
+
+    @Override
+    public void sendSMS(List<Sms> smsList) {
+        List<Sms> sendable = new ArrayList<>(smsList.size());
+        for (Sms sms : smsList) {
+            if (isSendable(sms)) {
+                sendable.add(sms);
+            }
+        }
+        if (!sendable.isEmpty()) {
+            submitToExternalSmsService(sendable);
+        }
+    }
+
+    private boolean isSendable(Sms sms) {
         if (!sms.isValid()) {
             log.error(String.format("Sms %s is not valid", sms));
-            return;
+            return false;
         }
 
         if (smsProperties.isNumberBlacklisted(sms.getMobileNumber())) {
             log.error(String.format("Sms to %s is blacklisted", sms.getMobileNumber()));
-            return;
+            return false;
         }
 
         if (!smsProperties.isNumberWhitelisted(sms.getMobileNumber())) {
             log.error(String.format("Sms to %s is not in whitelist", sms.getMobileNumber()));
-            return;
+            return false;
         }
 
-        submitToExternalSmsService(sms);
+        return true;
     }
 
     protected abstract void submitToExternalSmsService(Sms sms);
 
+    /**
+     * Submits the messages to the provider, one by one unless the provider supports bulk submission
+     */
+    protected void submitToExternalSmsService(List<Sms> smsList) {
+        smsList.forEach(this::submitToExternalSmsService);
+    }
+
     protected <T> ResponseEntity<T> executeAPI(URI uri, HttpMethod method, HttpEntity<?> requestEntity, Class<T> type) {
         ResponseEntity<T> res = (ResponseEntity<T>) restTemplate.exchange(uri, method, requestEntity, String.class);
         String responseString = res.getBody().toString();
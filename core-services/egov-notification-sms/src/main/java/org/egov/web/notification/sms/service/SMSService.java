@@ -2,7 +2,17 @@ package org.egov.web.notification.sms.service;
 
 import org.egov.web.notification.sms.models.Sms;
 
+import java.util.List;
+
 public interface SMSService {
     void sendSMS(Sms sms);
-}
 
+    void sendSMS(List<Sms> smsList);
+
+    /**
+     * Whether the messages passed to {@link #sendSMS(List)} are submitted to the provider in bulk requests
+     */
+    default boolean supportsBulkSubmission() {
+        return false;
+    }
+}
@@ -0,0 +1,231 @@
+package org.egov.web.notification.sms.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.egov.tracer.kafka.CustomKafkaTemplate;
+import org.egov.web.notification.sms.config.SMSProperties;
+import org.egov.web.notification.sms.consumer.contract.SMSRequest;
+import org.egov.web.notification.sms.models.Category;
+import org.egov.web.notification.sms.models.Lane;
+import org.egov.web.notification.sms.models.RequestContext;
+import org.egov.web.notification.sms.models.Sms;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * Submits the messages of each lane to the SMS provider.
+ * <p>
+ * The consumer of a lane waits until the messages it hands over are submitted, or routed to the expiry, backup or
+ * error topics, so the offsets of its records are committed only once they are done with. The lanes consuming one
+ * record at a time submit it on the consumer thread, their consumer concurrency bounds their parallelism. The
+ * submissions of a batch of a batched lane run in parallel on the dispatch pool of the lane, once the bounded queue of
+ * the pool is full the consumer submits the messages itself. Submissions to the provider are limited to the configured messages per second, see
+ * {@link SmsRateLimiter}. When the provider supports bulk submission the messages of a batch with the same content are
+ * submitted together.
+ */
+@Slf4j
+@Service
+public class SmsDispatcher {
+
+    private final SMSService smsService;
+
+    private final SMSProperties smsProperties;
+
+    private final CustomKafkaTemplate<String, SMSRequest> kafkaTemplate;
+
+    private final Environment env;
+
+    private final SmsRateLimiter rateLimiter;
+
+    private final Map<Lane, ThreadPoolTaskExecutor> executors = new EnumMap<>(Lane.class);
+
+    @Value("${kafka.topics.expiry.sms}")
+    String expiredSmsTopic;
+
+    @Value("${kafka.topics.backup.sms}")
+    String backupSmsTopic;
+
+    @Value("${kafka.topics.error.sms}")
+    String errorSmsTopic;
+
+    @Autowired
+    public SmsDispatcher(SMSService smsService, SMSProperties smsProperties,
+                         CustomKafkaTemplate<String, SMSRequest> kafkaTemplate, Environment env) {
+        this.smsService = smsService;
+        this.smsProperties = smsProperties;
+        this.kafkaTemplate = kafkaTemplate;
+        this.env = env;
+        this.rateLimiter = new SmsRateLimiter(smsProperties.getRateLimit(), smsProperties.getRateLimitOtpReserve());
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Lane lane : Lane.values()) {
+            if (!lane.isBatched())
+                continue;
+            int poolSize = env.getRequiredProperty("sms.lane." + lane.getKey() + ".dispatch.pool.size", Integer.class);
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(poolSize);
+            executor.setMaxPoolSize(poolSize);
+            executor.setQueueCapacity(
+                    env.getRequiredProperty("sms.lane." + lane.getKey() + ".dispatch.queue.size", Integer.class));
+            executor.setThreadNamePrefix("sms-" + lane.getKey() + "-");
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.initialize();
+            executors.put(lane, executor);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    public void dispatch(Lane lane, SMSRequest request) {
+        dispatch(lane, Collections.singletonList(request));
+    }
+
+    /**
+     * Submits the messages, on the dispatch pool of the lane when it has one and there is more than one submission,
+     * and waits for all the submissions
+     */
+    public void dispatch(Lane lane, List<SMSRequest> requests) {
+        ThreadPoolTaskExecutor executor = executors.get(lane);
+        List<List<SMSRequest>> submissions = toSubmissions(requests);
+        if (executor == null || submissions.size() == 1) {
+            submissions.forEach(submission -> submit(lane, submission));
+            return;
+        }
+
+        String correlationId = RequestContext.getId();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (List<SMSRequest> submission : submissions) {
+            pending.add(CompletableFuture.runAsync(() -> {
+                RequestContext.setId(correlationId);
+                submit(lane, submission);
+            }, executor));
+        }
+        try {
+            pending.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Routes a message that could not be submitted to the backup topic when the provider could not be reached,
+     * otherwise to the error topic. Without an error topic the failure is rethrown, leaving the record to the error
+     * handling of the listener container.
+     */
+    public void routeFailed(SMSRequest request, Exception exception) {
+        if (exception instanceof RestClientException)
+            sendToBackupTopic(request, exception);
+        else
+            sendToErrorTopic(request, exception);
+    }
+
+    /**
+     * Groups the messages with the same content and category in chunks when the provider supports bulk submission,
+     * otherwise every message is submitted on its own
+     */
+    private List<List<SMSRequest>> toSubmissions(List<SMSRequest> requests) {
+        if (requests.size() == 1 || !smsService.supportsBulkSubmission()) {
+            return requests.stream().map(Collections::singletonList).collect(Collectors.toList());
+        }
+
+        int chunkSize = Math.max(Math.min(smsProperties.getBulkSize(), rateLimiter.getMaxPermits()), 1);
+        Map<List<Object>, List<SMSRequest>> groups = new LinkedHashMap<>();
+        for (SMSRequest request : requests) {
+            groups.computeIfAbsent(Arrays.asList(request.getMessage(), request.getCategory()),
+                    key -> new ArrayList<>()).add(request);
+        }
+        List<List<SMSRequest>> submissions = new ArrayList<>();
+        for (List<SMSRequest> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += chunkSize) {
+                submissions.add(group.subList(from, Math.min(from + chunkSize, group.size())));
+            }
+        }
+        return submissions;
+    }
+
+    private void submit(Lane lane, List<SMSRequest> requests) {
+        List<SMSRequest> live = new ArrayList<>(requests.size());
+        for (SMSRequest request : requests) {
+            if (isExpired(request)) {
+                log.info("OTP Expired");
+                if (!StringUtils.isEmpty(expiredSmsTopic))
+                    kafkaTemplate.send(expiredSmsTopic, request);
+            } else {
+                live.add(request);
+            }
+        }
+        if (live.isEmpty())
+            return;
+
+        try {
+            rateLimiter.acquire(live.size(), lane == Lane.OTP);
+            if (live.size() == 1) {
+                smsService.sendSMS(live.get(0).toDomain());
+            } else {
+                List<Sms> smsList = live.stream().map(SMSRequest::toDomain).collect(Collectors.toList());
+                smsService.sendSMS(smsList);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting to submit sms", e);
+            live.forEach(request -> routeFailed(request, e));
+        } catch (RestClientException rx) {
+            log.info("Going to backup SMS Service", rx);
+            live.forEach(request -> routeFailed(request, rx));
+        } catch (Exception ex) {
+            log.error("Sms service failed", ex);
+            live.forEach(request -> routeFailed(request, ex));
+        }
+    }
+
+    /**
+     * OTPs are checked for expiry right before their submission, they may have expired while queued
+     */
+    private boolean isExpired(SMSRequest request) {
+        return request.getExpiryTime() != null && request.getCategory() == Category.OTP
+                && request.getExpiryTime() < System.currentTimeMillis();
+    }
+
+    private void sendToBackupTopic(SMSRequest request, Exception exception) {
+        if (!StringUtils.isEmpty(backupSmsTopic))
+            kafkaTemplate.send(backupSmsTopic, request);
+        else
+            sendToErrorTopic(request, exception);
+    }
+
+    private void sendToErrorTopic(SMSRequest request, Exception exception) {
+        if (!StringUtils.isEmpty(errorSmsTopic))
+            kafkaTemplate.send(errorSmsTopic, request);
+        else if (exception instanceof RuntimeException)
+            throw (RuntimeException) exception;
+        else
+            throw new IllegalStateException("Sms was not sent and no error topic is configured", exception);
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.egov.web.notification.sms.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the messages per second submitted to the SMS provider
+ * <p>
+ * The bucket refills at the given rate and holds up to a second of messages. Submissions of the lanes other than the
+ * OTP lane leave the reserved tokens in the bucket, so a campaign using up the rate of the provider does not hold back
+ * OTPs. A rate of zero or less disables the limit.
+ */
+class SmsRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double ratePerSecond;
+
+    private final int otpReserve;
+
+    private final double capacity;
+
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    SmsRateLimiter(double ratePerSecond, int otpReserve) {
+        this(ratePerSecond, otpReserve, System::nanoTime);
+    }
+
+    SmsRateLimiter(double ratePerSecond, int otpReserve, LongSupplier nanoClock) {
+        this.ratePerSecond = ratePerSecond;
+        this.otpReserve = Math.max(otpReserve, 0);
+        this.capacity = Math.max(ratePerSecond, this.otpReserve + 1);
+        this.nanoClock = nanoClock;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Largest number of messages a lane other than the OTP lane can submit at once
+     */
+    int getMaxPermits() {
+        return ratePerSecond <= 0 ? Integer.MAX_VALUE : Math.max((int) (capacity - otpReserve), 1);
+    }
+
+    /**
+     * Takes the permits, waiting until they are available
+     *
+     * @param otp whether the permits are for OTPs, which may take the reserved tokens
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire(int permits, boolean otp) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire(permits, otp)) > 0)
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    /**
+     * Takes the permits if they are available
+     *
+     * @return zero when the permits were taken, otherwise the nanos to wait before trying again
+     */
+    synchronized long tryAcquire(int permits, boolean otp) {
+        if (ratePerSecond <= 0)
+            return 0;
+
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerSecond / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+
+        double required = Math.min(capacity, permits + (otp ? 0 : otpReserve));
+        if (tokens >= required) {
+            tokens -= Math.min(permits, capacity);
+            return 0;
+        }
+        return (long) Math.ceil((required - tokens) * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+}
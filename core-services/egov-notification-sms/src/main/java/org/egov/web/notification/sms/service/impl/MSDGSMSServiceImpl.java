@@ -12,14 +12,18 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.*;
 import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -74,14 +78,7 @@ public class MSDGSMSServiceImpl extends BaseSMSService {
     }
 
     protected void submitToExternalSmsService(Sms sms) {
-        String finalmessage = "";
-        for (int i = 0; i < sms.getMessage().length(); i++) {
-            char ch = sms.getMessage().charAt(i);
-            int j = (int) ch;
-            String sss = "&#" + j + ";";
-            finalmessage = finalmessage + sss;
-        }
-        sms.setMessage(finalmessage);
+        sms.setMessage(encodeMessage(sms.getMessage()));
         String url = smsProperties.getUrl();
         final MultiValueMap<String, String> requestBody = bodyBuilder.getSmsRequestBody(sms);
         postProcessor(requestBody);
@@ -89,6 +86,74 @@ public class MSDGSMSServiceImpl extends BaseSMSService {
         executeAPI(URI.create(url), HttpMethod.POST, request, String.class);
     }
 
+    @Override
+    public boolean supportsBulkSubmission() {
+        return smsProperties.isBulkEnabled();
+    }
+
+    /**
+     * Submits the messages with the same content and category in one request, passing their mobile numbers comma
+     * separated
+     *
+     * @param smsList
+     */
+    @Override
+    protected void submitToExternalSmsService(List<Sms> smsList) {
+        if (!supportsBulkSubmission()) {
+            super.submitToExternalSmsService(smsList);
+            return;
+        }
+
+        Map<List<Object>, List<Sms>> groups = new LinkedHashMap<>();
+        for (Sms sms : smsList) {
+            groups.computeIfAbsent(Arrays.asList(sms.getMessage(), sms.getCategory()), key -> new ArrayList<>()).add(sms);
+        }
+        for (List<Sms> group : groups.values()) {
+            if (group.size() == 1) {
+                submitToExternalSmsService(group.get(0));
+            } else {
+                submitBulk(group);
+            }
+        }
+    }
+
+    private void submitBulk(List<Sms> smsList) {
+        String mobileNumberKey = getConfigMap().get(SMSConstants.SENDER_MOBNO_IDENTIFIER);
+        String bulkMobileNumberKey = StringUtils.isEmpty(smsProperties.getBulkMobileNumberKey())
+                ? mobileNumberKey : smsProperties.getBulkMobileNumberKey();
+        if (bulkMobileNumberKey == null) {
+            log.error("No parameter is configured for the mobile numbers of bulk requests, submitting one by one");
+            super.submitToExternalSmsService(smsList);
+            return;
+        }
+
+        Sms first = smsList.get(0);
+        Sms sms = new Sms(first.getMobileNumber(), encodeMessage(first.getMessage()), first.getCategory(),
+                first.getExpiryTime());
+        final MultiValueMap<String, String> requestBody = bodyBuilder.getSmsRequestBody(sms);
+        postProcessor(requestBody);
+
+        if (mobileNumberKey != null) {
+            requestBody.remove(mobileNumberKey);
+        }
+        String mobileNumbers = smsList.stream()
+                .map(s -> smsProperties.getMobileNumberPrefix() + s.getMobileNumber())
+                .collect(Collectors.joining(","));
+        requestBody.set(bulkMobileNumberKey, mobileNumbers);
+        smsProperties.getBulkConfigMap().forEach(requestBody::set);
+
+        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(requestBody, getHttpHeaders());
+        executeAPI(URI.create(smsProperties.getUrl()), HttpMethod.POST, request, String.class);
+    }
+
+    private String encodeMessage(String message) {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < message.length(); i++) {
+            encoded.append("&#").append((int) message.charAt(i)).append(';');
+        }
+        return encoded.toString();
+    }
+
     /**
      * Performs post processing on the default parameters
      *
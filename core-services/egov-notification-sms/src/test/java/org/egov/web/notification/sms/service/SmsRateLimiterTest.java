@@ -0,0 +1,66 @@
+package org.egov.web.notification.sms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SmsRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void testNoLimitWhenRateIsZero() {
+        SmsRateLimiter rateLimiter = new SmsRateLimiter(0, 1, nanos::get);
+
+        assertEquals(Integer.MAX_VALUE, rateLimiter.getMaxPermits());
+        assertEquals(0, rateLimiter.tryAcquire(1000, false));
+        assertEquals(0, rateLimiter.tryAcquire(1000, false));
+    }
+
+    @Test
+    void testOtpReserveIsLeftForOtps() {
+        SmsRateLimiter rateLimiter = new SmsRateLimiter(10, 2, nanos::get);
+
+        assertEquals(8, rateLimiter.getMaxPermits());
+        assertEquals(0, rateLimiter.tryAcquire(8, false));
+        // two tokens left, a transactional message needs them plus one
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire(1, false));
+        assertEquals(0, rateLimiter.tryAcquire(2, true));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire(1, true));
+    }
+
+    @Test
+    void testTokensRefillAtTheRate() {
+        SmsRateLimiter rateLimiter = new SmsRateLimiter(10, 2, nanos::get);
+        assertEquals(0, rateLimiter.tryAcquire(10, true));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, rateLimiter.tryAcquire(3, false));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), rateLimiter.tryAcquire(3, false));
+    }
+
+    @Test
+    void testBucketHoldsAtMostASecondOfMessages() {
+        SmsRateLimiter rateLimiter = new SmsRateLimiter(10, 2, nanos::get);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(0, rateLimiter.tryAcquire(10, true));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire(1, true));
+    }
+
+    @Test
+    void testAcquireWaitsForTheTokens() throws InterruptedException {
+        SmsRateLimiter rateLimiter = new SmsRateLimiter(1000, 0);
+        rateLimiter.acquire(1000, false);
+
+        long start = System.nanoTime();
+        rateLimiter.acquire(50, false);
+        long waited = System.nanoTime() - start;
+
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(40), "waited " + waited + " nanos");
+    }
+}
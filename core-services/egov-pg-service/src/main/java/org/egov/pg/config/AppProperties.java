@@ -84,6 +84,14 @@ public class AppProperties {
 
     private final Boolean isEnvironmentCentralInstance;
 
+    private final Integer reconciliationPageSize;
+
+    private final Integer reconciliationPoolSize;
+
+    private final Integer reconciliationBulkStatusSize;
+
+    private final Double reconciliationDefaultRateLimit;
+
     @Autowired
     public AppProperties(Environment environment){
         this.earlyReconcileJobRunInterval = Integer.valueOf(environment.getRequiredProperty("pg.earlyReconcileJobRunInterval.mins"));
@@ -121,6 +129,10 @@ public class AppProperties {
         this.egovPgReconciliationSystemUserUuid = environment.getRequiredProperty("egov.pg.reconciliation.system.user.uuid");
         this.stateLevelTenantLength = Integer.parseInt(environment.getRequiredProperty("state.level.tenantid.length"));
         this.isEnvironmentCentralInstance = Boolean.parseBoolean(environment.getRequiredProperty("is.environment.central.instance"));
+        this.reconciliationPageSize = Integer.valueOf(environment.getRequiredProperty("pg.reconciliation.page.size"));
+        this.reconciliationPoolSize = Integer.valueOf(environment.getRequiredProperty("pg.reconciliation.pool.size"));
+        this.reconciliationBulkStatusSize = Integer.valueOf(environment.getRequiredProperty("pg.reconciliation.bulk.status.size"));
+        this.reconciliationDefaultRateLimit = Double.valueOf(environment.getRequiredProperty("pg.reconciliation.rate.limit.default"));
     }
 
 }
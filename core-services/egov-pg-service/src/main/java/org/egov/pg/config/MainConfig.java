@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import javax.sql.DataSource;
 
@@ -25,4 +26,17 @@ public class MainConfig {
         return new JdbcTemplate(dataSource);
     }
 
+    /**
+     * Pool the status of pending transactions is fetched from the gateways on during reconciliation
+     */
+    @Autowired
+    @Bean
+    public ThreadPoolTaskExecutor reconciliationExecutor(AppProperties appProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(appProperties.getReconciliationPoolSize());
+        executor.setMaxPoolSize(appProperties.getReconciliationPoolSize());
+        executor.setThreadNamePrefix("pg-reconciliation-");
+        return executor;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package org.egov.pg.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Progress of a reconciliation job, the transactions up to the last created time and transaction id were reconciled
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationCheckpoint {
+
+    public enum StatusEnum {
+        RUNNING, COMPLETED
+    }
+
+    private String jobName;
+
+    private StatusEnum status;
+
+    private Long lastCreatedTime;
+
+    private String lastTxnId;
+
+    private long processed;
+
+    private long failed;
+
+    private Long startedTime;
+
+    private Long lastModifiedTime;
+
+}
@@ -0,0 +1,59 @@
+package org.egov.pg.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.egov.pg.models.ReconciliationCheckpoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Slf4j
+public class ReconciliationCheckpointRepository {
+
+    private static final String SELECT_SQL = "SELECT job_name, status, last_created_time, last_txn_id, processed, " +
+            "failed, started_time, last_modified_time FROM eg_pg_reconciliation_checkpoint WHERE job_name = ? ";
+
+    private static final String UPSERT_SQL = "INSERT INTO eg_pg_reconciliation_checkpoint (job_name, status, " +
+            "last_created_time, last_txn_id, processed, failed, started_time, last_modified_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (job_name) DO UPDATE SET status = EXCLUDED.status, " +
+            "last_created_time = EXCLUDED.last_created_time, last_txn_id = EXCLUDED.last_txn_id, " +
+            "processed = EXCLUDED.processed, failed = EXCLUDED.failed, started_time = EXCLUDED.started_time, " +
+            "last_modified_time = EXCLUDED.last_modified_time";
+
+    private static final RowMapper<ReconciliationCheckpoint> rowMapper = (resultSet, rowNum) ->
+            ReconciliationCheckpoint.builder()
+                    .jobName(resultSet.getString("job_name"))
+                    .status(ReconciliationCheckpoint.StatusEnum.valueOf(resultSet.getString("status")))
+                    .lastCreatedTime((Long) resultSet.getObject("last_created_time"))
+                    .lastTxnId(resultSet.getString("last_txn_id"))
+                    .processed(resultSet.getLong("processed"))
+                    .failed(resultSet.getLong("failed"))
+                    .startedTime((Long) resultSet.getObject("started_time"))
+                    .lastModifiedTime((Long) resultSet.getObject("last_modified_time"))
+                    .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ReconciliationCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<ReconciliationCheckpoint> find(String jobName) {
+        List<ReconciliationCheckpoint> checkpoints = jdbcTemplate.query(SELECT_SQL, new Object[]{jobName}, rowMapper);
+        return checkpoints.isEmpty() ? Optional.empty() : Optional.of(checkpoints.get(0));
+    }
+
+    public void save(ReconciliationCheckpoint checkpoint) {
+        checkpoint.setLastModifiedTime(System.currentTimeMillis());
+        jdbcTemplate.update(UPSERT_SQL, checkpoint.getJobName(), checkpoint.getStatus().name(),
+                checkpoint.getLastCreatedTime(), checkpoint.getLastTxnId(), checkpoint.getProcessed(),
+                checkpoint.getFailed(), checkpoint.getStartedTime(), checkpoint.getLastModifiedTime());
+    }
+
+}
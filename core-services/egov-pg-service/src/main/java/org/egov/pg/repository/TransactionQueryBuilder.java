@@ -27,6 +27,28 @@ class TransactionQueryBuilder {
         return buildQueryForTimeRange(transactionCriteria, startTime, endTime, preparedStmtList);
     }
 
+    /**
+     * Page of the transactions created in the time range, ordered by created time and transaction id. The page starts
+     * after the given created time and transaction id when they are not null, so that the transactions can be read
+     * page after page even while their status changes.
+     */
+    static String getTransactionsPageQuery(TransactionCriteria transactionCriteria, Long startTime, Long endTime,
+                                           Long afterCreatedTime, String afterTxnId, int limit,
+                                           List<Object> preparedStmtList) {
+        StringBuilder builder = new StringBuilder(buildQueryForTimeRange(transactionCriteria, startTime, endTime,
+                preparedStmtList));
+
+        if (!Objects.isNull(afterCreatedTime) && !Objects.isNull(afterTxnId)) {
+            builder.append(" AND (pg.created_time, pg.txn_id) > (?, ?) ");
+            preparedStmtList.add(afterCreatedTime);
+            preparedStmtList.add(afterTxnId);
+        }
+
+        builder.append(" order by pg.created_time, pg.txn_id limit ? ");
+        preparedStmtList.add(limit);
+        return builder.toString();
+    }
+
     private static String buildQueryForTimeRange(TransactionCriteria transactionCriteria, Long startTime, Long endTime, List<Object> preparedStmtList) {
         String preparedQuery = buildQuery(transactionCriteria, preparedStmtList);
 
@@ -43,4 +43,20 @@ public class TransactionRepository {
         return jdbcTemplate.query(query, params.toArray(), rowMapper);
     }
 
+    /**
+     * Fetches a page of the transactions created in the time range, in the order of their created time and id
+     *
+     * @param afterCreatedTime created time of the last transaction of the previous page, null for the first page
+     * @param afterTxnId       id of the last transaction of the previous page, null for the first page
+     * @param limit            maximum number of transactions of the page
+     */
+    public List<Transaction> fetchTransactionsPage(TransactionCriteria transactionCriteria, Long startTime, Long endTime,
+                                                   Long afterCreatedTime, String afterTxnId, int limit) {
+        List<Object> params = new ArrayList<>();
+        String query = TransactionQueryBuilder.getTransactionsPageQuery(transactionCriteria, startTime, endTime,
+                afterCreatedTime, afterTxnId, limit, params);
+        log.debug(query);
+        return jdbcTemplate.query(query, params.toArray(), rowMapper);
+    }
+
 }
@@ -1,8 +1,12 @@
 package org.egov.pg.service;
 
+import org.egov.pg.constants.PgConstants;
 import org.egov.pg.models.Transaction;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,6 +37,35 @@ public interface Gateway {
      */
     Transaction fetchStatus(Transaction currentStatus, Map<String, String> params);
 
+    /**
+     * If the gateway can fetch the status of several transactions in a single call, see
+     * {@link #fetchStatuses(List)}
+     *
+     * @return true if bulk status fetches are supported
+     */
+    default boolean supportsBulkStatus() {
+        return false;
+    }
+
+    /**
+     * Fetch the current status of several transactions from the gateway, in a single call when the gateway
+     * supports it and one transaction at a time otherwise, transactions the gateway does not return a status for
+     * are left out
+     *
+     * @param currentStatuses Current status of the transactions
+     * @return Updated transaction statuses by transaction id
+     */
+    default Map<String, Transaction> fetchStatuses(List<Transaction> currentStatuses) {
+        Map<String, Transaction> statuses = new HashMap<>();
+        for (Transaction currentStatus : currentStatuses) {
+            Transaction status = fetchStatus(currentStatus,
+                    Collections.singletonMap(PgConstants.PG_TXN_IN_LABEL, currentStatus.getTxnId()));
+            if (status != null)
+                statuses.put(currentStatus.getTxnId(), status);
+        }
+        return statuses;
+    }
+
     /**
      * If the gateway is to be used or disabled, preferably retrieved from a config file
      *
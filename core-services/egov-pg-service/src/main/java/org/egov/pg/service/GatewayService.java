@@ -85,6 +85,26 @@ public class GatewayService {
         return gateway.fetchStatus(currentStatus, params);
     }
 
+    /**
+     * If the live status of several transactions can be fetched from the gateway in a single call
+     *
+     * @param gateway Name of the gateway
+     * @return true if the gateway supports bulk status fetches
+     */
+    public boolean supportsBulkStatus(String gateway) {
+        return GATEWAY_MAP.containsKey(gateway) && getGateway(gateway).supportsBulkStatus();
+    }
+
+    /**
+     * Fetch the live status of several transactions of a gateway in a single call
+     *
+     * @param gateway         Name of the gateway of the transactions
+     * @param currentStatuses Current transaction details
+     * @return Updated live transaction statuses by transaction id
+     */
+    Map<String, Transaction> getLiveStatuses(String gateway, List<Transaction> currentStatuses) {
+        return getGateway(gateway).fetchStatuses(currentStatuses);
+    }
 
     public boolean isGatewayActive(String gateway) {
         return GATEWAY_MAP.containsKey(gateway) && GATEWAY_MAP.get(gateway).isActive();
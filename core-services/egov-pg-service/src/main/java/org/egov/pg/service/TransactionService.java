@@ -1,6 +1,7 @@
 package org.egov.pg.service;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -137,7 +138,6 @@ public class TransactionService {
     public List<Transaction> updateTransaction(RequestInfo requestInfo, Map<String, String> requestParams) {
 
         Transaction currentTxnStatus = validator.validateUpdateTxn(requestParams);
-        String tenantId = currentTxnStatus.getTenantId();
 
         log.debug(currentTxnStatus.toString());
         log.debug(requestParams.toString());
@@ -154,6 +154,88 @@ public class TransactionService {
             enrichmentService.enrichUpdateTransaction(new TransactionRequest(requestInfo, currentTxnStatus), newTxn);
         }
 
+        return Collections.singletonList(saveTransactionStatus(requestInfo, currentTxnStatus, newTxn));
+    }
+
+    /**
+     * Reconciles the status of transactions of the same gateway with the gateway
+     * <p>
+     * Same as {@link #updateTransaction(RequestInfo, Map)} for each of the transactions, except that the live status
+     * of the transactions is fetched in a single call when the gateway supports it. Each transaction is fetched again
+     * from the DB right before its new status is decided, since the callback of the gateway or another run may have
+     * updated it after it was read for reconciliation, and is left as it is when no longer pending. Transactions the
+     * gateway returns no status for are left out.
+     *
+     * @param requestInfo
+     * @param currentTxnStatuses Status of the transactions when they were read for reconciliation
+     * @return Updated transactions, along with the ones no longer pending as they are
+     */
+    public List<Transaction> reconcileTransactions(RequestInfo requestInfo, List<Transaction> currentTxnStatuses) {
+        List<Transaction> updatedTxns = new ArrayList<>();
+        List<Transaction> gatewayTxns = new ArrayList<>();
+
+        for (Transaction currentTxnStatus : currentTxnStatuses) {
+            if (!validator.skipGateway(currentTxnStatus)) {
+                gatewayTxns.add(currentTxnStatus);
+                continue;
+            }
+            Transaction latestTxnStatus = fetchLatestStatus(currentTxnStatus);
+            if (latestTxnStatus == null)
+                continue;
+            if (isPending(latestTxnStatus))
+                updatedTxns.add(saveTransactionStatus(requestInfo, latestTxnStatus, latestTxnStatus));
+            else
+                updatedTxns.add(latestTxnStatus);
+        }
+
+        if (gatewayTxns.isEmpty())
+            return updatedTxns;
+
+        Map<String, Transaction> newTxns = gatewayService.getLiveStatuses(gatewayTxns.get(0).getGateway(), gatewayTxns);
+
+        for (Transaction currentTxnStatus : gatewayTxns) {
+            Transaction newTxn = newTxns.get(currentTxnStatus.getTxnId());
+            if (newTxn == null)
+                continue;
+
+            Transaction latestTxnStatus = fetchLatestStatus(currentTxnStatus);
+            if (latestTxnStatus == null)
+                continue;
+            if (!isPending(latestTxnStatus)) {
+                log.info("Transaction {} is no longer pending, skipping its reconciliation", latestTxnStatus.getTxnId());
+                updatedTxns.add(latestTxnStatus);
+                continue;
+            }
+
+            // Enrich the new transaction status before persisting
+            enrichmentService.enrichUpdateTransaction(new TransactionRequest(requestInfo, latestTxnStatus), newTxn);
+            updatedTxns.add(saveTransactionStatus(requestInfo, latestTxnStatus, newTxn));
+        }
+        return updatedTxns;
+    }
+
+    private Transaction fetchLatestStatus(Transaction currentTxnStatus) {
+        List<Transaction> statuses = transactionRepository.fetchTransactions(TransactionCriteria.builder()
+                .txnId(currentTxnStatus.getTxnId())
+                .build());
+        if (statuses.isEmpty()) {
+            log.error("Transaction {} not found while reconciling it", currentTxnStatus.getTxnId());
+            return null;
+        }
+        return statuses.get(0);
+    }
+
+    private boolean isPending(Transaction transaction) {
+        return Transaction.TxnStatusEnum.PENDING.equals(transaction.getTxnStatus());
+    }
+
+    /**
+     * Generates the receipt if the transaction is successful and persists the updated transaction status and raw
+     * gateway transaction response
+     */
+    private Transaction saveTransactionStatus(RequestInfo requestInfo, Transaction currentTxnStatus, Transaction newTxn) {
+        String tenantId = currentTxnStatus.getTenantId();
+
         // Check if transaction is successful, amount matches etc
         if (validator.shouldGenerateReceipt(currentTxnStatus, newTxn)) {
         	TransactionRequest request = TransactionRequest.builder().requestInfo(requestInfo).transaction(newTxn).build();
@@ -169,7 +251,7 @@ public class TransactionService {
         producer.push(tenantId, appProperties.getUpdateTxnTopic(), new org.egov.pg.models.TransactionRequest(requestInfo, newTxn));
         producer.push(tenantId, appProperties.getUpdateTxnDumpTopic(), new TransactionDumpRequest(requestInfo, dump));
 
-        return Collections.singletonList(newTxn);
+        return newTxn;
     }
 
 }
@@ -26,8 +26,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
 
@@ -145,6 +148,36 @@ public class PayuGateway implements Gateway {
         return fetchStatusFromGateway(currentStatus);
     }
 
+    @Override
+    public boolean supportsBulkStatus() {
+        return true;
+    }
+
+    /**
+     * The verify_payment command takes several transaction ids separated by |
+     */
+    @Override
+    public Map<String, Transaction> fetchStatuses(List<Transaction> currentStatuses) {
+        String txnRefs = currentStatuses.stream().map(Transaction::getTxnId).collect(Collectors.joining("|"));
+        JsonNode transactionDetails = verifyPayment(txnRefs).path("transaction_details");
+
+        Map<String, Transaction> statuses = new HashMap<>();
+        for (Transaction currentStatus : currentStatuses) {
+            JsonNode status = transactionDetails.path(currentStatus.getTxnId());
+            if (status.isMissingNode() || status.isNull()) {
+                log.error("Unable to fetch status from payment gateway for txnid: " + currentStatus.getTxnId());
+                continue;
+            }
+            try {
+                PayuResponse payuResponse = objectMapper.treeToValue(status, PayuResponse.class);
+                statuses.put(currentStatus.getTxnId(), transformRawResponse(payuResponse, currentStatus));
+            } catch (IOException e) {
+                log.error("Unable to parse status from payment gateway for txnid: " + currentStatus.getTxnId(), e);
+            }
+        }
+        return statuses;
+    }
+
     @Override
     public boolean isActive() {
         return ACTIVE;
@@ -198,9 +231,33 @@ public class PayuGateway implements Gateway {
     private Transaction fetchStatusFromGateway(Transaction currentStatus) {
 
         String txnRef = currentStatus.getTxnId();
+        JsonNode status = verifyPayment(txnRef).path("transaction_details").path(txnRef);
+
+        if(status.isNull())
+            throw new CustomException("FAILED_TO_FETCH_STATUS_FROM_GATEWAY",
+                    "Unable to fetch status from payment gateway for txnid: "+ currentStatus.getTxnId());
+
+        try {
+            PayuResponse payuResponse = objectMapper.treeToValue(status, PayuResponse.class);
+
+            return transformRawResponse(payuResponse, currentStatus);
+
+        }catch (IOException e){
+            log.error("Unable to fetch status from payment gateway for txnid: "+ currentStatus.getTxnId(), e);
+            throw new ServiceCallException("Error occurred while fetching status from payment gateway");
+        }
+    }
+
+    /**
+     * Calls the verify_payment command of the gateway
+     *
+     * @param txnRefs one transaction id or several separated by |
+     * @return raw gateway response
+     */
+    private JsonNode verifyPayment(String txnRefs) {
         String hash = hashCal(MERCHANT_KEY + "|"
                 + "verify_payment" + "|"
-                + txnRef + "|"
+                + txnRefs + "|"
                 + MERCHANT_SALT);
 
 
@@ -218,7 +275,7 @@ public class PayuGateway implements Gateway {
             params.add("key", MERCHANT_KEY);
             params.add("command", "verify_payment");
             params.add("hash", hash);
-            params.add("var1", txnRef);
+            params.add("var1", txnRefs);
 
             HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(params, headers);
 
@@ -226,18 +283,10 @@ public class PayuGateway implements Gateway {
 
             log.info(response.getBody());
 
-            JsonNode payuRawResponse = objectMapper.readTree(response.getBody());
-            JsonNode status = payuRawResponse.path("transaction_details").path(txnRef);
-
-            if(status.isNull())
-                throw new CustomException("FAILED_TO_FETCH_STATUS_FROM_GATEWAY",
-                        "Unable to fetch status from payment gateway for txnid: "+ currentStatus.getTxnId());
-            PayuResponse payuResponse = objectMapper.treeToValue(status, PayuResponse.class);
-
-            return transformRawResponse(payuResponse, currentStatus);
+            return objectMapper.readTree(response.getBody());
 
         }catch (RestClientException | IOException e){
-            log.error("Unable to fetch status from payment gateway for txnid: "+ currentStatus.getTxnId(), e);
+            log.error("Unable to fetch status from payment gateway for txnid: "+ txnRefs, e);
             throw new ServiceCallException("Error occurred while fetching status from payment gateway");
         }
     }
@@ -5,11 +5,8 @@ import org.egov.common.contract.request.PlainAccessRequest;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
 import org.egov.pg.config.AppProperties;
-import org.egov.pg.constants.PgConstants;
-import org.egov.pg.models.Transaction;
-import org.egov.pg.repository.TransactionRepository;
-import org.egov.pg.service.TransactionService;
-import org.egov.pg.web.models.TransactionCriteria;
+import org.egov.pg.service.reconciliation.ReconciliationService;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -18,7 +15,6 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,8 +22,11 @@ import java.util.concurrent.TimeUnit;
  */
 @Component
 @Slf4j
+@DisallowConcurrentExecution
 public class EarlyReconciliationJob implements Job {
 
+    private static final String JOB_NAME = "early-reconciliation";
+
     private static RequestInfo requestInfo;
 
     @PostConstruct
@@ -42,9 +41,7 @@ public class EarlyReconciliationJob implements Job {
     @Autowired
     private AppProperties appProperties;
     @Autowired
-    private TransactionService transactionService;
-    @Autowired
-    private TransactionRepository transactionRepository;
+    private ReconciliationService reconciliationService;
 
     /**
      * Fetch live status for pending transactions
@@ -60,19 +57,9 @@ public class EarlyReconciliationJob implements Job {
         startTime = appProperties.getEarlyReconcileJobRunInterval() * 2;
         endTime = startTime - appProperties.getEarlyReconcileJobRunInterval();
 
-        List<Transaction> pendingTxns = transactionRepository.fetchTransactionsByTimeRange(TransactionCriteria.builder()
-                        .txnStatus(Transaction.TxnStatusEnum.PENDING).build(),
+        reconciliationService.reconcile(JOB_NAME, requestInfo,
                 System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(startTime),
                 System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(endTime));
-
-        log.info("Attempting to reconcile {} pending transactions", pendingTxns.size());
-
-        for (Transaction txn : pendingTxns) {
-            log.info(transactionService.updateTransaction(requestInfo, Collections.singletonMap(PgConstants.PG_TXN_IN_LABEL, txn
-                    .getTxnId
-                    ())).toString());
-        }
-
     }
 
 }
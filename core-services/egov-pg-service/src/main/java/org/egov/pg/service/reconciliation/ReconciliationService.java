@@ -0,0 +1,231 @@
+package org.egov.pg.service.reconciliation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.pg.config.AppProperties;
+import org.egov.pg.models.ReconciliationCheckpoint;
+import org.egov.pg.models.Transaction;
+import org.egov.pg.repository.ReconciliationCheckpointRepository;
+import org.egov.pg.repository.TransactionRepository;
+import org.egov.pg.service.GatewayService;
+import org.egov.pg.service.TransactionService;
+import org.egov.pg.web.models.TransactionCriteria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reconciles pending transactions with their gateways
+ * <p>
+ * Pending transactions are read page by page in the order of their creation, the status of the transactions of a
+ * page is fetched concurrently from the gateways, each gateway limited to its own rate of calls. Gateways with a bulk
+ * status API are called once for a batch of transactions. Once a page is reconciled the last transaction of the page
+ * is checkpointed, a run that fails or is stopped midway is resumed from its checkpoint by the next run of the job.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    static final String TRANSACTIONS_METRIC = "pg.reconciliation.transactions";
+
+    static final String GATEWAY_CALLS_METRIC = "pg.reconciliation.gateway.calls";
+
+    static final String RUNS_METRIC = "pg.reconciliation.runs";
+
+    private static final String RATE_LIMIT_PROPERTY_PREFIX = "pg.reconciliation.rate.limit.";
+
+    private final TransactionRepository transactionRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final TransactionService transactionService;
+    private final GatewayService gatewayService;
+    private final AppProperties appProperties;
+    private final Environment environment;
+    private final Executor reconciliationExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> rateLimiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    ReconciliationService(TransactionRepository transactionRepository,
+                          ReconciliationCheckpointRepository checkpointRepository,
+                          TransactionService transactionService, GatewayService gatewayService,
+                          AppProperties appProperties, Environment environment,
+                          @Qualifier("reconciliationExecutor") Executor reconciliationExecutor,
+                          MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionService = transactionService;
+        this.gatewayService = gatewayService;
+        this.appProperties = appProperties;
+        this.environment = environment;
+        this.reconciliationExecutor = reconciliationExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reconciles the transactions pending in the time range, resuming the previous run of the job if it did not
+     * complete
+     *
+     * @param jobName     Name of the job the progress is checkpointed under
+     * @param requestInfo Request info the transactions are updated with
+     * @param startTime   Start of the range of creation times of the transactions
+     * @param endTime     End of the range of creation times of the transactions
+     * @return Progress of the run
+     */
+    public ReconciliationCheckpoint reconcile(String jobName, RequestInfo requestInfo, long startTime, long endTime) {
+        ReconciliationCheckpoint checkpoint = checkpointRepository.find(jobName)
+                .filter(previous -> previous.getStatus() == ReconciliationCheckpoint.StatusEnum.RUNNING)
+                .orElse(null);
+        if (checkpoint != null) {
+            log.info("Resuming reconciliation job {} after transaction {}", jobName, checkpoint.getLastTxnId());
+        } else {
+            checkpoint = ReconciliationCheckpoint.builder()
+                    .jobName(jobName)
+                    .status(ReconciliationCheckpoint.StatusEnum.RUNNING)
+                    .startedTime(System.currentTimeMillis())
+                    .build();
+            checkpointRepository.save(checkpoint);
+        }
+
+        long runStartNanos = System.nanoTime();
+        long processedBefore = checkpoint.getProcessed();
+        long failedBefore = checkpoint.getFailed();
+        int pageSize = appProperties.getReconciliationPageSize();
+        TransactionCriteria criteria = TransactionCriteria.builder().txnStatus(Transaction.TxnStatusEnum.PENDING).build();
+
+        List<Transaction> page;
+        do {
+            page = transactionRepository.fetchTransactionsPage(criteria, startTime, endTime,
+                    checkpoint.getLastCreatedTime(), checkpoint.getLastTxnId(), pageSize);
+            if (page.isEmpty())
+                break;
+
+            int failed = reconcilePage(jobName, requestInfo, page);
+
+            Transaction last = page.get(page.size() - 1);
+            checkpoint.setLastCreatedTime(last.getAuditDetails().getCreatedTime());
+            checkpoint.setLastTxnId(last.getTxnId());
+            checkpoint.setProcessed(checkpoint.getProcessed() + page.size());
+            checkpoint.setFailed(checkpoint.getFailed() + failed);
+            checkpointRepository.save(checkpoint);
+        } while (page.size() == pageSize);
+
+        checkpoint.setStatus(ReconciliationCheckpoint.StatusEnum.COMPLETED);
+        checkpointRepository.save(checkpoint);
+
+        long elapsedNanos = System.nanoTime() - runStartNanos;
+        long processed = checkpoint.getProcessed() - processedBefore;
+        meterRegistry.timer(RUNS_METRIC, "job", jobName).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Reconciliation job {} processed {} pending transactions in {} ms, {} per second, {} failed",
+                jobName, processed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", processed * 1e9 / Math.max(elapsedNanos, 1)),
+                checkpoint.getFailed() - failedBefore);
+        return checkpoint;
+    }
+
+    /**
+     * Reconciles the transactions of a page, the batches of the different gateways are interleaved so that a slow or
+     * rate limited gateway does not hold up the others
+     *
+     * @return Number of transactions that could not be reconciled
+     */
+    private int reconcilePage(String jobName, RequestInfo requestInfo, List<Transaction> page) {
+        Map<String, List<Transaction>> txnsByGateway = page.stream()
+                .collect(Collectors.groupingBy(Transaction::getGateway, LinkedHashMap::new, Collectors.toList()));
+
+        List<Deque<List<Transaction>>> gatewayBatches = new ArrayList<>();
+        txnsByGateway.forEach((gateway, txns) -> {
+            int batchSize = gatewayService.supportsBulkStatus(gateway) ?
+                    Math.max(appProperties.getReconciliationBulkStatusSize(), 1) : 1;
+            Deque<List<Transaction>> batches = new ArrayDeque<>();
+            for (int from = 0; from < txns.size(); from += batchSize)
+                batches.add(txns.subList(from, Math.min(from + batchSize, txns.size())));
+            gatewayBatches.add(batches);
+        });
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        while (!gatewayBatches.isEmpty()) {
+            Iterator<Deque<List<Transaction>>> iterator = gatewayBatches.iterator();
+            while (iterator.hasNext()) {
+                Deque<List<Transaction>> batches = iterator.next();
+                List<Transaction> batch = batches.poll();
+                results.add(CompletableFuture.supplyAsync(() -> reconcileBatch(jobName, requestInfo, batch),
+                        reconciliationExecutor));
+                if (batches.isEmpty())
+                    iterator.remove();
+            }
+        }
+
+        return results.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    /**
+     * Reconciles a batch of transactions of a gateway once the rate limit of the gateway allows
+     *
+     * @return Number of transactions that could not be reconciled
+     */
+    private int reconcileBatch(String jobName, RequestInfo requestInfo, List<Transaction> batch) {
+        String gateway = batch.get(0).getGateway();
+        int failed = batch.size();
+        try {
+            getRateLimiter(gateway).acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while reconciling transactions of gateway {}", gateway);
+            countTransactions(jobName, gateway, 0, failed);
+            return failed;
+        }
+
+        long startNanos = System.nanoTime();
+        String outcome = "success";
+        try {
+            List<Transaction> updatedTxns = transactionService.reconcileTransactions(requestInfo, batch);
+            updatedTxns.forEach(txn -> log.info(txn.toString()));
+            failed = batch.size() - updatedTxns.size();
+        } catch (Exception e) {
+            outcome = "error";
+            log.error("Unable to reconcile transactions " + batch.stream().map(Transaction::getTxnId)
+                    .collect(Collectors.joining(",")) + " of gateway " + gateway, e);
+        }
+        meterRegistry.timer(GATEWAY_CALLS_METRIC, "gateway", gateway, "bulk", String.valueOf(batch.size() > 1),
+                "outcome", outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        countTransactions(jobName, gateway, batch.size() - failed, failed);
+        return failed;
+    }
+
+    private void countTransactions(String jobName, String gateway, int reconciled, int failed) {
+        meterRegistry.counter(TRANSACTIONS_METRIC, "job", jobName, "gateway", gateway, "outcome", "reconciled")
+                .increment(reconciled);
+        meterRegistry.counter(TRANSACTIONS_METRIC, "job", jobName, "gateway", gateway, "outcome", "failed")
+                .increment(failed);
+    }
+
+    /**
+     * Rate limiter of the gateway, allowing pg.reconciliation.rate.limit.[gateway] status calls per second, the
+     * default rate limit when not set for the gateway
+     */
+    private TokenBucket getRateLimiter(String gateway) {
+        return rateLimiters.computeIfAbsent(gateway.toUpperCase(), key -> {
+            double ratePerSecond = environment.getProperty(RATE_LIMIT_PROPERTY_PREFIX + key.toLowerCase(),
+                    Double.class, appProperties.getReconciliationDefaultRateLimit());
+            return new TokenBucket(ratePerSecond, ratePerSecond);
+        });
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.egov.pg.service.reconciliation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the rate of calls to a gateway
+ * <p>
+ * The bucket refills at the given rate up to its capacity, which is the burst of calls allowed after a quiet period.
+ * A caller finding the bucket empty reserves the next token and waits for it, so waiting callers are served in the
+ * order they arrived without polling. A rate of zero or less disables the limit.
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double ratePerSecond;
+
+    private final double capacity;
+
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    TokenBucket(double ratePerSecond, double capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, double capacity, LongSupplier nanoClock) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = Math.max(capacity, 1);
+        this.nanoClock = nanoClock;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token, waiting until it is available
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0)
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    /**
+     * Takes a token, the bucket goes into debt when it is empty
+     *
+     * @return nanos to wait until the token is available
+     */
+    synchronized long reserve() {
+        if (ratePerSecond <= 0)
+            return 0;
+
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerSecond / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+}
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_eg_pg_transactions_status_created ON eg_pg_transactions (txn_status, created_time, txn_id);
+
+CREATE TABLE IF NOT EXISTS "eg_pg_reconciliation_checkpoint" (
+	"job_name" VARCHAR(128) NOT NULL,
+	"status" VARCHAR(64) NOT NULL,
+	"last_created_time" bigint NULL DEFAULT NULL,
+	"last_txn_id" VARCHAR(128) NULL DEFAULT NULL,
+	"processed" bigint NOT NULL DEFAULT 0,
+	"failed" bigint NOT NULL DEFAULT 0,
+	"started_time" bigint,
+	"last_modified_time" bigint,
+	PRIMARY KEY ("job_name")
+);
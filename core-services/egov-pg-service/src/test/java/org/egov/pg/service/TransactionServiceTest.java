@@ -27,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -34,6 +35,8 @@ import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -233,4 +236,58 @@ public class TransactionServiceTest {
 
         transactionService.updateTransaction(requestInfo, Collections.singletonMap("abc", "PT_001"));
     }
+
+    /**
+     * A transaction read as pending for reconciliation and completed meanwhile is not updated again
+     */
+    @Test
+    public void reconcileTransactionsSkipsNoLongerPendingTest() {
+        Transaction staleTxn = Transaction.builder().txnId("PT_001").txnAmount("100").gateway("PAYU")
+                .txnStatus(TxnStatusEnum.PENDING).build();
+        Transaction latestTxn = Transaction.builder().txnId("PT_001").txnAmount("100").gateway("PAYU")
+                .txnStatus(TxnStatusEnum.SUCCESS).receipt("PT/107/2026").build();
+        Transaction liveTxn = Transaction.builder().txnId("PT_001").txnAmount("100.00")
+                .txnStatus(TxnStatusEnum.SUCCESS).build();
+
+        when(validator.skipGateway(any(Transaction.class))).thenReturn(false);
+        when(gatewayService.getLiveStatuses("PAYU", Collections.singletonList(staleTxn)))
+                .thenReturn(Collections.singletonMap("PT_001", liveTxn));
+        when(transactionRepository.fetchTransactions(any(TransactionCriteria.class)))
+                .thenReturn(Collections.singletonList(latestTxn));
+
+        List<Transaction> txns = transactionService.reconcileTransactions(requestInfo, Collections.singletonList(staleTxn));
+
+        assertEquals(1, txns.size());
+        assertEquals(latestTxn, txns.get(0));
+        verify(validator, never()).shouldGenerateReceipt(any(Transaction.class), any(Transaction.class));
+        verify(paymentsService, never()).registerPayment(any(TransactionRequest.class));
+        verify(producer, never()).push(any(), any(), any());
+    }
+
+    /**
+     * The receipt decision of a reconciled transaction is taken against its status re-read from the DB
+     */
+    @Test
+    public void reconcileTransactionsDecidesOnLatestStatusTest() {
+        Transaction staleTxn = Transaction.builder().txnId("PT_001").txnAmount("100").gateway("PAYU")
+                .txnStatus(TxnStatusEnum.PENDING).build();
+        Transaction latestTxn = Transaction.builder().txnId("PT_001").txnAmount("100").gateway("PAYU")
+                .txnStatus(TxnStatusEnum.PENDING).gatewayTxnId("403993715521937565").build();
+        Transaction liveTxn = Transaction.builder().txnId("PT_001").txnAmount("100.00")
+                .txnStatus(TxnStatusEnum.SUCCESS).build();
+
+        when(validator.skipGateway(any(Transaction.class))).thenReturn(false);
+        when(gatewayService.getLiveStatuses("PAYU", Collections.singletonList(staleTxn)))
+                .thenReturn(Collections.singletonMap("PT_001", liveTxn));
+        when(transactionRepository.fetchTransactions(any(TransactionCriteria.class)))
+                .thenReturn(Collections.singletonList(latestTxn));
+        when(validator.shouldGenerateReceipt(latestTxn, liveTxn)).thenReturn(true);
+
+        List<Transaction> txns = transactionService.reconcileTransactions(requestInfo, Collections.singletonList(staleTxn));
+
+        assertEquals(1, txns.size());
+        assertEquals(TxnStatusEnum.SUCCESS, txns.get(0).getTxnStatus());
+        verify(validator).shouldGenerateReceipt(latestTxn, liveTxn);
+        verify(paymentsService).registerPayment(any(TransactionRequest.class));
+    }
 }
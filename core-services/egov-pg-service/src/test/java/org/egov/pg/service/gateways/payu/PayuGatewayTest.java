@@ -0,0 +1,96 @@
+package org.egov.pg.service.gateways.payu;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.egov.pg.models.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PayuGatewayTest {
+
+    private static final String BULK_RESPONSE = "{\"status\":1,\"msg\":\"2 out of 3 Transactions Fetched Successfully\"," +
+            "\"transaction_details\":{" +
+            "\"PB_PG_1\":{\"mihpayid\":\"403993715521937565\",\"txnid\":\"PB_PG_1\",\"transaction_amount\":\"100.00\"," +
+            "\"status\":\"success\",\"unmappedstatus\":\"captured\",\"mode\":\"CC\",\"bank_ref_num\":\"3715521937565\"}," +
+            "\"PB_PG_2\":{\"mihpayid\":\"403993715521937566\",\"txnid\":\"PB_PG_2\",\"transaction_amount\":\"50.00\"," +
+            "\"status\":\"failure\",\"unmappedstatus\":\"failed\",\"error_code\":\"E308\"," +
+            "\"error_Message\":\"Bank was unable to authenticate\"}}}";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private PayuGateway payuGateway;
+
+    @Before
+    public void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("payu.active", "true")
+                .withProperty("payu.merchant.key", "KEY")
+                .withProperty("payu.merchant.salt", "SALT")
+                .withProperty("payu.url", "test.payu.in")
+                .withProperty("payu.url.status", "test.payu.in")
+                .withProperty("payu.path.pay", "_payment")
+                .withProperty("payu.path.status", "merchant/postservice.php");
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        payuGateway = new PayuGateway(restTemplate, environment, objectMapper);
+    }
+
+    /**
+     * Statuses of several transactions are parsed out of one verify_payment response, transactions missing from
+     * the response are left out
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void fetchStatusesParsesBulkResponseTest() {
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenReturn(new ResponseEntity<>(BULK_RESPONSE, HttpStatus.OK));
+
+        Map<String, Transaction> statuses = payuGateway.fetchStatuses(Arrays.asList(
+                Transaction.builder().txnId("PB_PG_1").build(),
+                Transaction.builder().txnId("PB_PG_2").build(),
+                Transaction.builder().txnId("PB_PG_3").build()));
+
+        assertEquals(2, statuses.size());
+        assertFalse(statuses.containsKey("PB_PG_3"));
+
+        Transaction success = statuses.get("PB_PG_1");
+        assertEquals(Transaction.TxnStatusEnum.SUCCESS, success.getTxnStatus());
+        assertEquals("100.00", success.getTxnAmount());
+        assertEquals("403993715521937565", success.getGatewayTxnId());
+        assertEquals("CC", success.getGatewayPaymentMode());
+        assertEquals("captured", success.getGatewayStatusCode());
+
+        Transaction failure = statuses.get("PB_PG_2");
+        assertEquals(Transaction.TxnStatusEnum.FAILURE, failure.getTxnStatus());
+        assertEquals("E308", failure.getGatewayStatusCode());
+        assertEquals("Bank was unable to authenticate", failure.getGatewayStatusMsg());
+
+        ArgumentCaptor<HttpEntity> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForEntity(anyString(), request.capture(), eq(String.class));
+        MultiValueMap<String, String> params = (MultiValueMap<String, String>) request.getValue().getBody();
+        assertEquals("verify_payment", params.getFirst("command"));
+        assertEquals("PB_PG_1|PB_PG_2|PB_PG_3", params.getFirst("var1"));
+    }
+}
@@ -0,0 +1,121 @@
+package org.egov.pg.service.reconciliation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.pg.config.AppProperties;
+import org.egov.pg.models.AuditDetails;
+import org.egov.pg.models.ReconciliationCheckpoint;
+import org.egov.pg.models.Transaction;
+import org.egov.pg.repository.ReconciliationCheckpointRepository;
+import org.egov.pg.repository.TransactionRepository;
+import org.egov.pg.service.GatewayService;
+import org.egov.pg.service.TransactionService;
+import org.egov.pg.web.models.TransactionCriteria;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReconciliationServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ReconciliationCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private GatewayService gatewayService;
+
+    @Mock
+    private AppProperties appProperties;
+
+    private RequestInfo requestInfo;
+
+    private ReconciliationService reconciliationService;
+
+    @Before
+    public void setUp() {
+        requestInfo = new RequestInfo("", "", 0L, "", "", "", "", "", "", null, null);
+        lenient().when(appProperties.getReconciliationPageSize()).thenReturn(3);
+        lenient().when(appProperties.getReconciliationBulkStatusSize()).thenReturn(2);
+        lenient().when(appProperties.getReconciliationDefaultRateLimit()).thenReturn(0.0);
+        lenient().when(gatewayService.supportsBulkStatus("PAYU")).thenReturn(true);
+        lenient().when(transactionService.reconcileTransactions(any(RequestInfo.class), any(List.class)))
+                .thenAnswer(invocation -> invocation.getArguments()[1]);
+
+        reconciliationService = new ReconciliationService(transactionRepository, checkpointRepository,
+                transactionService, gatewayService, appProperties, new MockEnvironment(), Runnable::run,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testReconcilesPagesAndCheckpointsLastTransaction() {
+        when(checkpointRepository.find("early")).thenReturn(Optional.empty());
+        when(transactionRepository.fetchTransactionsPage(any(TransactionCriteria.class), eq(10L), eq(20L),
+                isNull(Long.class), isNull(String.class), eq(3)))
+                .thenReturn(Arrays.asList(txn("PB_1", "PAYU", 11L), txn("PB_2", "AXIS", 12L), txn("PB_3", "PAYU", 12L)));
+        when(transactionRepository.fetchTransactionsPage(any(TransactionCriteria.class), eq(10L), eq(20L),
+                eq(12L), eq("PB_3"), eq(3)))
+                .thenReturn(Collections.singletonList(txn("PB_4", "AXIS", 15L)));
+
+        ReconciliationCheckpoint checkpoint = reconciliationService.reconcile("early", requestInfo, 10L, 20L);
+
+        assertEquals(ReconciliationCheckpoint.StatusEnum.COMPLETED, checkpoint.getStatus());
+        assertEquals("PB_4", checkpoint.getLastTxnId());
+        assertEquals(Long.valueOf(15L), checkpoint.getLastCreatedTime());
+        assertEquals(4, checkpoint.getProcessed());
+        assertEquals(0, checkpoint.getFailed());
+        // both PAYU transactions of the first page in one bulk call, the AXIS ones one by one
+        verify(transactionService, times(3)).reconcileTransactions(any(RequestInfo.class), any(List.class));
+    }
+
+    @Test
+    public void testResumesRunningCheckpointAndCountsFailures() {
+        ReconciliationCheckpoint previous = ReconciliationCheckpoint.builder().jobName("daily")
+                .status(ReconciliationCheckpoint.StatusEnum.RUNNING).lastCreatedTime(5L).lastTxnId("PB_0")
+                .processed(10).build();
+        when(checkpointRepository.find("daily")).thenReturn(Optional.of(previous));
+        when(transactionRepository.fetchTransactionsPage(any(TransactionCriteria.class), anyLong(), anyLong(),
+                eq(5L), eq("PB_0"), anyInt()))
+                .thenReturn(Collections.singletonList(txn("PB_1", "AXIS", 6L)));
+        when(transactionService.reconcileTransactions(any(RequestInfo.class), any(List.class)))
+                .thenThrow(new RuntimeException("gateway down"));
+
+        ReconciliationCheckpoint checkpoint = reconciliationService.reconcile("daily", requestInfo, 0L, 20L);
+
+        assertEquals(ReconciliationCheckpoint.StatusEnum.COMPLETED, checkpoint.getStatus());
+        assertEquals(11, checkpoint.getProcessed());
+        assertEquals(1, checkpoint.getFailed());
+        assertEquals("PB_1", checkpoint.getLastTxnId());
+    }
+
+    private Transaction txn(String txnId, String gateway, Long createdTime) {
+        return Transaction.builder().txnId(txnId).gateway(gateway).txnAmount("100")
+                .txnStatus(Transaction.TxnStatusEnum.PENDING)
+                .auditDetails(AuditDetails.builder().createdTime(createdTime).build())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package org.egov.pg.service.reconciliation;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstUpToCapacityThenWaitsForRefill() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 2, clock::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(SECOND / 2, bucket.reserve());
+        assertEquals(SECOND, bucket.reserve());
+    }
+
+    @Test
+    public void testRefillsOverTimeUpToCapacity() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 2, clock::get);
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.addAndGet(10 * SECOND);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(SECOND / 2, bucket.reserve());
+    }
+
+    @Test
+    public void testNoLimitWithoutRate() {
+        TokenBucket bucket = new TokenBucket(0, 0, () -> 0L);
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(0, bucket.reserve());
+    }
+}
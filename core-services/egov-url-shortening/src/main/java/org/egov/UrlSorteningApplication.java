@@ -1,14 +1,28 @@
 package org.egov;
 
+import java.util.concurrent.TimeUnit;
+
+import org.cache2k.extra.spring.SpringCache2kCacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootApplication
+@EnableCaching
 public class UrlSorteningApplication {
 
+	@Value("${url.redirect.cache.ttl.secs}")
+	private long redirectCacheTtl;
+
+	@Value("${url.redirect.cache.max.entries}")
+	private long redirectCacheMaxEntries;
+
 	public static void main(String[] args) {
 		SpringApplication.run(UrlSorteningApplication.class, args);
 	}
@@ -17,4 +31,12 @@ public class UrlSorteningApplication {
 	public ObjectMapper getObjectMapper() {
 		return new ObjectMapper();
 	}
+
+	@Bean
+	@Profile("!test")
+	public CacheManager cacheManager() {
+		return new SpringCache2kCacheManager()
+				.addCaches(b->b.name("redirectUrls").expireAfterWrite(redirectCacheTtl, TimeUnit.SECONDS)
+						.entryCapacity(redirectCacheMaxEntries));
+	}
 }
@@ -2,6 +2,7 @@ package org.egov.url.shortening.controller;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
@@ -11,6 +12,7 @@ import javax.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.utils.MultiStateInstanceUtil;
 import org.egov.tracer.model.CustomException;
+import org.egov.url.shortening.model.BulkShortenRequest;
 import org.egov.url.shortening.model.ShortenRequest;
 import org.egov.url.shortening.service.URLConverterService;
 import org.egov.url.shortening.validator.URLValidator;
@@ -35,6 +37,9 @@ public class ShortenController {
     @Value("${is.environment.multi.instance:false}")
     private Boolean multiInstance;
 
+    @Value("${url.shortener.bulk.max.size:10000}")
+    private Integer bulkMaxSize;
+
     public ShortenController(URLConverterService urlConverterService) {
         this.urlConverterService = urlConverterService;
     }
@@ -43,19 +48,7 @@ public class ShortenController {
     public String shortenUrl(@RequestBody @Valid final ShortenRequest shortenRequest,
                              @RequestHeader Map<String,String> headers) throws Exception {
         log.info(headers.toString());
-        // ULB specific tenantId
-        String tenantId;
-        if(!multiInstance){
-            tenantId = stateTenantId;
-        }
-        else {
-            // Extracting state specific tenantId from ULB level tenant
-            if(headers.get("tenantid") == null){
-                throw new CustomException("INVALID_TENANTID","TenantId not present in header");
-            }
-            String ulbSpecificTenantId = headers.get("tenantid");
-            tenantId = multiStateInstanceUtil.getStateLevelTenant(ulbSpecificTenantId);
-        }
+        String tenantId = getStateTenantId(headers);
 
         String longUrl = shortenRequest.getUrl();
         if (URLValidator.INSTANCE.validateURL(longUrl)) {
@@ -65,6 +58,37 @@ public class ShortenController {
         throw new CustomException("URL_SHORTENING_INVALID_URL","Please enter a valid URL");
     }
 
+    @RequestMapping(value = "/shortener/_bulkshorten", method=RequestMethod.POST, consumes = {"application/json"})
+    public List<String> bulkShortenUrls(@RequestBody @Valid final BulkShortenRequest bulkShortenRequest,
+                                        @RequestHeader Map<String,String> headers) {
+        String tenantId = getStateTenantId(headers);
+
+        List<ShortenRequest> shortenRequests = bulkShortenRequest.getUrls();
+        if (shortenRequests.size() > bulkMaxSize) {
+            throw new CustomException("URL_SHORTENING_BULK_LIMIT_EXCEEDED",
+                    "At most " + bulkMaxSize + " urls can be shortened in one request");
+        }
+        for (int i = 0; i < shortenRequests.size(); i++) {
+            if (!URLValidator.INSTANCE.validateURL(shortenRequests.get(i).getUrl())) {
+                throw new CustomException("URL_SHORTENING_INVALID_URL", "Please enter a valid URL at index " + i);
+            }
+        }
+        return urlConverterService.shortenURLs(shortenRequests, tenantId, multiInstance);
+    }
+
+    private String getStateTenantId(Map<String,String> headers) {
+        // ULB specific tenantId
+        if(!multiInstance){
+            return stateTenantId;
+        }
+        // Extracting state specific tenantId from ULB level tenant
+        if(headers.get("tenantid") == null){
+            throw new CustomException("INVALID_TENANTID","TenantId not present in header");
+        }
+        String ulbSpecificTenantId = headers.get("tenantid");
+        return multiStateInstanceUtil.getStateLevelTenant(ulbSpecificTenantId);
+    }
+
     @RequestMapping(value = "/{id}", method=RequestMethod.GET)
     public RedirectView redirectUrl(@PathVariable String id, HttpServletRequest request) throws IOException, URISyntaxException, Exception {
         String redirectUrlString = urlConverterService.getLongURLFromID(id);
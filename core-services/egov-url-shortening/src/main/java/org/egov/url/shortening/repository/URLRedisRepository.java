@@ -1,5 +1,10 @@
 package org.egov.url.shortening.repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.egov.url.shortening.model.ShortenRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,4 +65,23 @@ public class URLRedisRepository implements URLRepository {
         }
         return url;
     }
+
+    @Override
+    public List<Long> incrementIDs(int count) {
+        Long last = jedis.incrBy(idKey, count);
+        List<Long> ids = new ArrayList<>(count);
+        for (long id = last - count; id < last; id++)
+            ids.add(id);
+        LOGGER.info("Allocated IDs {} to {}", last - count, last - 1);
+        return ids;
+    }
+
+    @Override
+    public void saveUrls(Map<String, ShortenRequest> shortenRequests) throws JsonProcessingException {
+        Map<String, String> values = new HashMap<>(shortenRequests.size() * 2);
+        for (Map.Entry<String, ShortenRequest> entry : shortenRequests.entrySet())
+            values.put(entry.getKey(), objectMapper.writeValueAsString(entry.getValue()));
+        LOGGER.info("Saving {} urls", values.size());
+        jedis.hmset(urlKey, values);
+    }
 }
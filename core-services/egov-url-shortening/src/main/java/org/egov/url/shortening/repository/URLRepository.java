@@ -1,5 +1,10 @@
 package org.egov.url.shortening.repository;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.egov.url.shortening.model.ShortenRequest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -10,4 +15,21 @@ public interface URLRepository {
 	 public void saveUrl(String key, ShortenRequest shortenRequest)throws JsonProcessingException ;
 	 public String getUrl(Long id) throws Exception ;
 
+	 /**
+	  * Allocates a block of ids in one call
+	  */
+	 public List<Long> incrementIDs(int count);
+
+	 /**
+	  * Saves the requests keyed by their keys in one batch
+	  */
+	 public void saveUrls(Map<String, ShortenRequest> shortenRequests) throws JsonProcessingException ;
+
+	 /**
+	  * Finds the stored requests for any of the urls, with their key as id
+	  */
+	 default List<ShortenRequest> findByUrls(Collection<String> urls) {
+		 return Collections.emptyList();
+	 }
+
 }
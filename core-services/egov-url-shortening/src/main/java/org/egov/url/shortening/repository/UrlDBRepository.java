@@ -2,6 +2,11 @@ package org.egov.url.shortening.repository;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.egov.url.shortening.model.ShortenRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +14,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -70,4 +77,41 @@ public class UrlDBRepository implements URLRepository{
         return url;
     }
 
+	@Override
+	public List<Long> incrementIDs(int count) {
+		String query = "SELECT nextval('eg_url_shorter_id') FROM generate_series(1, ?)";
+		List<Long> ids = jdbcTemplate.queryForList(query, new Object[] {count}, Long.class);
+		List<Long> allocated = new ArrayList<>(ids.size());
+		for (Long id : ids)
+			allocated.add(id - 1);
+		log.info("Allocated {} IDs", allocated.size());
+		return allocated;
+	}
+
+	@Override
+	public void saveUrls(Map<String, ShortenRequest> shortenRequests) {
+		String query = "INSERT INTO eg_url_shortener "
+				+ "(id,validform,validto,url) "
+				+ "values (?,?,?,?)";
+		List<Object[]> rows = new ArrayList<>(shortenRequests.size());
+		shortenRequests.forEach((key, shortenRequest) -> rows.add(new Object[] {key,
+				shortenRequest.getValidFrom(), shortenRequest.getValidTill(), shortenRequest.getUrl()}));
+		jdbcTemplate.batchUpdate(query, rows);
+		log.info("Saved {} urls", rows.size());
+	}
+
+	@Override
+	public List<ShortenRequest> findByUrls(Collection<String> urls) {
+		if (urls.isEmpty())
+			return Collections.emptyList();
+		String query = "SELECT id, url, validform, validto FROM eg_url_shortener WHERE url IN (:urls)";
+		return new NamedParameterJdbcTemplate(jdbcTemplate).query(query, new MapSqlParameterSource("urls", urls),
+				(rs, rowNum) -> ShortenRequest.builder()
+						.id(rs.getString("id"))
+						.url(rs.getString("url"))
+						.validFrom((Long) rs.getObject("validform"))
+						.validTill((Long) rs.getObject("validto"))
+						.build());
+	}
+
 }
@@ -1,8 +1,13 @@
 package org.egov.url.shortening.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 import javax.annotation.PostConstruct;
@@ -20,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Service;
 
@@ -63,9 +69,15 @@ public class URLConverterService {
     @Value("${url.shorten.indexer.topic}")
     private String kafkaTopic;
     
+    @Value("${url.shortener.bulk.batch.size:1000}")
+    private Integer bulkBatchSize;
+
+    @Value("${url.shortener.dedup.enabled:false}")
+    private Boolean isDedupEnabled;
+
     @Autowired
     private HashIdConverter hashIdConverter;
-    
+
     private ObjectMapper objectMapper;
 
     private RestTemplate restTemplate;
@@ -101,6 +113,74 @@ public class URLConverterService {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
+        return getShortUrlPrefix(tenantId, multiInstance) + uniqueID;
+    }
+
+    /**
+     * Shortens the urls in batches, allocating the ids of a batch at once and saving the batch in one call
+     *
+     * When dedup is enabled, urls with the same validity as a url already stored or earlier in the request are given
+     * the short url of that url.
+     *
+     * @return the short urls in the order of the requests
+     */
+    public List<String> shortenURLs(List<ShortenRequest> shortenRequests, String tenantId, Boolean multiInstance) {
+        LOGGER.info("Shortening {} urls", shortenRequests.size());
+        String prefix = getShortUrlPrefix(tenantId, multiInstance);
+
+        Map<List<Object>, Long> ids = new HashMap<>();
+        if (isDedupEnabled) {
+            Set<String> urls = new LinkedHashSet<>();
+            shortenRequests.forEach(shortenRequest -> urls.add(shortenRequest.getUrl()));
+            for (ShortenRequest stored : urlRepository.findByUrls(urls)) {
+                ids.putIfAbsent(getDedupKey(stored), Long.valueOf(stored.getId().substring("url:".length())));
+            }
+        }
+
+        List<String> shortenedUrls = new ArrayList<>(shortenRequests.size());
+        for (int from = 0; from < shortenRequests.size(); from += bulkBatchSize) {
+            List<ShortenRequest> batch = shortenRequests.subList(from,
+                    Math.min(from + bulkBatchSize, shortenRequests.size()));
+
+            List<ShortenRequest> unsaved = new ArrayList<>(batch.size());
+            Set<List<Object>> unsavedKeys = new LinkedHashSet<>();
+            for (ShortenRequest shortenRequest : batch) {
+                if (!isDedupEnabled) {
+                    unsaved.add(shortenRequest);
+                } else if (!ids.containsKey(getDedupKey(shortenRequest))
+                        && unsavedKeys.add(getDedupKey(shortenRequest))) {
+                    unsaved.add(shortenRequest);
+                }
+            }
+
+            List<Long> allocated = unsaved.isEmpty() ? new ArrayList<>() : urlRepository.incrementIDs(unsaved.size());
+            Map<String, ShortenRequest> toSave = new LinkedHashMap<>();
+            for (int i = 0; i < unsaved.size(); i++) {
+                toSave.put("url:" + allocated.get(i), unsaved.get(i));
+                if (isDedupEnabled)
+                    ids.put(getDedupKey(unsaved.get(i)), allocated.get(i));
+            }
+            if (!toSave.isEmpty()) {
+                try {
+                    urlRepository.saveUrls(toSave);
+                } catch (JsonProcessingException e) {
+                    throw new CustomException("URL_SHORTENING_SAVE_ERR", "Failed to save the urls: " + e.getMessage());
+                }
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                Long id = isDedupEnabled ? ids.get(getDedupKey(batch.get(i))) : allocated.get(i);
+                shortenedUrls.add(prefix + hashIdConverter.createHashStringForId(id));
+            }
+        }
+        return shortenedUrls;
+    }
+
+    private List<Object> getDedupKey(ShortenRequest shortenRequest) {
+        return Arrays.asList(shortenRequest.getUrl(), shortenRequest.getValidFrom(), shortenRequest.getValidTill());
+    }
+
+    private String getShortUrlPrefix(String tenantId, Boolean multiInstance) {
         StringBuilder shortenedUrl = new StringBuilder();
 
         String stateSpecificHostName;
@@ -122,11 +202,14 @@ public class URLConverterService {
         if(!serverContextPath.endsWith("/")) {
         	shortenedUrl.append("/");
         }
-    	shortenedUrl.append(uniqueID);
     	
         return shortenedUrl.toString();
     }
 
+    /**
+     * Resolves the long url of a short url, cached as stored urls never change
+     */
+    @Cacheable(value = "redirectUrls", sync = true)
     public String getLongURLFromID(String uniqueID) throws Exception {
         Long dictionaryKey = hashIdConverter.getIdForString(uniqueID);
         // To support previously generated dictionary keys
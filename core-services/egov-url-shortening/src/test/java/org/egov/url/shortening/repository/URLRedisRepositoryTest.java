@@ -13,6 +13,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import redis.clients.jedis.Jedis;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -61,5 +63,11 @@ public class URLRedisRepositoryTest {
                         .longValue());
         verify(jedis).incr((String) any());
     }
-}
 
+    @Test
+    void IncrementIDs() {
+        Jedis jedis = mock(Jedis.class);
+        when(jedis.incrBy("id", 3L)).thenReturn(10L);
+        assertEquals(Arrays.asList(7L, 8L, 9L), (new URLRedisRepository(jedis, "id", "url:")).incrementIDs(3));
+    }
+}
@@ -10,6 +10,11 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -57,5 +62,23 @@ class UrlDBRepositoryTest {
         assertThrows(Exception.class, () -> this.urlDBRepository.getUrl(123L));
         verify(this.jdbcTemplate).queryForObject((String) any(), (Object[]) any(), (Class<String>) any());
     }
-}
 
+    @Test
+    void IncrementIDs() throws DataAccessException {
+        when(this.jdbcTemplate.queryForList((String) any(), (Object[]) any(), (Class<Long>) any()))
+                .thenReturn(Arrays.asList(5L, 6L, 7L));
+        assertEquals(Arrays.asList(4L, 5L, 6L), this.urlDBRepository.incrementIDs(3));
+    }
+
+    @Test
+    void SaveUrls() throws DataAccessException {
+        Map<String, ShortenRequest> shortenRequests = new LinkedHashMap<>();
+        shortenRequests.put("url:1", ShortenRequest.builder().url("https://example.org/a").build());
+        shortenRequests.put("url:2", ShortenRequest.builder().url("https://example.org/b").validTill(10L).build());
+        this.urlDBRepository.saveUrls(shortenRequests);
+
+        verify(this.jdbcTemplate).batchUpdate((String) any(), argThat((List<Object[]> rows) -> rows.size() == 2
+                && rows.get(0)[0].equals("url:1") && rows.get(1)[2].equals(10L)
+                && rows.get(1)[3].equals("https://example.org/b")));
+    }
+}
@@ -0,0 +1,97 @@
+package org.egov.url.shortening.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.egov.tracer.model.CustomException;
+import org.egov.url.shortening.producer.Producer;
+import org.egov.url.shortening.repository.URLRepository;
+import org.egov.url.shortening.utils.HashIdConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = URLConverterServiceCachingTest.Config.class)
+@TestPropertySource(properties = {"db.persistance.enabled=true", "egov.ui.app.host.map={'pb':'https://example.org/'}",
+        "server.contextPath=/eus", "state.level.tenant.id=pb", "egov.user.host=http://localhost",
+        "host.name=https://example.org/", "egov.user.search.path=/user/_search", "url.shorten.indexer.topic=url"})
+class URLConverterServiceCachingTest {
+
+    private static final URLRepository urlRepository = mock(URLRepository.class);
+
+    @MockBean
+    private HashIdConverter hashIdConverter;
+
+    @Autowired
+    private URLConverterService urlConverterService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache("redirectUrls").clear();
+        reset(urlRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve a short url from the repository only once")
+    void testGetLongURLFromIDIsCached() throws Exception {
+        when(hashIdConverter.getIdForString("abc")).thenReturn(1L);
+        when(urlRepository.getUrl(1L)).thenReturn("https://example.org/a");
+
+        assertEquals("https://example.org/a", urlConverterService.getLongURLFromID("abc"));
+        assertEquals("https://example.org/a", urlConverterService.getLongURLFromID("abc"));
+
+        verify(urlRepository, times(1)).getUrl(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache a short url that could not be resolved")
+    void testGetLongURLFromIDDoesNotCacheInvalidKeys() throws Exception {
+        when(hashIdConverter.getIdForString("abd")).thenReturn(2L);
+        when(urlRepository.getUrl(2L)).thenReturn("", "https://example.org/b");
+
+        assertThrows(CustomException.class, () -> urlConverterService.getLongURLFromID("abd"));
+        assertEquals("https://example.org/b", urlConverterService.getLongURLFromID("abd"));
+
+        verify(urlRepository, times(2)).getUrl(2L);
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("redirectUrls");
+        }
+
+        @Bean
+        public URLConverterService urlConverterService() {
+            return new URLConverterService(Arrays.asList(urlRepository, mock(URLRepository.class)),
+                    new ObjectMapper(), mock(RestTemplate.class), mock(Producer.class));
+        }
+    }
+}
@@ -19,12 +19,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -223,5 +227,35 @@ public class URLConverterServiceTest {
         shortenRequest.setUrl("");
 
     }
-}
 
+    @Test
+    @DisplayName("Should allocate the ids once per batch and give duplicate urls the same short url")
+    public void testShortenURLsWithDedup() throws Exception {
+        URLRepository repository = mock(URLRepository.class);
+        HashIdConverter converter = mock(HashIdConverter.class);
+        URLConverterService service = new URLConverterService(Collections.singletonList(repository),
+                new ObjectMapper(), mock(RestTemplate.class), new Producer());
+        ReflectionTestUtils.setField(service, "urlRepository", repository);
+        ReflectionTestUtils.setField(service, "hashIdConverter", converter);
+        ReflectionTestUtils.setField(service, "hostName", "https://example.org/");
+        ReflectionTestUtils.setField(service, "serverContextPath", "/eus");
+        ReflectionTestUtils.setField(service, "bulkBatchSize", 2);
+        ReflectionTestUtils.setField(service, "isDedupEnabled", true);
+
+        when(repository.findByUrls(any())).thenReturn(Collections.singletonList(
+                ShortenRequest.builder().id("url:7").url("https://example.org/stored").build()));
+        when(repository.incrementIDs(1)).thenReturn(Collections.singletonList(10L), Collections.singletonList(11L));
+        when(converter.createHashStringForId(anyLong())).thenAnswer(invocation -> "h" + invocation.getArgument(0));
+
+        List<String> shortenedUrls = service.shortenURLs(Arrays.asList(
+                ShortenRequest.builder().url("https://example.org/a").build(),
+                ShortenRequest.builder().url("https://example.org/stored").build(),
+                ShortenRequest.builder().url("https://example.org/a").build(),
+                ShortenRequest.builder().url("https://example.org/b").build()), "pb", false);
+
+        assertEquals(Arrays.asList("https://example.org/eus/h10", "https://example.org/eus/h7",
+                "https://example.org/eus/h10", "https://example.org/eus/h11"), shortenedUrls);
+        verify(repository, times(2)).incrementIDs(1);
+        verify(repository, times(2)).saveUrls(anyMap());
+    }
+}
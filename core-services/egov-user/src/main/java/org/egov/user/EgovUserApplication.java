@@ -1,25 +1,38 @@
 package org.egov.user;
 
 
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 
+import org.cache2k.extra.spring.SpringCache2kCacheManager;
 import org.egov.common.utils.MultiStateInstanceUtil;
 import org.egov.encryption.config.EncryptionConfiguration;
 import org.egov.tracer.config.TracerConfiguration;
+import org.egov.user.domain.service.utils.EncryptionDecryptionUtil;
+import org.egov.user.persistence.repository.UserRepository;
 import org.egov.user.security.CustomAuthenticationKeyGenerator;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.provider.token.TokenStore;
@@ -35,6 +48,7 @@ import lombok.extern.slf4j.Slf4j;
 import redis.clients.jedis.JedisShardInfo;
 
 @SpringBootApplication
+@EnableCaching
 @Slf4j
 @Import({MultiStateInstanceUtil.class, TracerConfiguration.class, EncryptionConfiguration.class})
 public class EgovUserApplication {
@@ -48,6 +62,21 @@ public class EgovUserApplication {
     @Value("${spring.redis.host}")
     private String host;
 
+    @Value("${egov.user.uuid.cache.ttl.ms}")
+    private long userSummaryCacheTtl;
+
+    @Value("${egov.user.uuid.cache.max.size}")
+    private long userSummaryCacheMaxEntries;
+
+    @Value("${egov.user.uuid.cache.eviction.channel}")
+    private String userSummaryEvictionChannel;
+
+    @Value("${egov.user.search.criteria.encryption.cache.ttl.ms}")
+    private long encryptedCriteriaCacheTtl;
+
+    @Value("${egov.user.search.criteria.encryption.cache.size}")
+    private long encryptedCriteriaCacheMaxEntries;
+
     @Autowired
     private CustomAuthenticationKeyGenerator customAuthenticationKeyGenerator;
 
@@ -88,6 +117,55 @@ public class EgovUserApplication {
         return objectMapper;
     }
 
+    /**
+     * Pool the decryption of search results and the filestore url lookups of a search run on, the MDC of the
+     * request thread is carried over to the tasks so that downstream calls carry its correlation id
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userSearchExecutor(@Value("${egov.user.search.pool.size:8}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("user-search-");
+        executor.setTaskDecorator(runnable -> {
+            Map<String, String> contextMap = MDC.getCopyOfContextMap();
+            return () -> {
+                if (contextMap != null)
+                    MDC.setContextMap(contextMap);
+                try {
+                    runnable.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        return executor;
+    }
+
+    @Bean
+    @Profile("!test")
+    public CacheManager cacheManager() {
+        return new SpringCache2kCacheManager()
+                .addCaches(b->b.name(UserRepository.USER_SUMMARY_CACHE).expireAfterWrite(userSummaryCacheTtl, TimeUnit.MILLISECONDS)
+                        .entryCapacity(userSummaryCacheMaxEntries))
+                .addCaches(b->b.name(EncryptionDecryptionUtil.ENCRYPTED_CRITERIA_CACHE).expireAfterWrite(encryptedCriteriaCacheTtl, TimeUnit.MILLISECONDS)
+                        .entryCapacity(encryptedCriteriaCacheMaxEntries));
+    }
+
+    /**
+     * Applies the user summary cache evictions broadcast by every instance, including this one, to the local cache
+     */
+    @Bean
+    @Profile("!test")
+    public RedisMessageListenerContainer userSummaryEvictionListenerContainer(UserRepository userRepository) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory());
+        container.addMessageListener((message, pattern) ->
+                        userRepository.evictLocalUserSummary(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(userSummaryEvictionChannel));
+        return container;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -43,6 +45,7 @@ import org.egov.user.persistence.repository.UserRepository;
 import org.egov.user.web.contract.Otp;
 import org.egov.user.web.contract.OtpValidateRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -99,12 +102,19 @@ public class UserService {
     @Value("${egov.user.pwd.pattern.max.length}")
     private Integer pwdMaxLength;
 
+    @Value("${egov.user.uuid.search.max.size:5000}")
+    private int uuidSearchMaxSize;
+
     @Autowired
     private RestTemplate restTemplate;
 
     @Autowired
     private NotificationUtil notificationUtil;
 
+    @Autowired
+    @Qualifier("userSearchExecutor")
+    private Executor userSearchExecutor;
+
     public UserService(UserRepository userRepository, OtpRepository otpRepository, FileStoreRepository fileRepository, UserUtils userUtils,
                        PasswordEncoder passwordEncoder, EncryptionDecryptionUtil encryptionDecryptionUtil, TokenStore tokenStore,
                        @Value("${default.password.expiry.in.days}") int defaultPasswordExpiryInDays,
@@ -202,7 +212,7 @@ public class UserService {
         	altmobnumber = searchCriteria.getMobileNumber();
         }
 
-        searchCriteria = encryptionDecryptionUtil.encryptObject(searchCriteria, "User", UserSearchCriteria.class);
+        searchCriteria = encryptionDecryptionUtil.encryptSearchCriteria(searchCriteria);
         
         if(altmobnumber!=null) {
         	searchCriteria.setAlternatemobilenumber(altmobnumber);
@@ -212,10 +222,49 @@ public class UserService {
 
         /* decrypt here / final reponse decrypted*/
 
-        list = encryptionDecryptionUtil.decryptObject(list, null, User.class, requestInfo);
+        return decryptAndSetFileStoreUrls(list, true, requestInfo);
+    }
+
+    /**
+     * get the lightweight details of the users with the given uuids in a single lookup, backed by the
+     * near cache of the repository. Photo filestore urls are resolved only when asked for.
+     *
+     * @param uuids uuids of the users
+     * @param includePhotoUrl whether the photo filestore ids are to be resolved to urls
+     * @param requestInfo request info of the caller, used for decryption
+     * @return decrypted users
+     */
+    public List<User> searchUsersByUuids(List<String> uuids, boolean includePhotoUrl, RequestInfo requestInfo) {
+
+        if (uuids.size() > uuidSearchMaxSize)
+            throw new CustomException("INVALID_SEARCH_CRITERIA", "A maximum of " + uuidSearchMaxSize
+                    + " uuids can be searched at once");
 
-        setFileStoreUrlsByFileStoreIds(list);
-        return list;
+        List<User> list = userRepository.findByUuids(uuids);
+
+        return decryptAndSetFileStoreUrls(list, includePhotoUrl, requestInfo);
+    }
+
+    /**
+     * Decrypts the searched users, the photo filestore urls are looked up while the users are being decrypted
+     */
+    private List<User> decryptAndSetFileStoreUrls(List<User> list, boolean includePhotoUrl, RequestInfo requestInfo) {
+        List<String> fileStoreIds = includePhotoUrl ? getFileStoreIds(list) : Collections.emptyList();
+        CompletableFuture<Map<String, String>> fileStoreUrls = isEmpty(fileStoreIds)
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> getFileStoreUrls(list.get(0).getTenantId(), fileStoreIds),
+                userSearchExecutor);
+
+        List<User> decryptedList = encryptionDecryptionUtil.decryptObjects(list, User.class, requestInfo);
+
+        if (includePhotoUrl) {
+            List<String> decryptedFileStoreIds = getFileStoreIds(decryptedList);
+            if (fileStoreIds.containsAll(decryptedFileStoreIds))
+                setFileStoreUrls(decryptedList, fileStoreUrls.join());
+            else
+                setFileStoreUrlsByFileStoreIds(decryptedList);
+        }
+        return decryptedList;
     }
 
     /**
@@ -627,22 +676,28 @@ public class UserService {
      * @throws Exception
      */
     private void setFileStoreUrlsByFileStoreIds(List<User> userList) {
-        List<String> fileStoreIds = userList.parallelStream().filter(p -> p.getPhoto() != null).map(User::getPhoto)
-                .collect(Collectors.toList());
-        if (!isEmpty(fileStoreIds)) {
-            Map<String, String> fileStoreUrlList = null;
-            try {
-                fileStoreUrlList = fileRepository.getUrlByFileStoreId(userList.get(0).getTenantId(), fileStoreIds);
-            } catch (Exception e) {
-                // TODO Auto-generated catch block
+        List<String> fileStoreIds = getFileStoreIds(userList);
+        if (!isEmpty(fileStoreIds))
+            setFileStoreUrls(userList, getFileStoreUrls(userList.get(0).getTenantId(), fileStoreIds));
+    }
 
-                log.error("Error while fetching fileStore url list: " + e.getMessage());
-            }
+    private List<String> getFileStoreIds(List<User> userList) {
+        return userList.stream().filter(p -> p.getPhoto() != null).map(User::getPhoto).collect(Collectors.toList());
+    }
 
-            if (fileStoreUrlList != null && !fileStoreUrlList.isEmpty()) {
-                for (User user : userList) {
-                    user.setPhoto(fileStoreUrlList.get(user.getPhoto()));
-                }
+    private Map<String, String> getFileStoreUrls(String tenantId, List<String> fileStoreIds) {
+        try {
+            return fileRepository.getUrlByFileStoreId(tenantId, fileStoreIds);
+        } catch (Exception e) {
+            log.error("Error while fetching fileStore url list: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void setFileStoreUrls(List<User> userList, Map<String, String> fileStoreUrlList) {
+        if (fileStoreUrlList != null && !fileStoreUrlList.isEmpty()) {
+            for (User user : userList) {
+                user.setPhoto(fileStoreUrlList.get(user.getPhoto()));
             }
         }
     }
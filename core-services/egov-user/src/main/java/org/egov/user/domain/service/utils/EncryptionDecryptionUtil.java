@@ -1,5 +1,6 @@
 package org.egov.user.domain.service.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -10,9 +11,16 @@ import org.egov.common.contract.request.Role;
 import org.egov.common.contract.request.User;
 import org.egov.encryption.EncryptionService;
 import org.egov.encryption.audit.AuditService;
+import org.egov.encryption.config.EncryptionPolicyConfiguration;
+import org.egov.encryption.models.Attribute;
+import org.egov.encryption.util.JacksonUtils;
 import org.egov.tracer.model.CustomException;
+import org.egov.user.domain.model.UserSearchCriteria;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
@@ -20,11 +28,17 @@ import org.springframework.web.client.ResourceAccessException;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class EncryptionDecryptionUtil {
+
+    public static final String ENCRYPTED_CRITERIA_CACHE = "encryptedSearchCriteria";
+
     private EncryptionService encryptionService;
     @Autowired
     private AuditService auditService;
@@ -38,6 +52,19 @@ public class EncryptionDecryptionUtil {
     @Value(("${decryption.abac.enabled}"))
     private boolean abacEnabled;
 
+    @Value("${egov.user.decryption.batch.size:100}")
+    private int decryptionBatchSize;
+
+    @Autowired
+    @Qualifier("userSearchExecutor")
+    private Executor userSearchExecutor;
+
+    @Autowired
+    private EncryptionPolicyConfiguration encryptionPolicyConfiguration;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     public EncryptionDecryptionUtil(EncryptionService encryptionService) {
         this.encryptionService = encryptionService;
     }
@@ -67,18 +94,14 @@ public class EncryptionDecryptionUtil {
             boolean objectToDecryptNotList = false;
             if (objectToDecrypt == null) {
                 return null;
-            } else if (requestInfo == null || requestInfo.getUserInfo() == null) {
-                User userInfo = User.builder().uuid("no uuid").type("EMPLOYEE").build();
-                requestInfo = RequestInfo.builder().userInfo(userInfo).build();
             }
             if (!(objectToDecrypt instanceof List)) {
                 objectToDecryptNotList = true;
                 objectToDecrypt = Collections.singletonList(objectToDecrypt);
             }
-            final User encrichedUserInfo = getEncrichedandCopiedUserInfo(requestInfo.getUserInfo());
-            requestInfo.setUserInfo(encrichedUserInfo);
+            requestInfo = getDecryptionRequestInfo(requestInfo);
 
-            Map<String,String> keyPurposeMap = getKeyToDecrypt(objectToDecrypt, encrichedUserInfo);
+            Map<String,String> keyPurposeMap = getKeyToDecrypt(objectToDecrypt, requestInfo.getUserInfo());
             String purpose = keyPurposeMap.get("purpose");
 
             if(key == null)
@@ -102,6 +125,120 @@ public class EncryptionDecryptionUtil {
         }
     }
 
+    /**
+     * Encrypts the user search criteria, the encrypted values of the fields the encryption policy of the User
+     * model covers are cached since encryption is deterministic for a key, so repeated searches on a mobile
+     * number, user name etc. skip the call to the encryption service
+     *
+     * @param searchCriteria search criteria in plain text
+     * @return search criteria with the fields covered by the encryption policy encrypted
+     */
+    public UserSearchCriteria encryptSearchCriteria(UserSearchCriteria searchCriteria) {
+        Cache cache = cacheManager.getCache(ENCRYPTED_CRITERIA_CACHE);
+        List<String> encryptedPaths = getEncryptedPaths("User");
+        JsonNode criteriaNode = objectMapper.valueToTree(searchCriteria);
+        String plainValues = JacksonUtils.filterJsonNodeForPaths(criteriaNode, encryptedPaths).toString();
+
+        JsonNode encryptedValues = cache.get(plainValues, JsonNode.class);
+        if (encryptedValues != null) {
+            try {
+                return objectMapper.treeToValue(JacksonUtils.merge(encryptedValues.deepCopy(), criteriaNode),
+                        UserSearchCriteria.class);
+            } catch (IOException e) {
+                log.error("Error occurred while reading the cached encrypted search criteria", e);
+                throw new CustomException("ENCRYPTION_ERROR", "Error occurred in encryption process");
+            }
+        }
+
+        UserSearchCriteria encryptedCriteria = encryptObject(searchCriteria, "User", UserSearchCriteria.class);
+        cache.put(plainValues, JacksonUtils.filterJsonNodeForPaths(objectMapper.valueToTree(encryptedCriteria),
+                encryptedPaths));
+        return encryptedCriteria;
+    }
+
+    /**
+     * Decrypts the list in chunks of decryption batch size, chunks are decrypted concurrently. The key and
+     * purpose are decided once for the whole list, so chunking changes neither the ABAC decision nor the
+     * purpose audited.
+     *
+     * @param objectsToDecrypt list to be decrypted
+     * @param classType type of the list elements
+     * @param requestInfo request info of the caller
+     * @return decrypted list, in the order of the given list
+     */
+    public <E> List<E> decryptObjects(List<?> objectsToDecrypt, Class<E> classType, RequestInfo requestInfo) {
+        if (objectsToDecrypt == null)
+            return null;
+        if (objectsToDecrypt.isEmpty())
+            return new ArrayList<>();
+        if (objectsToDecrypt.size() <= decryptionBatchSize)
+            return decryptObject(objectsToDecrypt, null, classType, requestInfo);
+
+        final RequestInfo decryptionRequestInfo = getDecryptionRequestInfo(requestInfo);
+        Map<String, String> keyPurposeMap = getKeyToDecrypt(objectsToDecrypt, decryptionRequestInfo.getUserInfo());
+        String key = keyPurposeMap.get("key");
+        String purpose = keyPurposeMap.get("purpose");
+
+        List<CompletableFuture<List<E>>> decryptedChunks = new ArrayList<>();
+        for (int from = 0; from < objectsToDecrypt.size(); from += decryptionBatchSize) {
+            List<?> chunk = objectsToDecrypt.subList(from, Math.min(from + decryptionBatchSize, objectsToDecrypt.size()));
+            decryptedChunks.add(CompletableFuture.supplyAsync(
+                    () -> decryptChunk(decryptionRequestInfo, chunk, key, purpose, classType), userSearchExecutor));
+        }
+
+        List<E> decryptedObjects = new ArrayList<>(objectsToDecrypt.size());
+        try {
+            for (CompletableFuture<List<E>> decryptedChunk : decryptedChunks)
+                decryptedObjects.addAll(decryptedChunk.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CustomException)
+                throw (CustomException) e.getCause();
+            log.error("Unknown Error occurred while decrypting", e.getCause());
+            throw new CustomException("UNKNOWN_ERROR", "Unknown error occurred in decryption process");
+        }
+        return decryptedObjects;
+    }
+
+    private <E> List<E> decryptChunk(RequestInfo requestInfo, List<?> chunk, String key, String purpose,
+                                     Class<E> classType) {
+        List<E> decryptedChunk;
+        try {
+            decryptedChunk = (List<E>) encryptionService.decryptJson(requestInfo, chunk, key, purpose, classType);
+        } catch (IOException | HttpClientErrorException | HttpServerErrorException | ResourceAccessException e) {
+            log.error("Error occurred while decrypting", e);
+            throw new CustomException("DECRYPTION_SERVICE_ERROR", "Error occurred in decryption process");
+        } catch (Exception e) {
+            log.error("Unknown Error occurred while decrypting", e);
+            throw new CustomException("UNKNOWN_ERROR", "Unknown error occurred in decryption process");
+        }
+        if (decryptedChunk == null) {
+            throw new CustomException("DECRYPTION_NULL_ERROR", "Null object found on performing decryption");
+        }
+        return decryptedChunk;
+    }
+
+    /**
+     * Request info decryption is performed for, with the roles of the user enriched from the user type
+     */
+    private RequestInfo getDecryptionRequestInfo(RequestInfo requestInfo) {
+        if (requestInfo == null || requestInfo.getUserInfo() == null) {
+            User userInfo = User.builder().uuid("no uuid").type("EMPLOYEE").build();
+            requestInfo = RequestInfo.builder().userInfo(userInfo).build();
+        }
+        requestInfo.setUserInfo(getEncrichedandCopiedUserInfo(requestInfo.getUserInfo()));
+        return requestInfo;
+    }
+
+    /**
+     * Json paths of the attributes the encryption policy of the model encrypts
+     */
+    private List<String> getEncryptedPaths(String model) {
+        List<Attribute> attributes = encryptionPolicyConfiguration.getAttributeDetailsForModel(model);
+        if (attributes == null)
+            return Collections.emptyList();
+        return attributes.stream().map(Attribute::getJsonPath).collect(Collectors.toList());
+    }
+
     public boolean isUserDecryptingForSelf(Object objectToDecrypt, User userInfo) {
         org.egov.user.domain.model.User userToDecrypt = null;
         if (objectToDecrypt instanceof List) {
@@ -5,18 +5,23 @@ import lombok.extern.slf4j.Slf4j;
 import static java.util.Objects.isNull;
 import static org.egov.user.repository.builder.UserTypeQueryBuilder.SELECT_FAILED_ATTEMPTS_BY_USER_SQL;
 import static org.egov.user.repository.builder.UserTypeQueryBuilder.SELECT_NEXT_SEQUENCE_USER;
+import static org.egov.user.repository.builder.UserTypeQueryBuilder.SELECT_USER_SUMMARY_BY_UUIDS_SQL;
 import static org.springframework.util.StringUtils.isEmpty;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.egov.common.utils.MultiStateInstanceUtil;
@@ -34,7 +39,12 @@ import org.egov.user.persistence.dto.FailedLoginAttempt;
 import org.egov.user.repository.builder.RoleQueryBuilder;
 import org.egov.user.repository.builder.UserTypeQueryBuilder;
 import org.egov.user.repository.rowmapper.UserResultSetExtractor;
+import org.egov.user.repository.rowmapper.UserSummaryResultSetExtractor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -47,6 +57,8 @@ import lombok.extern.slf4j.Slf4j;
 @Repository
 @Slf4j
 public class UserRepository {
+
+	public static final String USER_SUMMARY_CACHE = "userSummaries";
 	
 	@Autowired
 	private UserUtils userUtils;
@@ -54,6 +66,27 @@ public class UserRepository {
 	@Autowired
 	private MultiStateInstanceUtil multiStateInstanceUtil;
 
+	@Autowired
+	private UserSummaryResultSetExtractor userSummaryResultSetExtractor;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private StringRedisTemplate stringRedisTemplate;
+
+	@Value("${egov.user.uuid.cache.eviction.channel}")
+	private String userSummaryEvictionChannel;
+
+	@Value("${egov.user.uuid.search.batch.size:1000}")
+	private int uuidSearchBatchSize;
+
+	/**
+	 * Bumped on every eviction from the user summary cache, a lookup started before an eviction does not cache
+	 * what it loaded so that a lookup racing with an update can not put the old state of the user back
+	 */
+	private final AtomicLong userSummaryCacheGeneration = new AtomicLong();
+
     private AddressRepository addressRepository;
     private AuditRepository auditRepository;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
@@ -117,6 +150,79 @@ public class UserRepository {
     }
 
 
+    /**
+     * api will get the lightweight projection of the users with the given uuids, served from the user summary
+     * cache where possible and from the database in batches otherwise. Users are returned encrypted and without
+     * addresses, they are cached in the same form so decryption and its ABAC checks still happen on every request.
+     *
+     * @param uuids uuids of the users
+     * @return users found, in no particular order
+     */
+    public List<User> findByUuids(Collection<String> uuids) {
+        Cache cache = cacheManager.getCache(USER_SUMMARY_CACHE);
+        Set<String> uuidsToFetch = new LinkedHashSet<>(uuids);
+        List<User> users = new ArrayList<>();
+
+        for (Iterator<String> iterator = uuidsToFetch.iterator(); iterator.hasNext(); ) {
+            User cachedUser = cache.get(iterator.next(), User.class);
+            if (cachedUser != null) {
+                users.add(cachedUser);
+                iterator.remove();
+            }
+        }
+
+        if (uuidsToFetch.isEmpty())
+            return users;
+
+        long cacheGeneration = userSummaryCacheGeneration.get();
+        List<String> pendingUuids = new ArrayList<>(uuidsToFetch);
+        List<User> fetchedUsers = new ArrayList<>(pendingUuids.size());
+
+        for (int from = 0; from < pendingUuids.size(); from += uuidSearchBatchSize) {
+            List<String> batch = pendingUuids.subList(from, Math.min(from + uuidSearchBatchSize, pendingUuids.size()));
+            fetchedUsers.addAll(namedParameterJdbcTemplate.query(SELECT_USER_SUMMARY_BY_UUIDS_SQL,
+                    Collections.singletonMap("uuids", batch), userSummaryResultSetExtractor));
+        }
+        enrichRoles(fetchedUsers);
+
+        synchronized (userSummaryCacheGeneration) {
+            if (cacheGeneration == userSummaryCacheGeneration.get()) {
+                for (User user : fetchedUsers)
+                    cache.put(user.getUuid(), user);
+            }
+        }
+        users.addAll(fetchedUsers);
+        return users;
+    }
+
+    /**
+     * Evicts the user from the summary cache of this instance and broadcasts the eviction to the other instances.
+     * Should the broadcast fail, the other instances serve the user they cached until it expires.
+     */
+    private void evictUserSummary(String uuid) {
+        evictLocalUserSummary(uuid);
+        if (uuid == null)
+            return;
+        try {
+            stringRedisTemplate.convertAndSend(userSummaryEvictionChannel, uuid);
+        } catch (RuntimeException e) {
+            log.error("Failed to broadcast the eviction of user {} from the user summary cache", uuid, e);
+        }
+    }
+
+    /**
+     * Evicts the user from the summary cache of this instance, on an eviction broadcast by any instance
+     *
+     * @param uuid uuid of the user
+     */
+    public void evictLocalUserSummary(String uuid) {
+        synchronized (userSummaryCacheGeneration) {
+            userSummaryCacheGeneration.incrementAndGet();
+            if (uuid != null)
+                cacheManager.getCache(USER_SUMMARY_CACHE).evict(uuid);
+        }
+    }
+
     /**
      * get list of all userids with role in given tenant
      *
@@ -332,6 +438,7 @@ public class UserRepository {
         if (user.getPermanentAndCorrespondenceAddresses() != null) {
             addressRepository.update(user.getPermanentAndCorrespondenceAddresses(), user.getId(), tenantId);
         }
+        evictUserSummary(oldUser.getUuid());
     }
 
 	public void fetchFailedLoginAttemptsByUser(String uuid) {
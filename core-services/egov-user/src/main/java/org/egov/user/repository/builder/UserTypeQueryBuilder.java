@@ -90,6 +90,12 @@ public class UserTypeQueryBuilder {
 
     private static final String SELECT_USER_ROLE_QUERY = "SELECT distinct(user_id) from eg_userrole_v1 ur";
 
+    public static final String SELECT_USER_SUMMARY_BY_UUIDS_SQL = "SELECT userdata.id, userdata.uuid, userdata.tenantid, " +
+            "userdata.username, userdata.name, userdata.mobilenumber, userdata.emailid, userdata.type, userdata.active, " +
+            "userdata.gender, userdata.locale, userdata.photo, ur.role_code as role_code, ur.role_tenantid as role_tenantid " +
+            "FROM eg_user userdata LEFT OUTER JOIN eg_userrole_v1 ur ON userdata.id = ur.user_id AND userdata.tenantid = " +
+            "ur.user_tenantid WHERE userdata.uuid IN (:uuids)";
+
     @SuppressWarnings("rawtypes")
     public String getQuery(final UserSearchCriteria userSearchCriteria, final List preparedStatementValues) {
         final StringBuilder selectQuery = new StringBuilder(SELECT_USER_QUERY);
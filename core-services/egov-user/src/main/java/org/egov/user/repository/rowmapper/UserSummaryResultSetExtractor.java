@@ -0,0 +1,69 @@
+package org.egov.user.repository.rowmapper;
+
+import org.egov.user.domain.model.Role;
+import org.egov.user.domain.model.User;
+import org.egov.user.domain.model.enums.Gender;
+import org.egov.user.domain.model.enums.UserType;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the lightweight user projection used by the bulk uuid lookup, only the identity and contact columns
+ * along with the roles of the user, see {@link org.egov.user.repository.builder.UserTypeQueryBuilder#SELECT_USER_SUMMARY_BY_UUIDS_SQL}
+ */
+@Component
+public class UserSummaryResultSetExtractor implements ResultSetExtractor<List<User>> {
+
+    @Override
+    public List<User> extractData(ResultSet rs) throws SQLException, DataAccessException {
+
+        Map<Long, User> usersMap = new LinkedHashMap<>();
+
+        while (rs.next()) {
+
+            Long userId = rs.getLong("id");
+            User user = usersMap.get(userId);
+
+            if (user == null) {
+                user = User.builder().id(userId).uuid(rs.getString("uuid")).tenantId(rs.getString("tenantid"))
+                        .username(rs.getString("username")).name(rs.getString("name"))
+                        .mobileNumber(rs.getString("mobilenumber")).emailId(rs.getString("emailid"))
+                        .active(rs.getBoolean("active")).locale(rs.getString("locale")).photo(rs.getString("photo"))
+                        .build();
+
+                for (UserType type : UserType.values()) {
+                    if (type.toString().equals(rs.getString("type"))) {
+                        user.setType(type);
+                    }
+                }
+
+                int gender = rs.getInt("gender");
+                if (gender == 1) {
+                    user.setGender(Gender.FEMALE);
+                } else if (gender == 2) {
+                    user.setGender(Gender.MALE);
+                } else if (gender == 3) {
+                    user.setGender(Gender.OTHERS);
+                } else if (gender == 4) {
+                    user.setGender(Gender.TRANSGENDER);
+                }
+
+                usersMap.put(userId, user);
+            }
+
+            String roleCode = rs.getString("role_code");
+            if (roleCode != null)
+                user.addRolesItem(Role.builder().tenantId(rs.getString("role_tenantid")).code(roleCode).build());
+        }
+
+        return new ArrayList<>(usersMap.values());
+    }
+}
@@ -0,0 +1,32 @@
+package org.egov.user.web.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.egov.common.contract.request.RequestInfo;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchByUuidsRequest {
+
+    @JsonProperty("RequestInfo")
+    private RequestInfo requestInfo;
+
+    @NotNull
+    @Size(min = 1)
+    @JsonProperty("uuid")
+    private List<String> uuid;
+
+    @JsonProperty("includePhotoUrl")
+    private boolean includePhotoUrl;
+}
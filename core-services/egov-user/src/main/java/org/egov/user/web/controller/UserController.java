@@ -134,6 +134,24 @@ public class UserController {
         return searchUsers(request, headers);
     }
 
+    /**
+     * end-point to resolve users in bulk by their uuids, meant for services enriching assignees, creators etc.
+     * Returns the identity, contact and role details of the users, addresses are not returned and photo
+     * filestore urls are resolved only when requested.
+     *
+     * @param request
+     * @return
+     */
+    @PostMapping("/_searchByUuids")
+    public UserSearchResponse searchByUuids(@RequestBody @Valid UserSearchByUuidsRequest request) {
+        List<User> userModels = userService.searchUsersByUuids(request.getUuid(), request.isIncludePhotoUrl(),
+                request.getRequestInfo());
+        List<UserSearchResponseContent> userContracts = userModels.stream().map(UserSearchResponseContent::new)
+                .collect(Collectors.toList());
+        ResponseInfo responseInfo = ResponseInfo.builder().status(String.valueOf(HttpStatus.OK.value())).build();
+        return new UserSearchResponse(responseInfo, userContracts);
+    }
+
     /**
      * end-point to fetch the user details by access-token
      *
@@ -99,8 +99,8 @@ public class UserServiceTest {
         UserSearchCriteria userSearch = mock(UserSearchCriteria.class);
         List<org.egov.user.domain.model.User> expectedListOfUsers = new ArrayList<org.egov.user.domain.model.User>();
         when(userRepository.findAll(userSearch)).thenReturn(expectedListOfUsers);
-        when(encryptionDecryptionUtil.encryptObject(userSearch, "User", UserSearchCriteria.class)).thenReturn(userSearch);
-        when(encryptionDecryptionUtil.decryptObject(expectedListOfUsers, null, User.class, getValidRequestInfo())).thenReturn(expectedListOfUsers);
+        when(encryptionDecryptionUtil.encryptSearchCriteria(userSearch)).thenReturn(userSearch);
+        when(encryptionDecryptionUtil.decryptObjects(expectedListOfUsers, User.class, getValidRequestInfo())).thenReturn(expectedListOfUsers);
         List<org.egov.user.domain.model.User> actualResult = userService.searchUsers(userSearch, true, getValidRequestInfo());
 
         assertThat(expectedListOfUsers).isEqualTo(actualResult);
@@ -111,7 +111,7 @@ public class UserServiceTest {
         UserSearchCriteria userSearch = mock(UserSearchCriteria.class);
         List<org.egov.user.domain.model.User> expectedListOfUsers = new ArrayList<org.egov.user.domain.model.User>();
         when(userRepository.findAll(userSearch)).thenReturn(expectedListOfUsers);
-        when(encryptionDecryptionUtil.decryptObject(expectedListOfUsers, null, User.class, getValidRequestInfo())).thenReturn(expectedListOfUsers);
+        when(encryptionDecryptionUtil.decryptObjects(expectedListOfUsers, User.class, getValidRequestInfo())).thenReturn(expectedListOfUsers);
         userService.searchUsers(userSearch, true, getValidRequestInfo());
 
         verify(userSearch).validate(true);
@@ -0,0 +1,146 @@
+package org.egov.user.domain.service.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.encryption.EncryptionService;
+import org.egov.encryption.config.EncryptionPolicyConfiguration;
+import org.egov.encryption.models.Attribute;
+import org.egov.tracer.model.CustomException;
+import org.egov.user.domain.model.User;
+import org.egov.user.domain.model.UserSearchCriteria;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class EncryptionDecryptionUtilTest {
+
+    private EncryptionService encryptionService;
+
+    private ExecutorService executor;
+
+    private EncryptionDecryptionUtil encryptionDecryptionUtil;
+
+    @Before
+    public void before() throws IOException {
+        encryptionService = mock(EncryptionService.class);
+        executor = Executors.newFixedThreadPool(2);
+        EncryptionPolicyConfiguration encryptionPolicyConfiguration = mock(EncryptionPolicyConfiguration.class);
+        when(encryptionPolicyConfiguration.getAttributeDetailsForModel("User")).thenReturn(Arrays.asList(
+                Attribute.builder().name("mobileNumber").jsonPath("mobileNumber").build(),
+                Attribute.builder().name("alternatemobilenumber").jsonPath("alternatemobilenumber").build()));
+
+        encryptionDecryptionUtil = new EncryptionDecryptionUtil(encryptionService);
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "stateLevelTenantId", "default");
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "abacEnabled", true);
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "decryptionBatchSize", 2);
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "userSearchExecutor", executor);
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "encryptionPolicyConfiguration", encryptionPolicyConfiguration);
+        ReflectionTestUtils.setField(encryptionDecryptionUtil, "cacheManager",
+                new ConcurrentMapCacheManager(EncryptionDecryptionUtil.ENCRYPTED_CRITERIA_CACHE));
+
+        when(encryptionService.encryptJson(any(), eq("User"), eq("default"), eq(UserSearchCriteria.class)))
+                .thenAnswer(invocation -> {
+                    UserSearchCriteria criteria = (UserSearchCriteria) invocation.getArguments()[0];
+                    return criteria(criteria.getTenantId(), encrypt(criteria.getMobileNumber()),
+                            encrypt(criteria.getAlternatemobilenumber()));
+                });
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test_should_encrypt_search_criteria_once_for_the_same_encrypted_values() throws IOException {
+        encryptionDecryptionUtil.encryptSearchCriteria(criteria("pb.amritsar", "9999999999", null));
+
+        UserSearchCriteria encryptedCriteria = encryptionDecryptionUtil.encryptSearchCriteria(
+                criteria("pb.jalandhar", "9999999999", null));
+
+        assertEquals("pb.jalandhar", encryptedCriteria.getTenantId());
+        assertEquals("enc-9999999999", encryptedCriteria.getMobileNumber());
+        verify(encryptionService, times(1)).encryptJson(any(), eq("User"), eq("default"), eq(UserSearchCriteria.class));
+    }
+
+    @Test
+    public void test_should_encrypt_search_criteria_again_when_any_configured_field_differs() throws IOException {
+        encryptionDecryptionUtil.encryptSearchCriteria(criteria("pb.amritsar", "9999999999", null));
+
+        UserSearchCriteria encryptedCriteria = encryptionDecryptionUtil.encryptSearchCriteria(
+                criteria("pb.amritsar", "9999999999", "8888888888"));
+
+        assertEquals("enc-8888888888", encryptedCriteria.getAlternatemobilenumber());
+        verify(encryptionService, times(2)).encryptJson(any(), eq("User"), eq("default"), eq(UserSearchCriteria.class));
+    }
+
+    @Test
+    public void test_should_decrypt_chunks_in_the_order_of_the_list() throws IOException {
+        when(encryptionService.decryptJson(any(RequestInfo.class), any(), anyString(), anyString(), eq(User.class)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArguments()[1]).stream()
+                        .map(user -> User.builder().uuid(((User) user).getUuid()).name("decrypted").build())
+                        .collect(Collectors.toList()));
+        List<User> users = Arrays.asList(user("uuid1"), user("uuid2"), user("uuid3"), user("uuid4"), user("uuid5"));
+
+        List<User> decryptedUsers = encryptionDecryptionUtil.decryptObjects(users, User.class, requestInfo());
+
+        assertEquals(Arrays.asList("uuid1", "uuid2", "uuid3", "uuid4", "uuid5"),
+                decryptedUsers.stream().map(User::getUuid).collect(Collectors.toList()));
+        assertEquals("decrypted", decryptedUsers.get(4).getName());
+        verify(encryptionService, times(3)).decryptJson(any(RequestInfo.class), any(), eq("User"),
+                eq("BulkSearchResult"), eq(User.class));
+    }
+
+    @Test
+    public void test_should_throw_error_of_a_failed_chunk() throws IOException {
+        when(encryptionService.decryptJson(any(RequestInfo.class), any(), anyString(), anyString(), eq(User.class)))
+                .thenThrow(new IOException("encryption service unavailable"));
+        List<User> users = Arrays.asList(user("uuid1"), user("uuid2"), user("uuid3"));
+
+        try {
+            encryptionDecryptionUtil.decryptObjects(users, User.class, requestInfo());
+            fail("decryption error not thrown");
+        } catch (CustomException e) {
+            assertEquals("DECRYPTION_SERVICE_ERROR", e.getCode());
+        }
+    }
+
+    private UserSearchCriteria criteria(String tenantId, String mobileNumber, String alternateMobileNumber) {
+        return UserSearchCriteria.builder().tenantId(tenantId).mobileNumber(mobileNumber)
+                .alternatemobilenumber(alternateMobileNumber).build();
+    }
+
+    private String encrypt(String value) {
+        return value == null ? null : "enc-" + value;
+    }
+
+    private User user(String uuid) {
+        return User.builder().uuid(uuid).name("encrypted").build();
+    }
+
+    private RequestInfo requestInfo() {
+        return RequestInfo.builder().userInfo(org.egov.common.contract.request.User.builder().uuid("uuid0")
+                .type("EMPLOYEE").build()).build();
+    }
+}
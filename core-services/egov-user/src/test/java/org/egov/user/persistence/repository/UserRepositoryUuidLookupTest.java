@@ -0,0 +1,166 @@
+package org.egov.user.persistence.repository;
+
+import static org.egov.user.repository.builder.UserTypeQueryBuilder.SELECT_USER_SUMMARY_BY_UUIDS_SQL;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.egov.user.domain.model.User;
+import org.egov.user.repository.builder.UserTypeQueryBuilder;
+import org.egov.user.repository.rowmapper.UserResultSetExtractor;
+import org.egov.user.repository.rowmapper.UserSummaryResultSetExtractor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class UserRepositoryUuidLookupTest {
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private UserSummaryResultSetExtractor userSummaryResultSetExtractor;
+
+    private StringRedisTemplate stringRedisTemplate;
+
+    private UserRepository userRepository;
+
+    private final List<List<String>> queriedBatches = new ArrayList<>();
+
+    @Before
+    public void before() {
+        namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        userSummaryResultSetExtractor = mock(UserSummaryResultSetExtractor.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        userRepository = new UserRepository(mock(RoleRepository.class), mock(UserTypeQueryBuilder.class),
+                mock(AddressRepository.class), mock(UserResultSetExtractor.class), mock(JdbcTemplate.class),
+                namedParameterJdbcTemplate, mock(AuditRepository.class));
+        ReflectionTestUtils.setField(userRepository, "userSummaryResultSetExtractor", userSummaryResultSetExtractor);
+        ReflectionTestUtils.setField(userRepository, "cacheManager",
+                new ConcurrentMapCacheManager(UserRepository.USER_SUMMARY_CACHE));
+        ReflectionTestUtils.setField(userRepository, "uuidSearchBatchSize", 2);
+        ReflectionTestUtils.setField(userRepository, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(userRepository, "userSummaryEvictionChannel", "evictions");
+
+        when(namedParameterJdbcTemplate.query(eq(SELECT_USER_SUMMARY_BY_UUIDS_SQL), anyMap(),
+                eq(userSummaryResultSetExtractor))).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<String> uuids = new ArrayList<>((Collection<String>) ((Map<String, ?>) invocation.getArguments()[1]).get("uuids"));
+            queriedBatches.add(uuids);
+            return uuids.stream().map(this::user).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    public void test_should_fetch_users_in_batches() {
+        List<User> users = userRepository.findByUuids(Arrays.asList("uuid1", "uuid2", "uuid3", "uuid1"));
+
+        assertEquals(set("uuid1", "uuid2", "uuid3"), uuids(users));
+        assertEquals(Arrays.asList(Arrays.asList("uuid1", "uuid2"), Arrays.asList("uuid3")), queriedBatches);
+    }
+
+    @Test
+    public void test_should_fetch_only_users_not_cached() {
+        userRepository.findByUuids(Arrays.asList("uuid1", "uuid2"));
+        queriedBatches.clear();
+
+        List<User> users = userRepository.findByUuids(Arrays.asList("uuid1", "uuid2", "uuid3"));
+
+        assertEquals(set("uuid1", "uuid2", "uuid3"), uuids(users));
+        assertEquals(Arrays.asList(Arrays.asList("uuid3")), queriedBatches);
+    }
+
+    @Test
+    public void test_should_not_query_when_all_users_are_cached() {
+        userRepository.findByUuids(Arrays.asList("uuid1", "uuid2"));
+
+        List<User> users = userRepository.findByUuids(Arrays.asList("uuid2", "uuid1"));
+
+        assertEquals(set("uuid1", "uuid2"), uuids(users));
+        verify(namedParameterJdbcTemplate, times(1)).query(eq(SELECT_USER_SUMMARY_BY_UUIDS_SQL), anyMap(),
+                eq(userSummaryResultSetExtractor));
+    }
+
+    @Test
+    public void test_should_fetch_user_again_after_eviction() {
+        userRepository.findByUuids(Arrays.asList("uuid1", "uuid2"));
+        queriedBatches.clear();
+
+        ReflectionTestUtils.invokeMethod(userRepository, "evictUserSummary", "uuid1");
+        userRepository.findByUuids(Arrays.asList("uuid1", "uuid2"));
+
+        assertEquals(Arrays.asList(Arrays.asList("uuid1")), queriedBatches);
+        verify(stringRedisTemplate).convertAndSend("evictions", "uuid1");
+    }
+
+    @Test
+    public void test_should_fetch_user_again_after_eviction_broadcast_by_another_instance() {
+        userRepository.findByUuids(Arrays.asList("uuid1", "uuid2"));
+        queriedBatches.clear();
+
+        userRepository.evictLocalUserSummary("uuid2");
+        userRepository.findByUuids(Arrays.asList("uuid1", "uuid2"));
+
+        assertEquals(Arrays.asList(Arrays.asList("uuid2")), queriedBatches);
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    public void test_should_evict_locally_when_eviction_broadcast_fails() {
+        doThrow(new RedisConnectionFailureException("down")).when(stringRedisTemplate)
+                .convertAndSend("evictions", "uuid1");
+        userRepository.findByUuids(Arrays.asList("uuid1"));
+        queriedBatches.clear();
+
+        ReflectionTestUtils.invokeMethod(userRepository, "evictUserSummary", "uuid1");
+        userRepository.findByUuids(Arrays.asList("uuid1"));
+
+        assertEquals(Arrays.asList(Arrays.asList("uuid1")), queriedBatches);
+    }
+
+    @Test
+    public void test_should_not_cache_users_loaded_before_a_racing_eviction() {
+        when(namedParameterJdbcTemplate.query(eq(SELECT_USER_SUMMARY_BY_UUIDS_SQL), anyMap(),
+                eq(userSummaryResultSetExtractor))).thenAnswer(invocation -> {
+            ReflectionTestUtils.invokeMethod(userRepository, "evictUserSummary", "uuid1");
+            queriedBatches.add(Arrays.asList("uuid1"));
+            return Arrays.asList(user("uuid1"));
+        });
+
+        userRepository.findByUuids(Arrays.asList("uuid1"));
+        userRepository.findByUuids(Arrays.asList("uuid1"));
+
+        assertEquals(2, queriedBatches.size());
+    }
+
+    private User user(String uuid) {
+        return User.builder().uuid(uuid).tenantId("default").build();
+    }
+
+    private Set<String> uuids(List<User> users) {
+        return users.stream().map(User::getUuid).collect(Collectors.toSet());
+    }
+
+    private Set<String> set(String... uuids) {
+        return new HashSet<>(Arrays.asList(uuids));
+    }
+}
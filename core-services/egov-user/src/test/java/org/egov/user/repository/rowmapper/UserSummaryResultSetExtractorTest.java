@@ -0,0 +1,104 @@
+package org.egov.user.repository.rowmapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.egov.user.domain.model.Role;
+import org.egov.user.domain.model.User;
+import org.egov.user.domain.model.enums.Gender;
+import org.egov.user.domain.model.enums.UserType;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+public class UserSummaryResultSetExtractorTest {
+
+    private final UserSummaryResultSetExtractor extractor = new UserSummaryResultSetExtractor();
+
+    @Test
+    public void test_should_map_one_user_per_id_with_all_its_roles() throws SQLException {
+        ResultSet rs = resultSet(
+                row(1L, "uuid1", "user1", "name1", "9999999999", "user1@egov.org", true, "CITIZEN", 1, "CITIZEN"),
+                row(1L, "uuid1", "user1", "name1", "9999999999", "user1@egov.org", true, "CITIZEN", 1, "EMPLOYEE"),
+                row(2L, "uuid2", "user2", "name2", "8888888888", null, false, "EMPLOYEE", 0, null));
+
+        List<User> users = extractor.extractData(rs);
+
+        assertEquals(2, users.size());
+
+        User first = users.get(0);
+        assertEquals(Long.valueOf(1L), first.getId());
+        assertEquals("uuid1", first.getUuid());
+        assertEquals("default", first.getTenantId());
+        assertEquals("user1", first.getUsername());
+        assertEquals("name1", first.getName());
+        assertEquals("9999999999", first.getMobileNumber());
+        assertEquals("user1@egov.org", first.getEmailId());
+        assertTrue(first.getActive());
+        assertEquals(UserType.CITIZEN, first.getType());
+        assertEquals(Gender.FEMALE, first.getGender());
+        Set<String> roleCodes = first.getRoles().stream().map(Role::getCode).collect(Collectors.toSet());
+        assertEquals(2, roleCodes.size());
+        assertTrue(roleCodes.contains("CITIZEN"));
+        assertTrue(roleCodes.contains("EMPLOYEE"));
+
+        User second = users.get(1);
+        assertEquals("uuid2", second.getUuid());
+        assertEquals(UserType.EMPLOYEE, second.getType());
+        assertNull(second.getGender());
+        assertNull(second.getRoles());
+    }
+
+    @Test
+    public void test_should_return_no_users_for_empty_result_set() throws SQLException {
+        ResultSet rs = resultSet();
+
+        assertTrue(extractor.extractData(rs).isEmpty());
+    }
+
+    private Map<String, Object> row(long id, String uuid, String username, String name, String mobileNumber,
+                                    String emailId, boolean active, String type, int gender, String roleCode) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("uuid", uuid);
+        row.put("tenantid", "default");
+        row.put("username", username);
+        row.put("name", name);
+        row.put("mobilenumber", mobileNumber);
+        row.put("emailid", emailId);
+        row.put("active", active);
+        row.put("type", type);
+        row.put("gender", gender);
+        row.put("role_code", roleCode);
+        row.put("role_tenantid", roleCode == null ? null : "default");
+        return row;
+    }
+
+    @SafeVarargs
+    private final ResultSet resultSet(Map<String, Object>... rows) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        AtomicInteger current = new AtomicInteger(-1);
+        when(rs.next()).thenAnswer(invocation -> current.incrementAndGet() < rows.length);
+        when(rs.getLong(anyString())).thenAnswer(invocation -> column(rows, current, invocation));
+        when(rs.getString(anyString())).thenAnswer(invocation -> column(rows, current, invocation));
+        when(rs.getBoolean(anyString())).thenAnswer(invocation -> column(rows, current, invocation));
+        when(rs.getInt(anyString())).thenAnswer(invocation -> column(rows, current, invocation));
+        return rs;
+    }
+
+    private Object column(Map<String, Object>[] rows, AtomicInteger current, InvocationOnMock invocation) {
+        return rows[current.get()].get((String) invocation.getArguments()[0]);
+    }
+}
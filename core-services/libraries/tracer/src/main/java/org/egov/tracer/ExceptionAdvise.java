@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.egov.tracer.config.TracerProperties;
@@ -41,6 +42,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_MDC;
+import static org.egov.tracer.metrics.TracerMetrics.ERRORS;
+import static org.egov.tracer.metrics.TracerMetrics.TAG_EXCEPTION;
 
 
 @ControllerAdvice
@@ -65,6 +68,7 @@ public class ExceptionAdvise {
         String contentType = request.getContentType();
         boolean isJsonContentType = (contentType != null && contentType.toLowerCase().contains("application/json"));
         log.error("Exception caught in tracer ", ex);
+        Metrics.counter(ERRORS, TAG_EXCEPTION, ex.getClass().getSimpleName()).increment();
         String body = "";
 
         try {
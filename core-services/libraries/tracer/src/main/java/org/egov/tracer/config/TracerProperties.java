@@ -1,6 +1,7 @@
 package org.egov.tracer.config;
 
 import lombok.Data;
+import org.egov.tracer.kafka.KafkaSendMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,5 +28,11 @@ public class TracerProperties {
     // Exclusion list for tracer filter
     private String filterSkipPattern;
 
+    // Delivery guarantee of the blocking kafka sends, SYNC or REQUEST_END
+    private KafkaSendMode kafkaSendMode = KafkaSendMode.SYNC;
+
+    // Maximum number of request body bytes scanned for RequestInfo.correlationId
+    private int correlationIdScanLimit = 65536;
+
 }
 
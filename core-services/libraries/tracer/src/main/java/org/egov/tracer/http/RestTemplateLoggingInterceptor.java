@@ -4,10 +4,20 @@ import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_HEADER;
 import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_MDC;
 import static org.egov.tracer.constants.TracerConstants.TENANTID_MDC;
 import static org.egov.tracer.constants.TracerConstants.TENANT_ID_HEADER;
+import static org.egov.tracer.metrics.TracerMetrics.HTTP_CLIENT_REQUESTS;
+import static org.egov.tracer.metrics.TracerMetrics.IO_ERROR;
+import static org.egov.tracer.metrics.TracerMetrics.TAG_HOST;
+import static org.egov.tracer.metrics.TracerMetrics.TAG_METHOD;
+import static org.egov.tracer.metrics.TracerMetrics.TAG_STATUS;
+import static org.egov.tracer.metrics.TracerMetrics.TAG_URI;
+import static org.egov.tracer.metrics.TracerMetrics.UNKNOWN;
+import static org.egov.tracer.metrics.TracerMetrics.normalizePath;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.egov.tracer.config.TracerProperties;
@@ -20,6 +30,8 @@ import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.CollectionUtils;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -46,6 +58,7 @@ public class RestTemplateLoggingInterceptor implements ClientHttpRequestIntercep
      * Intercept all rest template calls
      * - Add correlation id header from MDC
      * - Log request and responses based on config
+     * - Record the latency of the call
      *
      * @param request   being made
      * @param body      of the request
@@ -55,6 +68,8 @@ public class RestTemplateLoggingInterceptor implements ClientHttpRequestIntercep
      */
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        final long startTime = System.nanoTime();
+        String status = IO_ERROR;
         try {
             request.getHeaders().add(CORRELATION_ID_HEADER, MDC.get(CORRELATION_ID_MDC));
             
@@ -65,6 +80,7 @@ public class RestTemplateLoggingInterceptor implements ClientHttpRequestIntercep
             logRequest(request, body);
 
             final ClientHttpResponse rawResponse = execution.execute(request, body);
+            status = String.valueOf(rawResponse.getRawStatusCode());
 
             if (tracerProperties.isRestTemplateDetailedLoggingEnabled() && isBodyCompatibleForParsing(request)) {
                 logResponse(rawResponse, request);
@@ -75,9 +91,25 @@ public class RestTemplateLoggingInterceptor implements ClientHttpRequestIntercep
         } catch (Exception e) {
             log.warn(String.format(FAILED_RESPONSE_MESSAGE, request.getURI()), e);
             throw e;
+        } finally {
+            recordLatency(request, status, System.nanoTime() - startTime);
         }
     }
 
+    /**
+     * Records the latency of the call up to the response headers, tagged with the target host and path
+     */
+    private void recordLatency(HttpRequest request, String status, long latencyNanos) {
+        final URI uri = request.getURI();
+        Timer.builder(HTTP_CLIENT_REQUESTS)
+                .tag(TAG_HOST, uri.getHost() == null ? UNKNOWN : uri.getHost())
+                .tag(TAG_URI, normalizePath(uri.getPath()))
+                .tag(TAG_METHOD, request.getMethodValue())
+                .tag(TAG_STATUS, status)
+                .register(Metrics.globalRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
     private void logResponse(ClientHttpResponse response, HttpRequest httpRequest) throws IOException {
 
         if (tracerProperties.isRestTemplateDetailedLoggingEnabled() && isBodyCompatibleForParsing(httpRequest)) {
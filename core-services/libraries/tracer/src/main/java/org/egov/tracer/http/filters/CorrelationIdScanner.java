@@ -0,0 +1,69 @@
+package org.egov.tracer.http.filters;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_FIELD_NAME;
+import static org.egov.tracer.constants.TracerConstants.REQUEST_INFO_FIELD_NAME_IN_JAVA_CLASS_CASE;
+import static org.egov.tracer.constants.TracerConstants.REQUEST_INFO_IN_CAMEL_CASE;
+
+/**
+ * Finds RequestInfo.correlationId in a json request body by walking its tokens, without building the body in memory.
+ * The scan stops at the correlation id, other top level fields are skipped over.
+ */
+class CorrelationIdScanner {
+
+    private final JsonFactory jsonFactory;
+
+    CorrelationIdScanner(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @param body request body, not closed by the scan
+     * @return the correlation id, null when absent or when the body ends or is not valid json before reaching it
+     */
+    String scan(InputStream body) {
+        try {
+            final JsonParser parser = jsonFactory.createParser(body);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                return null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if (isRequestInfo(fieldName) && value == JsonToken.START_OBJECT) {
+                    final String correlationId = scanRequestInfo(parser);
+                    if (correlationId != null)
+                        return correlationId;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException ignored) {
+        }
+
+        return null;
+    }
+
+    private String scanRequestInfo(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if (CORRELATION_ID_FIELD_NAME.equals(fieldName) && value == JsonToken.VALUE_STRING)
+                return parser.getText();
+
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private boolean isRequestInfo(String fieldName) {
+        return REQUEST_INFO_FIELD_NAME_IN_JAVA_CLASS_CASE.equals(fieldName) || REQUEST_INFO_IN_CAMEL_CASE.equals(fieldName);
+    }
+}
@@ -0,0 +1,100 @@
+package org.egov.tracer.http.filters;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.TeeInputStream;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.*;
+
+/**
+ * Request wrapper that keeps only the beginning of the body, as read through {@link #getPrefixStream()}, and serves
+ * it again followed by the rest of the original body to the next readers. Unlike {@link MultiReadRequestWrapper}
+ * the body is read only once and at most limit bytes are held in memory.
+ */
+class PrefixRecordingRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final String UTF_8 = "UTF-8";
+
+    private final int limit;
+    private final ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+    private ServletInputStream inputStream;
+
+    PrefixRecordingRequestWrapper(HttpServletRequest request, int limit) {
+        super(request);
+        this.limit = limit;
+    }
+
+    /**
+     * Stream of the first limit bytes of the body, the bytes read from it are replayed by {@link #getInputStream()}.
+     * Has to be read before the body is read through the wrapper.
+     */
+    InputStream getPrefixStream() throws IOException {
+        final BoundedInputStream bounded =
+                new BoundedInputStream(new TeeInputStream(super.getInputStream(), prefix), limit);
+        bounded.setPropagateClose(false);
+        return bounded;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null)
+            inputStream = new PrefixReplayServletInputStream(super.getInputStream(), prefix.toByteArray());
+
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        final String encoding = getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(getInputStream(), encoding == null ? UTF_8 : encoding));
+    }
+
+    private static class PrefixReplayServletInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+        private final ByteArrayInputStream prefix;
+
+        PrefixReplayServletInputStream(ServletInputStream delegate, byte[] prefix) {
+            this.delegate = delegate;
+            this.prefix = new ByteArrayInputStream(prefix);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return prefix.available() == 0 && delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return prefix.available() > 0 || delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return prefix.available() > 0 ? prefix.read() : delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+
+            if (prefix.available() > 0)
+                return prefix.read(b, off, len);
+
+            return delegate.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
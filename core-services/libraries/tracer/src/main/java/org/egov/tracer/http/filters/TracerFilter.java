@@ -1,16 +1,14 @@
 package org.egov.tracer.http.filters;
 
 import static java.util.Objects.isNull;
-import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_FIELD_NAME;
 import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_HEADER;
 import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_MDC;
-import static org.egov.tracer.constants.TracerConstants.REQUEST_INFO_FIELD_NAME_IN_JAVA_CLASS_CASE;
-import static org.egov.tracer.constants.TracerConstants.REQUEST_INFO_IN_CAMEL_CASE;
 import static org.egov.tracer.constants.TracerConstants.TENANTID_MDC;
 import static org.egov.tracer.constants.TracerConstants.TENANT_ID_HEADER;
 import static org.springframework.util.StringUtils.isEmpty;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -28,13 +26,14 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.egov.tracer.config.ObjectMapperFactory;
 import org.egov.tracer.config.TracerProperties;
+import org.egov.tracer.kafka.KafkaSendMode;
+import org.egov.tracer.kafka.PendingKafkaSends;
 import org.slf4j.MDC;
 import org.springframework.http.MediaType;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -49,14 +48,15 @@ public class TracerFilter implements Filter {
     private static final String REQUEST_URI_LOG_MESSAGE = "Received request URI: {} ";
     private static final String REQUEST_PARAMS_LOG_MESSAGE = "Request Query params: {} ";
     private static final String LOG_RESPONSE_CODE_MESSAGE = "Response code sent: {}";
+    private static final String PENDING_KAFKA_SENDS_FAILED_MESSAGE = "Kafka send deferred to the end of the request failed";
 
-    private final ObjectMapper objectMapper;
+    private final CorrelationIdScanner correlationIdScanner;
     private TracerProperties tracerProperties;
     private Pattern skipPattern;
 
     public TracerFilter(TracerProperties tracerProperties, ObjectMapperFactory objectMapperFactory) {
         this.tracerProperties = tracerProperties;
-        this.objectMapper = objectMapperFactory.getObjectMapper();
+        this.correlationIdScanner = new CorrelationIdScanner(objectMapperFactory.getObjectMapper().getFactory());
         this.skipPattern = isNull(tracerProperties.getFilterSkipPattern()) ? null :
                 Pattern.compile(tracerProperties.getFilterSkipPattern());
     }
@@ -68,14 +68,16 @@ public class TracerFilter implements Filter {
 
     /**
      *
-     * Cache the request for future body reads in case the body is compatible [json]
+     * Cache the request for future body reads in case the body is compatible [json] and it is logged or published on
+     * errors
      * Retrieves correlation id
      *  - From header
-     *  - if not exists, attempt to retrieve from body RequestInfo
+     *  - if not exists, attempt to retrieve from body RequestInfo, scanning at most correlationIdScanLimit bytes
      *  - if not exists, generate a uuid
      *
      * Set correlation id in MDC for future use, like logging etc
      * Log Request and Response depending on configuration
+     * Wait for the kafka sends deferred by the request in REQUEST_END kafka send mode, also when the chain fails
      *
      * @param servletRequest  HTTP request
      * @param servletResponse HTTP response
@@ -85,6 +87,25 @@ public class TracerFilter implements Filter {
      */
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+        throws IOException, ServletException {
+        if (tracerProperties.getKafkaSendMode() != KafkaSendMode.REQUEST_END) {
+            trace(servletRequest, servletResponse, filterChain);
+            return;
+        }
+
+        PendingKafkaSends.begin();
+        try {
+            trace(servletRequest, servletResponse, filterChain);
+        } finally {
+            try {
+                awaitPendingKafkaSends();
+            } finally {
+                PendingKafkaSends.end();
+            }
+        }
+    }
+
+    private void trace(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
         throws IOException, ServletException {
         HttpServletRequest httpRequest = (HttpServletRequest) servletRequest;
 
@@ -93,7 +114,7 @@ public class TracerFilter implements Filter {
         } else {
 
             if (isBodyCompatibleForParsing(httpRequest)) {
-                final MultiReadRequestWrapper wrappedRequest = new MultiReadRequestWrapper(httpRequest);
+                final HttpServletRequest wrappedRequest = wrapRequest(httpRequest);
 
                 Map<String, String> headerParamMap = getCorrelationId(wrappedRequest);
                 MDC.put(CORRELATION_ID_MDC, headerParamMap.get(CORRELATION_ID_MDC));
@@ -120,6 +141,18 @@ public class TracerFilter implements Filter {
         }
     }
 
+    /**
+     * Waits for the kafka sends made after the response body was written, or while serving a response without a
+     * body. The response may already be committed, so a failure can only be logged.
+     */
+    private void awaitPendingKafkaSends() {
+        try {
+            PendingKafkaSends.awaitAll();
+        } catch (RuntimeException e) {
+            log.error(PENDING_KAFKA_SENDS_FAILED_MESSAGE, e);
+        }
+    }
+
     @Override
     public void destroy() {
         MDC.clear();
@@ -150,6 +183,21 @@ public class TracerFilter implements Filter {
 
 	}
 
+    /**
+     * The whole body is cached only when it is read again after the controller, for request logging or error
+     * publishing. Otherwise, when the correlation id has to be looked up in the body, only the part of the body
+     * scanned for it is kept to be read again.
+     */
+    private HttpServletRequest wrapRequest(HttpServletRequest httpRequest) {
+        if (tracerProperties.isRequestLoggingEnabled() || tracerProperties.isErrorsPublish())
+            return new MultiReadRequestWrapper(httpRequest);
+
+        if (isNull(httpRequest.getHeader(CORRELATION_ID_HEADER)))
+            return new PrefixRecordingRequestWrapper(httpRequest, tracerProperties.getCorrelationIdScanLimit());
+
+        return httpRequest;
+    }
+
     private boolean isBodyCompatibleForParsing(HttpServletRequest httpRequest) {
         return POST.equals(httpRequest.getMethod())
                 && JSON_MEDIA_TYPES.contains(httpRequest.getContentType());
@@ -178,7 +226,8 @@ public class TracerFilter implements Filter {
 		Map<String, String> keyMap = new HashMap<>();
 		String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
 
-		if (isNull(correlationId) && httpRequest instanceof MultiReadRequestWrapper) {
+		if (isNull(correlationId) && (httpRequest instanceof MultiReadRequestWrapper
+				|| httpRequest instanceof PrefixRecordingRequestWrapper)) {
 			correlationId = getCorrelationIdFromBody(httpRequest);
 		}
 
@@ -190,25 +239,14 @@ public class TracerFilter implements Filter {
 		return keyMap;
 	}
 
-    @SuppressWarnings("unchecked")
     private String getCorrelationIdFromBody(HttpServletRequest httpServletRequest) {
-        String correlationId = null;
-        try {
-            final HashMap<String, Object> requestMap = (HashMap<String, Object>)
-                    objectMapper.readValue(httpServletRequest.getInputStream(), HashMap.class);
-            Object requestInfo = requestMap.containsKey(REQUEST_INFO_FIELD_NAME_IN_JAVA_CLASS_CASE) ? requestMap.get
-                    (REQUEST_INFO_FIELD_NAME_IN_JAVA_CLASS_CASE) : requestMap.get(REQUEST_INFO_IN_CAMEL_CASE);
-
-            if (isNull(requestInfo))
-                return null;
-            else {
-                if (requestInfo instanceof Map) {
-                    correlationId = (String) ((Map) requestInfo).get(CORRELATION_ID_FIELD_NAME);
-                }
-            }
-        } catch (IOException ignored){}
-
-        return correlationId;
+        try (InputStream body = httpServletRequest instanceof PrefixRecordingRequestWrapper ?
+                ((PrefixRecordingRequestWrapper) httpServletRequest).getPrefixStream() :
+                new BoundedInputStream(httpServletRequest.getInputStream(), tracerProperties.getCorrelationIdScanLimit())) {
+            return correlationIdScanner.scan(body);
+        } catch (IOException ignored) {
+            return null;
+        }
     }
 
     private String getRandomCorrelationId() {
@@ -1,11 +1,20 @@
 package org.egov.tracer.kafka;
 
 import lombok.extern.slf4j.Slf4j;
+import org.egov.tracer.config.TracerProperties;
 import org.egov.tracer.model.CustomException;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_MDC;
 
 
 @Component("customKafkaTemplate")
@@ -16,39 +25,83 @@ public class CustomKafkaTemplate<K, V> {
     private static final String KAFKA_SEND_ERROR_MSG = "Failed to push event onto the event bus";
     private static final String KAFKA_ERROR_LOG = "Failed to push data to kafka queue";
     private KafkaTemplate<K, V> kafkaTemplate;
+    private TracerProperties tracerProperties;
+    private ErrorQueueProducer errorQueueProducer;
 
-    @Autowired
     public CustomKafkaTemplate(KafkaTemplate<K, V> kafkaTemplate) {
+        this(kafkaTemplate, new TracerProperties(), ErrorQueueProducer.NO_OP);
+    }
+
+    @Autowired
+    public CustomKafkaTemplate(KafkaTemplate<K, V> kafkaTemplate, TracerProperties tracerProperties,
+                               ErrorQueueProducer errorQueueProducer) {
         this.kafkaTemplate = kafkaTemplate;
+        this.tracerProperties = tracerProperties;
+        this.errorQueueProducer = errorQueueProducer;
     }
 
+    /**
+     * Sends the message as per the configured {@link KafkaSendMode}. When the send is deferred to the end of the
+     * request null is returned.
+     */
     public SendResult<K, V> send(String topic, V value) {
-        try {
-            final SendResult<K, V> result = kafkaTemplate.send(topic, value).get();
-            return result;
-        } catch (Exception e) {
-            log.error(KAFKA_ERROR_LOG, e);
-            throw new CustomException(KAFKA_SEND_ERROR_CODE, KAFKA_SEND_ERROR_MSG);
-        }
+        return await(doSend(topic, value, false, () -> kafkaTemplate.send(topic, value)));
     }
 
     public SendResult<K, V> send(String topic, K key, V value) {
+        return await(doSend(topic, value, false, () -> kafkaTemplate.send(topic, key, value)));
+    }
+
+    public SendResult<K, V> send(String topic, K key, int partition, V value) {
+        return await(doSend(topic, value, false, () -> kafkaTemplate.send(topic, partition, key, value)));
+    }
+
+    /**
+     * Sends the message without waiting for the broker. A failed send is logged and published onto the error
+     * queue, the returned future completes exceptionally with a {@link CustomException}.
+     */
+    public CompletableFuture<SendResult<K, V>> sendAsync(String topic, V value) {
+        return doSend(topic, value, true, () -> kafkaTemplate.send(topic, value));
+    }
+
+    public CompletableFuture<SendResult<K, V>> sendAsync(String topic, K key, V value) {
+        return doSend(topic, value, true, () -> kafkaTemplate.send(topic, key, value));
+    }
+
+    public CompletableFuture<SendResult<K, V>> sendAsync(String topic, K key, int partition, V value) {
+        return doSend(topic, value, true, () -> kafkaTemplate.send(topic, partition, key, value));
+    }
+
+    private CompletableFuture<SendResult<K, V>> doSend(String topic, V value, boolean publishFailure,
+                                                       Supplier<ListenableFuture<SendResult<K, V>>> sender) {
+        final String correlationId = MDC.get(CORRELATION_ID_MDC);
+        final CompletableFuture<SendResult<K, V>> result = new CompletableFuture<>();
         try {
-            final SendResult<K, V> result = kafkaTemplate.send(topic, key, value).get();
-            return result;
+            sender.get().addCallback(result::complete,
+                    e -> onFailure(result, topic, value, e, publishFailure, correlationId));
         } catch (Exception e) {
-            log.error(KAFKA_ERROR_LOG, e);
-            throw new CustomException(KAFKA_SEND_ERROR_CODE, KAFKA_SEND_ERROR_MSG);
+            onFailure(result, topic, value, e, publishFailure, correlationId);
         }
+        return result;
     }
 
-    public SendResult<K, V> send(String topic, K key, int partition, V value) {
+    private void onFailure(CompletableFuture<SendResult<K, V>> result, String topic, V value, Throwable e,
+                           boolean publishFailure, String correlationId) {
+        log.error(KAFKA_ERROR_LOG, e);
+        if (publishFailure) {
+            errorQueueProducer.sendFailedMessage(topic, value, e, correlationId);
+        }
+        result.completeExceptionally(new CustomException(KAFKA_SEND_ERROR_CODE, KAFKA_SEND_ERROR_MSG));
+    }
+
+    private SendResult<K, V> await(CompletableFuture<SendResult<K, V>> send) {
+        if (tracerProperties.getKafkaSendMode() == KafkaSendMode.REQUEST_END && PendingKafkaSends.defer(send)) {
+            return null;
+        }
         try {
-            final SendResult<K, V> result = kafkaTemplate.send(topic, partition, key, value).get();
-            return result;
-        } catch (Exception e) {
-            log.error(KAFKA_ERROR_LOG, e);
-            throw new CustomException(KAFKA_SEND_ERROR_CODE, KAFKA_SEND_ERROR_MSG);
+            return send.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
         }
     }
 
@@ -10,10 +10,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
 @Component
 @Slf4j
 public class ErrorQueueProducer {
 
+    /**
+     * Producer publishing nothing, for the templates created without an error queue producer
+     */
+    static final ErrorQueueProducer NO_OP = new ErrorQueueProducer() {
+        @Override
+        public void sendMessage(ErrorQueueContract errorQueueContract) {
+        }
+
+        @Override
+        public void sendFailedMessage(String topic, Object value, Throwable cause, String correlationId) {
+        }
+    };
+
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -39,4 +56,28 @@ public class ErrorQueueProducer {
         }
     }
 
+    /**
+     * Publishes a message that could not be sent to its topic onto the error queue, when errors publishing is enabled
+     *
+     * @param topic         topic the message was sent to
+     * @param value         message that failed
+     * @param cause         send failure
+     * @param correlationId correlation id of the flow that sent the message
+     */
+    public void sendFailedMessage(String topic, Object value, Throwable cause, String correlationId) {
+        if (!tracerProperties.isErrorsPublish()) {
+            return;
+        }
+        ErrorQueueContract errorQueueContract = ErrorQueueContract.builder()
+                .id(UUID.randomUUID().toString())
+                .correlationId(correlationId)
+                .body(value)
+                .source(topic)
+                .ts(new Date().getTime())
+                .exception(Arrays.asList(cause.getStackTrace()))
+                .message(cause.getMessage())
+                .build();
+        sendMessage(errorQueueContract);
+    }
+
 }
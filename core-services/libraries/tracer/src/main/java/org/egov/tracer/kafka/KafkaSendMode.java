@@ -0,0 +1,19 @@
+package org.egov.tracer.kafka;
+
+/**
+ * Delivery guarantee of the blocking send methods of {@link CustomKafkaTemplate} and {@link LogAwareKafkaTemplate}
+ */
+public enum KafkaSendMode {
+
+    /**
+     * Every send waits for the broker acknowledgement before returning
+     */
+    SYNC,
+
+    /**
+     * Sends made while serving a traced http request return immediately, the request waits for all of them before
+     * its response body is written and fails if any of them failed. Sends outside a request behave as {@link #SYNC}.
+     */
+    REQUEST_END
+
+}
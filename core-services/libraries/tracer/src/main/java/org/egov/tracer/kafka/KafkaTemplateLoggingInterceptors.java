@@ -11,13 +11,16 @@ import org.apache.kafka.clients.producer.ProducerInterceptor;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.MDC;
 import org.springframework.util.ObjectUtils;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.isNull;
 import static org.egov.tracer.constants.TracerConstants.*;
+import static org.egov.tracer.metrics.TracerMetrics.*;
 import static org.springframework.util.StringUtils.isEmpty;
 
 @Slf4j
@@ -43,6 +46,7 @@ public class KafkaTemplateLoggingInterceptors<K, V> implements ConsumerIntercept
     @Override
     public ConsumerRecords<K, V> onConsume(ConsumerRecords<K, V> consumerRecords) {
         for (ConsumerRecord<K, V> consumerRecord : consumerRecords) {
+            recordConsumed(consumerRecord);
             final String keyAsString = ObjectUtils.nullSafeToString(consumerRecord.key());
             String correlationId = getCorrelationIdFromBody(consumerRecord.value());
 
@@ -85,9 +89,45 @@ public class KafkaTemplateLoggingInterceptors<K, V> implements ConsumerIntercept
             final String message =
                     String.format(SEND_FAILURE_MESSAGE, recordMetadata.topic(), recordMetadata.partition());
             log.error(message, e);
+            Metrics.counter(KAFKA_PRODUCE_ERRORS, TAG_TOPIC, getTopic(recordMetadata)).increment();
+        } else {
+            recordProduced(recordMetadata);
+        }
+    }
+
+    /**
+     * Records the time from the creation of the record to its acknowledgement, the record timestamp being set by the
+     * producer on send, and the serialized size of the record value
+     */
+    private void recordProduced(RecordMetadata recordMetadata) {
+        final String topic = getTopic(recordMetadata);
+        if (recordMetadata.hasTimestamp()) {
+            Metrics.timer(KAFKA_PRODUCE, TAG_TOPIC, topic)
+                    .record(Math.max(0, System.currentTimeMillis() - recordMetadata.timestamp()), TimeUnit.MILLISECONDS);
+        }
+        if (recordMetadata.serializedValueSize() >= 0) {
+            Metrics.summary(KAFKA_PRODUCE_PAYLOAD_SIZE, TAG_TOPIC, topic).record(recordMetadata.serializedValueSize());
         }
     }
 
+    /**
+     * Records the time the record spent in the topic before being consumed and the serialized size of its value
+     */
+    private void recordConsumed(ConsumerRecord<K, V> consumerRecord) {
+        if (consumerRecord.timestamp() > 0) {
+            Metrics.timer(KAFKA_CONSUME_LAG, TAG_TOPIC, consumerRecord.topic())
+                    .record(Math.max(0, System.currentTimeMillis() - consumerRecord.timestamp()), TimeUnit.MILLISECONDS);
+        }
+        if (consumerRecord.serializedValueSize() >= 0) {
+            Metrics.summary(KAFKA_CONSUME_PAYLOAD_SIZE, TAG_TOPIC, consumerRecord.topic())
+                    .record(consumerRecord.serializedValueSize());
+        }
+    }
+
+    private String getTopic(RecordMetadata recordMetadata) {
+        return isNull(recordMetadata) || isNull(recordMetadata.topic()) ? UNKNOWN : recordMetadata.topic();
+    }
+
     @Override
     public void close() {
 
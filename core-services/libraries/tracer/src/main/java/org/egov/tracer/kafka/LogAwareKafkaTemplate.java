@@ -5,12 +5,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.tracer.config.ObjectMapperFactory;
 import org.egov.tracer.config.TracerProperties;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.concurrent.ListenableFuture;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static org.egov.tracer.constants.TracerConstants.CORRELATION_ID_MDC;
 
 @Slf4j
 @Component
@@ -31,45 +38,103 @@ public class LogAwareKafkaTemplate<K, V> {
     private TracerProperties tracerProperties;
     private KafkaTemplate<K, V> kafkaTemplate;
     private ObjectMapper objectMapper;
+    private ErrorQueueProducer errorQueueProducer;
 
+    /**
+     * @deprecated failed async sends are not published to the error queue by a template created without an
+     * error queue producer, use {@link #LogAwareKafkaTemplate(TracerProperties, KafkaTemplate, ObjectMapperFactory, ErrorQueueProducer)}
+     */
+    @Deprecated
     public LogAwareKafkaTemplate(TracerProperties tracerProperties,
                                  KafkaTemplate<K, V> kafkaTemplate,
                                  ObjectMapperFactory objectMapperFactory) {
+        this(tracerProperties, kafkaTemplate, objectMapperFactory, ErrorQueueProducer.NO_OP);
+    }
+
+    @Autowired
+    public LogAwareKafkaTemplate(TracerProperties tracerProperties,
+                                 KafkaTemplate<K, V> kafkaTemplate,
+                                 ObjectMapperFactory objectMapperFactory,
+                                 ErrorQueueProducer errorQueueProducer) {
         this.tracerProperties = tracerProperties;
         this.kafkaTemplate = kafkaTemplate;
         this.objectMapper = objectMapperFactory.getObjectMapper();
+        this.errorQueueProducer = errorQueueProducer;
     }
 
+    /**
+     * Sends the message as per the configured {@link KafkaSendMode}. When the send is deferred to the end of the
+     * request null is returned.
+     */
     public SendResult<K, V> send(String topic, V value) {
-        try {
-            final SendResult<K, V> result = kafkaTemplate.send(topic, value).get();
-            logSuccessMessage(value, result);
-            return result;
-        } catch (InterruptedException | ExecutionException e) {
-            log.error(String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC, topic), e);
-            throw new RuntimeException(e);
-        }
+        return await(doSend(topic, value, false, String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC, topic),
+                () -> kafkaTemplate.send(topic, value)));
     }
 
     public SendResult<K, V> send(String topic, K key, V value) {
+        return await(doSend(topic, value, false, String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC_KEY, topic, key),
+                () -> kafkaTemplate.send(topic, key, value)));
+    }
+
+    public SendResult<K, V> send(String topic, K key, int partition, V value) {
+        return await(doSend(topic, value, false,
+                String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC_KEY_PARTITION, topic, key, partition),
+                () -> kafkaTemplate.send(topic, partition, key, value)));
+    }
+
+    /**
+     * Sends the message without waiting for the broker. A failed send is logged and published onto the error
+     * queue, the returned future completes exceptionally.
+     */
+    public CompletableFuture<SendResult<K, V>> sendAsync(String topic, V value) {
+        return doSend(topic, value, true, String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC, topic),
+                () -> kafkaTemplate.send(topic, value));
+    }
+
+    public CompletableFuture<SendResult<K, V>> sendAsync(String topic, K key, V value) {
+        return doSend(topic, value, true, String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC_KEY, topic, key),
+                () -> kafkaTemplate.send(topic, key, value));
+    }
+
+    public CompletableFuture<SendResult<K, V>> sendAsync(String topic, K key, int partition, V value) {
+        return doSend(topic, value, true,
+                String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC_KEY_PARTITION, topic, key, partition),
+                () -> kafkaTemplate.send(topic, partition, key, value));
+    }
+
+    private CompletableFuture<SendResult<K, V>> doSend(String topic, V value, boolean publishFailure,
+                                                       String failureMessage,
+                                                       Supplier<ListenableFuture<SendResult<K, V>>> sender) {
+        final String correlationId = MDC.get(CORRELATION_ID_MDC);
+        final CompletableFuture<SendResult<K, V>> result = new CompletableFuture<>();
         try {
-            final SendResult<K, V> result = kafkaTemplate.send(topic, key, value).get();
-            logSuccessMessage(value, result);
-            return result;
-        } catch (InterruptedException | ExecutionException e) {
-            log.error(String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC_KEY, topic, key), e);
-            throw new RuntimeException(e);
+            sender.get().addCallback(sendResult -> {
+                logSuccessMessage(value, sendResult);
+                result.complete(sendResult);
+            }, e -> onFailure(result, topic, value, e, failureMessage, publishFailure, correlationId));
+        } catch (Exception e) {
+            onFailure(result, topic, value, e, failureMessage, publishFailure, correlationId);
         }
+        return result;
     }
 
-    public SendResult<K, V> send(String topic, K key, int partition, V value) {
+    private void onFailure(CompletableFuture<SendResult<K, V>> result, String topic, V value, Throwable e,
+                           String failureMessage, boolean publishFailure, String correlationId) {
+        log.error(failureMessage, e);
+        if (publishFailure) {
+            errorQueueProducer.sendFailedMessage(topic, value, e, correlationId);
+        }
+        result.completeExceptionally(new RuntimeException(e));
+    }
+
+    private SendResult<K, V> await(CompletableFuture<SendResult<K, V>> send) {
+        if (tracerProperties.getKafkaSendMode() == KafkaSendMode.REQUEST_END && PendingKafkaSends.defer(send)) {
+            return null;
+        }
         try {
-            final SendResult<K, V> result = kafkaTemplate.send(topic, partition, key, value).get();
-            logSuccessMessage(value, result);
-            return result;
-        } catch (InterruptedException | ExecutionException e) {
-            log.error(String.format(SEND_FAILURE_MESSAGE_WITH_TOPIC_KEY_PARTITION, topic, key, partition), e);
-            throw new RuntimeException(e);
+            return send.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
         }
     }
 
@@ -0,0 +1,72 @@
+package org.egov.tracer.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Kafka sends deferred to the end of the http request being served by the current thread, see
+ * {@link KafkaSendMode#REQUEST_END}
+ */
+public final class PendingKafkaSends {
+
+    private static final ThreadLocal<List<CompletableFuture<?>>> PENDING = new ThreadLocal<>();
+
+    private PendingKafkaSends() {
+    }
+
+    /**
+     * Starts deferring the sends of the current thread
+     */
+    public static void begin() {
+        PENDING.set(new ArrayList<>());
+    }
+
+    /**
+     * Defers waiting for the send to the end of the request
+     *
+     * @return false when the current thread is not deferring sends
+     */
+    static boolean defer(CompletableFuture<?> send) {
+        final List<CompletableFuture<?>> pending = PENDING.get();
+        if (pending == null) {
+            return false;
+        }
+        pending.add(send);
+        return true;
+    }
+
+    /**
+     * Waits for all the sends deferred so far, rethrowing the failure of the first failed send
+     */
+    public static void awaitAll() {
+        final List<CompletableFuture<?>> pending = PENDING.get();
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        final List<CompletableFuture<?>> sends = new ArrayList<>(pending);
+        pending.clear();
+        RuntimeException failure = null;
+        for (CompletableFuture<?> send : sends) {
+            try {
+                send.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops deferring the sends of the current thread
+     */
+    public static void end() {
+        PENDING.remove();
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.egov.tracer.kafka;
+
+import org.egov.tracer.config.TracerProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Waits for the kafka sends deferred by a request before its response body is written, so that a failed send
+ * still fails the request in {@link KafkaSendMode#REQUEST_END} mode.
+ */
+@ControllerAdvice
+public class PendingKafkaSendsAdvice implements ResponseBodyAdvice<Object> {
+
+    private final TracerProperties tracerProperties;
+
+    public PendingKafkaSendsAdvice(TracerProperties tracerProperties) {
+        this.tracerProperties = tracerProperties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return tracerProperties.getKafkaSendMode() == KafkaSendMode.REQUEST_END;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        PendingKafkaSends.awaitAll();
+        return body;
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.egov.tracer.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Names and tag helpers of the meters published by the tracer library.
+ *
+ * Meters are registered on the micrometer global registry, which spring boot actuator adds its registries to, so
+ * that they can also be recorded from kafka interceptors instantiated outside the spring context. Tags are kept low
+ * cardinality, path segments looking like ids are replaced by {id}.
+ */
+public final class TracerMetrics {
+
+    public static final String HTTP_CLIENT_REQUESTS = "tracer.http.client.requests";
+    public static final String KAFKA_PRODUCE = "tracer.kafka.produce";
+    public static final String KAFKA_PRODUCE_PAYLOAD_SIZE = "tracer.kafka.produce.payload.size";
+    public static final String KAFKA_PRODUCE_ERRORS = "tracer.kafka.produce.errors";
+    public static final String KAFKA_CONSUME_LAG = "tracer.kafka.consume.lag";
+    public static final String KAFKA_CONSUME_PAYLOAD_SIZE = "tracer.kafka.consume.payload.size";
+    public static final String ERRORS = "tracer.errors";
+
+    public static final String TAG_TOPIC = "topic";
+    public static final String TAG_HOST = "host";
+    public static final String TAG_URI = "uri";
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_EXCEPTION = "exception";
+
+    public static final String UNKNOWN = "UNKNOWN";
+    public static final String IO_ERROR = "IO_ERROR";
+
+    private static final String ID_PLACEHOLDER = "{id}";
+    private static final Pattern ID_SEGMENT =
+            Pattern.compile("\\d+|[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}|(?=.*\\d)[^/]{16,}");
+
+    private TracerMetrics() {
+    }
+
+    /**
+     * Replaces the path segments that are numbers, uuids or long tokens with digits by a placeholder
+     *
+     * @param path request path without query string
+     * @return path suitable as a tag value
+     */
+    public static String normalizePath(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        final String[] segments = path.split("/", -1);
+        final StringBuilder normalized = new StringBuilder(path.length());
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                normalized.append('/');
+            }
+            normalized.append(ID_SEGMENT.matcher(segments[i]).matches() ? ID_PLACEHOLDER : segments[i]);
+        }
+        return normalized.toString();
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.egov.tracer.http.filters;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CorrelationIdScannerTest {
+
+    private final CorrelationIdScanner scanner = new CorrelationIdScanner(new JsonFactory());
+
+    @Test
+    public void test_should_find_correlation_id_after_other_fields() {
+        final String body = "{\"tenantId\":\"pb\",\"items\":[{\"a\":{\"b\":1}}],"
+                + "\"RequestInfo\":{\"apiId\":\"x\",\"userInfo\":{\"id\":1},\"correlationId\":\"abc\"}}";
+
+        assertEquals("abc", scanner.scan(stream(body)));
+    }
+
+    @Test
+    public void test_should_find_correlation_id_in_camel_case_request_info() {
+        assertEquals("abc", scanner.scan(stream("{\"requestInfo\":{\"correlationId\":\"abc\"}}")));
+    }
+
+    @Test
+    public void test_should_not_find_correlation_id_nested_outside_request_info() {
+        assertNull(scanner.scan(stream("{\"data\":{\"RequestInfo\":{\"correlationId\":\"abc\"}}}")));
+    }
+
+    @Test
+    public void test_should_return_null_for_invalid_or_truncated_body() {
+        assertNull(scanner.scan(stream("[1,2]")));
+        assertNull(scanner.scan(stream("{\"RequestInfo\":{\"apiId\":")));
+        assertNull(scanner.scan(stream("not json")));
+    }
+
+    @Test
+    public void test_should_replay_scanned_prefix_before_rest_of_body() throws IOException {
+        final String body = "{\"RequestInfo\":{\"correlationId\":\"abc\"},\"items\":[\"" + repeat('x', 1000) + "\"]}";
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        final PrefixRecordingRequestWrapper wrapper = new PrefixRecordingRequestWrapper(request, 100);
+
+        try (InputStream prefix = wrapper.getPrefixStream()) {
+            assertEquals("abc", scanner.scan(prefix));
+        }
+
+        assertEquals(body, IOUtils.toString(wrapper.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_should_stop_scanning_at_limit() throws IOException {
+        final String body = "{\"items\":[\"" + repeat('x', 1000) + "\"],\"RequestInfo\":{\"correlationId\":\"abc\"}}";
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        final PrefixRecordingRequestWrapper wrapper = new PrefixRecordingRequestWrapper(request, 100);
+
+        try (InputStream prefix = wrapper.getPrefixStream()) {
+            assertNull(scanner.scan(prefix));
+        }
+
+        assertEquals(body, IOUtils.toString(wrapper.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String repeat(char c, int count) {
+        final StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package org.egov.tracer.kafka;
+
+import org.egov.tracer.config.TracerProperties;
+import org.egov.tracer.model.CustomException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CustomKafkaTemplateTest {
+
+    private static final String TOPIC = "save-topic";
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private ErrorQueueProducer errorQueueProducer;
+    private TracerProperties tracerProperties;
+    private CustomKafkaTemplate<String, Object> customKafkaTemplate;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        errorQueueProducer = mock(ErrorQueueProducer.class);
+        tracerProperties = new TracerProperties();
+        customKafkaTemplate = new CustomKafkaTemplate<>(kafkaTemplate, tracerProperties, errorQueueProducer);
+    }
+
+    @After
+    public void after() {
+        PendingKafkaSends.end();
+    }
+
+    @Test
+    public void test_should_complete_async_send_without_waiting_for_the_broker() {
+        final SettableListenableFuture<SendResult<String, Object>> brokerAck = new SettableListenableFuture<>();
+        when(kafkaTemplate.send(TOPIC, "value")).thenReturn(brokerAck);
+
+        final CompletableFuture<SendResult<String, Object>> send = customKafkaTemplate.sendAsync(TOPIC, "value");
+        assertFalse(send.isDone());
+
+        final SendResult<String, Object> result = new SendResult<>(null, null);
+        brokerAck.set(result);
+        assertSame(result, send.join());
+    }
+
+    @Test
+    public void test_should_publish_failed_async_send_to_error_queue() {
+        final SettableListenableFuture<SendResult<String, Object>> brokerAck = new SettableListenableFuture<>();
+        when(kafkaTemplate.send(TOPIC, "value")).thenReturn(brokerAck);
+
+        final CompletableFuture<SendResult<String, Object>> send = customKafkaTemplate.sendAsync(TOPIC, "value");
+        final RuntimeException failure = new RuntimeException("broker down");
+        brokerAck.setException(failure);
+
+        assertTrue(send.isCompletedExceptionally());
+        verify(errorQueueProducer).sendFailedMessage(eq(TOPIC), eq("value"), eq(failure), any());
+    }
+
+    @Test
+    public void test_should_fail_async_send_of_template_without_error_queue_producer() {
+        final SettableListenableFuture<SendResult<String, Object>> brokerAck = new SettableListenableFuture<>();
+        when(kafkaTemplate.send(TOPIC, "value")).thenReturn(brokerAck);
+
+        final CompletableFuture<SendResult<String, Object>> send = new CustomKafkaTemplate<>(kafkaTemplate)
+                .sendAsync(TOPIC, "value");
+        brokerAck.setException(new RuntimeException("broker down"));
+
+        try {
+            send.join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof CustomException);
+        }
+    }
+
+    @Test
+    public void test_should_defer_blocking_send_to_request_end() {
+        tracerProperties.setKafkaSendMode(KafkaSendMode.REQUEST_END);
+        final SettableListenableFuture<SendResult<String, Object>> brokerAck = new SettableListenableFuture<>();
+        when(kafkaTemplate.send(TOPIC, "value")).thenReturn(brokerAck);
+        PendingKafkaSends.begin();
+
+        assertNull(customKafkaTemplate.send(TOPIC, "value"));
+
+        brokerAck.setException(new RuntimeException("broker down"));
+        try {
+            PendingKafkaSends.awaitAll();
+            fail();
+        } catch (CustomException e) {
+            verify(errorQueueProducer, never()).sendFailedMessage(any(), any(), any(), any());
+        }
+    }
+
+    @Test(expected = CustomException.class)
+    public void test_should_wait_for_blocking_send_outside_a_request() {
+        tracerProperties.setKafkaSendMode(KafkaSendMode.REQUEST_END);
+        final SettableListenableFuture<SendResult<String, Object>> brokerAck = new SettableListenableFuture<>();
+        brokerAck.setException(new RuntimeException("broker down"));
+        when(kafkaTemplate.send(TOPIC, "value")).thenReturn(brokerAck);
+
+        customKafkaTemplate.send(TOPIC, "value");
+    }
+}
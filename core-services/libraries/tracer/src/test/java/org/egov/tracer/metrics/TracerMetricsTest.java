@@ -0,0 +1,24 @@
+package org.egov.tracer.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TracerMetricsTest {
+
+    @Test
+    public void test_should_replace_id_segments_of_path() {
+        assertEquals("/user/v1/{id}/_search",
+                TracerMetrics.normalizePath("/user/v1/123/_search"));
+        assertEquals("/filestore/v1/files/{id}",
+                TracerMetrics.normalizePath("/filestore/v1/files/0c1f8a4e-3b8d-4d5e-9a4f-2b7c6d8e9f01"));
+        assertEquals("/localization/messages/v1/_search",
+                TracerMetrics.normalizePath("/localization/messages/v1/_search"));
+    }
+
+    @Test
+    public void test_should_return_root_for_empty_path() {
+        assertEquals("/", TracerMetrics.normalizePath(""));
+        assertEquals("/", TracerMetrics.normalizePath(null));
+    }
+}
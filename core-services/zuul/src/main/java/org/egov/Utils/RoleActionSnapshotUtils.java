@@ -0,0 +1,190 @@
+package org.egov.Utils;
+
+import static org.egov.constants.RequestContextConstants.CITIZEN_ROLE_CODE;
+import static org.egov.constants.RequestContextConstants.REQUEST_TENANT_ID_KEY;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.utils.MultiStateInstanceUtil;
+import org.egov.contract.Role;
+import org.egov.model.AuthorizationRequest;
+import org.egov.model.RoleActionSnapshot;
+import org.egov.model.RoleActionSnapshotResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a locally replicated, compiled copy of the access control role-action data per tenant level
+ * and authorizes requests against it. Tenants are loaded lazily in the background on first use and
+ * refreshed periodically; whenever a snapshot is missing or older than the configured staleness,
+ * the caller has to fall back to remote authorization.
+ */
+@Slf4j
+@Repository
+public class RoleActionSnapshotUtils {
+
+    @Value("${egov.rbac.local.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${egov.rbac.local.snapshot.max.staleness.ms:900000}")
+    private long maxStalenessMs;
+
+    @Value("${egov.authorize.access.control.host}${egov.rbac.local.snapshot.uri:access/v1/actions/_roleactions}")
+    private String snapshotUrl;
+
+    @Autowired
+    private MultiStateInstanceUtil centralInstanceUtil;
+
+    private RestTemplate restTemplate;
+
+    private final Map<String, RoleActionSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Set<String> loadsInProgress = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "rbac-snapshot-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public RoleActionSnapshotUtils(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * Authorizes the request in-process, mirroring the tenant level and role applicability rules of
+     * access control's _authorize
+     *
+     * @param authorizationRequest URI, roles and tenants to be authorized
+     * @return the authorization result, empty when no fresh snapshot is available for every tenant level
+     */
+    public Optional<Boolean> authorize(AuthorizationRequest authorizationRequest) {
+        if (!enabled)
+            return Optional.empty();
+
+        String tenantId = authorizationRequest.getTenantIds().iterator().next();
+        Set<String> roleCodes = getApplicableRoles(authorizationRequest, tenantId);
+        long now = System.currentTimeMillis();
+
+        List<RoleActionSnapshot> tenantSnapshots = new ArrayList<>();
+        for (String tenantLevel : getTenantLevelsForAuthorizationCheck(authorizationRequest, tenantId)) {
+            RoleActionSnapshot snapshot = snapshots.get(tenantLevel);
+            if (snapshot == null || now - snapshot.getLoadedAt() > maxStalenessMs) {
+                scheduleLoad(tenantLevel);
+                return Optional.empty();
+            }
+            tenantSnapshots.add(snapshot);
+        }
+
+        for (RoleActionSnapshot snapshot : tenantSnapshots) {
+            if (snapshot.isAuthorized(roleCodes, authorizationRequest.getUri()))
+                return Optional.of(true);
+        }
+        return Optional.of(false);
+    }
+
+    /**
+     * Refreshes the snapshot of every tenant level seen so far
+     */
+    @Scheduled(initialDelayString = "${egov.rbac.local.snapshot.refresh.ms:300000}",
+        fixedDelayString = "${egov.rbac.local.snapshot.refresh.ms:300000}")
+    public void refreshSnapshots() {
+        if (!enabled)
+            return;
+        new ArrayList<>(snapshots.keySet()).forEach(this::scheduleLoad);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private void scheduleLoad(String tenantId) {
+        if (!loadsInProgress.add(tenantId))
+            return;
+        loader.execute(() -> {
+            try {
+                loadSnapshot(tenantId);
+            } finally {
+                loadsInProgress.remove(tenantId);
+            }
+        });
+    }
+
+    private void loadSnapshot(String tenantId) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (centralInstanceUtil.getIsEnvironmentCentralInstance())
+            headers.add(REQUEST_TENANT_ID_KEY, tenantId);
+        final HttpEntity<Object> httpEntity = new HttpEntity<>(new RequestInfo(), headers);
+        String uri = UriComponentsBuilder.fromHttpUrl(snapshotUrl).queryParam(REQUEST_TENANT_ID_KEY, tenantId)
+            .toUriString();
+
+        try {
+            RoleActionSnapshotResponse response = restTemplate.postForObject(uri, httpEntity,
+                RoleActionSnapshotResponse.class);
+            if (response == null || response.getRoleActions() == null) {
+                log.warn("No role actions returned by access control for tenant {}", tenantId);
+                return;
+            }
+            snapshots.put(tenantId, RoleActionSnapshot.compile(response.getRoleActions(), System.currentTimeMillis()));
+            log.info("Loaded role action snapshot for tenant {} with {} roles", tenantId,
+                response.getRoleActions().size());
+        } catch (Exception e) {
+            log.warn("Failed to load role action snapshot for tenant {}, keeping the previous one", tenantId, e);
+        }
+    }
+
+    private List<String> getTenantLevelsForAuthorizationCheck(AuthorizationRequest authorizationRequest,
+                                                              String tenantId) {
+        Set<String> tenantLevels = new LinkedHashSet<>();
+        tenantLevels.add(tenantId);
+        tenantLevels.add(centralInstanceUtil.getStateLevelTenant(tenantId));
+        if (centralInstanceUtil.getIsEnvironmentCentralInstance() && authorizationRequest.getRoles().stream()
+            .anyMatch(role -> CITIZEN_ROLE_CODE.equals(role.getCode())))
+            tenantLevels.add(tenantId.split("\\.")[0]);
+
+        List<String> orderedTenantLevels = new ArrayList<>(tenantLevels);
+        Collections.sort(orderedTenantLevels, Collections.reverseOrder(Comparator.comparing(String::length)));
+        return orderedTenantLevels;
+    }
+
+    private Set<String> getApplicableRoles(AuthorizationRequest authorizationRequest, String tenantId) {
+        Set<String> requestTenantIds = authorizationRequest.getTenantIds();
+        String centralInstanceLevelTenantId = tenantId.split("\\.")[0];
+        String stateLevelTenantId = centralInstanceUtil.getStateLevelTenant(tenantId);
+
+        Set<String> applicableRoles = new HashSet<>();
+        for (Role role : authorizationRequest.getRoles()) {
+            if (requestTenantIds.contains(role.getTenantId())
+                || role.getTenantId().equalsIgnoreCase(stateLevelTenantId)
+                || (!ObjectUtils.isEmpty(stateLevelTenantId)
+                && role.getTenantId().equalsIgnoreCase(centralInstanceLevelTenantId)))
+                applicableRoles.add(role.getCode());
+        }
+        return applicableRoles;
+    }
+}
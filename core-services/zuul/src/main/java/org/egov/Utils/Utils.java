@@ -10,8 +10,10 @@ import static org.egov.constants.RequestContextConstants.REQUEST_TENANT_ID_KEY;
 import static org.egov.constants.RequestContextConstants.USER_INFO_KEY;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -23,14 +25,16 @@ import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.io.IOUtils;
 import org.egov.contract.User;
 import org.egov.exceptions.CustomException;
+import org.egov.wrapper.CustomRequestWrapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.JsonNodeType;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.netflix.zuul.context.RequestContext;
 
 @Configuration
@@ -40,6 +44,7 @@ public class Utils {
 	private ObjectMapper objectMapper;
 	
     private static final String EMPTY_STRING = "";
+    private static final int MAX_TENANT_ID_DEPTH = 32;
     public static final String JSON_TYPE = "json";
 
     public static String getResponseBody(RequestContext ctx) throws IOException {
@@ -88,20 +93,9 @@ public class Utils {
         if (Utils.isRequestBodyCompatible(request)) {
 
             try {
-                ObjectNode requestBody = (ObjectNode) objectMapper.readTree(request.getInputStream());
+                List<String> tenants = getTenantIdsFromRequestBody(CustomRequestWrapper.of(ctx).getInputStream(),
+                    objectMapper.getFactory());
 
-                stripRequestInfo(requestBody);
-
-                List<String> tenants = new LinkedList<>();
-
-                for (JsonNode node : requestBody.findValues(REQUEST_TENANT_ID_KEY)) {
-                    if (node.getNodeType() == JsonNodeType.ARRAY)
-                    {
-                        node.elements().forEachRemaining(n -> tenants.add(n.asText()));
-                    } else if (node.getNodeType() == JsonNodeType.STRING) {
-                        tenants.add(node.asText());
-                    }
-				}
 				if (!tenants.isEmpty()) {
 					/*
 					 * Filtering null tenantids will be removed once fix is done in TL service.
@@ -137,13 +131,68 @@ public class Utils {
 		}
 	}
     
-    private void stripRequestInfo(ObjectNode requestBody) {
-        if (requestBody.has(REQUEST_INFO_FIELD_NAME_PASCAL_CASE))
-            requestBody.remove(REQUEST_INFO_FIELD_NAME_PASCAL_CASE);
-
-        else if (requestBody.has(REQUEST_INFO_FIELD_NAME_CAMEL_CASE))
-            requestBody.remove(REQUEST_INFO_FIELD_NAME_CAMEL_CASE);
+    /**
+     * Collects the distinct tenantId values present anywhere in the request body except in the request info.
+     * Streams over the body instead of parsing it into maps. Bodies nesting objects and arrays deeper than
+     * {@value #MAX_TENANT_ID_DEPTH} levels are rejected, so that no tenantId escapes the tenant access check.
+     *
+     * @param requestBody request body
+     * @param jsonFactory factory of the parser
+     * @return tenantIds in the order found
+     * @throws IOException when the body is not a JSON object or is nested too deep
+     */
+    public static List<String> getTenantIdsFromRequestBody(InputStream requestBody, JsonFactory jsonFactory)
+        throws IOException {
+        Set<String> tenants = new LinkedHashSet<>();
+        try (JsonParser parser = jsonFactory.createParser(requestBody)) {
+            JsonToken token = parser.nextToken();
+            if (token == null)
+                return new LinkedList<>(tenants);
+            if (token != JsonToken.START_OBJECT)
+                throw new JsonParseException(parser, "Request body is not a JSON object");
+
+            int depth = 1;
+            while (depth > 0 && (token = parser.nextToken()) != null) {
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    depth--;
+                    continue;
+                }
+
+                String field = null;
+                if (token == JsonToken.FIELD_NAME) {
+                    field = parser.getCurrentName();
+                    token = parser.nextToken();
+                }
+
+                if (depth == 1 && (REQUEST_INFO_FIELD_NAME_PASCAL_CASE.equals(field)
+                    || REQUEST_INFO_FIELD_NAME_CAMEL_CASE.equals(field))) {
+                    parser.skipChildren();
+                } else if (REQUEST_TENANT_ID_KEY.equals(field)) {
+                    readTenantIds(parser, token, tenants);
+                } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    if (depth == MAX_TENANT_ID_DEPTH)
+                        throw new JsonParseException(parser, "Request body is nested deeper than "
+                            + MAX_TENANT_ID_DEPTH + " levels");
+                    depth++;
+                }
+            }
+        }
+        return new LinkedList<>(tenants);
+    }
 
+    private static void readTenantIds(JsonParser parser, JsonToken token, Set<String> tenants) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            tenants.add(parser.getText());
+        } else if (token == JsonToken.START_ARRAY) {
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token.isScalarValue())
+                    tenants.add(parser.getText());
+                else
+                    parser.skipChildren();
+            }
+        } else {
+            parser.skipChildren();
+        }
     }
     
     /**
@@ -27,6 +27,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,6 +39,7 @@ import javax.annotation.PostConstruct;
 
 @EnableZuulProxy
 @EnableCaching
+@EnableScheduling
 @SpringBootApplication
 @PropertySource({"${zuul.routes.filepath}","${zuul.limiter.filepath}"})
 @Import({TracerConfiguration.class, MultiStateInstanceUtil.class})
@@ -6,8 +6,6 @@ public class RequestContextConstants {
     public static final String ERROR_MESSAGE_KEY = "error.message";
     public static final String ERROR_CODE_KEY = "error.status_code";
     public static final String CURRENT_REQUEST_TENANTID = "request.tenant_id";
-    public static final String CURRENT_REQUEST_SANITIZED_BODY = "request.body.sanitized";
-    public static final String CURRENT_REQUEST_SANITIZED_BODY_STR = "request.body.sanitized.str";
     public static final String CURRENT_REQUEST_START_TIME = "request.time.start";
     public static final String CURRENT_REQUEST_END_TIME = "request.time.end";
     public static final String GET = "GET";
@@ -19,6 +17,7 @@ public class RequestContextConstants {
     public static final String REQUEST_INFO_FIELD_NAME_PASCAL_CASE = "RequestInfo";
     public static final String REQUEST_INFO_FIELD_NAME_CAMEL_CASE = "requestInfo";
     public static final String USER_INFO_FIELD_NAME = "userInfo";
+    public static final String AUTH_TOKEN_FIELD_NAME = "authToken";
     public static final String USER_INFO_KEY = "USER_INFO";
     public static final String CORRELATION_ID_FIELD_NAME = "correlationId";
     public static final String CORRELATION_ID_HEADER_NAME = "x-correlation-id";
@@ -28,4 +27,5 @@ public class RequestContextConstants {
     public static final String SKIP_RBAC = "RBAC check skipped";
     public static final String REQUEST_TENANT_ID_KEY = "tenantId";
     public static final String TENANT_ID_KEY = "TENANT_ID";
+    public static final String CITIZEN_ROLE_CODE = "CITIZEN";
 }
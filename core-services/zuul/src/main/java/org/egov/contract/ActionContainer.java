@@ -0,0 +1,25 @@
+package org.egov.contract;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * URIs a role is authorized for, as replicated from access control
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ActionContainer {
+
+    private Set<String> uris = new HashSet<>();
+
+    private Set<String> regexUris = new HashSet<>();
+
+}
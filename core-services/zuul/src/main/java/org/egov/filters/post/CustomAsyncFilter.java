@@ -42,7 +42,7 @@ public class CustomAsyncFilter extends ZuulFilter {
 		RequestContext ctx = RequestContext.getCurrentContext();
 		HttpServletRequest request = ctx.getRequest();
 		try {
-			CustomAsyncRequest customAsyncRequest = CustomAsyncRequest.builder().request(jsonToMap(readRequestBody(request)))
+			CustomAsyncRequest customAsyncRequest = CustomAsyncRequest.builder().request(jsonToMap(readRequestBody(ctx)))
 					.response(jsonToMap(readResponseBody(ctx))).sourceUri(request.getRequestURI())
 					.queryParamMap(ctx.getRequestQueryParams()).build();
 			log.info("CustomAsyncFilter Topic:" + topic);
@@ -99,8 +99,8 @@ public class CustomAsyncFilter extends ZuulFilter {
 		return resMap;
 	}
 
-	private String readRequestBody(HttpServletRequest request) {
-		CustomRequestWrapper requestWrapper = new CustomRequestWrapper(request);
+	private String readRequestBody(RequestContext ctx) {
+		CustomRequestWrapper requestWrapper = CustomRequestWrapper.of(ctx);
 		String body = requestWrapper.getPayload();
 		log.info("body:" + body);
 		return body;
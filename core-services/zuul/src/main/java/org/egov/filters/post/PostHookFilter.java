@@ -6,12 +6,11 @@ import com.jayway.jsonpath.JsonPath;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.egov.UrlProvider;
 import org.egov.Utils.ExceptionUtils;
 import org.egov.model.PostHookFilterRequest;
-import org.egov.tracer.model.CustomException;
+import org.egov.wrapper.CustomRequestWrapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -42,9 +41,9 @@ public class PostHookFilter extends ZuulFilter {
         if (StringUtils.isEmpty(resBody)) return null;
 
         DocumentContext resDc = JsonPath.parse(resBody);
-        DocumentContext reqDc = parseRequest(ctx);
         String uri = ctx.getRequest().getRequestURI();
-        PostHookFilterRequest req = PostHookFilterRequest.builder().Request(reqDc.jsonString()).Response(resDc.jsonString()).build();
+        PostHookFilterRequest req = PostHookFilterRequest.builder().Request(CustomRequestWrapper.of(ctx).getPayload())
+            .Response(resDc.jsonString()).build();
         String response = null;
         try {
             log.debug("Executing post-hook filter. Sending request to - " + UrlProvider.getUrlPostHooksMap().get(uri));
@@ -94,18 +93,4 @@ public class PostHookFilter extends ZuulFilter {
         }
         return responseBody;
     }
-
-    private DocumentContext parseRequest(RequestContext ctx) {
-
-        String payload = null;
-        try {
-            InputStream is = ctx.getRequest().getInputStream();
-            payload = IOUtils.toString(is);
-            //request.getRequestURI();
-        } catch (IOException e) {
-            throw new CustomException("REQUEST_PARSING_ERROR", e.getMessage());
-        }
-        return JsonPath.parse(payload);
-    }
-
 }
@@ -2,8 +2,6 @@ package org.egov.filters.pre;
 
 import static org.egov.constants.RequestContextConstants.AUTH_BOOLEAN_FLAG_NAME;
 import static org.egov.constants.RequestContextConstants.AUTH_TOKEN_KEY;
-import static org.egov.constants.RequestContextConstants.CURRENT_REQUEST_SANITIZED_BODY;
-import static org.egov.constants.RequestContextConstants.CURRENT_REQUEST_SANITIZED_BODY_STR;
 import static org.egov.constants.RequestContextConstants.USER_INFO_FIELD_NAME;
 import static org.egov.constants.RequestContextConstants.USER_INFO_KEY;
 
@@ -23,8 +21,6 @@ import org.egov.wrapper.CustomRequestWrapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.ObjectUtils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
@@ -52,7 +48,6 @@ public class AuthPreCheckFilter extends ZuulFilter {
     private static final String PROCEED_ROUTING_MESSAGE = "Routing to an endpoint: {} - auth provided";
     private static final String NO_REQUEST_INFO_FIELD_MESSAGE = "No request-info field in request body for: {}";
     private static final String AUTH_TOKEN_REQUEST_BODY_FIELD_NAME = "authToken";
-    private static final String FAILED_TO_SERIALIZE_REQUEST_BODY_MESSAGE = "Failed to serialize requestBody";
     
     private List<String> openEndpointsWhitelist;
     private List<String> mixedModeEndpointsWhitelist;
@@ -146,9 +141,8 @@ public class AuthPreCheckFilter extends ZuulFilter {
         if (!Utils.isRequestBodyCompatible(getRequest()))
             return null;
 
-        CustomRequestWrapper requestWrapper = new CustomRequestWrapper(getRequest());
-        HashMap<String, Object> requestBody = getRequestBody(requestWrapper);
-        final RequestBodyInspector requestBodyInspector = new RequestBodyInspector(requestBody);
+        CustomRequestWrapper requestWrapper = CustomRequestWrapper.of(RequestContext.getCurrentContext());
+        final RequestBodyInspector requestBodyInspector = new RequestBodyInspector(requestWrapper.getBody(objectMapper));
         @SuppressWarnings("unchecked")
         HashMap<String, Object> requestInfo = requestBodyInspector.getRequestInfo();
         if (requestInfo == null) {
@@ -156,31 +150,14 @@ public class AuthPreCheckFilter extends ZuulFilter {
             return null;
         }
         String authToken = (String) requestInfo.get(AUTH_TOKEN_REQUEST_BODY_FIELD_NAME);
-        sanitizeAndSetRequest(requestBodyInspector, requestWrapper);
+        sanitizeRequest(requestInfo, requestWrapper);
         return authToken;
     }
 
-    private HashMap<String, Object> getRequestBody(CustomRequestWrapper requestWrapper) throws IOException {
-        return objectMapper.readValue(requestWrapper.getPayload(),
-            new TypeReference<HashMap<String, Object>>() { });
-    }
-
-    private void sanitizeAndSetRequest(RequestBodyInspector requestBodyInspector, CustomRequestWrapper requestWrapper) {
-        HashMap<String, Object> requestInfo = requestBodyInspector.getRequestInfo();
-        RequestContext ctx = RequestContext.getCurrentContext();
+    private void sanitizeRequest(HashMap<String, Object> requestInfo, CustomRequestWrapper requestWrapper) {
         requestInfo.remove(USER_INFO_FIELD_NAME);
         requestInfo.remove(AUTH_TOKEN_REQUEST_BODY_FIELD_NAME);
-        requestBodyInspector.updateRequestInfo(requestInfo);
-        try {
-            String requestSanitizedBody = objectMapper.writeValueAsString(requestBodyInspector.getRequestBody());
-            ctx.set(CURRENT_REQUEST_SANITIZED_BODY, requestBodyInspector.getRequestBody());
-            ctx.set(CURRENT_REQUEST_SANITIZED_BODY_STR, requestSanitizedBody);
-            requestWrapper.setPayload(requestSanitizedBody);
-        } catch (JsonProcessingException e) {
-            log.error(FAILED_TO_SERIALIZE_REQUEST_BODY_MESSAGE, e);
-            ExceptionUtils.RaiseException(e);
-        }
-        ctx.setRequest(requestWrapper);
+        requestWrapper.markBodyModified(objectMapper);
     }
 
     private String  getAuthTokenFromRequestHeader() {
@@ -2,15 +2,12 @@ package org.egov.filters.pre;
 
 import static java.util.Objects.isNull;
 import static org.egov.constants.RequestContextConstants.CORRELATION_ID_KEY;
-import static org.egov.constants.RequestContextConstants.REQUEST_INFO_FIELD_NAME_CAMEL_CASE;
-import static org.egov.constants.RequestContextConstants.REQUEST_INFO_FIELD_NAME_PASCAL_CASE;
 import static org.egov.constants.RequestContextConstants.REQUEST_TENANT_ID_KEY;
 import static org.egov.constants.RequestContextConstants.TENANTID_MDC;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,16 +18,14 @@ import javax.servlet.http.HttpServletRequest;
 import org.egov.Utils.Utils;
 import org.egov.common.utils.MultiStateInstanceUtil;
 import org.egov.exceptions.CustomException;
+import org.egov.wrapper.CustomRequestWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.JsonNodeType;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
 
@@ -122,23 +117,8 @@ public class CorrelationIdFilter extends ZuulFilter {
 		if (Utils.isRequestBodyCompatible(request)) {
 
 			try {
-				ObjectNode requestBody = (ObjectNode) objectMapper.readTree(request.getInputStream());
-
-				if (requestBody.has(REQUEST_INFO_FIELD_NAME_PASCAL_CASE))
-					requestBody.remove(REQUEST_INFO_FIELD_NAME_PASCAL_CASE);
-
-				else if (requestBody.has(REQUEST_INFO_FIELD_NAME_CAMEL_CASE))
-					requestBody.remove(REQUEST_INFO_FIELD_NAME_CAMEL_CASE);
-
-				List<String> tenants = new LinkedList<>();
-
-				for (JsonNode node : requestBody.findValues(REQUEST_TENANT_ID_KEY)) {
-					if (node.getNodeType() == JsonNodeType.ARRAY) {
-						node.elements().forEachRemaining(n -> tenants.add(n.asText()));
-					} else if (node.getNodeType() == JsonNodeType.STRING) {
-						tenants.add(node.asText());
-					}
-				}
+				List<String> tenants = Utils.getTenantIdsFromRequestBody(CustomRequestWrapper.of(ctx).getInputStream(),
+						objectMapper.getFactory());
 				
 				if (!tenants.isEmpty()) {
 					// Filtering null tenantids will be removed once fix is done in TL service.
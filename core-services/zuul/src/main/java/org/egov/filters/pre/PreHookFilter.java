@@ -1,15 +1,11 @@
 package org.egov.filters.pre;
 
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.egov.UrlProvider;
 import org.egov.Utils.ExceptionUtils;
 import org.egov.model.PreHookFilterRequest;
-import org.egov.tracer.model.CustomException;
 import org.egov.wrapper.CustomRequestWrapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,9 +15,6 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
-import java.io.InputStream;
-
 @Component
 @Slf4j
 public class PreHookFilter extends ZuulFilter {
@@ -37,18 +30,16 @@ public class PreHookFilter extends ZuulFilter {
 
         RequestContext ctx = RequestContext.getCurrentContext();
 
-        DocumentContext reqDc = parseRequest(ctx);
+        CustomRequestWrapper requestWrapper = CustomRequestWrapper.of(ctx);
         String uri = ctx.getRequest().getRequestURI();
-        PreHookFilterRequest req = PreHookFilterRequest.builder().Request(reqDc.jsonString()).build();
+        PreHookFilterRequest req = PreHookFilterRequest.builder().Request(requestWrapper.getPayload()).build();
         String response = null;
         try {
             log.debug("Executing pre-hook filter. Sending request to - " + UrlProvider.getUrlPreHooksMap().get(uri));
             response = restTemplate.postForObject(UrlProvider.getUrlPreHooksMap().get(uri), req,
                 String.class);
 
-            CustomRequestWrapper requestWrapper = new CustomRequestWrapper(ctx.getRequest());
             requestWrapper.setPayload(response);
-            ctx.setRequest(requestWrapper);
         } catch (HttpClientErrorException|HttpServerErrorException e) {
             log.error("Pre-Hook - Http Exception Occurred", e);
             ExceptionUtils.raiseCustomException(e.getStatusCode(), "PRE_HOOK_ERROR - Pre-hook url threw an error - " + e.getMessage());
@@ -79,18 +70,4 @@ public class PreHookFilter extends ZuulFilter {
     public String filterType() {
         return "pre";
     }
-
-    private DocumentContext parseRequest(RequestContext ctx) {
-
-        String payload = null;
-        try {
-            InputStream is = ctx.getRequest().getInputStream();
-            payload = IOUtils.toString(is);
-            //request.getRequestURI();
-        } catch (IOException e) {
-            throw new CustomException("REQUEST_PARSING_ERROR", e.getMessage());
-        }
-        return JsonPath.parse(payload);
-    }
-
 }
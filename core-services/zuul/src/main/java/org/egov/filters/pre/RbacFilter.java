@@ -9,9 +9,11 @@ import static org.egov.constants.RequestContextConstants.TENANTID_MDC;
 import static org.egov.constants.RequestContextConstants.USER_INFO_KEY;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import org.egov.Utils.ExceptionUtils;
+import org.egov.Utils.RoleActionSnapshotUtils;
 import org.egov.Utils.Utils;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.utils.MultiStateInstanceUtil;
@@ -47,6 +49,9 @@ public class RbacFilter extends ZuulFilter {
     
     @Autowired
     private MultiStateInstanceUtil centralInstanceUtil;
+
+    @Autowired
+    private RoleActionSnapshotUtils roleActionSnapshotUtils;
     
     private RestTemplate restTemplate;
 
@@ -117,6 +122,14 @@ public class RbacFilter extends ZuulFilter {
     }
 
     private boolean isUriAuthorized(AuthorizationRequest authorizationRequest) {
+
+        /*
+         * Authorize in-process from the replicated role-action snapshot, access control is
+         * called only when no fresh snapshot is available for the tenant
+         */
+        Optional<Boolean> locallyAuthorized = roleActionSnapshotUtils.authorize(authorizationRequest);
+        if (locallyAuthorized.isPresent())
+            return locallyAuthorized.get();
     	
         AuthorizationRequestWrapper authorizationRequestWrapper = new AuthorizationRequestWrapper(new RequestInfo(),
             authorizationRequest);
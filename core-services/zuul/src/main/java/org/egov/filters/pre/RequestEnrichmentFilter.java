@@ -12,7 +12,6 @@ import static org.egov.constants.RequestContextConstants.USER_INFO_KEY;
 import java.io.IOException;
 import java.util.HashMap;
 
-import org.apache.commons.io.IOUtils;
 import org.egov.Utils.ExceptionUtils;
 import org.egov.common.utils.MultiStateInstanceUtil;
 import org.egov.contract.User;
@@ -25,7 +24,6 @@ import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
@@ -125,10 +123,10 @@ public class RequestEnrichmentFilter extends ZuulFilter {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void enrichRequestBody() throws IOException {
         RequestContext ctx = RequestContext.getCurrentContext();
-        final RequestBodyInspector requestBodyInspector = getRequestBodyInspector(ctx);
+        CustomRequestWrapper requestWrapper = CustomRequestWrapper.of(ctx);
+        final RequestBodyInspector requestBodyInspector = new RequestBodyInspector(requestWrapper.getBody(objectMapper));
         HashMap<String, Object> requestInfo = requestBodyInspector.getRequestInfo();
         if (requestInfo == null) {
             logger.info(SKIPPED_BODY_ENRICHMENT_DUE_TO_NO_KNOWN_FIELD_MESSAGE);
@@ -136,16 +134,8 @@ public class RequestEnrichmentFilter extends ZuulFilter {
         }
         setUserInfo(requestInfo);
         setCorrelationId(requestInfo);
-        requestBodyInspector.updateRequestInfo(requestInfo);
-        CustomRequestWrapper requestWrapper = new CustomRequestWrapper(ctx.getRequest());
-        requestWrapper.setPayload(objectMapper.writeValueAsString(requestBodyInspector.getRequestBody()));
+        requestWrapper.markBodyModified(objectMapper);
         logger.info(BODY_ENRICHED_MESSAGE);
-        ctx.setRequest(requestWrapper);
-    }
-
-    private RequestBodyInspector getRequestBodyInspector(RequestContext ctx) throws IOException {
-        HashMap<String, Object> requestBody = getRequestBody(ctx);
-        return new RequestBodyInspector(requestBody);
     }
 
     private void setCorrelationId(HashMap<String, Object> requestInfo) {
@@ -178,9 +168,4 @@ public class RequestEnrichmentFilter extends ZuulFilter {
         return ctx.get(USER_INFO_KEY) != null;
     }
 
-    private HashMap<String, Object> getRequestBody(RequestContext ctx) throws IOException {
-        String payload = IOUtils.toString(ctx.getRequest().getInputStream());
-        return objectMapper.readValue(payload, new TypeReference<HashMap<String, Object>>() { });
-    }
-
 }
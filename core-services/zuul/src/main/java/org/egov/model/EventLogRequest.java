@@ -8,9 +8,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.egov.Utils.Utils;
 import org.egov.contract.User;
+import org.egov.wrapper.CustomRequestWrapper;
 
 import java.io.IOException;
 import java.text.SimpleDateFormat;
@@ -59,18 +59,38 @@ public class EventLogRequest {
         });
     }
 
+    /**
+     * Request body as received, without the user info and auth token. Reuses the body already
+     * parsed by the pre filters instead of reading and parsing the input stream again, the sanitized
+     * body is serialized once and logged as a string as before.
+     */
+    private static String getSanitizedRequestBody(RequestContext ctx) {
+        CustomRequestWrapper requestWrapper = CustomRequestWrapper.of(ctx);
+        try {
+            HashMap<String, Object> requestBody = Utils.isRequestBodyCompatible(ctx.getRequest())
+                ? requestWrapper.getBody(objectMapper) : null;
+            if (requestBody == null)
+                return requestWrapper.getPayload();
+
+            RequestBodyInspector requestBodyInspector = new RequestBodyInspector(new HashMap<>(requestBody));
+            HashMap<String, Object> requestInfo = requestBodyInspector.getRequestInfo();
+            if (requestInfo != null) {
+                requestInfo = new HashMap<>(requestInfo);
+                requestInfo.remove(USER_INFO_FIELD_NAME);
+                requestInfo.remove(AUTH_TOKEN_FIELD_NAME);
+                requestBodyInspector.updateRequestInfo(requestInfo);
+            }
+            return objectMapper.writeValueAsString(requestBodyInspector.getRequestBody());
+        } catch (IOException e) {
+            log.error("Exception while reading request body: " + e.getMessage());
+            return null;
+        }
+    }
+
     public static EventLogRequest fromRequestContext(RequestContext ctx, RequestCaptureCriteria criteria) {
         Object body = null;
         if (criteria.isCaptureInputBody()) {
-            body = ctx.get(CURRENT_REQUEST_SANITIZED_BODY_STR);
-
-            if (body == null) {
-                try {
-                    body = IOUtils.toString(ctx.getRequest().getInputStream());
-                } catch (IOException e) {
-                    log.error("Exception while converting input stream to string: " + e.getMessage());
-                }
-            }
+            body = getSanitizedRequestBody(ctx);
         }
 
         String referer = ctx.getRequest().getHeader("referer");
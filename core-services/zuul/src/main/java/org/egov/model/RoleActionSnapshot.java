@@ -0,0 +1,110 @@
+package org.egov.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.egov.contract.ActionContainer;
+
+import lombok.Getter;
+
+/**
+ * Immutable, compiled view of the role to URI data of one tenant level.
+ * Exact URIs are looked up from a map, regex URIs (path params such as /foo/{id}/bar)
+ * are compiled once so that authorization needs no remote call and no regex compilation.
+ */
+public class RoleActionSnapshot {
+
+    private static final String PARAMETER_PLACEHOLDER_REGEX = "\\{\\w+\\}";
+    private static final String ANY_WORD_REGEX = "\\\\w+";
+
+    private final Map<String, Set<String>> rolesByUri;
+
+    private final List<RegexUri> regexUris;
+
+    @Getter
+    private final long loadedAt;
+
+    private RoleActionSnapshot(Map<String, Set<String>> rolesByUri, List<RegexUri> regexUris, long loadedAt) {
+        this.rolesByUri = rolesByUri;
+        this.regexUris = regexUris;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Compiles the role to URI data returned by access control
+     *
+     * @param roleActions Map of role code to URIs authorized
+     * @param loadedAt time at which the data was fetched
+     * @return compiled snapshot
+     */
+    public static RoleActionSnapshot compile(Map<String, ActionContainer> roleActions, long loadedAt) {
+        Map<String, Set<String>> rolesByUri = new HashMap<>();
+        Map<String, Set<String>> rolesByRegexUri = new LinkedHashMap<>();
+
+        if (roleActions != null) {
+            roleActions.forEach((roleCode, container) -> {
+                if (container == null)
+                    return;
+                if (container.getUris() != null)
+                    container.getUris().forEach(uri -> rolesByUri.computeIfAbsent(uri, k -> new HashSet<>()).add(roleCode));
+                if (container.getRegexUris() != null)
+                    container.getRegexUris().forEach(uri -> rolesByRegexUri.computeIfAbsent(uri, k -> new HashSet<>()).add(roleCode));
+            });
+        }
+
+        List<RegexUri> regexUris = new ArrayList<>(rolesByRegexUri.size());
+        rolesByRegexUri.forEach((uri, roles) ->
+            regexUris.add(new RegexUri(Pattern.compile(uri.replaceAll(PARAMETER_PLACEHOLDER_REGEX, ANY_WORD_REGEX)), roles)));
+
+        return new RoleActionSnapshot(Collections.unmodifiableMap(rolesByUri), Collections.unmodifiableList(regexUris),
+            loadedAt);
+    }
+
+    /**
+     * Same semantics as access control's authorization on a single tenant level, the URI is authorized
+     * if any of the given roles has it either as an exact URI or as a matching regex URI
+     *
+     * @param roleCodes applicable role codes of the user
+     * @param uri request URI
+     * @return true when authorized
+     */
+    public boolean isAuthorized(Set<String> roleCodes, String uri) {
+        if (containsAny(rolesByUri.get(uri), roleCodes))
+            return true;
+
+        for (RegexUri regexUri : regexUris) {
+            if (containsAny(regexUri.roles, roleCodes) && regexUri.pattern.matcher(uri).matches())
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean containsAny(Set<String> authorizedRoles, Set<String> roleCodes) {
+        if (authorizedRoles == null)
+            return false;
+        for (String roleCode : roleCodes) {
+            if (authorizedRoles.contains(roleCode))
+                return true;
+        }
+        return false;
+    }
+
+    private static class RegexUri {
+
+        private final Pattern pattern;
+
+        private final Set<String> roles;
+
+        private RegexUri(Pattern pattern, Set<String> roles) {
+            this.pattern = pattern;
+            this.roles = Collections.unmodifiableSet(roles);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.egov.model;
+
+import java.util.Map;
+
+import org.egov.contract.ActionContainer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoleActionSnapshotResponse {
+
+    private String tenantId;
+
+    private Map<String, ActionContainer> roleActions;
+
+}
@@ -1,5 +1,9 @@
 package org.egov.wrapper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.zuul.context.RequestContext;
 import com.netflix.zuul.http.HttpServletRequestWrapper;
 import com.netflix.zuul.http.ServletInputStreamWrapper;
 import org.apache.commons.io.IOUtils;
@@ -8,44 +12,113 @@ import org.egov.tracer.model.CustomException;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 
+/**
+ * Request body context shared by all the gateway filters of a request.
+ * The body is read from the servlet request once, parsed at most once on first use of {@link #getBody(ObjectMapper)}
+ * and re-serialized once, only if a filter modified the parsed body and the payload is read again.
+ */
 public class CustomRequestWrapper extends HttpServletRequestWrapper {
 
-    private String payload;
+    private byte[] payload;
+
+    private HashMap<String, Object> body;
+
+    private ObjectMapper objectMapper;
+
+    private boolean bodyModified;
 
     public CustomRequestWrapper(HttpServletRequest request) {
         super(request);
-        convertInputStreamToString(request);
+        convertInputStreamToBytes(request);
     }
 
-    private void convertInputStreamToString(HttpServletRequest request) {
+    /**
+     * Returns the body context of the current request, wrapping the request on first use
+     *
+     * @param ctx current request context
+     * @return shared request wrapper
+     */
+    public static CustomRequestWrapper of(RequestContext ctx) {
+        if (ctx.getRequest() instanceof CustomRequestWrapper)
+            return (CustomRequestWrapper) ctx.getRequest();
+
+        CustomRequestWrapper requestWrapper = new CustomRequestWrapper(ctx.getRequest());
+        ctx.setRequest(requestWrapper);
+        return requestWrapper;
+    }
+
+    private void convertInputStreamToBytes(HttpServletRequest request) {
         try {
-            payload = IOUtils.toString(request.getInputStream());
+            payload = IOUtils.toByteArray(request.getInputStream());
         } catch (IOException e) {
             throw new CustomException("INPUT_TO_STRING_CONVERSION_ERROR", e.getMessage());
         }
     }
 
+    /**
+     * Parsed request body, parsed only on the first call. Filters updating the returned map must call
+     * {@link #markBodyModified(ObjectMapper)} so that the payload sent downstream reflects the change.
+     *
+     * @param objectMapper mapper used to parse the body
+     * @return parsed body, null when the request has no body
+     * @throws IOException when the body is not a JSON object
+     */
+    public HashMap<String, Object> getBody(ObjectMapper objectMapper) throws IOException {
+        if (body == null && payload.length > 0) {
+            body = objectMapper.readValue(payload, new TypeReference<HashMap<String, Object>>() { });
+        }
+        return body;
+    }
+
+    /**
+     * Marks the parsed body as modified, it gets serialized with the given mapper when the payload is next read
+     *
+     * @param objectMapper mapper used to serialize the body
+     */
+    public void markBodyModified(ObjectMapper objectMapper) {
+        if (body != null) {
+            this.objectMapper = objectMapper;
+            bodyModified = true;
+        }
+    }
+
     public String getPayload() {
-        return payload;
+        return new String(getPayloadBytes(), StandardCharsets.UTF_8);
     }
 
     public void setPayload(String payload){
-        this.payload = payload;
+        this.payload = payload.getBytes(StandardCharsets.UTF_8);
+        this.body = null;
+        this.bodyModified = false;
+    }
+
+    private byte[] getPayloadBytes() {
+        if (bodyModified) {
+            try {
+                payload = objectMapper.writeValueAsBytes(body);
+            } catch (JsonProcessingException e) {
+                throw new CustomException("FAILED_TO_SERIALIZE_REQUEST_BODY", e.getMessage());
+            }
+            bodyModified = false;
+        }
+        return payload;
     }
 
     @Override
     public int getContentLength() {
-        return payload.length();
+        return getPayloadBytes().length;
     }
 
     @Override
     public long getContentLengthLong() {
-        return payload.length();
+        return getPayloadBytes().length;
     }
 
     @Override
     public ServletInputStream getInputStream() {
-        return new ServletInputStreamWrapper(payload.getBytes());
+        return new ServletInputStreamWrapper(getPayloadBytes());
     }
 }
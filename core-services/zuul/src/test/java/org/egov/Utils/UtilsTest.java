@@ -0,0 +1,81 @@
+package org.egov.Utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class UtilsTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    public void test_should_find_tenant_ids_outside_request_info() throws IOException {
+        final String body = "{\"RequestInfo\":{\"tenantId\":\"pb\",\"userInfo\":{\"tenantId\":\"pb\"}},"
+            + "\"tenantId\":\"pb.amritsar\",\"Properties\":[{\"tenantId\":\"pb.jalandhar\",\"owners\":"
+            + "[{\"tenantId\":[\"pb.amritsar\",\"pb.mohali\"]}]}],\"tenantIds\":\"pb.patiala\"}";
+
+        assertEquals(Arrays.asList("pb.amritsar", "pb.jalandhar", "pb.mohali"), getTenantIds(body));
+    }
+
+    @Test
+    public void test_should_skip_camel_case_request_info_only_at_top_level() throws IOException {
+        final String body = "{\"requestInfo\":{\"tenantId\":\"pb\"},\"Demand\":{\"requestInfo\":{\"tenantId\":\"pb.amritsar\"}}}";
+
+        assertEquals(Collections.singletonList("pb.amritsar"), getTenantIds(body));
+    }
+
+    @Test
+    public void test_should_ignore_non_string_tenant_ids() throws IOException {
+        final String body = "{\"tenantId\":{\"tenantId\":\"pb\"},\"Bill\":{\"tenantId\":null,\"tenantIds\":[\"pb\"]}}";
+
+        assertEquals(Collections.emptyList(), getTenantIds(body));
+    }
+
+    @Test
+    public void test_should_return_no_tenant_ids_for_empty_body() throws IOException {
+        assertEquals(Collections.emptyList(), getTenantIds(""));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void test_should_fail_when_body_is_not_an_object() throws IOException {
+        getTenantIds("[{\"tenantId\":\"pb\"}]");
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void test_should_fail_on_malformed_body() throws IOException {
+        getTenantIds("{\"Property\":{\"tenantId\":\"pb\"");
+    }
+
+    @Test
+    public void test_should_find_tenant_ids_up_to_the_max_depth() throws IOException {
+        assertEquals(Collections.singletonList("pb.amritsar"), getTenantIds(nestedBody(31)));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void test_should_fail_when_body_is_nested_deeper_than_the_max_depth() throws IOException {
+        getTenantIds(nestedBody(32));
+    }
+
+    private String nestedBody(int levels) {
+        StringBuilder body = new StringBuilder("{");
+        for (int i = 0; i < levels; i++)
+            body.append("\"a\":{");
+        body.append("\"tenantId\":\"pb.amritsar\"");
+        for (int i = 0; i < levels; i++)
+            body.append("}");
+        return body.append("}").toString();
+    }
+
+    private List<String> getTenantIds(String body) throws IOException {
+        return Utils.getTenantIdsFromRequestBody(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), jsonFactory);
+    }
+}
@@ -0,0 +1,51 @@
+package org.egov.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.egov.contract.ActionContainer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RoleActionSnapshotTest {
+
+    private RoleActionSnapshot snapshot;
+
+    @Before
+    public void init() {
+        Map<String, ActionContainer> roleActions = new HashMap<>();
+        roleActions.put("CITIZEN", new ActionContainer(new HashSet<>(Arrays.asList("/pgr/seva/v1/_create")),
+            new HashSet<>(Arrays.asList("/pgr/seva/{id}/_update"))));
+        roleActions.put("EMPLOYEE", new ActionContainer(new HashSet<>(Arrays.asList("/hr-masters/do/something")),
+            new HashSet<>()));
+        snapshot = RoleActionSnapshot.compile(roleActions, System.currentTimeMillis());
+    }
+
+    @Test
+    public void test_should_authorize_exact_uri_for_role() {
+        assertTrue(snapshot.isAuthorized(Collections.singleton("CITIZEN"), "/pgr/seva/v1/_create"));
+    }
+
+    @Test
+    public void test_should_authorize_regex_uri_for_role() {
+        assertTrue(snapshot.isAuthorized(Collections.singleton("CITIZEN"), "/pgr/seva/123/_update"));
+    }
+
+    @Test
+    public void test_should_not_authorize_uri_of_other_role() {
+        assertFalse(snapshot.isAuthorized(Collections.singleton("CITIZEN"), "/hr-masters/do/something"));
+        assertFalse(snapshot.isAuthorized(Collections.singleton("EMPLOYEE"), "/pgr/seva/123/_update"));
+    }
+
+    @Test
+    public void test_should_not_authorize_unknown_uri() {
+        assertFalse(snapshot.isAuthorized(new HashSet<>(Arrays.asList("CITIZEN", "EMPLOYEE")), "/pgr/seva/1/2/_update"));
+    }
+
+}
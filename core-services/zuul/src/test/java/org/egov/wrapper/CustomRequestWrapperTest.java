@@ -1,5 +1,6 @@
 package org.egov.wrapper;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
 import org.egov.Resources;
 import org.junit.Test;
@@ -7,6 +8,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.HashMap;
 
 import static org.junit.Assert.*;
 
@@ -46,6 +48,24 @@ public class CustomRequestWrapperTest {
         assertEquals(6, wrapper.getContentLengthLong());
     }
 
+    @Test
+    public void test_should_serialize_parsed_body_only_when_modified() throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(IOUtils.toByteArray(new StringReader("{\"RequestInfo\": {\"fu\": \"bar\"}}")));
+        final CustomRequestWrapper wrapper = new CustomRequestWrapper(request);
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        final HashMap<String, Object> body = wrapper.getBody(objectMapper);
+        assertSame(body, wrapper.getBody(objectMapper));
+        assertEquals("{\"RequestInfo\": {\"fu\": \"bar\"}}", wrapper.getPayload());
+
+        body.put("tenantId", "default");
+        wrapper.markBodyModified(objectMapper);
+
+        assertEquals("{\"RequestInfo\":{\"fu\":\"bar\"},\"tenantId\":\"default\"}",
+            new String(IOUtils.toByteArray(wrapper.getInputStream())));
+    }
+
     private byte[] getContent(String fileName) {
         try {
             return IOUtils.toByteArray(IOUtils.toInputStream(resources.getFileContents(fileName)));